@@ -13,15 +13,9 @@ import com.opengamma.strata.engine.CalculationEngine;
 import com.opengamma.strata.engine.DefaultCalculationEngine;
 import com.opengamma.strata.engine.calculation.CalculationRunner;
 import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
-import com.opengamma.strata.engine.marketdata.DefaultMarketDataFactory;
 import com.opengamma.strata.engine.marketdata.MarketDataFactory;
-import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunction;
-import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
-import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
 import com.opengamma.strata.examples.marketdata.ExampleMarketData;
-import com.opengamma.strata.function.marketdata.curve.DiscountFactorsMarketDataFunction;
-import com.opengamma.strata.function.marketdata.curve.IborIndexRatesMarketDataFunction;
-import com.opengamma.strata.function.marketdata.curve.OvernightIndexRatesMarketDataFunction;
+import com.opengamma.strata.function.StandardComponents;
 
 /**
  * Contains utility methods for obtaining a calculation engine configured for use
@@ -41,6 +35,9 @@ public final class ExampleEngine {
    * <p>
    * The engine is not wired up to any external market data sources, so all required market
    * data must be present in the snapshot passed to the engine when it is invoked.
+   * The market data values derived from the snapshot, such as the calibrated ISDA curves used
+   * to price CDS trades, are built using the {@linkplain StandardComponents#marketDataFunctions()
+   * standard market data functions}.
    * <p>
    * The engine may be used in conjunction with {@link ExampleMarketData} which provides
    * access to snapshots of example data.
@@ -52,14 +49,8 @@ public final class ExampleEngine {
     ExecutorService executor = createExecutor();
     CalculationRunner calcRunner = new DefaultCalculationRunner(executor);
 
-    // create the market data factory that builds market data
-    MarketDataFactory marketDataFactory = new DefaultMarketDataFactory(
-        TimeSeriesProvider.none(),
-        ObservableMarketDataFunction.none(),
-        FeedIdMapping.identity(),
-        new DiscountFactorsMarketDataFunction(),
-        new IborIndexRatesMarketDataFunction(),
-        new OvernightIndexRatesMarketDataFunction());
+    // create the market data factory that builds market data, including the ISDA curves used by CDS trades
+    MarketDataFactory marketDataFactory = StandardComponents.marketDataFactory();
 
     // combine the runner and market data factory
     return new DefaultCalculationEngine(calcRunner, marketDataFactory, LinkResolver.none());
@@ -18,18 +18,33 @@ import com.opengamma.strata.engine.CalculationEngine;
 import com.opengamma.strata.engine.CalculationRules;
 import com.opengamma.strata.engine.Column;
 import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
+import com.opengamma.strata.engine.config.pricing.DefaultPricingRules;
+import com.opengamma.strata.engine.config.pricing.FunctionGroup;
+import com.opengamma.strata.engine.config.pricing.PricingRule;
+import com.opengamma.strata.engine.config.pricing.PricingRules;
 import com.opengamma.strata.engine.marketdata.MarketEnvironment;
 import com.opengamma.strata.examples.engine.ExampleEngine;
 import com.opengamma.strata.examples.marketdata.ExampleMarketData;
 import com.opengamma.strata.examples.marketdata.MarketDataBuilder;
+import com.opengamma.strata.finance.ExpansionCache;
+import com.opengamma.strata.finance.credit.CdsTrade;
 import com.opengamma.strata.function.StandardComponents;
+import com.opengamma.strata.function.calculation.credit.CdsCs01BucketedParFunction;
+import com.opengamma.strata.function.calculation.credit.CdsIr01BucketedParFunction;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
 
 public class TestCalculator implements Calculator {
 
-  private TestCalculator() {
+  private final PricingRules pricingRules;
+
+  private TestCalculator(PricingRules pricingRules) {
+    this.pricingRules = pricingRules;
   }
 
   @Override
@@ -67,7 +82,7 @@ public class TestCalculator implements Calculator {
 
     // the complete set of rules for calculating measures
     CalculationRules rules = CalculationRules.builder()
-        .pricingRules(StandardComponents.pricingRules())
+        .pricingRules(pricingRules)
         .marketDataRules(marketDataBuilder.rules())
         .reportingRules(ReportingRules.fixedCurrency(Currency.USD))
         .build();
@@ -83,7 +98,60 @@ public class TestCalculator implements Calculator {
   }
 
   public static Calculator of() {
-    return new TestCalculator();
+    return new TestCalculator(StandardComponents.pricingRules());
+  }
+
+  /**
+   * Returns a calculator that calculates the bucketed CS01 and IR01 by bump and revalue.
+   * <p>
+   * Only the bucketed par CS01 and IR01 of CDS trades can be calculated.
+   *
+   * @return a calculator that calculates the bucketed CS01 and IR01 by bump and revalue
+   */
+  public static Calculator bumpAndRevalue() {
+    FunctionGroup<CdsTrade> functionGroup = DefaultFunctionGroup.builder(CdsTrade.class).name("CdsBumpAndRevalue")
+        .addFunction(Measure.CS01_BUCKETED_PAR, functionConfig(BumpAndRevalueCs01BucketedParFunction.class))
+        .addFunction(Measure.IR01_BUCKETED_PAR, functionConfig(BumpAndRevalueIr01BucketedParFunction.class))
+        .build();
+    return new TestCalculator(
+        DefaultPricingRules.of(PricingRule.builder(CdsTrade.class).functionGroup(functionGroup).build()));
+  }
+
+  private static FunctionConfig<CdsTrade> functionConfig(
+      Class<? extends CalculationSingleFunction<CdsTrade, ?>> functionType) {
+
+    return FunctionConfig.builder(functionType).addArgument("expansionCache", ExpansionCache.none()).build();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the bucketed par CS01 using the bump and revalue pricer.
+   */
+  public static final class BumpAndRevalueCs01BucketedParFunction extends CdsCs01BucketedParFunction {
+
+    public BumpAndRevalueCs01BucketedParFunction(ExpansionCache expansionCache) {
+      super(expansionCache);
+    }
+
+    @Override
+    protected IsdaCdsPricer pricer() {
+      return IsdaCdsPricer.BUMP_AND_REVALUE;
+    }
+  }
+
+  /**
+   * Calculates the bucketed par IR01 using the bump and revalue pricer.
+   */
+  public static final class BumpAndRevalueIr01BucketedParFunction extends CdsIr01BucketedParFunction {
+
+    public BumpAndRevalueIr01BucketedParFunction(ExpansionCache expansionCache) {
+      super(expansionCache);
+    }
+
+    @Override
+    protected IsdaCdsPricer pricer() {
+      return IsdaCdsPricer.BUMP_AND_REVALUE;
+    }
   }
 
 }
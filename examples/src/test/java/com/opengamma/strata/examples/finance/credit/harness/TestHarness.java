@@ -20,7 +20,10 @@ import com.opengamma.strata.finance.credit.type.CdsConventions;
 public class TestHarness {
 
   private static final double epsilon = 10e-9;
+  // the expected bucketed values were produced by bump and revalue, the engine calculates them analytically
+  private static final double relativeVectorEpsilon = 1e-3;
   private static final Calculator calculator = TestCalculator.of();
+  private static final Calculator bumpAndRevalueCalculator = TestCalculator.bumpAndRevalue();
 
   public static class TradeFactory {
     private final TradeSource tradeSource;
@@ -156,9 +159,15 @@ public class TestHarness {
     }
 
     public void on(LocalDate valuationDate) {
+      double[] bumpedValues = bumpAndRevalueCalculator.calculateVectorValue(valuationDate, tradeSource, measure);
+      Assert.assertEquals(bumpedValues.length, expected.length);
+      for (int i = 0; i < bumpedValues.length; i++) {
+        Assert.assertEquals(bumpedValues[i], expected[i], epsilon);
+      }
       double[] values = calculator.calculateVectorValue(valuationDate, tradeSource, measure);
+      Assert.assertEquals(values.length, expected.length);
       for (int i = 0; i < values.length; i++) {
-        Assert.assertEquals(values[i], expected[i], epsilon);
+        Assert.assertEquals(values[i], expected[i], Math.max(Math.abs(expected[i]) * relativeVectorEpsilon, epsilon));
       }
     }
   }
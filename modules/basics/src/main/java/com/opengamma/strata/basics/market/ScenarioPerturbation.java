@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.market;
+
+import java.util.List;
+
+/**
+ * A perturbation that can be applied to a single piece of data for a set of scenarios in one call.
+ * <p>
+ * A scenario normally applies one perturbation per scenario, creating a new instance of the data for each scenario.
+ * When all the perturbations applied to a piece of data are of the same type, and that type implements this
+ * interface, the data is perturbed for all the scenarios at once.
+ * This allows a compact representation of the perturbed data, such as a base curve and a matrix of shifts,
+ * from which the data for each scenario is created on demand.
+ * <p>
+ * Implementations must be immutable and thread-safe beans.
+ *
+ * @param <T>  the type of the market data handled by the perturbation
+ */
+public interface ScenarioPerturbation<T> extends Perturbation<T> {
+
+  /**
+   * Applies perturbations to the specified market data, returning a value for each scenario.
+   * <p>
+   * The perturbations are all of the same type as this perturbation, one for each scenario.
+   * The value at index {@code i} of the returned list must be equal to the value returned by
+   * applying the perturbation at index {@code i} to the market data.
+   * <p>
+   * The returned list must be immutable, and is typically a {@link ScenarioValueList}.
+   *
+   * @param marketData  the single piece of market data to perturb
+   * @param perturbations  the perturbations, one for each scenario
+   * @return the perturbed market data, one value for each scenario
+   */
+  public abstract List<T> applyToScenarios(T marketData, List<? extends Perturbation<T>> perturbations);
+
+}
@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.basics.market;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * An immutable list of market data values, one for each scenario, which creates the values on demand.
+ * <p>
+ * Implementations hold a compact representation of the data for all scenarios, for example a base
+ * curve and the shifts applied to it in each scenario. The value for a scenario is created each
+ * time it is requested, so the memory used grows with the size of the compact representation
+ * rather than with the number of materialized values.
+ * <p>
+ * Implementations must be immutable and thread-safe.
+ *
+ * @param <T>  the type of the market data values
+ */
+public abstract class ScenarioValueList<T>
+    extends AbstractList<T>
+    implements RandomAccess, Serializable {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * Creates an instance.
+   */
+  protected ScenarioValueList() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the market data value for a scenario.
+   * <p>
+   * A new value may be created for each call.
+   *
+   * @param scenarioIndex  the index of the scenario
+   * @return the market data value for the scenario
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  @Override
+  public abstract T get(int scenarioIndex);
+
+  /**
+   * Returns the number of scenarios.
+   *
+   * @return the number of scenarios
+   */
+  @Override
+  public abstract int size();
+
+}
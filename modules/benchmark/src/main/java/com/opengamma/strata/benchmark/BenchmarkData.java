@@ -0,0 +1,228 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.date.DayCounts.ACT_365F;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_3M;
+import static com.opengamma.strata.basics.index.IborIndices.EUR_EURIBOR_6M;
+import static com.opengamma.strata.basics.index.OvernightIndices.EUR_EONIA;
+import static com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_3M;
+import static com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_6M;
+import static com.opengamma.strata.finance.rate.swap.type.FixedOvernightSwapConventions.EUR_FIXED_1Y_EONIA_OIS;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.basics.market.ObservableValues;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.finance.rate.deposit.IborFixingDepositTemplate;
+import com.opengamma.strata.finance.rate.fra.FraTemplate;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConvention;
+import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapTemplate;
+import com.opengamma.strata.finance.rate.swap.type.FixedOvernightSwapTemplate;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.definition.CurveGroupDefinition;
+import com.opengamma.strata.market.curve.definition.CurveNode;
+import com.opengamma.strata.market.curve.definition.FixedIborSwapCurveNode;
+import com.opengamma.strata.market.curve.definition.FixedOvernightSwapCurveNode;
+import com.opengamma.strata.market.curve.definition.FraCurveNode;
+import com.opengamma.strata.market.curve.definition.IborFixingDepositCurveNode;
+import com.opengamma.strata.market.curve.definition.InterpolatedNodalCurveDefinition;
+import com.opengamma.strata.market.key.QuoteKey;
+import com.opengamma.strata.market.value.ValueType;
+import com.opengamma.strata.math.impl.interpolation.FlatExtrapolator1D;
+import com.opengamma.strata.math.impl.interpolation.LinearInterpolator1D;
+
+/**
+ * The market data shared by the benchmarks.
+ * <p>
+ * The EUR curve group is the standard group used by the calibration tests, with a discounting curve
+ * calibrated to OIS and two forward curves calibrated to fixings, FRAs and swaps.
+ * It is defined here so the benchmarks don't depend on the test classes of other modules.
+ */
+final class BenchmarkData {
+
+  /**
+   * The valuation date.
+   */
+  static final LocalDate VALUATION_DATE = LocalDate.of(2015, 7, 24);
+
+  /**
+   * The scheme of the quote identifiers.
+   */
+  private static final String SCHEME = "CALIBRATION";
+  // discounting curve
+  private static final double[] DSC_OIS_QUOTES = {0.0010, 0.0020, 0.0030, 0.0040};
+  private static final Period[] DSC_OIS_TENORS = {
+      Period.ofYears(2), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)};
+  // forward 3M curve
+  private static final double FWD3_FIXING_QUOTE = 0.0050;
+  private static final double[] FWD3_FRA_QUOTES = {0.0051, 0.0052, 0.0053};
+  private static final double[] FWD3_IRS_QUOTES = {0.0054, 0.0055, 0.0056, 0.0057};
+  private static final Period[] FWD3_FRA_TENORS = {Period.ofMonths(3), Period.ofMonths(6), Period.ofMonths(9)};
+  private static final Period[] FWD3_IRS_TENORS = {
+      Period.ofYears(2), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)};
+  // forward 6M curve
+  private static final double FWD6_FIXING_QUOTE = 0.001;
+  private static final double[] FWD6_FRA_QUOTES = {0.011, 0.012};
+  private static final double[] FWD6_IRS_QUOTES = {0.013, 0.014, 0.015, 0.016, 0.017};
+  private static final Period[] FWD6_FRA_TENORS = {Period.ofMonths(3), Period.ofMonths(6)};
+  private static final Period[] FWD6_IRS_TENORS = {
+      Period.ofYears(2), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10), Period.ofYears(30)};
+  // identifiers of the quotes
+  private static final String[] DSC_ID_VALUES = dscIdValues(DSC_OIS_TENORS);
+  private static final String[] FWD3_ID_VALUES = fwdIdValues(3, FWD3_FRA_TENORS, FWD3_IRS_TENORS);
+  private static final String[] FWD6_ID_VALUES = fwdIdValues(6, FWD6_FRA_TENORS, FWD6_IRS_TENORS);
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkData() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the definition of the EUR curve group.
+   *
+   * @return the curve group definition
+   */
+  static CurveGroupDefinition eurCurveGroup() {
+    List<CurveNode> dscNodes = new ArrayList<>();
+    for (int i = 0; i < DSC_OIS_TENORS.length; i++) {
+      dscNodes.add(FixedOvernightSwapCurveNode.of(
+          FixedOvernightSwapTemplate.of(Period.ZERO, Tenor.of(DSC_OIS_TENORS[i]), EUR_FIXED_1Y_EONIA_OIS),
+          quoteKey(DSC_ID_VALUES[i])));
+    }
+    List<CurveNode> fwd3Nodes = fwdNodes(
+        EUR_EURIBOR_3M, EUR_FIXED_1Y_EURIBOR_3M, FWD3_FRA_TENORS, FWD3_IRS_TENORS, FWD3_ID_VALUES);
+    List<CurveNode> fwd6Nodes = fwdNodes(
+        EUR_EURIBOR_6M, EUR_FIXED_1Y_EURIBOR_6M, FWD6_FRA_TENORS, FWD6_IRS_TENORS, FWD6_ID_VALUES);
+    return CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("EUR-DSCON-EURIBOR3M-EURIBOR6M"))
+        .addCurve(curveDefinition("EUR_EONIA_EOD", dscNodes), EUR, EUR_EONIA)
+        .addForwardCurve(curveDefinition("EUR_EURIBOR_3M", fwd3Nodes), EUR_EURIBOR_3M)
+        .addForwardCurve(curveDefinition("EUR_EURIBOR_6M", fwd6Nodes), EUR_EURIBOR_6M)
+        .build();
+  }
+
+  /**
+   * Gets the quotes of the EUR curve group, all shifted by the same amount.
+   *
+   * @param shift  the shift added to all the quotes
+   * @return the quotes
+   */
+  static ObservableValues eurQuotes(double shift) {
+    Map<ObservableKey, Double> quotes = new HashMap<>();
+    addQuotes(quotes, DSC_ID_VALUES, DSC_OIS_QUOTES, shift);
+    addQuotes(quotes, FWD3_ID_VALUES, fwdQuotes(FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES), shift);
+    addQuotes(quotes, FWD6_ID_VALUES, fwdQuotes(FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES), shift);
+    return ObservableValues.of(quotes);
+  }
+
+  /**
+   * Gets the time-series of the indices of the EUR curve group, which are empty.
+   *
+   * @return the time-series, keyed by index
+   */
+  static Map<Index, LocalDateDoubleTimeSeries> eurTimeSeries() {
+    return ImmutableMap.of(
+        EUR_EURIBOR_3M, LocalDateDoubleTimeSeries.empty(),
+        EUR_EURIBOR_6M, LocalDateDoubleTimeSeries.empty(),
+        EUR_EONIA, LocalDateDoubleTimeSeries.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  // the identifiers of the OIS quotes
+  private static String[] dscIdValues(Period[] oisTenors) {
+    String[] idValues = new String[oisTenors.length];
+    for (int i = 0; i < oisTenors.length; i++) {
+      idValues[i] = "OIS" + oisTenors[i];
+    }
+    return idValues;
+  }
+
+  // the identifiers of the fixing, FRA and swap quotes of a forward curve
+  private static String[] fwdIdValues(int months, Period[] fraTenors, Period[] irsTenors) {
+    String[] idValues = new String[1 + fraTenors.length + irsTenors.length];
+    idValues[0] = "FIXING" + months + "M";
+    for (int i = 0; i < fraTenors.length; i++) {
+      idValues[i + 1] = "FRA" + fraTenors[i] + "x" + fraTenors[i].plusMonths(months);
+    }
+    for (int i = 0; i < irsTenors.length; i++) {
+      idValues[i + 1 + fraTenors.length] = "IRS" + irsTenors[i];
+    }
+    return idValues;
+  }
+
+  // the fixing, FRA and swap quotes of a forward curve
+  private static double[] fwdQuotes(double fixingQuote, double[] fraQuotes, double[] irsQuotes) {
+    double[] quotes = new double[1 + fraQuotes.length + irsQuotes.length];
+    quotes[0] = fixingQuote;
+    System.arraycopy(fraQuotes, 0, quotes, 1, fraQuotes.length);
+    System.arraycopy(irsQuotes, 0, quotes, 1 + fraQuotes.length, irsQuotes.length);
+    return quotes;
+  }
+
+  // the nodes of a forward curve, a fixing followed by FRAs and swaps
+  private static List<CurveNode> fwdNodes(
+      IborIndex index,
+      FixedIborSwapConvention convention,
+      Period[] fraTenors,
+      Period[] irsTenors,
+      String[] idValues) {
+
+    List<CurveNode> nodes = new ArrayList<>();
+    nodes.add(IborFixingDepositCurveNode.of(IborFixingDepositTemplate.of(index), quoteKey(idValues[0])));
+    for (int i = 0; i < fraTenors.length; i++) {
+      nodes.add(FraCurveNode.of(FraTemplate.of(fraTenors[i], index), quoteKey(idValues[i + 1])));
+    }
+    for (int i = 0; i < irsTenors.length; i++) {
+      nodes.add(FixedIborSwapCurveNode.of(
+          FixedIborSwapTemplate.of(Period.ZERO, Tenor.of(irsTenors[i]), convention),
+          quoteKey(idValues[i + 1 + fraTenors.length])));
+    }
+    return nodes;
+  }
+
+  // the definition of a zero rate curve with linear interpolation and flat extrapolation
+  private static InterpolatedNodalCurveDefinition curveDefinition(String name, List<CurveNode> nodes) {
+    return InterpolatedNodalCurveDefinition.builder()
+        .name(CurveName.of(name))
+        .xValueType(ValueType.YEAR_FRACTION)
+        .yValueType(ValueType.ZERO_RATE)
+        .dayCount(ACT_365F)
+        .interpolator(new LinearInterpolator1D())
+        .extrapolatorLeft(new FlatExtrapolator1D())
+        .extrapolatorRight(new FlatExtrapolator1D())
+        .nodes(nodes)
+        .build();
+  }
+
+  // adds the quotes, shifted by the same amount, keyed by identifier
+  private static void addQuotes(Map<ObservableKey, Double> quotes, String[] idValues, double[] values, double shift) {
+    for (int i = 0; i < values.length; i++) {
+      quotes.put(quoteKey(idValues[i]), values[i] + shift);
+    }
+  }
+
+  // the key of a quote
+  private static QuoteKey quoteKey(String idValue) {
+    return QuoteKey.of(StandardId.of(SCHEME, idValue));
+  }
+
+}
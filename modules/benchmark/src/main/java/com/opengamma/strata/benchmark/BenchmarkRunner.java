@@ -0,0 +1,55 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks, reporting the allocation rates as well as the throughput.
+ * <p>
+ * The arguments are regular expressions selecting the benchmarks to run, all the benchmarks being run
+ * if there are none. For example, {@code SwapPricingBenchmark} runs the benchmarks of the swap pricer.
+ * <p>
+ * The allocation rates are measured by the JMH GC profiler: {@code gc.alloc.rate.norm} is the number
+ * of bytes allocated by each operation. The same result can be obtained from the executable jar built
+ * by the module when the {@code benchmark} property is set, with {@code java -jar benchmarks.jar -prof gc}.
+ */
+public final class BenchmarkRunner {
+
+  /**
+   * Restricted constructor.
+   */
+  private BenchmarkRunner() {
+  }
+
+  /**
+   * Runs the benchmarks.
+   *
+   * @param args  the regular expressions selecting the benchmarks, empty to run all the benchmarks
+   * @throws RunnerException if a benchmark fails
+   */
+  public static void main(String[] args) throws RunnerException {
+    OptionsBuilder builder = new OptionsBuilder();
+    if (args.length == 0) {
+      builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+    }
+    for (String arg : args) {
+      builder.include(arg);
+    }
+    Options options = builder
+        .addProfiler(GCProfiler.class)
+        .warmupIterations(5)
+        .measurementIterations(10)
+        .forks(1)
+        .build();
+    new Runner(options).run();
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.pricer.impl.option.BlackFormulaRepository;
+
+/**
+ * Benchmarks the Black formula in {@link BlackFormulaRepository}.
+ * <p>
+ * Each invocation evaluates the formula for a strip of strikes around the forward,
+ * as when pricing the caplets of a cap or the points of a smile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BlackFormulaBenchmark {
+
+  private static final double FORWARD = 0.03;
+  private static final double EXPIRY = 5d;
+  private static final double VOLATILITY = 0.2;
+  private static final int STRIKE_COUNT = 100;
+
+  private double[] strikes;
+  private double[] prices;
+
+  @Setup
+  public void setUp() {
+    strikes = new double[STRIKE_COUNT];
+    prices = new double[STRIKE_COUNT];
+    for (int i = 0; i < STRIKE_COUNT; i++) {
+      strikes[i] = FORWARD * (0.5 + i / (double) STRIKE_COUNT);
+      prices[i] = BlackFormulaRepository.price(FORWARD, strikes[i], EXPIRY, VOLATILITY, true);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void price(Blackhole blackhole) {
+    for (double strike : strikes) {
+      blackhole.consume(BlackFormulaRepository.price(FORWARD, strike, EXPIRY, VOLATILITY, true));
+    }
+  }
+
+  @Benchmark
+  public void delta(Blackhole blackhole) {
+    for (double strike : strikes) {
+      blackhole.consume(BlackFormulaRepository.delta(FORWARD, strike, EXPIRY, VOLATILITY, true));
+    }
+  }
+
+  @Benchmark
+  public void vega(Blackhole blackhole) {
+    for (double strike : strikes) {
+      blackhole.consume(BlackFormulaRepository.vega(FORWARD, strike, EXPIRY, VOLATILITY));
+    }
+  }
+
+  @Benchmark
+  public void impliedVolatility(Blackhole blackhole) {
+    for (int i = 0; i < STRIKE_COUNT; i++) {
+      blackhole.consume(BlackFormulaRepository.impliedVolatility(prices[i], FORWARD, strikes[i], EXPIRY, true));
+    }
+  }
+
+}
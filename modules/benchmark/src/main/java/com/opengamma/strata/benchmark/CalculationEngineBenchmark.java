@@ -0,0 +1,148 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.USD_LIBOR_3M;
+import static com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions.USD_FIXED_6M_LIBOR_3M;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.collect.id.LinkResolver;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.CalculationRules;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.DefaultCalculationEngine;
+import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.config.MarketDataRule;
+import com.opengamma.strata.engine.config.MarketDataRules;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.StandardComponents;
+import com.opengamma.strata.function.interpolator.CurveInterpolators;
+import com.opengamma.strata.function.marketdata.mapping.MarketDataMappingsBuilder;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveGroup;
+import com.opengamma.strata.market.curve.CurveGroupName;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.id.CurveGroupId;
+import com.opengamma.strata.market.id.IndexRateId;
+
+/**
+ * Benchmarks full runs of {@link DefaultCalculationEngine} on synthetic portfolios.
+ * <p>
+ * The portfolio contains the specified number of USD swaps of different tenors and rates.
+ * The curves are supplied in the market environment, so each run measures the creation of the tasks,
+ * the building of the market data required by the functions and the calculations themselves.
+ * The calculations are performed by a fixed thread pool with one thread per core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+public class CalculationEngineBenchmark {
+
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2015, 7, 24);
+  private static final CurveGroupName GROUP_NAME = CurveGroupName.of("USD-Benchmark");
+  private static final Tenor[] TENORS = {
+      Tenor.TENOR_1Y, Tenor.TENOR_2Y, Tenor.TENOR_3Y, Tenor.TENOR_5Y, Tenor.TENOR_7Y, Tenor.TENOR_10Y,
+      Tenor.TENOR_15Y, Tenor.TENOR_20Y, Tenor.TENOR_30Y};
+  private static final double[] TIMES = {0.25, 0.5, 1d, 2d, 3d, 5d, 7d, 10d, 15d, 20d, 30d};
+  private static final double[] DISCOUNT_RATES =
+      {0.0010, 0.0015, 0.0025, 0.0050, 0.0080, 0.0120, 0.0150, 0.0180, 0.0210, 0.0225, 0.0240};
+  private static final double[] FORWARD_RATES =
+      {0.0030, 0.0035, 0.0045, 0.0070, 0.0100, 0.0140, 0.0170, 0.0200, 0.0230, 0.0245, 0.0260};
+
+  /**
+   * The number of trades in the portfolio.
+   */
+  @Param({"100", "1000", "10000"})
+  public int portfolioSize;
+  /**
+   * The name of the measure calculated for each trade.
+   */
+  @Param({"PresentValue", "ParRate", "BucketedPV01"})
+  public String measure;
+
+  private ExecutorService executor;
+  private DefaultCalculationEngine engine;
+  private List<SwapTrade> trades;
+  private List<Column> columns;
+  private CalculationRules rules;
+  private MarketEnvironment marketEnvironment;
+
+  @Setup
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+    engine = new DefaultCalculationEngine(
+        new DefaultCalculationRunner(executor), StandardComponents.marketDataFactory(), LinkResolver.none());
+
+    ImmutableList.Builder<SwapTrade> builder = ImmutableList.builder();
+    for (int i = 0; i < portfolioSize; i++) {
+      Tenor tenor = TENORS[i % TENORS.length];
+      double fixedRate = 0.005 + 0.0001 * (i % 200);
+      BuySell buySell = i % 2 == 0 ? BuySell.BUY : BuySell.SELL;
+      builder.add(USD_FIXED_6M_LIBOR_3M.toTrade(VALUATION_DATE, tenor, buySell, 1_000_000d, fixedRate));
+    }
+    trades = builder.build();
+    columns = ImmutableList.of(Column.of(Measure.of(measure)));
+    rules = CalculationRules.builder()
+        .pricingRules(StandardComponents.pricingRules())
+        .marketDataRules(MarketDataRules.of(
+            MarketDataRule.anyTarget(MarketDataMappingsBuilder.create().curveGroup(GROUP_NAME).build())))
+        .reportingRules(ReportingRules.fixedCurrency(USD))
+        .build();
+
+    Curve discountCurve = curve("USD-Discount", DISCOUNT_RATES);
+    Curve forwardCurve = curve("USD-LIBOR-3M", FORWARD_RATES);
+    CurveGroup curveGroup = CurveGroup.of(
+        GROUP_NAME, ImmutableMap.of(USD, discountCurve), ImmutableMap.of(USD_LIBOR_3M, forwardCurve));
+    marketEnvironment = MarketEnvironment.builder(VALUATION_DATE)
+        .addValue(CurveGroupId.of(GROUP_NAME), curveGroup)
+        .addTimeSeries(IndexRateId.of(USD_LIBOR_3M), LocalDateDoubleTimeSeries.empty())
+        .build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  // creates a zero rate curve
+  private static Curve curve(String name, double[] rates) {
+    return InterpolatedNodalCurve.of(
+        Curves.zeroRates(name, DayCounts.ACT_ACT_ISDA), TIMES, rates, CurveInterpolators.LINEAR);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Results calculate() {
+    return engine.calculate(trades, columns, rules, marketEnvironment);
+  }
+
+}
@@ -0,0 +1,79 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.market.ObservableValues;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.definition.CurveGroupDefinition;
+import com.opengamma.strata.pricer.calibration.CalibrationMeasures;
+import com.opengamma.strata.pricer.calibration.CurveBuildingBlockBundle;
+import com.opengamma.strata.pricer.calibration.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Benchmarks the calibration of the EUR curve group by {@link CurveCalibrator}.
+ * <p>
+ * The group is calibrated from scratch with all the curves solved together and in block-triangular mode,
+ * and recalibrated from the result of a previous calibration after a small move of the quotes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CurveCalibrationBenchmark {
+
+  private static final CurveCalibrator CALIBRATOR =
+      CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT);
+  private static final CurveCalibrator CALIBRATOR_BLOCK =
+      CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT, true);
+
+  private CurveGroupDefinition definition;
+  private ObservableValues quotes;
+  private ObservableValues shiftedQuotes;
+  private Map<Index, LocalDateDoubleTimeSeries> timeSeries;
+  private Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> previous;
+
+  @Setup
+  public void setUp() {
+    definition = BenchmarkData.eurCurveGroup();
+    quotes = BenchmarkData.eurQuotes(0d);
+    shiftedQuotes = BenchmarkData.eurQuotes(1.0E-4);
+    timeSeries = BenchmarkData.eurTimeSeries();
+    previous = CALIBRATOR.calibrate(definition, BenchmarkData.VALUATION_DATE, quotes, timeSeries, FxMatrix.empty());
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> calibrate() {
+    return CALIBRATOR.calibrate(definition, BenchmarkData.VALUATION_DATE, quotes, timeSeries, FxMatrix.empty());
+  }
+
+  @Benchmark
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> calibrateBlockTriangular() {
+    return CALIBRATOR_BLOCK.calibrate(
+        definition, BenchmarkData.VALUATION_DATE, quotes, timeSeries, FxMatrix.empty());
+  }
+
+  @Benchmark
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> recalibrate() {
+    return CALIBRATOR.recalibrate(definition, BenchmarkData.VALUATION_DATE, shiftedQuotes, timeSeries,
+        FxMatrix.empty(), previous.getFirst(), previous.getSecond());
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.opengamma.strata.basics.date.DayCounts;
+import com.opengamma.strata.market.curve.Curves;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolator;
+import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolatorFactory;
+import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
+import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
+
+/**
+ * Benchmarks the interpolation of {@link InterpolatedNodalCurve}.
+ * <p>
+ * Each invocation evaluates the curve at a fixed set of sorted points, either one point at a time
+ * or in a single batch. The underlying interpolator is also measured directly, through the boxed API
+ * and through the primitive API with a cursor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class CurveInterpolationBenchmark {
+
+  private static final double[] X_VALUES =
+      {0.25, 0.5, 0.75, 1d, 1.5, 2d, 3d, 4d, 5d, 6d, 7d, 8d, 9d, 10d, 12d, 15d, 20d, 25d, 30d, 40d};
+  private static final int POINT_COUNT = 1000;
+
+  /**
+   * The name of the interpolator.
+   */
+  @Param({Interpolator1DFactory.LINEAR, Interpolator1DFactory.DOUBLE_QUADRATIC,
+      Interpolator1DFactory.NATURAL_CUBIC_SPLINE, Interpolator1DFactory.LOG_LINEAR})
+  public String interpolator;
+
+  private InterpolatedNodalCurve curve;
+  private CombinedInterpolatorExtrapolator combined;
+  private Interpolator1DDataBundle bundle;
+  private double[] points;
+
+  @Setup
+  public void setUp() {
+    double[] yValues = new double[X_VALUES.length];
+    for (int i = 0; i < X_VALUES.length; i++) {
+      yValues[i] = 0.01 + 0.02 * (1d - Math.exp(-X_VALUES[i] / 5d));
+    }
+    curve = InterpolatedNodalCurve.of(Curves.zeroRates("Benchmark", DayCounts.ACT_365F),
+        X_VALUES, yValues, Interpolator1DFactory.findCurveInterpolator(interpolator));
+    combined = CombinedInterpolatorExtrapolatorFactory.getInterpolator(
+        interpolator, Interpolator1DFactory.FLAT_EXTRAPOLATOR);
+    bundle = combined.getDataBundleFromSortedArrays(X_VALUES, yValues);
+    points = new double[POINT_COUNT];
+    double step = (X_VALUES[X_VALUES.length - 1] + 5d) / POINT_COUNT;
+    for (int i = 0; i < POINT_COUNT; i++) {
+      points[i] = i * step;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public void yValue(Blackhole blackhole) {
+    for (double point : points) {
+      blackhole.consume(curve.yValue(point));
+    }
+  }
+
+  @Benchmark
+  public double[] yValues() {
+    return curve.yValues(points);
+  }
+
+  @Benchmark
+  public void yValueParameterSensitivity(Blackhole blackhole) {
+    for (double point : points) {
+      blackhole.consume(curve.yValueParameterSensitivity(point));
+    }
+  }
+
+  @Benchmark
+  public void interpolateBoxed(Blackhole blackhole) {
+    for (double point : points) {
+      blackhole.consume(combined.interpolate(bundle, Double.valueOf(point)));
+    }
+  }
+
+  @Benchmark
+  public void interpolatePrimitive(Blackhole blackhole) {
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    for (double point : points) {
+      blackhole.consume(combined.interpolate(bundle, point, cursor));
+    }
+  }
+
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET;
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_SWAP;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Benchmarks the pricing of a single-name CDS by {@link IsdaCdsPricer}.
+ * <p>
+ * The calibration of the yield curve and the credit curve from their par rates is measured on its own,
+ * and the pricing is measured both including the calibration and from the calibrated curves.
+ * In the calculation engine, the curves are calibrated once for each scenario and shared by all the trades.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class IsdaCdsPricerBenchmark {
+
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private static final LocalDate VALUATION_DATE = LocalDate.of(2014, 10, 16);
+  private static final CdsConvention CDS_CONVENTION = CdsConventions.NORTH_AMERICAN_USD;
+  private static final double RECOVERY_RATE = 0.4;
+
+  private static final Period[] YIELD_PERIODS = {
+      Period.ofMonths(1), Period.ofMonths(2), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+      Period.ofYears(2), Period.ofYears(3), Period.ofYears(4), Period.ofYears(5), Period.ofYears(6),
+      Period.ofYears(7), Period.ofYears(8), Period.ofYears(9), Period.ofYears(10), Period.ofYears(12),
+      Period.ofYears(15), Period.ofYears(20), Period.ofYears(25), Period.ofYears(30)};
+  private static final double[] YIELD_RATES = {
+      0.00445, 0.009488, 0.012337, 0.017762, 0.01935,
+      0.020838, 0.01652, 0.02018, 0.023033, 0.02525,
+      0.02696, 0.02825, 0.02931, 0.03017, 0.03092,
+      0.0316, 0.03231, 0.03367, 0.03419};
+  private static final int MONEY_MARKET_COUNT = 5;
+  private static final Period[] CREDIT_PERIODS = {
+      Period.ofMonths(6), Period.ofYears(1), Period.ofYears(2), Period.ofYears(3),
+      Period.ofYears(4), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10)};
+  private static final double[] CREDIT_RATES = {
+      0.0028, 0.0028, 0.0028, 0.0028, 0.0028, 0.0028, 0.0028, 0.0028};
+
+  private ExpandedCds product;
+  private IsdaYieldCurveParRates yieldCurveParRates;
+  private IsdaCreditCurveParRates creditCurveParRates;
+  private NodalCurve yieldCurve;
+  private NodalCurve creditCurve;
+
+  @Setup
+  public void setUp() {
+    product = CDS_CONVENTION
+        .toSingleNameTrade(
+            LocalDate.of(2014, 9, 22),
+            LocalDate.of(2019, 12, 20),
+            BuySell.BUY,
+            100_000_000d,
+            0.0100,
+            StandardId.of("OG-Ticker", "COMP01"),
+            SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+            RestructuringClause.NO_RESTRUCTURING_2014,
+            3_694_117.73d,
+            LocalDate.of(2014, 10, 21))
+        .getProduct()
+        .expand();
+
+    LocalDate[] yieldEndDates = new LocalDate[YIELD_PERIODS.length];
+    IsdaYieldCurveUnderlyingType[] yieldTypes = new IsdaYieldCurveUnderlyingType[YIELD_PERIODS.length];
+    for (int i = 0; i < YIELD_PERIODS.length; i++) {
+      yieldEndDates[i] = VALUATION_DATE.plus(YIELD_PERIODS[i]);
+      yieldTypes[i] = i < MONEY_MARKET_COUNT ? ISDA_MONEY_MARKET : ISDA_SWAP;
+    }
+    yieldCurveParRates = IsdaYieldCurveParRates.of(CurveName.of("USD-ISDA"), YIELD_PERIODS, yieldEndDates, yieldTypes,
+        YIELD_RATES, IsdaYieldCurveConventions.ISDA_USD);
+
+    LocalDate[] creditEndDates = new LocalDate[CREDIT_PERIODS.length];
+    for (int i = 0; i < CREDIT_PERIODS.length; i++) {
+      creditEndDates[i] = CDS_CONVENTION.getUnadjustedMaturityDateFromValuationDate(VALUATION_DATE, CREDIT_PERIODS[i]);
+    }
+    creditCurveParRates = IsdaCreditCurveParRates.of(
+        CurveName.of("COMP01"), CREDIT_PERIODS, creditEndDates, CREDIT_RATES, CDS_CONVENTION, 1d);
+
+    yieldCurve = PRICER.calibrateYieldCurve(VALUATION_DATE, yieldCurveParRates);
+    creditCurve = PRICER.calibrateCreditCurve(VALUATION_DATE, creditCurveParRates, yieldCurve, RECOVERY_RATE);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public NodalCurve calibrateYieldCurve() {
+    return PRICER.calibrateYieldCurve(VALUATION_DATE, yieldCurveParRates);
+  }
+
+  @Benchmark
+  public NodalCurve calibrateCreditCurve() {
+    return PRICER.calibrateCreditCurve(VALUATION_DATE, creditCurveParRates, yieldCurve, RECOVERY_RATE);
+  }
+
+  @Benchmark
+  public CurrencyAmount presentValue() {
+    return PRICER.presentValue(product, yieldCurveParRates, creditCurveParRates, VALUATION_DATE, RECOVERY_RATE, 1d);
+  }
+
+  @Benchmark
+  public CurrencyAmount presentValueCalibrated() {
+    return PRICER.presentValue(product, yieldCurve, creditCurve, VALUATION_DATE, RECOVERY_RATE, 1d);
+  }
+
+  @Benchmark
+  public double parRate() {
+    return PRICER.parRate(product, yieldCurveParRates, creditCurveParRates, VALUATION_DATE, RECOVERY_RATE);
+  }
+
+  @Benchmark
+  public double parRateCalibrated() {
+    return PRICER.parRate(product, yieldCurve, creditCurve, VALUATION_DATE, RECOVERY_RATE);
+  }
+
+}
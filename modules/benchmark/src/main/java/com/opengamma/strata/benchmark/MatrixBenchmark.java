@@ -0,0 +1,128 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionFlat;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.Matrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory;
+
+/**
+ * Benchmarks the dense linear algebra used by the root finders of the curve calibration.
+ * <p>
+ * The Commons Math decompositions and matrix algebra are compared with their flat counterparts,
+ * both when they allocate their results and when the flat buffers are reused.
+ * The matrix is diagonally dominant, so it is well conditioned at any size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class MatrixBenchmark {
+
+  private static final LUDecompositionCommons LU_COMMONS = new LUDecompositionCommons();
+  private static final LUDecompositionFlat LU_FLAT = new LUDecompositionFlat();
+  private static final SVDecompositionCommons SVD_COMMONS = new SVDecompositionCommons();
+  private static final SVDecompositionFlat SVD_FLAT = new SVDecompositionFlat();
+
+  /**
+   * The size of the square matrix.
+   */
+  @Param({"10", "30", "100"})
+  public int size;
+
+  private DoubleMatrix2D matrix;
+  private FlatDoubleMatrix flatMatrix;
+  private double[] vector;
+  // the buffers reused by the in-place benchmarks
+  private FlatDoubleMatrix factor;
+  private FlatDoubleMatrix product;
+  private int[] pivot;
+  private double[] solution;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(1);
+    double[][] data = new double[size][size];
+    vector = new double[size];
+    for (int i = 0; i < size; i++) {
+      for (int j = 0; j < size; j++) {
+        data[i][j] = random.nextDouble();
+      }
+      data[i][i] += size;
+      vector[i] = random.nextDouble();
+    }
+    matrix = new DoubleMatrix2D(data);
+    flatMatrix = FlatDoubleMatrix.copyOf(data);
+    factor = FlatDoubleMatrix.of(size, size);
+    product = FlatDoubleMatrix.of(size, size);
+    pivot = new int[size];
+    solution = new double[size];
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public double[] luSolveCommons() {
+    return LU_COMMONS.evaluate(matrix).solve(vector);
+  }
+
+  @Benchmark
+  public double[] luSolveFlat() {
+    return LU_FLAT.evaluate(matrix).solve(vector);
+  }
+
+  @Benchmark
+  public double[] luSolveFlatInPlace() {
+    System.arraycopy(flatMatrix.getData(), 0, factor.getData(), 0, size * size);
+    LU_FLAT.evaluate(factor, pivot).solve(vector, solution);
+    return solution;
+  }
+
+  @Benchmark
+  public double[] svdSolveCommons() {
+    return SVD_COMMONS.evaluate(matrix).solve(vector);
+  }
+
+  @Benchmark
+  public double[] svdSolveFlat() {
+    return SVD_FLAT.evaluate(matrix).solve(vector);
+  }
+
+  @Benchmark
+  public double[] svdSolveFlatInPlace() {
+    System.arraycopy(flatMatrix.getData(), 0, factor.getData(), 0, size * size);
+    SVD_FLAT.evaluate(factor).solve(vector, solution);
+    return solution;
+  }
+
+  @Benchmark
+  public Matrix<?> multiplyCommons() {
+    return MatrixAlgebraFactory.COMMONS_ALGEBRA.multiply(matrix, matrix);
+  }
+
+  @Benchmark
+  public FlatDoubleMatrix multiplyFlat() {
+    FlatBlas.gemm(1d, flatMatrix, flatMatrix, 0d, product);
+    return product;
+  }
+
+}
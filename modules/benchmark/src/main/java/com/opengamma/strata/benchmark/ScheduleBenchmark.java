@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.basics.date.BusinessDayConventions.MODIFIED_FOLLOWING;
+import static com.opengamma.strata.basics.date.HolidayCalendars.GBLO;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opengamma.strata.basics.date.BusinessDayAdjustment;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.basics.schedule.Frequency;
+import com.opengamma.strata.basics.schedule.PeriodicSchedule;
+import com.opengamma.strata.basics.schedule.Schedule;
+import com.opengamma.strata.basics.schedule.StubConvention;
+
+/**
+ * Benchmarks the generation of schedules by {@link PeriodicSchedule#createSchedule()}.
+ * <p>
+ * The start date is not on a period boundary of the end date, so the schedule has an initial stub,
+ * and the dates are adjusted using the London holiday calendar.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ScheduleBenchmark {
+
+  private static final LocalDate START_DATE = LocalDate.of(2015, 7, 28);
+  private static final BusinessDayAdjustment BUSINESS_DAY_ADJUSTMENT =
+      BusinessDayAdjustment.of(MODIFIED_FOLLOWING, GBLO);
+
+  /**
+   * The tenor of the schedule.
+   */
+  @Param({"1Y", "10Y", "30Y"})
+  public String tenor;
+  /**
+   * The frequency of the schedule.
+   */
+  @Param({"1M", "3M", "6M", "12M"})
+  public String frequency;
+
+  private PeriodicSchedule schedule;
+
+  @Setup
+  public void setUp() {
+    LocalDate endDate = START_DATE.plus(Tenor.parse(tenor)).plusDays(10);
+    schedule = PeriodicSchedule.of(START_DATE, endDate, Frequency.parse(frequency), BUSINESS_DAY_ADJUSTMENT,
+        StubConvention.SHORT_INITIAL, false);
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public Schedule createSchedule() {
+    return schedule.createSchedule();
+  }
+
+}
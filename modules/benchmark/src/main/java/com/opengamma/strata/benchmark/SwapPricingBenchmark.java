@@ -0,0 +1,92 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.benchmark;
+
+import static com.opengamma.strata.finance.rate.swap.type.FixedIborSwapConventions.EUR_FIXED_1Y_EURIBOR_3M;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.FxMatrix;
+import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.date.Tenor;
+import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.Swap;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.pricer.calibration.CurveCalibrator;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+import com.opengamma.strata.pricer.rate.swap.DiscountingSwapProductPricer;
+
+/**
+ * Benchmarks the pricing of a vanilla swap by {@link DiscountingSwapProductPricer}.
+ * <p>
+ * The swap is priced with the calibrated EUR curves. The present value is measured both on the swap,
+ * which includes the expansion of the legs, and on the expanded swap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class SwapPricingBenchmark {
+
+  private static final DiscountingSwapProductPricer PRICER = DiscountingSwapProductPricer.DEFAULT;
+
+  /**
+   * The tenor of the swap.
+   */
+  @Param({"2Y", "10Y", "30Y"})
+  public String tenor;
+
+  private ImmutableRatesProvider provider;
+  private Swap swap;
+  private ExpandedSwap expandedSwap;
+
+  @Setup
+  public void setUp() {
+    provider = CurveCalibrator.DEFAULT.calibrate(BenchmarkData.eurCurveGroup(), BenchmarkData.VALUATION_DATE,
+        BenchmarkData.eurQuotes(0d), BenchmarkData.eurTimeSeries(), FxMatrix.empty()).getFirst();
+    swap = EUR_FIXED_1Y_EURIBOR_3M
+        .toTrade(BenchmarkData.VALUATION_DATE, Tenor.parse(tenor), BuySell.BUY, 1_000_000d, 0.01)
+        .getProduct();
+    expandedSwap = swap.expand();
+  }
+
+  //-------------------------------------------------------------------------
+  @Benchmark
+  public MultiCurrencyAmount presentValue() {
+    return PRICER.presentValue(swap, provider);
+  }
+
+  @Benchmark
+  public MultiCurrencyAmount presentValueExpanded() {
+    return PRICER.presentValue(expandedSwap, provider);
+  }
+
+  @Benchmark
+  public double parRate() {
+    return PRICER.parRate(expandedSwap, provider);
+  }
+
+  @Benchmark
+  public PointSensitivities presentValueSensitivity() {
+    return PRICER.presentValueSensitivity(expandedSwap, provider).build();
+  }
+
+  @Benchmark
+  public CurveCurrencyParameterSensitivities presentValueParameterSensitivity() {
+    return provider.curveParameterSensitivity(PRICER.presentValueSensitivity(expandedSwap, provider).build());
+  }
+
+}
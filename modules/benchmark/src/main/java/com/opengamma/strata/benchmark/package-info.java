@@ -0,0 +1,15 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+
+/**
+ * JMH benchmarks of the pricing and calibration hot paths.
+ * <p>
+ * The module is only built when the {@code benchmark} property is set, for example with
+ * {@code mvn install -Dbenchmark}. The benchmarks can be run with
+ * {@link com.opengamma.strata.benchmark.BenchmarkRunner}, or from the executable jar {@code benchmarks.jar}
+ * built by the module.
+ */
+package com.opengamma.strata.benchmark;
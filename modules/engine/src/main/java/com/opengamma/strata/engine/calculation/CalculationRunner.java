@@ -5,9 +5,14 @@
  */
 package com.opengamma.strata.engine.calculation;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.Column;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
 import com.opengamma.strata.engine.config.MarketDataRules;
@@ -58,6 +63,133 @@ public interface CalculationRunner {
    */
   public abstract Results calculate(CalculationTasks tasks, CalculationEnvironment marketData);
 
+  /**
+   * Performs a set of calculations for a single scenario, delivering the results to a sink in chunks of rows.
+   * <p>
+   * This is intended for sets of calculations whose results are too large to hold in memory at once.
+   * The rows of results are delivered to the sink in order. Each chunk delivered to the sink contains
+   * {@code chunkSize} rows, except the last chunk which can contain fewer.
+   * <p>
+   * At most two chunks of results are held in memory at any time. If the sink cannot keep up with the
+   * calculations, no more calculations are started until it catches up. The chunk size should be large
+   * enough that there are enough calculations to keep all the threads busy.
+   * <p>
+   * This method returns when all the results have been delivered to the sink. If the sink throws an exception,
+   * the exception is thrown from this method when the calculations are complete.
+   * <p>
+   * The default implementation performs all the calculations before delivering the results to the sink,
+   * so it holds all the results in memory. Implementations should override this to bound the memory used.
+   *
+   * @param tasks  configuration defining the calculations
+   * @param marketData  market data to be used in the calculations
+   * @param sink  the sink that receives the results
+   * @param chunkSize  the number of rows in each chunk delivered to the sink
+   */
+  public default void calculate(
+      CalculationTasks tasks,
+      CalculationEnvironment marketData,
+      ResultsSink sink,
+      int chunkSize) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    Results.sendInChunks(calculate(tasks, marketData), sink, chunkSize);
+  }
+
+  /**
+   * Performs a set of calculations for multiple scenarios, delivering the results to a sink in chunks of rows.
+   * <p>
+   * This is intended for sets of calculations whose results are too large to hold in memory at once.
+   * The rows of results are delivered to the sink in order. Each chunk delivered to the sink contains
+   * {@code chunkSize} rows, except the last chunk which can contain fewer.
+   * <p>
+   * At most two chunks of results are held in memory at any time. If the sink cannot keep up with the
+   * calculations, no more calculations are started until it catches up. The chunk size should be large
+   * enough that there are enough calculations to keep all the threads busy.
+   * <p>
+   * This method returns when all the results have been delivered to the sink. If the sink throws an exception,
+   * the exception is thrown from this method when the calculations are complete.
+   * <p>
+   * The default implementation performs all the calculations before delivering the results to the sink,
+   * so it holds all the results in memory. Implementations should override this to bound the memory used.
+   *
+   * @param tasks  configuration defining the calculations
+   * @param marketData  the market data used in the calculations
+   * @param sink  the sink that receives the results
+   * @param chunkSize  the number of rows in each chunk delivered to the sink
+   */
+  public default void calculate(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultsSink sink,
+      int chunkSize) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    Results.sendInChunks(calculate(tasks, marketData), sink, chunkSize);
+  }
+
+  /**
+   * Performs a set of calculations for a single scenario, recording the market data used by each calculation.
+   * <p>
+   * The results can be passed to {@link #recalculate} when the market data changes, so only the calculations
+   * using the changed data are performed again.
+   * <p>
+   * The default implementation performs the calculations using {@link #calculate(CalculationTasks,
+   * CalculationEnvironment)} and records that every calculation used all the market data in the environment.
+   * Implementations that can record the market data used by each calculation should override this.
+   *
+   * @param tasks  configuration defining the calculations
+   * @param marketData  market data to be used in the calculations
+   * @return the calculation results and the market data used by each calculation
+   */
+  public default IncrementalResults calculateIncremental(CalculationTasks tasks, CalculationEnvironment marketData) {
+    Results results = calculate(tasks, marketData);
+    ImmutableSet<MarketDataId<?>> marketDataIds = ImmutableSet.<MarketDataId<?>>builder()
+        .addAll(marketData.getValues().keySet())
+        .addAll(marketData.getTimeSeries().keySet())
+        .addAll(marketData.getSingleValueFailures().keySet())
+        .addAll(marketData.getTimeSeriesFailures().keySet())
+        .build();
+    return new IncrementalResults(
+        results,
+        Collections.nCopies(results.getItems().size(), marketDataIds),
+        marketData.getValuationDate());
+  }
+
+  /**
+   * Performs the calculations that are affected by a change to the market data for a single scenario.
+   * <p>
+   * The calculations that used any of the market data identified by {@code changedIds} are performed again
+   * using the new market data. The results of the other calculations are taken from {@code previousResults}.
+   * <p>
+   * The changed IDs must include the IDs of all values derived from the changed data. For example, if a quote
+   * used to calibrate a curve has changed, the changed IDs must include the ID of the curve as well as the
+   * ID of the quote. These can be obtained using
+   * {@link com.opengamma.strata.engine.marketdata.DefaultMarketDataFactory#dependentIds dependentIds}.
+   * <p>
+   * The valuation date is not identified by a market data ID. If the valuation date of the market data
+   * differs from the valuation date of the previous results, all the calculations are performed again.
+   * <p>
+   * The default implementation performs all the calculations again using {@link #calculateIncremental}.
+   * Implementations that record the market data used by each calculation should override this.
+   *
+   * @param tasks  configuration defining the calculations, the same as the tasks used to calculate the
+   *   previous results
+   * @param marketData  market data to be used in the calculations
+   * @param previousResults  the results of the calculations using the previous market data
+   * @param changedIds  the IDs of the market data that has changed since the previous results were calculated
+   * @return the calculation results and the market data used by each calculation
+   */
+  public default IncrementalResults recalculate(
+      CalculationTasks tasks,
+      CalculationEnvironment marketData,
+      IncrementalResults previousResults,
+      Set<? extends MarketDataId<?>> changedIds) {
+
+    return calculateIncremental(tasks, marketData);
+  }
+
   /**
    * Performs a set of calculations for multiple scenarios, each with a different set of market data.
    *
@@ -7,8 +7,11 @@ package com.opengamma.strata.engine.calculation;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.IntStream;
 
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.currency.Currency;
@@ -18,10 +21,13 @@ import com.opengamma.strata.basics.market.FxRateKey;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.calculation.function.BatchCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
 import com.opengamma.strata.engine.calculation.function.CurrencyConvertible;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.config.ReportingRules;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.CalculationRequirements;
@@ -88,6 +94,42 @@ public class CalculationTask {
     this.function = (CalculationSingleFunction<CalculationTarget, ?>) ArgChecker.notNull(function, "function");
   }
 
+  /**
+   * Returns the target for which the calculation is performed.
+   *
+   * @return the target for which the calculation is performed
+   */
+  public CalculationTarget getTarget() {
+    return target;
+  }
+
+  /**
+   * Returns the row index of the value in the results grid.
+   *
+   * @return the row index of the value in the results grid
+   */
+  public int getRowIndex() {
+    return rowIndex;
+  }
+
+  /**
+   * Returns the column index of the value in the results grid.
+   *
+   * @return the column index of the value in the results grid
+   */
+  public int getColumnIndex() {
+    return columnIndex;
+  }
+
+  /**
+   * Returns the mappings used to select the market data for the calculation.
+   *
+   * @return the mappings used to select the market data for the calculation
+   */
+  public MarketDataMappings getMarketDataMappings() {
+    return marketDataMappings;
+  }
+
   /**
    * Returns requirements specifying the market data the function needs to perform its calculations.
    *
@@ -156,6 +198,105 @@ public class CalculationTask {
     return CalculationResult.of(target, rowIndex, columnIndex, convertToReportingCurrency(result, calculationData));
   }
 
+  /**
+   * Performs calculations for the target using market data and inputs shared with other tasks for the same target.
+   * <p>
+   * If the function implements {@link SharedInputCalculationFunction} its input is taken from {@code inputs}
+   * if another task has already created it, otherwise it is created and added to {@code inputs}.
+   *
+   * @param calculationData  the market data used in the calculation, shared by all tasks for the target
+   * @param inputs  the function inputs created so far for the target, keyed by input key
+   * @return results of the calculation, one for every scenario in the market data
+   */
+  CalculationResult execute(CalculationMarketData calculationData, Map<Object, Object> inputs) {
+    Result<?> result;
+
+    try {
+      Object value = executeFunction(calculationData, inputs);
+      result = value instanceof Result ?
+          (Result<?>) value :
+          Result.success(value);
+    } catch (RuntimeException e) {
+      result = Result.failure(e);
+    }
+    return CalculationResult.of(target, rowIndex, columnIndex, convertToReportingCurrency(result, calculationData));
+  }
+
+  /**
+   * Returns the key used to decide which tasks can be executed in a single call to their function.
+   * <p>
+   * This is empty unless the function implements {@link BatchCalculationFunction}.
+   *
+   * @return the batch key of the function, empty if the function cannot calculate values for a list of targets
+   */
+  @SuppressWarnings("unchecked")
+  Optional<Object> batchKey() {
+    if (function instanceof BatchCalculationFunction) {
+      return Optional.of(((BatchCalculationFunction<CalculationTarget, ?>) function).batchKey(target));
+    }
+    return Optional.empty();
+  }
+
+  /**
+   * Performs calculations for the targets of a list of tasks in a single call to the function of the first task.
+   * <p>
+   * The functions of the tasks must implement {@link BatchCalculationFunction} and return equal batch keys.
+   * The tasks must use the same market data mappings. The result of each task is converted to its
+   * reporting currency. If the function throws an exception the tasks are executed one at a time,
+   * so only the results of the targets whose calculations fail are failures.
+   *
+   * @param tasks  the tasks whose functions have equal batch keys
+   * @param calculationData  the market data used in the calculations, shared by all the tasks
+   * @return results of the calculations, one for each task
+   */
+  @SuppressWarnings("unchecked")
+  static List<CalculationResult> execute(List<CalculationTask> tasks, CalculationMarketData calculationData) {
+    BatchCalculationFunction<CalculationTarget, ?> batchFunction =
+        (BatchCalculationFunction<CalculationTarget, ?>) tasks.get(0).function;
+    List<CalculationTarget> targets = tasks.stream().map(CalculationTask::getTarget).collect(toImmutableList());
+    List<Result<?>> results;
+
+    try {
+      List<?> values = batchFunction.execute(targets, calculationData);
+
+      if (values.size() != targets.size()) {
+        throw new IllegalStateException(
+            Messages.format("Expected {} results but found {}", targets.size(), values.size()));
+      }
+      results = values.stream()
+          .map(value -> value instanceof Result ? (Result<?>) value : Result.success(value))
+          .collect(toImmutableList());
+    } catch (RuntimeException e) {
+      // the failure is isolated by calculating the value for each target separately
+      return tasks.stream()
+          .map(task -> task.execute(calculationData, new HashMap<>()))
+          .collect(toImmutableList());
+    }
+    List<Result<?>> taskResults = results;
+    return IntStream.range(0, tasks.size())
+        .mapToObj(i -> tasks.get(i).calculationResult(taskResults.get(i), calculationData))
+        .collect(toImmutableList());
+  }
+
+  // creates the calculation result for this task, converting the value to the reporting currency
+  private CalculationResult calculationResult(Result<?> result, CalculationMarketData calculationData) {
+    return CalculationResult.of(target, rowIndex, columnIndex, convertToReportingCurrency(result, calculationData));
+  }
+
+  // invokes the function, sharing its input if possible
+  @SuppressWarnings("unchecked")
+  private Object executeFunction(CalculationMarketData calculationData, Map<Object, Object> inputs) {
+    if (!(function instanceof SharedInputCalculationFunction)) {
+      return function.execute(target, calculationData);
+    }
+    SharedInputCalculationFunction<CalculationTarget, Object, ?> sharedInputFunction =
+        (SharedInputCalculationFunction<CalculationTarget, Object, ?>) function;
+    Object input = inputs.computeIfAbsent(
+        sharedInputFunction.inputKey(),
+        key -> sharedInputFunction.createInput(target));
+    return sharedInputFunction.execute(target, input, calculationData);
+  }
+
   /**
    * Converts the value in a result to the reporting currency.
    * <p>
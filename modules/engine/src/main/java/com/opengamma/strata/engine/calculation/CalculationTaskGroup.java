@@ -0,0 +1,124 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.engine.calculation.function.BatchCalculationFunction;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.DefaultCalculationMarketData;
+import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+
+/**
+ * A group of tasks that calculate values for the same target using the same market data mappings.
+ * <p>
+ * The tasks in a group are executed together on a single thread. The market data for the target is
+ * created once and shared by all tasks. Functions implementing {@link SharedInputCalculationFunction}
+ * also share their inputs, for example the expanded form of a product.
+ * <p>
+ * Tasks whose functions implement {@link BatchCalculationFunction} are instead grouped with the tasks
+ * for other targets whose functions return an equal batch key for their target and use the same market data
+ * mappings. The values for all the targets in such a group are calculated in a single call to the function.
+ * <p>
+ * The results of the individual tasks are identical to the results produced by executing the tasks separately.
+ */
+final class CalculationTaskGroup {
+
+  /**
+   * The tasks in the group, all with the same market data mappings.
+   * The tasks in a batch all have equal batch keys, otherwise they all have the same target and row.
+   */
+  private final List<CalculationTask> tasks;
+
+  /** The mappings to select market data, shared by all tasks in the group. */
+  private final MarketDataMappings marketDataMappings;
+
+  /** Whether the values for all the tasks are calculated in a single call to a {@link BatchCalculationFunction}. */
+  private final boolean batch;
+
+  /**
+   * @param tasks  the tasks in the group, all with the same market data mappings
+   * @param batch  whether the values for all the tasks are calculated in a single call to their function
+   */
+  private CalculationTaskGroup(List<CalculationTask> tasks, boolean batch) {
+    ArgChecker.notEmpty(tasks, "tasks");
+    this.tasks = ImmutableList.copyOf(tasks);
+    this.marketDataMappings = tasks.get(0).getMarketDataMappings();
+    this.batch = batch;
+  }
+
+  /**
+   * Groups tasks by row and market data mappings, or by batch key and market data mappings.
+   * <p>
+   * The tasks must be in row order, as returned by {@link CalculationTasks#getTasks()}.
+   * Tasks whose functions implement {@link BatchCalculationFunction} are placed in the same group if the
+   * batch keys for their targets and their market data mappings are equal, regardless of their row.
+   * The other tasks in the same row with equal market data mappings are placed in the same group.
+   *
+   * @param tasks  the tasks in row order
+   * @return the tasks grouped by row and market data mappings, or by batch key and market data mappings
+   */
+  static List<CalculationTaskGroup> of(List<CalculationTask> tasks) {
+    List<CalculationTaskGroup> groups = new ArrayList<>();
+    Map<Pair<Object, MarketDataMappings>, List<CalculationTask>> batches = new LinkedHashMap<>();
+    int start = 0;
+
+    while (start < tasks.size()) {
+      int rowIndex = tasks.get(start).getRowIndex();
+      int end = start + 1;
+
+      while (end < tasks.size() && tasks.get(end).getRowIndex() == rowIndex) {
+        end++;
+      }
+      Map<MarketDataMappings, List<CalculationTask>> rowGroups = new LinkedHashMap<>();
+
+      for (CalculationTask task : tasks.subList(start, end)) {
+        Optional<Object> batchKey = task.batchKey();
+
+        if (batchKey.isPresent()) {
+          batches.computeIfAbsent(Pair.of(batchKey.get(), task.getMarketDataMappings()), key -> new ArrayList<>())
+              .add(task);
+        } else {
+          rowGroups.computeIfAbsent(task.getMarketDataMappings(), mappings -> new ArrayList<>()).add(task);
+        }
+      }
+      rowGroups.values().stream().map(rowTasks -> new CalculationTaskGroup(rowTasks, false)).forEach(groups::add);
+      start = end;
+    }
+    batches.values().stream().map(batchTasks -> new CalculationTaskGroup(batchTasks, true)).forEach(groups::add);
+    return groups;
+  }
+
+  /**
+   * Performs the calculations for all tasks in the group using multiple sets of market data.
+   *
+   * @param scenarioData  the market data used in the calculations
+   * @return the results of the calculations, one for each task in the group
+   */
+  List<CalculationResult> execute(ScenarioCalculationEnvironment scenarioData) {
+    CalculationMarketData calculationData = new DefaultCalculationMarketData(scenarioData, marketDataMappings);
+
+    if (batch) {
+      return CalculationTask.execute(tasks, calculationData);
+    }
+    Map<Object, Object> inputs = new HashMap<>();
+    return tasks.stream()
+        .map(task -> task.execute(calculationData, inputs))
+        .collect(toImmutableList());
+  }
+}
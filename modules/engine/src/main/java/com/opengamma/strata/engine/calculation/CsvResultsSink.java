@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.io.Flushable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Unchecked;
+import com.opengamma.strata.collect.io.CsvOutput;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.Column;
+
+/**
+ * A results sink that writes the results as CSV.
+ * <p>
+ * The first line contains the column names. Each following line contains the results for a target.
+ * Successful results are formatted using a formatter function, failures are written as the failure message.
+ * <p>
+ * If the underlying {@code Appendable} is {@link Flushable} it is flushed after every chunk of rows,
+ * so the rows are not held in memory by the writer.
+ */
+public final class CsvResultsSink implements ResultsSink {
+
+  /** The underlying appendable, flushed after each chunk if possible. */
+  private final Appendable underlying;
+
+  /** The CSV output that writes to the underlying. */
+  private final CsvOutput csvOutput;
+
+  /** The columns in the results. */
+  private final List<Column> columns;
+
+  /** Converts the successful results to strings. */
+  private final Function<Object, String> formatter;
+
+  /** Whether the header line has been written. */
+  private boolean headerWritten;
+
+  /**
+   * Creates a sink that formats the results using {@code toString()}.
+   *
+   * @param underlying  the appendable that receives the CSV
+   * @param columns  the columns in the results, used to create the header line
+   */
+  public CsvResultsSink(Appendable underlying, List<Column> columns) {
+    this(underlying, columns, String::valueOf);
+  }
+
+  /**
+   * Creates a sink that formats the results using a formatter function.
+   *
+   * @param underlying  the appendable that receives the CSV
+   * @param columns  the columns in the results, used to create the header line
+   * @param formatter  converts the successful results to strings
+   */
+  public CsvResultsSink(Appendable underlying, List<Column> columns, Function<Object, String> formatter) {
+    this.underlying = ArgChecker.notNull(underlying, "underlying");
+    this.csvOutput = new CsvOutput(underlying);
+    this.columns = ArgChecker.notNull(columns, "columns");
+    this.formatter = ArgChecker.notNull(formatter, "formatter");
+  }
+
+  @Override
+  public void rowsReceived(int firstRowIndex, Results rows) {
+    writeHeader();
+
+    for (int i = 0; i < rows.getRowCount(); i++) {
+      List<String> line = new ArrayList<>(rows.getColumnCount());
+
+      for (int j = 0; j < rows.getColumnCount(); j++) {
+        line.add(format(rows.get(i, j)));
+      }
+      csvOutput.writeLine(line);
+    }
+    flush();
+  }
+
+  @Override
+  public void resultsComplete() {
+    writeHeader();
+    flush();
+  }
+
+  // writes the column names if they haven't already been written
+  private void writeHeader() {
+    if (!headerWritten) {
+      csvOutput.writeLine(columns.stream().map(column -> column.getName().toString()).collect(toImmutableList()));
+      headerWritten = true;
+    }
+  }
+
+  // formats a result as a string
+  private String format(Result<?> result) {
+    return result.isSuccess() ?
+        formatter.apply(result.getValue()) :
+        result.getFailure().getMessage();
+  }
+
+  // flushes the underlying if possible
+  private void flush() {
+    if (underlying instanceof Flushable) {
+      Unchecked.wrap(() -> ((Flushable) underlying).flush());
+    }
+  }
+}
@@ -6,23 +6,35 @@
 package com.opengamma.strata.engine.calculation;
 
 import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static java.util.stream.Collectors.toList;
 
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.function.BatchCalculationFunction;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.config.CalculationTaskConfig;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
@@ -34,6 +46,7 @@ import com.opengamma.strata.engine.config.pricing.ConfiguredFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
 import com.opengamma.strata.engine.config.pricing.PricingRules;
 import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.DefaultCalculationMarketData;
 import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
 import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
 
@@ -45,14 +58,47 @@ public class DefaultCalculationRunner implements CalculationRunner {
   /** Executes the tasks that perform the individual calculations. */
   private final ExecutorService executor;
 
+  /**
+   * Whether tasks for the same target are grouped and executed together.
+   * <p>
+   * If this is true the tasks calculating values for a target are executed together, sharing
+   * market data and function inputs. Otherwise each task is executed separately.
+   */
+  private final boolean groupTasks;
+
   /** Factory for consumers that wrap listeners to control threading and notify them when calculations are complete. */
   private final ConsumerFactory consumerFactory = ListenerWrapper::new;
 
   /**
+   * Creates a runner that executes each task separately.
+   *
    * @param executor  executes the tasks that perform the calculations
    */
   public DefaultCalculationRunner(ExecutorService executor) {
+    this(executor, false);
+  }
+
+  /**
+   * Creates a runner that optionally groups the tasks for each target and executes them together.
+   * <p>
+   * When the tasks are grouped, all tasks for a target that use the same market data mappings are executed
+   * by a single executor task. The market data and the inputs of functions implementing
+   * {@link SharedInputCalculationFunction} are created once and shared between the tasks.
+   * The tasks for all targets whose functions implement {@link BatchCalculationFunction} with equal batch keys
+   * for their targets are executed together, calculating the values for all the targets in a single call to
+   * the function. Each batch is executed by a separate executor task.
+   * When the results are delivered to a sink in chunks only the tasks in the same row are grouped.
+   * The results are identical to the results when the tasks are executed separately.
+   * <p>
+   * The tasks are never grouped by {@link #calculateIncremental} and {@link #recalculate}, which must record
+   * the market data used by each task. They always execute each task separately.
+   *
+   * @param executor  executes the tasks that perform the calculations
+   * @param groupTasks  whether the tasks for each target should be grouped and executed together
+   */
+  public DefaultCalculationRunner(ExecutorService executor, boolean groupTasks) {
     this.executor = ArgChecker.notNull(executor, "executor");
+    this.groupTasks = groupTasks;
   }
 
   @Override
@@ -71,6 +117,8 @@ public class DefaultCalculationRunner implements CalculationRunner {
 
     ImmutableList.Builder<CalculationTaskConfig> configBuilder = ImmutableList.builder();
 
+    // The configuration is created for each cell in the grid. If task grouping is enabled the tasks
+    // for a target are grouped when they are executed
     for (int i = 0; i < targets.size(); i++) {
       for (int j = 0; j < columns.size(); j++) {
         // TODO For each target, build a map of function group to set of measures.
@@ -106,6 +154,102 @@ public class DefaultCalculationRunner implements CalculationRunner {
     return results.toBuilder().items(unwrappedResults).build();
   }
 
+  @Override
+  public IncrementalResults calculateIncremental(CalculationTasks tasks, CalculationEnvironment marketData) {
+    List<CalculationTask> taskList = tasks.getTasks();
+    List<Integer> taskIndices = IntStream.range(0, taskList.size()).boxed().collect(toImmutableList());
+    List<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>> results = runRecordingTasks(taskList, taskIndices, marketData);
+    return incrementalResults(tasks, results, marketData);
+  }
+
+  @Override
+  public IncrementalResults recalculate(
+      CalculationTasks tasks,
+      CalculationEnvironment marketData,
+      IncrementalResults previousResults,
+      Set<? extends MarketDataId<?>> changedIds) {
+
+    List<CalculationTask> taskList = tasks.getTasks();
+    List<Result<?>> previousItems = previousResults.getResults().getItems();
+    List<ImmutableSet<MarketDataId<?>>> previousIds = previousResults.getMarketDataIds();
+    ArgChecker.isTrue(
+        previousItems.size() == taskList.size(),
+        "The previous results must be calculated by the same tasks");
+
+    // The valuation date isn't recorded as market data used by the tasks so all the tasks depend on it
+    if (!marketData.getValuationDate().equals(previousResults.getValuationDate())) {
+      return calculateIncremental(tasks, marketData);
+    }
+
+    // Only the tasks that used the changed market data are executed again
+    List<Integer> affectedIndices = IntStream.range(0, taskList.size())
+        .filter(i -> previousIds.get(i).stream().anyMatch(changedIds::contains))
+        .boxed()
+        .collect(toImmutableList());
+
+    List<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>> results =
+        IntStream.range(0, taskList.size())
+            .mapToObj(i -> Pair.<Result<?>, ImmutableSet<MarketDataId<?>>>of(previousItems.get(i), previousIds.get(i)))
+            .collect(toList());
+    List<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>> affectedResults =
+        runRecordingTasks(taskList, affectedIndices, marketData);
+
+    for (int i = 0; i < affectedIndices.size(); i++) {
+      results.set(affectedIndices.get(i), affectedResults.get(i));
+    }
+    return incrementalResults(tasks, results, marketData);
+  }
+
+  /**
+   * Executes tasks using the executor, recording the market data used by each task.
+   *
+   * @param tasks  all the tasks in the calculations
+   * @param taskIndices  the indices of the tasks to execute
+   * @param marketData  the market data used in the calculations
+   * @return the result of each task and the IDs of the market data used by the task, in the order of the indices
+   */
+  private List<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>> runRecordingTasks(
+      List<CalculationTask> tasks,
+      List<Integer> taskIndices,
+      CalculationEnvironment marketData) {
+
+    ScenarioCalculationEnvironment scenarioData = ScenarioCalculationEnvironment.of(marketData);
+    List<CompletableFuture<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>>> futures =
+        taskIndices.stream()
+            .map(tasks::get)
+            .map(task -> CompletableFuture.supplyAsync(() -> runRecordingTask(task, scenarioData), executor))
+            .collect(toImmutableList());
+
+    return futures.stream().map(CompletableFuture::join).collect(toImmutableList());
+  }
+
+  // executes a task, recording the IDs of the market data it uses
+  private static Pair<Result<?>, ImmutableSet<MarketDataId<?>>> runRecordingTask(
+      CalculationTask task,
+      ScenarioCalculationEnvironment marketData) {
+
+    MarketDataMappings mappings = task.getMarketDataMappings();
+    RecordingCalculationMarketData calculationData =
+        new RecordingCalculationMarketData(new DefaultCalculationMarketData(marketData, mappings));
+    CalculationResult result = task.execute(calculationData, new HashMap<>());
+    return Pair.of(unwrapScenarioResult(result.getResult()), calculationData.getMarketDataIds(mappings));
+  }
+
+  // creates the incremental results from the results of the individual tasks
+  private static IncrementalResults incrementalResults(
+      CalculationTasks tasks,
+      List<Pair<Result<?>, ImmutableSet<MarketDataId<?>>>> results,
+      CalculationEnvironment marketData) {
+
+    List<Result<?>> items = results.stream().map(Pair::getFirst).collect(toImmutableList());
+    List<ImmutableSet<MarketDataId<?>>> marketDataIds =
+        results.stream().map(Pair::getSecond).collect(toImmutableList());
+    int columnCount = tasks.getColumns().size();
+    int rowCount = (columnCount == 0) ? 0 : items.size() / columnCount;
+    Results calculationResults = Results.of(rowCount, columnCount, items);
+    return new IncrementalResults(calculationResults, marketDataIds, marketData.getValuationDate());
+  }
+
   @Override
   public Results calculate(CalculationTasks tasks, ScenarioCalculationEnvironment marketData) {
     Listener listener = new Listener(tasks.getColumns());
@@ -124,7 +268,84 @@ public class DefaultCalculationRunner implements CalculationRunner {
   public void calculateAsync(CalculationTasks tasks, ScenarioCalculationEnvironment marketData, CalculationListener listener) {
     List<CalculationTask> taskList = tasks.getTasks();
     Consumer<CalculationResult> consumer = consumerFactory.create(listener, taskList.size());
-    taskList.stream().forEach(task -> runTask(task, marketData, consumer));
+
+    if (groupTasks) {
+      CalculationTaskGroup.of(taskList).stream().forEach(group -> runTaskGroup(group, marketData, consumer));
+    } else {
+      taskList.stream().forEach(task -> runTask(task, marketData, consumer));
+    }
+  }
+
+  @Override
+  public void calculate(CalculationTasks tasks, CalculationEnvironment marketData, ResultsSink sink, int chunkSize) {
+    // The listener is decorated to unwrap ScenarioResults containing a single result
+    ScenarioCalculationEnvironment scenarioData = ScenarioCalculationEnvironment.of(marketData);
+    calculateStreaming(tasks, scenarioData, sink, chunkSize, UnwrappingListener::new);
+  }
+
+  @Override
+  public void calculate(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultsSink sink,
+      int chunkSize) {
+
+    calculateStreaming(tasks, marketData, sink, chunkSize, listener -> listener);
+  }
+
+  /**
+   * Performs the calculations, delivering the results to a sink in chunks of rows.
+   * <p>
+   * The calculations for a row are only started when there is room for their results. The results of at most
+   * two chunks are held in memory, one that is being filled and one that is being delivered to the sink.
+   * This thread blocks until there is room, which stops it submitting tasks to the executor faster than
+   * the sink can consume the results.
+   *
+   * @param tasks  the tasks that perform the calculations
+   * @param marketData  the market data used in the calculations
+   * @param sink  the sink that receives the results
+   * @param chunkSize  the number of rows in each chunk delivered to the sink
+   * @param listenerDecorator  decorates the listener that delivers the results to the sink
+   */
+  private void calculateStreaming(
+      CalculationTasks tasks,
+      ScenarioCalculationEnvironment marketData,
+      ResultsSink sink,
+      int chunkSize,
+      Function<CalculationListener, CalculationListener> listenerDecorator) {
+
+    ArgChecker.notNull(sink, "sink");
+    ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    List<CalculationTask> taskList = tasks.getTasks();
+
+    if (taskList.isEmpty()) {
+      sink.resultsComplete();
+      return;
+    }
+    int columnCount = tasks.getColumns().size();
+    Semaphore permits = new Semaphore(2 * chunkSize * columnCount);
+    StreamingCalculationListener listener = new StreamingCalculationListener(sink, columnCount, chunkSize, permits);
+    Consumer<CalculationResult> consumer = consumerFactory.create(listenerDecorator.apply(listener), taskList.size());
+
+    for (int rowStart = 0; rowStart < taskList.size(); rowStart += columnCount) {
+      List<CalculationTask> rowTasks = taskList.subList(rowStart, rowStart + columnCount);
+      // Blocks until enough results have been delivered to the sink to make room for this row
+      permits.acquireUninterruptibly(columnCount);
+
+      if (groupTasks) {
+        CalculationTaskGroup.of(rowTasks).stream().forEach(group -> runTaskGroup(group, marketData, consumer));
+      } else {
+        rowTasks.stream().forEach(task -> runTask(task, marketData, consumer));
+      }
+    }
+    try {
+      listener.completionStage().join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
   }
 
   private void runTask(CalculationTask task, ScenarioCalculationEnvironment marketData, Consumer<CalculationResult> consumer) {
@@ -132,6 +353,16 @@ public class DefaultCalculationRunner implements CalculationRunner {
     CompletableFuture.supplyAsync(() -> task.execute(marketData), executor).thenAccept(consumer::accept);
   }
 
+  private void runTaskGroup(
+      CalculationTaskGroup group,
+      ScenarioCalculationEnvironment marketData,
+      Consumer<CalculationResult> consumer) {
+
+    // Submits a group of tasks to the executor to be run. The result of each task is passed to consumer.accept()
+    CompletableFuture.supplyAsync(() -> group.execute(marketData), executor)
+        .thenAccept(results -> results.forEach(consumer::accept));
+  }
+
   /**
    * Unwraps the result from an instance of {@link ScenarioResult} containing a single result.
    * <p>
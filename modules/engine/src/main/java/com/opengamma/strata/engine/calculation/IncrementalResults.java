@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.Messages;
+
+/**
+ * The results of a set of calculations and the market data used by each calculation.
+ * <p>
+ * This is returned by {@link CalculationRunner#calculateIncremental} and
+ * {@link CalculationRunner#recalculate}. The market data used by each calculation allows the
+ * calculations to be performed again when some of the market data changes, without repeating
+ * the calculations that are not affected by the change.
+ */
+public final class IncrementalResults {
+
+  /** The results of the calculations. */
+  private final Results results;
+
+  /** The IDs of the market data used by each calculation, in the same order as the results. */
+  private final ImmutableList<ImmutableSet<MarketDataId<?>>> marketDataIds;
+
+  /** The valuation date of the market data used by the calculations. */
+  private final LocalDate valuationDate;
+
+  /**
+   * @param results  the results of the calculations
+   * @param marketDataIds  the IDs of the market data used by each calculation, in the same order as the results
+   * @param valuationDate  the valuation date of the market data used by the calculations
+   */
+  IncrementalResults(Results results, List<ImmutableSet<MarketDataId<?>>> marketDataIds, LocalDate valuationDate) {
+    this.results = ArgChecker.notNull(results, "results");
+    this.marketDataIds = ImmutableList.copyOf(marketDataIds);
+    this.valuationDate = ArgChecker.notNull(valuationDate, "valuationDate");
+
+    if (results.getItems().size() != marketDataIds.size()) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "The number of results ({}) must equal the number of sets of market data IDs ({})",
+              results.getItems().size(),
+              marketDataIds.size()));
+    }
+  }
+
+  /**
+   * Returns the results of the calculations.
+   *
+   * @return the results of the calculations
+   */
+  public Results getResults() {
+    return results;
+  }
+
+  /**
+   * Returns the valuation date of the market data used by the calculations.
+   * <p>
+   * The valuation date is not recorded as market data used by the calculations, so all the calculations
+   * are performed again if the valuation date changes.
+   *
+   * @return the valuation date of the market data used by the calculations
+   */
+  public LocalDate getValuationDate() {
+    return valuationDate;
+  }
+
+  /**
+   * Returns the IDs of the market data used by the calculation for a target and column.
+   * <p>
+   * This includes the IDs of any market data requested by the calculation that was not available.
+   *
+   * @param rowIndex  the index of the row containing the results for a target
+   * @param columnIndex  the index of the column
+   * @return the IDs of the market data used by the calculation
+   */
+  public Set<MarketDataId<?>> getMarketDataIds(int rowIndex, int columnIndex) {
+    // Results.get validates the indices
+    results.get(rowIndex, columnIndex);
+    return marketDataIds.get(rowIndex * results.getColumnCount() + columnIndex);
+  }
+
+  /**
+   * Returns the IDs of the market data used by each calculation, in the same order as the results.
+   *
+   * @return the IDs of the market data used by each calculation
+   */
+  List<ImmutableSet<MarketDataId<?>>> getMarketDataIds() {
+    return marketDataIds;
+  }
+}
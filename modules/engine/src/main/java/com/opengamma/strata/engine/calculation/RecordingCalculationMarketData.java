@@ -0,0 +1,96 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+
+/**
+ * Market data that records the keys of the market data requested by a calculation.
+ * <p>
+ * The keys are recorded before the data is requested from the underlying market data, so the keys
+ * of data that is not available are also recorded. This allows a calculation that failed because
+ * of missing data to be performed again when the data becomes available.
+ * <p>
+ * Instances of this class are not thread safe and are intended to be used by a single task.
+ */
+final class RecordingCalculationMarketData implements CalculationMarketData {
+
+  /** The underlying market data. */
+  private final CalculationMarketData delegate;
+
+  /** The keys of the single values and global values requested by the calculation. */
+  private final Set<MarketDataKey<?>> keys = new HashSet<>();
+
+  /** The keys of the time series requested by the calculation. */
+  private final Set<ObservableKey> timeSeriesKeys = new HashSet<>();
+
+  /**
+   * @param delegate  the underlying market data
+   */
+  RecordingCalculationMarketData(CalculationMarketData delegate) {
+    this.delegate = ArgChecker.notNull(delegate, "delegate");
+  }
+
+  @Override
+  public List<LocalDate> getValuationDates() {
+    return delegate.getValuationDates();
+  }
+
+  @Override
+  public int getScenarioCount() {
+    return delegate.getScenarioCount();
+  }
+
+  @Override
+  public <T> List<T> getValues(MarketDataKey<T> key) {
+    keys.add(key);
+    return delegate.getValues(key);
+  }
+
+  @Override
+  public LocalDateDoubleTimeSeries getTimeSeries(ObservableKey key) {
+    timeSeriesKeys.add(key);
+    return delegate.getTimeSeries(key);
+  }
+
+  @Override
+  public <T, K extends MarketDataKey<T>> T getGlobalValue(K key) {
+    keys.add(key);
+    return delegate.getGlobalValue(key);
+  }
+
+  /**
+   * Returns the IDs of the market data requested by the calculation.
+   * <p>
+   * The recorded keys are converted to IDs using the mappings used to look up the market data.
+   *
+   * @param marketDataMappings  the mappings used to look up the market data
+   * @return the IDs of the market data requested by the calculation
+   */
+  ImmutableSet<MarketDataId<?>> getMarketDataIds(MarketDataMappings marketDataMappings) {
+    ImmutableSet.Builder<MarketDataId<?>> builder = ImmutableSet.builder();
+
+    for (MarketDataKey<?> key : keys) {
+      builder.add(marketDataMappings.getIdForKey(key));
+    }
+    for (ObservableKey key : timeSeriesKeys) {
+      builder.add(marketDataMappings.getIdForObservableKey(key));
+    }
+    return builder.build();
+  }
+}
@@ -107,6 +107,43 @@ public final class Results implements ImmutableBean {
     return items.get(index);
   }
 
+  /**
+   * Returns the results in a range of rows.
+   *
+   * @param startRow  the index of the first row, inclusive
+   * @param endRow  the index of the last row, exclusive
+   * @return the results in the rows
+   */
+  public Results rows(int startRow, int endRow) {
+    ArgChecker.inOrderOrEqual(startRow, endRow, "startRow", "endRow");
+    if (startRow < 0 || endRow > rowCount) {
+      throw new IllegalArgumentException(
+          Messages.format(
+              "Row range must be within the results, but it was [{}, {}) and the row count is {}",
+              startRow,
+              endRow,
+              rowCount));
+    }
+    return new Results(endRow - startRow, columnCount, items.subList(startRow * columnCount, endRow * columnCount));
+  }
+
+  /**
+   * Delivers the results to a sink in chunks of rows and then notifies the sink that they are complete.
+   * <p>
+   * This is shared by the default chunked {@code calculate} methods of {@link CalculationRunner}.
+   *
+   * @param results  the results to deliver
+   * @param sink  the sink that receives the results
+   * @param chunkSize  the maximum number of rows in each chunk
+   */
+  static void sendInChunks(Results results, ResultsSink sink, int chunkSize) {
+    int rowCount = results.getRowCount();
+    for (int startRow = 0; startRow < rowCount; startRow += chunkSize) {
+      sink.rowsReceived(startRow, results.rows(startRow, Math.min(startRow + chunkSize, rowCount)));
+    }
+    sink.resultsComplete();
+  }
+
   private String invalidRowIndexMessage(int rowIndex) {
     return Messages.format(
         "Row index must be greater than or equal to zero and less than the row count ({}), but it was {}",
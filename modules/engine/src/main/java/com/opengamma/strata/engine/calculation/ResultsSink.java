@@ -0,0 +1,40 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+/**
+ * A destination for calculation results that are delivered in chunks of rows while the calculations are running.
+ * <p>
+ * This is used when the results of a set of calculations are too large to hold in memory at once.
+ * The calculation runner delivers each row of results to the sink when all the calculations in the row
+ * have completed. The rows are delivered in order and the runner stops starting new calculations if the sink
+ * falls behind, so the number of results held in memory is bounded.
+ * <p>
+ * The methods of a sink are never invoked concurrently by multiple threads. They are invoked by threads
+ * performing the calculations, so a slow sink slows down the calculations.
+ *
+ * @see CalculationRunner
+ */
+public interface ResultsSink {
+
+  /**
+   * Invoked when a chunk of rows of results is available.
+   * <p>
+   * Each chunk contains one or more complete rows of results, and each chunk follows on from the previous
+   * chunk. The first chunk starts with row zero.
+   *
+   * @param firstRowIndex  the index of the first row in the chunk in the full set of results
+   * @param rows  the results in the chunk
+   */
+  public abstract void rowsReceived(int firstRowIndex, Results rows);
+
+  /**
+   * Invoked when all the results have been delivered.
+   * <p>
+   * This is guaranteed to be called after all rows have been passed to {@link #rowsReceived}.
+   */
+  public abstract void resultsComplete();
+}
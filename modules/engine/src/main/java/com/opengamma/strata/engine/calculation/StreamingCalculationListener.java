@@ -0,0 +1,163 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.result.Result;
+
+/**
+ * Calculation listener that assembles the results into rows and delivers them to a sink in chunks.
+ * <p>
+ * The rows are delivered to the sink in order. A row that is complete is held until all the previous
+ * rows are complete. Rows are delivered when there are enough complete rows to fill a chunk, and any remaining
+ * rows are delivered when the calculations are complete.
+ * <p>
+ * When a chunk has been delivered, permits for the results in the chunk are released to a semaphore.
+ * The calculation runner acquires permits from the semaphore before starting the calculations for a row.
+ * This limits the number of results held in memory and stops the calculations getting ahead of the sink.
+ * <p>
+ * Exceptions thrown by the sink are captured and the results are discarded. The exception is available
+ * from {@link #completionStage()} when the calculations are complete. The permits are always released so
+ * the calculations can complete.
+ * <p>
+ * This class is not thread safe. It relies on {@link ListenerWrapper} to ensure it is only invoked by
+ * a single thread at a time.
+ */
+final class StreamingCalculationListener implements CalculationListener {
+
+  /** The sink that receives the results. */
+  private final ResultsSink sink;
+
+  /** The number of columns in the results. */
+  private final int columnCount;
+
+  /** The number of rows in each chunk delivered to the sink. */
+  private final int chunkSize;
+
+  /** Permits for each result held in memory. Released when the results are delivered to the sink. */
+  private final Semaphore permits;
+
+  /** A future completed when the results have all been delivered to the sink. */
+  private final CompletableFuture<Void> future = new CompletableFuture<>();
+
+  /** Rows that have received some results but can't be delivered yet, keyed by row index. */
+  private final Map<Integer, Result<?>[]> pendingRows = new HashMap<>();
+
+  /** The number of results received for each pending row, keyed by row index. */
+  private final Map<Integer, Integer> pendingCounts = new HashMap<>();
+
+  /** The results in the rows that are complete and waiting to be delivered in the next chunk. */
+  private final List<Result<?>> chunk = new ArrayList<>();
+
+  // Mutable state -----------------------------------------------------
+
+  /** The index of the first row of the next chunk. */
+  private int chunkStartRow;
+
+  /** The index of the next row to be added to the chunk. */
+  private int nextRow;
+
+  /** The exception thrown by the sink, null if there has been no exception. */
+  private RuntimeException sinkException;
+
+  /**
+   * @param sink  the sink that receives the results
+   * @param columnCount  the number of columns in the results
+   * @param chunkSize  the number of rows in each chunk delivered to the sink
+   * @param permits  permits for each result held in memory, released when the results are delivered
+   */
+  StreamingCalculationListener(ResultsSink sink, int columnCount, int chunkSize, Semaphore permits) {
+    this.sink = ArgChecker.notNull(sink, "sink");
+    this.columnCount = ArgChecker.notNegativeOrZero(columnCount, "columnCount");
+    this.chunkSize = ArgChecker.notNegativeOrZero(chunkSize, "chunkSize");
+    this.permits = ArgChecker.notNull(permits, "permits");
+  }
+
+  @Override
+  public void resultReceived(CalculationResult result) {
+    int rowIndex = result.getRowIndex();
+    Result<?>[] row = pendingRows.computeIfAbsent(rowIndex, i -> new Result<?>[columnCount]);
+    row[result.getColumnIndex()] = result.getResult();
+    int count = pendingCounts.merge(rowIndex, 1, Integer::sum);
+
+    if (count == columnCount && rowIndex == nextRow) {
+      addCompleteRows();
+    }
+  }
+
+  /**
+   * Adds the complete rows at the start of the pending rows to the chunk, delivering it to the
+   * sink if it is full.
+   */
+  private void addCompleteRows() {
+    while (pendingCounts.getOrDefault(nextRow, 0) == columnCount) {
+      chunk.addAll(Arrays.asList(pendingRows.remove(nextRow)));
+      pendingCounts.remove(nextRow);
+      nextRow++;
+
+      if (nextRow - chunkStartRow == chunkSize) {
+        deliverChunk();
+      }
+    }
+  }
+
+  /**
+   * Delivers the rows in the chunk to the sink and releases the permits for the results.
+   */
+  private void deliverChunk() {
+    int rowCount = nextRow - chunkStartRow;
+
+    if (rowCount == 0) {
+      return;
+    }
+    try {
+      if (sinkException == null) {
+        sink.rowsReceived(chunkStartRow, Results.of(rowCount, columnCount, chunk));
+      }
+    } catch (RuntimeException e) {
+      sinkException = e;
+    } finally {
+      chunk.clear();
+      chunkStartRow = nextRow;
+      permits.release(rowCount * columnCount);
+    }
+  }
+
+  @Override
+  public void calculationsComplete() {
+    deliverChunk();
+
+    if (sinkException != null) {
+      future.completeExceptionally(sinkException);
+      return;
+    }
+    try {
+      sink.resultsComplete();
+      future.complete(null);
+    } catch (RuntimeException e) {
+      future.completeExceptionally(e);
+    }
+  }
+
+  /**
+   * Returns a future that completes when the results have been delivered to the sink.
+   * <p>
+   * The future completes exceptionally if the sink throws an exception.
+   *
+   * @return a future that completes when the results have been delivered to the sink
+   */
+  CompletableFuture<Void> completionStage() {
+    return future;
+  }
+}
@@ -0,0 +1,53 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation.function;
+
+import java.util.List;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+
+/**
+ * A function that can calculate values for a list of targets in a single call.
+ * <p>
+ * Some functions can price many targets more efficiently together than one at a time, for example
+ * when the targets share curves that are expensive to use. If the engine is calculating values for
+ * several targets using functions that return equal {@linkplain #batchKey(CalculationTarget) batch keys}
+ * for the targets and the same market data it can pass all the targets to one of the functions in a single call.
+ * The targets in different batches can be calculated in parallel.
+ *
+ * @param <T>  the type of target handled by this function
+ * @param <R>  the return type of this function
+ */
+public interface BatchCalculationFunction<T extends CalculationTarget, R>
+    extends CalculationSingleFunction<T, R> {
+
+  /**
+   * Returns a key identifying the calculations performed by this function for a target.
+   * <p>
+   * Two functions returning equal keys for two targets must be able to calculate the values for both
+   * targets in a single call, and must calculate equal values for the same target and market data.
+   * The engine uses the key to decide which targets are calculated together. The key should only group
+   * the targets that benefit from being calculated together, so the batches are small enough to be
+   * calculated in parallel.
+   *
+   * @param target  the target of the calculation
+   * @return a key identifying the calculations performed by this function for the target
+   */
+  public abstract Object batchKey(T target);
+
+  /**
+   * Calculates values for a list of targets using multiple sets of market data.
+   * <p>
+   * The values must be equal to the values returned by {@link #execute(CalculationTarget, CalculationMarketData)}
+   * for each target.
+   *
+   * @param targets  the targets of the calculation
+   * @param marketData  the market data used in the calculation
+   * @return the results of the calculation, one for each target, in the order of the targets
+   */
+  public abstract List<R> execute(List<T> targets, CalculationMarketData marketData);
+}
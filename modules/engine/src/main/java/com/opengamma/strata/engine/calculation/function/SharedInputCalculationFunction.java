@@ -0,0 +1,71 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation.function;
+
+import com.opengamma.strata.basics.CalculationTarget;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+
+/**
+ * A function that calculates a value for a target from an input that can be shared with other functions.
+ * <p>
+ * Many functions calculating different measures for the same target perform the same expensive
+ * preparation before pricing, for example expanding a product. If the engine is calculating several
+ * measures for a target it can create the input once and pass it to every function with an
+ * equal {@linkplain #inputKey() input key}.
+ * <p>
+ * The input must not depend on the market data. It is created once per target and shared between
+ * all scenarios and all functions calculating values for the target.
+ *
+ * @param <T>  the type of target handled by this function
+ * @param <I>  the type of the shared input
+ * @param <R>  the return type of this function
+ */
+public interface SharedInputCalculationFunction<T extends CalculationTarget, I, R>
+    extends CalculationSingleFunction<T, R> {
+
+  /**
+   * Returns a key identifying the input created by this function.
+   * <p>
+   * Two functions returning equal keys must create equal inputs for the same target.
+   * The engine uses the key to decide which functions can share an input.
+   *
+   * @return a key identifying the input created by this function
+   */
+  public abstract Object inputKey();
+
+  /**
+   * Creates the input used when calculating a value for the target.
+   *
+   * @param target  the target of the calculation
+   * @return the input used when calculating a value for the target
+   */
+  public abstract I createInput(T target);
+
+  /**
+   * Calculates a value for the target using a previously created input and multiple sets of market data.
+   *
+   * @param target  the target of the calculation
+   * @param input  the input created by {@link #createInput}, possibly by a different function
+   * @param marketData  the market data used in the calculation
+   * @return the result of the calculation
+   */
+  public abstract R execute(T target, I input, CalculationMarketData marketData);
+
+  /**
+   * Calculates a value for the target using multiple sets of market data.
+   * <p>
+   * The default implementation creates the input and delegates to
+   * {@link #execute(CalculationTarget, Object, CalculationMarketData)}.
+   *
+   * @param target  the target of the calculation
+   * @param marketData  the market data used in the calculation
+   * @return the result of the calculation
+   */
+  @Override
+  public default R execute(T target, CalculationMarketData marketData) {
+    return execute(target, createInput(target), marketData);
+  }
+}
@@ -16,13 +16,23 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.IntStream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.result.FailureReason;
 import com.opengamma.strata.collect.result.Result;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -41,9 +51,16 @@ import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
 
 /**
  * Co-ordinates building of market data.
+ * <p>
+ * Market data is built level by level from the leaves of the dependency tree. The values in each level
+ * do not depend on each other, so the non-observable values in a level are built concurrently
+ * using the executor supplied when the factory is created. By default the values are built
+ * on the calling thread.
  */
 public final class DefaultMarketDataFactory implements MarketDataFactory {
 
+  private static final Logger log = LoggerFactory.getLogger(DefaultMarketDataFactory.class);
+
   /** Provides time series of observable market data values. */
   private final TimeSeriesProvider timeSeriesProvider;
 
@@ -56,6 +73,9 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   /** For looking up IDs that are suitable for a particular market data feed. */
   private final FeedIdMapping feedIdMapping;
 
+  /** Builds the independent non-observable values in each level of the dependency tree. */
+  private final Executor executor;
+
   /**
    * Creates a new factory.
    *
@@ -81,13 +101,37 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param feedIdMapping  for looking up IDs that are suitable for a particular market data feed
    * @param functions  functions that create the market data
    */
+  public DefaultMarketDataFactory(
+      TimeSeriesProvider timeSeriesProvider,
+      ObservableMarketDataFunction observablesBuilder,
+      FeedIdMapping feedIdMapping,
+      List<MarketDataFunction<?, ?>> functions) {
+
+    this(timeSeriesProvider, observablesBuilder, feedIdMapping, MoreExecutors.directExecutor(), functions);
+  }
+
+  /**
+   * Creates a new factory which builds independent market data values concurrently.
+   * <p>
+   * The non-observable values in each level of the dependency tree are built using the executor.
+   * The market data functions must be safe to invoke from multiple threads.
+   *
+   * @param timeSeriesProvider  provides time series of observable market data values
+   * @param observablesBuilder  builder to create observable market data
+   * @param feedIdMapping  for looking up IDs that are suitable for a particular market data feed
+   * @param executor  executor used to build the independent values in each level of the dependency tree
+   * @param functions  functions that create the market data
+   */
   @SuppressWarnings("unchecked")
   public DefaultMarketDataFactory(
       TimeSeriesProvider timeSeriesProvider,
       ObservableMarketDataFunction observablesBuilder,
       FeedIdMapping feedIdMapping,
+      Executor executor,
       List<MarketDataFunction<?, ?>> functions) {
 
+    this.executor = ArgChecker.notNull(executor, "executor");
+
     // Wrap these 3 to handle market data where there is missing data for the calculation
     this.feedIdMapping = new MissingDataAwareFeedIdMapping(feedIdMapping);
     this.observablesBuilder = new MissingDataAwareObservableFunction(observablesBuilder);
@@ -157,12 +201,165 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       MarketEnvironment suppliedData,
       MarketDataConfig marketDataConfig) {
 
-    CalculationEnvironment builtData = CalculationEnvironment.of(suppliedData);
-
     // Build a tree of the market data dependencies. The root of the tree represents the calculations.
     // The children of the root represent the market data directly used in the calculations. The children
     // of those nodes represent the market data required to build that data, and so on
     MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return buildCalculationEnvironment(root, CalculationEnvironment.of(suppliedData), marketDataConfig);
+  }
+
+  /**
+   * Builds the market data required for performing calculations over a portfolio, using a dependency
+   * tree returned by {@link #dependencyTree}.
+   * <p>
+   * The result is the same as the result of {@link #buildCalculationEnvironment(CalculationRequirements,
+   * MarketEnvironment, MarketDataConfig)} for the requirements and configuration used to build the tree.
+   * The tree can be passed to {@link #rebuildCalculationEnvironment(CalculationEnvironment, Set,
+   * MarketDataDependencyTree, MarketEnvironment)} when the supplied data changes.
+   *
+   * @param dependencyTree  the dependency tree of the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public CalculationEnvironment buildCalculationEnvironment(
+      MarketDataDependencyTree dependencyTree,
+      MarketEnvironment suppliedData) {
+
+    ArgChecker.notNull(dependencyTree, "dependencyTree");
+    MarketDataDependencyTree tree = validTree(dependencyTree, suppliedData);
+    CalculationEnvironment initialData = CalculationEnvironment.of(suppliedData);
+    return buildCalculationEnvironment(tree.getRoot(), initialData, tree.getMarketDataConfig());
+  }
+
+  @Override
+  public CalculationEnvironment rebuildCalculationEnvironment(
+      CalculationEnvironment previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    MarketDataDependencyTree tree = dependencyTree(requirements, suppliedData, marketDataConfig);
+    return rebuildCalculationEnvironment(previousData, changedIds, tree, suppliedData);
+  }
+
+  /**
+   * Rebuilds the market data required for performing calculations over a portfolio after some of the
+   * supplied data has changed, using a dependency tree returned by {@link #dependencyTree}.
+   * <p>
+   * This is the same as {@link #rebuildCalculationEnvironment(CalculationEnvironment, Set,
+   * CalculationRequirements, MarketEnvironment, MarketDataConfig)} for the requirements and configuration
+   * used to build the tree, but the tree is not built again. If the IDs of the supplied data are not the same
+   * as the IDs of the data used to build the tree, a new tree is built.
+   *
+   * @param previousData  market data built for the same requirements before the supplied data changed
+   * @param changedIds  the IDs of the supplied market data values that have changed
+   * @param dependencyTree  the dependency tree of the market data required for the calculations
+   * @param suppliedData  market data supplied by the user, including the changed values
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public CalculationEnvironment rebuildCalculationEnvironment(
+      CalculationEnvironment previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      MarketDataDependencyTree dependencyTree,
+      MarketEnvironment suppliedData) {
+
+    ArgChecker.notNull(previousData, "previousData");
+    ArgChecker.notNull(changedIds, "changedIds");
+    ArgChecker.notNull(dependencyTree, "dependencyTree");
+    MarketDataDependencyTree tree = validTree(dependencyTree, suppliedData);
+    MarketDataConfig marketDataConfig = tree.getMarketDataConfig();
+
+    // Nothing can be reused if the valuation date has changed
+    if (!previousData.getValuationDate().equals(suppliedData.getValuationDate())) {
+      return buildCalculationEnvironment(tree.getRoot(), CalculationEnvironment.of(suppliedData), marketDataConfig);
+    }
+    MarketDataNode root = tree.getRoot();
+    Set<MarketDataId<?>> invalidIds = tree.dependentIds(changedIds);
+
+    // The previous values are reused unless they depend on the changed data. The values that are not
+    // reused are rebuilt because the build only creates values that are not already in the initial data.
+    // The supplied data is added last so it replaces any previous values with the same IDs
+    Map<MarketDataId<?>, Object> reusedValues = previousData.getValues().entrySet().stream()
+        .filter(e -> !invalidIds.contains(e.getKey()))
+        .collect(entriesToImmutableMap());
+
+    CalculationEnvironment initialData = CalculationEnvironment.builder(suppliedData.getValuationDate())
+        .addAllValues(reusedValues)
+        .addAllTimeSeries(previousData.getTimeSeries())
+        .addAllValues(suppliedData.getValues())
+        .addAllTimeSeries(suppliedData.getTimeSeries())
+        .build();
+
+    log.debug("Rebuilding {} market data values affected by {} changed values", invalidIds.size(), changedIds.size());
+    return buildCalculationEnvironment(root, initialData, marketDataConfig);
+  }
+
+  /**
+   * Returns the IDs of the market data values that must be rebuilt when the values identified by
+   * {@code changedIds} change.
+   * <p>
+   * The result contains the changed IDs that are used in building the market data for the requirements, plus
+   * the IDs of all values that depend on them, directly or indirectly. For example, if a quote used to
+   * calibrate a curve group changes, the result contains the quote, the curve group, the curves in the
+   * group and the discount factors and index rates derived from the curves.
+   * <p>
+   * These are the values rebuilt by {@link #rebuildCalculationEnvironment}.
+   *
+   * @param changedIds  the IDs of the market data values that have changed
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the IDs of the changed values and all values that depend on them
+   */
+  public Set<MarketDataId<?>> dependentIds(
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    return dependencyTree(requirements, suppliedData, marketDataConfig).dependentIds(changedIds);
+  }
+
+  /**
+   * Returns the market data dependency tree for a set of requirements.
+   * <p>
+   * The tree depends on the requirements, the configuration and the IDs of the supplied data, but not on the
+   * supplied values. It can be passed to {@link #buildCalculationEnvironment(MarketDataDependencyTree,
+   * MarketEnvironment)} and {@link #rebuildCalculationEnvironment(CalculationEnvironment, Set,
+   * MarketDataDependencyTree, MarketEnvironment)} so it is not rebuilt when the same calculations are
+   * repeated with updated quotes.
+   *
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data
+   * @return the market data dependency tree
+   */
+  public MarketDataDependencyTree dependencyTree(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    MarketDataNode root = MarketDataNode.buildDependencyTree(requirements, suppliedData, marketDataConfig, functions);
+    return new MarketDataDependencyTree(requirements, suppliedData, marketDataConfig, root);
+  }
+
+  /**
+   * Builds the market data in a dependency tree, starting from an initial set of market data.
+   * <p>
+   * Values already present in the initial data are not rebuilt.
+   *
+   * @param root  the root of the market data dependency tree
+   * @param initialData  the market data available before building starts
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  private CalculationEnvironment buildCalculationEnvironment(
+      MarketDataNode root,
+      CalculationEnvironment initialData,
+      MarketDataConfig marketDataConfig) {
+
+    CalculationEnvironment builtData = initialData;
 
     // The leaf nodes of the dependency tree represent market data with no missing requirements for market data.
     // This includes:
@@ -181,7 +378,9 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     // needed for the calculations is available.
     //
     // The result of this method also contains details of the problems for market data can't be built or found.
-    while (!root.isLeaf()) {
+    for (int level = 0; !root.isLeaf(); level++) {
+      long levelStart = System.nanoTime();
+
       // The leaves of the dependency tree represent market data with no dependencies that can be built immediately
       Pair<MarketDataNode, MarketDataRequirements> pair = root.withLeavesRemoved();
 
@@ -213,15 +412,21 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       // Need to copy to an effectively final var to satisfy the compiler
       CalculationEnvironment tmpData = builtData;
 
-      // Filter out IDs for the data that is already present in builtData and build the rest
-      leafRequirements.getNonObservables().stream()
+      // Filter out IDs for the data that is already present in builtData and build the rest.
+      // The values in a level are independent of each other so they can be built concurrently
+      List<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
           .filter(not(tmpData::containsValue))
-          .forEach(id -> dataBuilder.addResultUnsafe(id, buildNonObservableData(id, tmpData, marketDataConfig)));
+          .collect(toImmutableList());
+
+      Map<MarketDataId<?>, Result<?>> nonObservableResults =
+          buildConcurrently(nonObservableIds, id -> buildNonObservableData(id, tmpData, marketDataConfig));
+      nonObservableResults.entrySet().stream().forEach(e -> dataBuilder.addResultUnsafe(e.getKey(), e.getValue()));
 
       // --------------------------------------------------------------------------------------------
 
       // Put the data built so far into a CalculationEnvironment that will be used in the next phase of building data
       builtData = dataBuilder.build();
+      logLevelTiming(level, nonObservableIds.size(), levelStart);
 
       // A copy of the dependency tree not including the leaf nodes
       root = pair.getFirst();
@@ -267,7 +472,9 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
     // This maps from the market data ID to the original node, including all its dependencies
     Map<MarketDataId<?>, MarketDataNode> nodeMap = root.nodeMap();
 
-    while (!root.isLeaf()) {
+    for (int level = 0; !root.isLeaf(); level++) {
+      long levelStart = System.nanoTime();
+
       // Effectively final reference to buildData which can be used in a lambda expression
       ScenarioCalculationEnvironment marketData = builtData;
 
@@ -310,11 +517,19 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Non-observable data -----------------------------------------------------------------------
 
-      // Filter out IDs for the data that is already available and build the rest
-      leafRequirements.getNonObservables().stream()
+      // Filter out IDs for the data that is already available and build the rest.
+      // The values in a level are independent of each other so they can be built concurrently.
+      // Each build returns an action that adds its values to the builder, which is not thread safe
+      List<MarketDataId<?>> nonObservableIds = leafRequirements.getNonObservables().stream()
           .filter(not(marketData::containsValues))
           .filter(not(suppliedData::containsValue))
-          .forEach(id -> addNonObservableValues(id, marketDataConfig, nodeMap, marketData, scenarioDefinition, dataBuilder));
+          .collect(toImmutableList());
+
+      Map<MarketDataId<?>, Consumer<ScenarioCalculationEnvironmentBuilder>> nonObservableActions =
+          buildConcurrently(
+              nonObservableIds,
+              id -> buildNonObservableValues(id, marketDataConfig, nodeMap, marketData, scenarioDefinition));
+      nonObservableActions.values().stream().forEach(action -> action.accept(dataBuilder));
 
       // Copy supplied data to the scenario data after applying perturbations
       leafRequirements.getNonObservables().stream()
@@ -325,6 +540,7 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
 
       // Put the data built so far into an object that will be used in the next phase of building data
       builtData = dataBuilder.build();
+      logLevelTiming(level, nonObservableIds.size(), levelStart);
 
       // A copy of the dependency tree not including the leaf nodes
       root = pair.getFirst();
@@ -333,7 +549,10 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   }
 
   /**
-   * Builds a non-observable market data value and adds it to the data builder.
+   * Builds a non-observable market data value and returns an action that adds it to the data builder.
+   * <p>
+   * The value is built by the calling thread. The builder is not thread safe so the returned action must
+   * be invoked by the thread that owns the builder.
    * <p>
    * If any of the dependencies of the item are in the scenario data then multiple values are built for the item,
    * one for each scenario. After the values are built the perturbation mappings from the scenario definition
@@ -349,15 +568,14 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param nodeMap  map of market data ID to the node in the dependency graph for the market data value
    * @param marketData  the set of market data containing any dependencies required to build the value
    * @param scenarioDefinition  definition of a scenario used to perturb the built value
-   * @param dataBuilder  the built values are put into this builder
+   * @return an action that puts the built values into a data builder
    */
-  private void addNonObservableValues(
+  private Consumer<ScenarioCalculationEnvironmentBuilder> buildNonObservableValues(
       MarketDataId<?> id,
       MarketDataConfig marketDataConfig,
       Map<MarketDataId<?>, MarketDataNode> nodeMap,
       ScenarioCalculationEnvironment marketData,
-      ScenarioDefinition scenarioDefinition,
-      ScenarioCalculationEnvironmentBuilder dataBuilder) {
+      ScenarioDefinition scenarioDefinition) {
 
     // Gets a copy of the current node including the child nodes representing the dependencies of the node's value
     MarketDataNode node = nodeMap.get(id);
@@ -373,14 +591,77 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       Map<MarketDataId<?>, Result<List<?>>> results =
           buildNonObservableScenarioData(id, marketData, marketDataConfig, scenarioDefinition);
 
-      results.entrySet().stream().forEach(e -> dataBuilder.addResultUnsafe(e.getKey(), e.getValue()));
+      return dataBuilder -> results.entrySet().stream()
+          .forEach(e -> dataBuilder.addResultUnsafe(e.getKey(), e.getValue()));
     } else {
       // Build single base value for the ID using the base data as input.
       Result<?> result = buildNonObservableData(id, marketData.getSharedData(), marketDataConfig);
-      applyScenariosToBaseResult(id, result, scenarioDefinition, dataBuilder);
+      return applyScenariosToBaseResult(id, result, scenarioDefinition);
     }
   }
 
+  // returns the tree if it was built from data with the same IDs as the supplied data, otherwise builds a new tree
+  private MarketDataDependencyTree validTree(MarketDataDependencyTree tree, MarketEnvironment suppliedData) {
+    if (tree.isValidFor(suppliedData)) {
+      return tree;
+    }
+    return dependencyTree(tree.getRequirements(), suppliedData, tree.getMarketDataConfig());
+  }
+
+  /**
+   * Applies a function to each ID using the executor and returns the results keyed by ID.
+   * <p>
+   * This blocks until all the results are available. The results are in the same order as the IDs.
+   * If the function throws an exception for any ID the exception is rethrown.
+   *
+   * @param ids  the IDs of the market data values
+   * @param buildFunction  function that builds a value from an ID
+   * @return the results of applying the function to the IDs, keyed by ID
+   */
+  private <R> Map<MarketDataId<?>, R> buildConcurrently(
+      List<MarketDataId<?>> ids,
+      Function<MarketDataId<?>, R> buildFunction) {
+
+    Function<MarketDataId<?>, R> timedFunction = id -> {
+      long start = System.nanoTime();
+      R result = buildFunction.apply(id);
+      log.trace("Built market data {} in {}ms", id, (System.nanoTime() - start) / 1_000_000);
+      return result;
+    };
+    List<CompletableFuture<R>> futures = ids.stream()
+        .map(id -> CompletableFuture.supplyAsync(() -> timedFunction.apply(id), executor))
+        .collect(toImmutableList());
+
+    ImmutableMap.Builder<MarketDataId<?>, R> results = ImmutableMap.builder();
+
+    for (int i = 0; i < ids.size(); i++) {
+      try {
+        results.put(ids.get(i), futures.get(i).join());
+      } catch (CompletionException e) {
+        if (e.getCause() instanceof RuntimeException) {
+          throw (RuntimeException) e.getCause();
+        }
+        throw e;
+      }
+    }
+    return results.build();
+  }
+
+  /**
+   * Logs the time taken to build a level of the market data dependency tree.
+   *
+   * @param level  the level of the dependency tree, starting from zero for the leaves of the original tree
+   * @param nonObservableCount  the number of non-observable values built in the level
+   * @param startNanos  the value of {@link System#nanoTime()} when the level started building
+   */
+  private static void logLevelTiming(int level, int nonObservableCount, long startNanos) {
+    log.debug(
+        "Built market data level {} containing {} non-observable values in {}ms",
+        level,
+        nonObservableCount,
+        (System.nanoTime() - startNanos) / 1_000_000);
+  }
+
   /**
    * Adds an item of observable market data to a builder.
    * <p>
@@ -594,26 +875,27 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
   }
 
   /**
-   * Applies perturbations from a scenario definition to a base market data value and puts the result into a builder.
+   * Applies perturbations from a scenario definition to a base market data value and returns an action
+   * that puts the result into a builder.
    * <p>
-   * If the result is a failure it is added to the base data failures. If it is a success the value is passed
-   * to {@link #addNonObservableValue} and put into the builder after applying any applicable mappings from
-   * the scenario definition.
+   * If the result is a failure the action adds it to the base data failures. If it is a success the value
+   * is passed to {@link #perturbNonObservableValue} and the action puts it into the builder after applying
+   * any applicable mappings from the scenario definition.
    *
    * @param id  ID of the market data value
    * @param valueResult  a result containing the market data value
    * @param scenarioDefinition  the definition of the scenarios
+   * @return an action that puts the result into a builder
    */
-  private void applyScenariosToBaseResult(
+  private Consumer<ScenarioCalculationEnvironmentBuilder> applyScenariosToBaseResult(
       MarketDataId<?> id,
       Result<?> valueResult,
-      ScenarioDefinition scenarioDefinition,
-      ScenarioCalculationEnvironmentBuilder builder) {
+      ScenarioDefinition scenarioDefinition) {
 
     if (valueResult.isFailure()) {
-      builder.addSharedResultUnsafe(id, valueResult);
+      return builder -> builder.addSharedResultUnsafe(id, valueResult);
     } else {
-      addNonObservableValue(id, valueResult.getValue(), scenarioDefinition, builder);
+      return perturbNonObservableValue(id, valueResult.getValue(), scenarioDefinition);
     }
   }
 
@@ -626,6 +908,7 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
    * @param id  ID of the market data value
    * @param marketDataValue  the market data value
    * @param scenarioDefinition  the definition of the scenarios
+   * @param builder  the market data is added to this builder
    */
   private void addNonObservableValue(
       MarketDataId<?> id,
@@ -633,18 +916,38 @@ public final class DefaultMarketDataFactory implements MarketDataFactory {
       ScenarioDefinition scenarioDefinition,
       ScenarioCalculationEnvironmentBuilder builder) {
 
+    perturbNonObservableValue(id, marketDataValue, scenarioDefinition).accept(builder);
+  }
+
+  /**
+   * Applies perturbations from a scenario definition to a base market data value and returns an action
+   * that puts the result into a builder.
+   * <p>
+   * The perturbations are applied by the calling thread. If no perturbations apply the action puts the
+   * base value into the base data. Otherwise the action puts the perturbed values into the scenario data.
+   *
+   * @param id  ID of the market data value
+   * @param marketDataValue  the market data value
+   * @param scenarioDefinition  the definition of the scenarios
+   * @return an action that puts the value or perturbed values into a builder
+   */
+  private Consumer<ScenarioCalculationEnvironmentBuilder> perturbNonObservableValue(
+      MarketDataId<?> id,
+      Object marketDataValue,
+      ScenarioDefinition scenarioDefinition) {
+
     Optional<PerturbationMapping<?>> optionalMapping = scenarioDefinition.getMappings().stream()
         .filter(mapping -> mapping.matches(id, marketDataValue))
         .findFirst();
 
     if (!optionalMapping.isPresent()) {
-      builder.addSharedValueUnsafe(id, marketDataValue);
+      return builder -> builder.addSharedValueUnsafe(id, marketDataValue);
     } else {
       // This is safe because the filter matched the value and the filter and perturbation types are compatible
       @SuppressWarnings("unchecked")
       PerturbationMapping<Object> mapping = (PerturbationMapping<Object>) optionalMapping.get();
       List<Object> perturbedValues = mapping.applyPerturbations(marketDataValue);
-      builder.addValuesUnsafe(id, perturbedValues);
+      return builder -> builder.addValuesUnsafe(id, perturbedValues);
     }
   }
 
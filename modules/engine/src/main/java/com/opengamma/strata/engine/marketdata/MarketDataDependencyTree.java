@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.marketdata;
+
+import java.util.Set;
+
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+
+/**
+ * The tree of market data dependencies for a set of calculations, plus the inputs used to build it.
+ * <p>
+ * The tree depends on the requirements, the configuration and the IDs of the supplied data, but not on the
+ * supplied values. When the same calculations are repeated with updated quotes, the tree returned by
+ * {@link DefaultMarketDataFactory#dependencyTree} can be passed back to the factory so it is not rebuilt.
+ * <p>
+ * Instances of this class are immutable and can be shared between threads.
+ */
+public final class MarketDataDependencyTree {
+
+  /** The market data required for the calculations. */
+  private final CalculationRequirements requirements;
+
+  /** The IDs of the single values in the supplied data. */
+  private final Set<MarketDataId<?>> suppliedValueIds;
+
+  /** The IDs of the time series in the supplied data. */
+  private final Set<ObservableId> suppliedTimeSeriesIds;
+
+  /** Configuration needed to build non-observable market data. */
+  private final MarketDataConfig marketDataConfig;
+
+  /** The root node of the dependency tree. */
+  private final MarketDataNode root;
+
+  /**
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user
+   * @param marketDataConfig  configuration needed to build non-observable market data
+   * @param root  the root node of the dependency tree
+   */
+  MarketDataDependencyTree(
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig,
+      MarketDataNode root) {
+
+    this.requirements = ArgChecker.notNull(requirements, "requirements");
+    this.suppliedValueIds = suppliedData.getValues().keySet();
+    this.suppliedTimeSeriesIds = suppliedData.getTimeSeries().keySet();
+    this.marketDataConfig = ArgChecker.notNull(marketDataConfig, "marketDataConfig");
+    this.root = ArgChecker.notNull(root, "root");
+  }
+
+  /**
+   * Returns the market data required for the calculations.
+   *
+   * @return the market data required for the calculations
+   */
+  public CalculationRequirements getRequirements() {
+    return requirements;
+  }
+
+  /**
+   * Returns the configuration needed to build non-observable market data.
+   *
+   * @return the configuration needed to build non-observable market data
+   */
+  public MarketDataConfig getMarketDataConfig() {
+    return marketDataConfig;
+  }
+
+  /**
+   * Returns the IDs of the market data values that must be rebuilt when the values identified by
+   * {@code changedIds} change.
+   * <p>
+   * The result contains the changed IDs that are used in building the market data for the requirements, plus
+   * the IDs of all values that depend on them, directly or indirectly.
+   *
+   * @param changedIds  the IDs of the market data values that have changed
+   * @return the IDs of the changed values and all values that depend on them
+   */
+  public Set<MarketDataId<?>> dependentIds(Set<? extends MarketDataId<?>> changedIds) {
+    return root.dependentIds(changedIds);
+  }
+
+  /**
+   * Returns true if this tree is valid for the supplied data.
+   * <p>
+   * This is true if the supplied data contains values and time series with the same IDs as the
+   * data used to build the tree.
+   *
+   * @param suppliedData  market data supplied by the user
+   * @return true if this tree is valid for the supplied data
+   */
+  public boolean isValidFor(MarketEnvironment suppliedData) {
+    return suppliedValueIds.equals(suppliedData.getValues().keySet()) &&
+        suppliedTimeSeriesIds.equals(suppliedData.getTimeSeries().keySet());
+  }
+
+  /**
+   * Returns the root node of the dependency tree.
+   *
+   * @return the root node of the dependency tree
+   */
+  MarketDataNode getRoot() {
+    return root;
+  }
+}
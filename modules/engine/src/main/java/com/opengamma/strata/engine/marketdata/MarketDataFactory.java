@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.engine.marketdata;
 
+import java.util.Set;
+
+import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
 import com.opengamma.strata.engine.marketdata.scenario.ScenarioDefinition;
 
@@ -67,6 +70,38 @@ public interface MarketDataFactory {
       MarketEnvironment suppliedData,
       MarketDataConfig marketDataConfig);
 
+  /**
+   * Rebuilds the market data required for performing calculations over a portfolio after some of the
+   * supplied data has changed.
+   * <p>
+   * This is intended for use when the same calculations are repeated after a small number of market quotes
+   * have changed. Values in {@code previousData} that do not depend on the changed values can be reused
+   * instead of being built again. The values that depend on the changed data, directly or indirectly,
+   * are rebuilt.
+   * <p>
+   * The {@code suppliedData} must contain the updated values and {@code changedIds} must contain the IDs of all
+   * values that differ from the data used to build {@code previousData}. The result is the same as the
+   * result of {@link #buildCalculationEnvironment} for the same arguments.
+   * <p>
+   * The default implementation builds all the data again.
+   *
+   * @param previousData  market data built for the same requirements before the supplied data changed
+   * @param changedIds  the IDs of the supplied market data values that have changed
+   * @param requirements  the market data required for the calculations
+   * @param suppliedData  market data supplied by the user, including the changed values
+   * @param marketDataConfig  configuration needed to build non-observable market data, for example curves or surfaces
+   * @return the market data required by the calculations plus details of any data that could not be built
+   */
+  public default CalculationEnvironment rebuildCalculationEnvironment(
+      CalculationEnvironment previousData,
+      Set<? extends MarketDataId<?>> changedIds,
+      CalculationRequirements requirements,
+      MarketEnvironment suppliedData,
+      MarketDataConfig marketDataConfig) {
+
+    return buildCalculationEnvironment(requirements, suppliedData, marketDataConfig);
+  }
+
   /**
    * Builds the market data required for performing calculations over a portfolio for a set of scenarios.
    * <p>
@@ -6,13 +6,16 @@
 package com.opengamma.strata.engine.marketdata;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.collect.ArgChecker;
@@ -194,6 +197,37 @@ class MarketDataNode {
     dependencies.stream().forEach(child -> child.nodeMap(builder));
   }
 
+  /**
+   * Returns the IDs of the single market data values in the tree below this node that must be rebuilt
+   * if the values identified by {@code changedIds} change.
+   * <p>
+   * The result contains every ID in {@code changedIds} that appears in the tree as a single value, plus the IDs
+   * of all values that depend on them, directly or indirectly. Time series are never included.
+   *
+   * @param changedIds  the IDs of the market data values that have changed
+   * @return the IDs of the changed values and all values that depend on them
+   */
+  Set<MarketDataId<?>> dependentIds(Set<? extends MarketDataId<?>> changedIds) {
+    Set<MarketDataId<?>> dependentIds = new HashSet<>();
+    dependentIds(changedIds, dependentIds);
+    return ImmutableSet.copyOf(dependentIds);
+  }
+
+  // returns true if the value of this node depends on any of the changed IDs, adding the affected IDs to the set
+  private boolean dependentIds(Set<? extends MarketDataId<?>> changedIds, Set<MarketDataId<?>> dependentIds) {
+    // The root node has a null ID
+    boolean affected = (id != null) && (dataType == DataType.SINGLE_VALUE) && changedIds.contains(id);
+
+    // All children must be visited, even if this node is already known to be affected
+    for (MarketDataNode child : dependencies) {
+      affected |= child.dependentIds(changedIds, dependentIds);
+    }
+    if (affected && id != null) {
+      dependentIds.add(id);
+    }
+    return affected;
+  }
+
   /**
    * Returns the ID of the market data value represented by this node.
    *
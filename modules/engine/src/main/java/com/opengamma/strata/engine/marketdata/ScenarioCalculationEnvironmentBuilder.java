@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.engine.marketdata;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -13,10 +15,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
-import com.google.common.collect.ArrayListMultimap;
-import com.google.common.collect.ListMultimap;
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
+import com.opengamma.strata.basics.market.ScenarioValueList;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.collect.result.Failure;
@@ -40,8 +42,9 @@ public final class ScenarioCalculationEnvironmentBuilder {
   /**
    * The market data values for the scenarios, keyed by the ID of the market data.
    * The number of values for each key is the same as the number of scenarios.
+   * The lists are immutable, and may create the values on demand.
    */
-  private final ListMultimap<MarketDataId<?>, Object> values = ArrayListMultimap.create();
+  private final Map<MarketDataId<?>, List<?>> values = new HashMap<>();
 
   /** The global market data values that are applicable to all scenarios. */
   private final Map<MarketDataId<?>, Object> globalValues = new HashMap<>();
@@ -77,7 +80,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
       CalculationEnvironment sharedData,
       int scenarioCount,
       List<LocalDate> valuationDates,
-      ListMultimap<MarketDataId<?>, ?> values,
+      Map<? extends MarketDataId<?>, List<?>> values,
       Map<? extends MarketDataId<?>, Object> globalValues,
       Map<MarketDataId<?>, Failure> singleValueFailures) {
 
@@ -150,7 +153,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.length, "values");
-    this.values.putAll(id, Arrays.asList(values));
+    this.values.put(id, ImmutableList.copyOf(values));
     singleValueFailures.remove(id);
     return this;
   }
@@ -168,7 +171,7 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.size(), "values");
-    this.values.putAll(id, values);
+    this.values.put(id, immutableValues(values));
     singleValueFailures.remove(id);
     return this;
   }
@@ -188,10 +191,13 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(id, "id");
     ArgChecker.notNull(values, "values");
     checkLength(values.size(), "values");
-    for (V value : values) {
-      this.values.put(id, id.getMarketDataType().cast(value));
-      singleValueFailures.remove(id);
+    if (values instanceof ScenarioValueList) {
+      // the values are created on demand from a value whose type has already been checked
+      this.values.put(id, values);
+    } else {
+      this.values.put(id, values.stream().map(id.getMarketDataType()::cast).collect(toImmutableList()));
     }
+    singleValueFailures.remove(id);
     return this;
   }
 
@@ -208,11 +214,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.putAll(id, result.getValue());
+      values.put(id, immutableValues(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -229,11 +235,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.putAll(id, result.getValue());
+      values.put(id, immutableValues(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -320,11 +326,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.put(id, result.getValue());
+      values.put(id, ImmutableList.of(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -341,11 +347,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
     ArgChecker.notNull(result, "result");
 
     if (result.isSuccess()) {
-      values.put(id, result.getValue());
+      values.put(id, ImmutableList.of(result.getValue()));
       singleValueFailures.remove(id);
     } else {
       singleValueFailures.put(id, result.getFailure());
-      values.removeAll(id);
+      values.remove(id);
     }
     return this;
   }
@@ -379,6 +385,11 @@ public final class ScenarioCalculationEnvironmentBuilder {
         singleValueFailures);
   }
 
+  // lists which create their values on demand are immutable and are kept as they are, without creating the values
+  private static List<?> immutableValues(List<?> values) {
+    return values instanceof ScenarioValueList ? values : ImmutableList.copyOf(values);
+  }
+
   private void checkLength(int length, String itemName) {
     if (length != scenarioCount) {
       throw new IllegalArgumentException(
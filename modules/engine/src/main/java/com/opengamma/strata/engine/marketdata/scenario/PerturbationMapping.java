@@ -28,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.basics.market.ScenarioPerturbation;
 import com.opengamma.strata.collect.Messages;
 
 /**
@@ -122,6 +123,9 @@ public final class PerturbationMapping<T> implements ImmutableBean {
    * Applies the perturbations in this mapping to an item of market data and returns the results.
    * <p>
    * This method should only be called after calling {@code #matches} and receiving a result of {@code true}.
+   * <p>
+   * If the perturbations are all of the same type, and that type is a {@link ScenarioPerturbation},
+   * they are applied in one call. The returned list may then create the values on demand.
    *
    * @param marketData  the market data value
    * @return a list of market data values derived from the input value by applying the perturbations
@@ -137,6 +141,11 @@ public final class PerturbationMapping<T> implements ImmutableBean {
               marketDataType.getName()));
     }
     // T and U are the same type so the casts are safe
+    Perturbation<T> first = perturbations.get(0);
+    if (first instanceof ScenarioPerturbation &&
+        perturbations.stream().allMatch(perturbation -> perturbation.getClass() == first.getClass())) {
+      return ((ScenarioPerturbation<T>) first).applyToScenarios(marketData, perturbations);
+    }
     return perturbations.stream()
         .map(perturbation -> perturbation.applyTo(marketData))
         .collect(toImmutableList());
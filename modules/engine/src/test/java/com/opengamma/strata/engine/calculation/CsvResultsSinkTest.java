@@ -0,0 +1,58 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.engine.calculation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.config.Measure;
+
+@Test
+public class CsvResultsSinkTest {
+
+  private static final List<Column> COLUMNS =
+      ImmutableList.of(Column.of(Measure.of("a")), Column.of(Measure.of("b"), "b, c"));
+
+  public void writeRows() {
+    StringBuilder buf = new StringBuilder();
+    CsvResultsSink sink = new CsvResultsSink(buf, COLUMNS);
+
+    sink.rowsReceived(0, Results.of(1, 2, ImmutableList.of(Result.success(1), Result.success("x"))));
+    sink.rowsReceived(
+        1,
+        Results.of(1, 2, ImmutableList.of(Result.success(2), Result.failure(FailureReason.ERROR, "Failed"))));
+    sink.resultsComplete();
+
+    String newLine = System.lineSeparator();
+    assertThat(buf.toString()).isEqualTo("a,\"b, c\"" + newLine + "1,x" + newLine + "2,Failed" + newLine);
+  }
+
+  public void formatter() {
+    StringBuilder buf = new StringBuilder();
+    CsvResultsSink sink = new CsvResultsSink(buf, COLUMNS, value -> "<" + value + ">");
+
+    sink.rowsReceived(0, Results.of(1, 2, ImmutableList.of(Result.success(1), Result.success(2))));
+    sink.resultsComplete();
+
+    String newLine = System.lineSeparator();
+    assertThat(buf.toString()).isEqualTo("a,\"b, c\"" + newLine + "<1>,<2>" + newLine);
+  }
+
+  public void noRows() {
+    StringBuilder buf = new StringBuilder();
+    CsvResultsSink sink = new CsvResultsSink(buf, COLUMNS);
+    sink.resultsComplete();
+
+    assertThat(buf.toString()).isEqualTo("a,\"b, c\"" + System.lineSeparator());
+  }
+}
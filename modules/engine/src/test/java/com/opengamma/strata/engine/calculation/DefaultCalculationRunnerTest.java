@@ -6,17 +6,25 @@
 package com.opengamma.strata.engine.calculation;
 
 import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.util.concurrent.ForwardingExecutorService;
 import com.google.common.util.concurrent.MoreExecutors;
 import com.opengamma.strata.basics.CalculationTarget;
 import com.opengamma.strata.basics.currency.Currency;
@@ -25,8 +33,11 @@ import com.opengamma.strata.basics.market.MarketDataId;
 import com.opengamma.strata.basics.market.ObservableId;
 import com.opengamma.strata.basics.market.TestObservableKey;
 import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.function.BatchCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.DefaultScenarioResult;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.config.CalculationTaskConfig;
@@ -44,7 +55,9 @@ import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.CalculationRequirements;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
 import com.opengamma.strata.engine.marketdata.ScenarioCalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.TestId;
 import com.opengamma.strata.engine.marketdata.TestKey;
+import com.opengamma.strata.engine.marketdata.TestMapping;
 import com.opengamma.strata.engine.marketdata.mapping.DefaultMarketDataMappings;
 import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
 
@@ -206,9 +219,293 @@ public class DefaultCalculationRunnerTest {
     assertThat(result2).hasValue(scenarioResult);
   }
 
+  /**
+   * Test that grouping the tasks for a target produces the same results and shares the function inputs.
+   */
+  public void groupedTasks() {
+    TestTarget target1 = new TestTarget();
+    TestTarget target2 = new TestTarget();
+    AtomicInteger inputCount = new AtomicInteger();
+    SharedInputFunction fn1 = new SharedInputFunction(inputCount, "a");
+    SharedInputFunction fn2 = new SharedInputFunction(inputCount, "b");
+    MarketDataMappings mappings = MarketDataMappings.empty();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(target1, 0, 0, fn1, mappings, reportingRules),
+        new CalculationTask(target1, 0, 1, fn2, mappings, reportingRules),
+        new CalculationTask(target2, 1, 0, fn1, mappings, reportingRules),
+        new CalculationTask(target2, 1, 1, fn2, mappings, reportingRules));
+    List<Column> columns = ImmutableList.of(Column.of(Measure.of("a")), Column.of(Measure.of("b")));
+    CalculationTasks tasks = new CalculationTasks(taskList, columns);
+    CalculationEnvironment marketData = CalculationEnvironment.empty(date(2011, 3, 8));
+
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    Results results = runner.calculate(tasks, marketData);
+    assertThat(inputCount.get()).isEqualTo(4);
+
+    inputCount.set(0);
+    DefaultCalculationRunner groupingRunner =
+        new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService(), true);
+    Results groupedResults = groupingRunner.calculate(tasks, marketData);
+    assertThat(inputCount.get()).isEqualTo(2);
+    assertThat(groupedResults).isEqualTo(results);
+    assertThat(groupedResults.get(0, 0)).hasValue("inputa");
+    assertThat(groupedResults.get(0, 1)).hasValue("inputb");
+    assertThat(groupedResults.get(1, 0)).hasValue("inputa");
+    assertThat(groupedResults.get(1, 1)).hasValue("inputb");
+  }
+
+  /**
+   * Test that grouping the tasks calculates the values for all targets of a batch function in a single call.
+   */
+  public void batchedTasks() {
+    TestTarget target1 = new TestTarget("1");
+    TestTarget target2 = new TestTarget("2");
+    TestTarget target3 = new TestTarget("3");
+    List<List<TestTarget>> batches = new ArrayList<>();
+    MarketDataMappings mappings = MarketDataMappings.empty();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(target1, 0, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target1, 0, 1, new NameFunction("b"), mappings, reportingRules),
+        new CalculationTask(target2, 1, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target2, 1, 1, new NameFunction("b"), mappings, reportingRules),
+        new CalculationTask(target3, 2, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target3, 2, 1, new NameFunction("b"), mappings, reportingRules));
+    List<Column> columns = ImmutableList.of(Column.of(Measure.of("a")), Column.of(Measure.of("b")));
+    CalculationTasks tasks = new CalculationTasks(taskList, columns);
+    CalculationEnvironment marketData = CalculationEnvironment.empty(date(2011, 3, 8));
+
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    Results results = runner.calculate(tasks, marketData);
+    assertThat(batches).hasSize(3);
+
+    batches.clear();
+    DefaultCalculationRunner groupingRunner =
+        new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService(), true);
+    Results groupedResults = groupingRunner.calculate(tasks, marketData);
+    assertThat(batches).containsExactly(ImmutableList.of(target1, target2, target3));
+    assertThat(groupedResults).isEqualTo(results);
+    assertThat(groupedResults.get(0, 0)).hasValue("1a");
+    assertThat(groupedResults.get(1, 0)).hasValue("2a");
+    assertThat(groupedResults.get(2, 0)).hasValue("3a");
+    assertThat(groupedResults.get(2, 1)).hasValue("3b");
+  }
+
+  /**
+   * Test that the targets with different batch keys are calculated in separate batches by separate executor tasks.
+   */
+  public void batchedTasksByKey() {
+    TestTarget target1 = new TestTarget("1", "A");
+    TestTarget target2 = new TestTarget("2", "B");
+    TestTarget target3 = new TestTarget("3", "A");
+    TestTarget target4 = new TestTarget("4", "C");
+    List<List<TestTarget>> batches = new ArrayList<>();
+    MarketDataMappings mappings = MarketDataMappings.empty();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(target1, 0, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target2, 1, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target3, 2, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target4, 3, 0, new BatchFunction(batches), mappings, reportingRules));
+    CalculationTasks tasks = new CalculationTasks(taskList, ImmutableList.of(Column.of(Measure.of("a"))));
+    CalculationEnvironment marketData = CalculationEnvironment.empty(date(2011, 3, 8));
+    CountingExecutorService executor = new CountingExecutorService();
+
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(executor, true);
+    Results results = runner.calculate(tasks, marketData);
+    assertThat(batches).containsExactly(
+        ImmutableList.of(target1, target3),
+        ImmutableList.of(target2),
+        ImmutableList.of(target4));
+    assertThat(executor.executionCount.get()).isEqualTo(3);
+    assertThat(results.get(0, 0)).hasValue("1a");
+    assertThat(results.get(1, 0)).hasValue("2a");
+    assertThat(results.get(2, 0)).hasValue("3a");
+    assertThat(results.get(3, 0)).hasValue("4a");
+  }
+
+  /**
+   * Test that a calculation failing in a batch only causes the result of its own target to be a failure.
+   */
+  public void batchedTaskFailure() {
+    TestTarget target1 = new TestTarget("1", "A");
+    TestTarget target2 = new TestTarget("fail", "A");
+    TestTarget target3 = new TestTarget("3", "A");
+    List<List<TestTarget>> batches = new ArrayList<>();
+    MarketDataMappings mappings = MarketDataMappings.empty();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(target1, 0, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target2, 1, 0, new BatchFunction(batches), mappings, reportingRules),
+        new CalculationTask(target3, 2, 0, new BatchFunction(batches), mappings, reportingRules));
+    CalculationTasks tasks = new CalculationTasks(taskList, ImmutableList.of(Column.of(Measure.of("a"))));
+    CalculationEnvironment marketData = CalculationEnvironment.empty(date(2011, 3, 8));
+
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService(), true);
+    Results results = runner.calculate(tasks, marketData);
+    assertThat(results.get(0, 0)).hasValue("1a");
+    assertThat(results.get(1, 0)).isFailure();
+    assertThat(results.get(2, 0)).hasValue("3a");
+  }
+
+  /**
+   * Test that only the calculations using changed market data are performed again.
+   */
+  public void recalculate() {
+    AtomicInteger executionCount = new AtomicInteger();
+    MarketDataFunction fn = new MarketDataFunction(executionCount);
+    MarketDataMappings mappings = DefaultMarketDataMappings.builder()
+        .marketDataFeed(MarketDataFeed.NONE)
+        .mappings(ImmutableMap.of(TestKey.class, new TestMapping("foo")))
+        .build();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(new TestTarget("EUR"), 0, 0, fn, mappings, reportingRules),
+        new CalculationTask(new TestTarget("USD"), 1, 0, fn, mappings, reportingRules),
+        new CalculationTask(new TestTarget("JPY"), 2, 0, fn, mappings, reportingRules));
+    CalculationTasks tasks = new CalculationTasks(taskList, ImmutableList.of(Column.of(Measure.PRESENT_VALUE)));
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+
+    CalculationEnvironment marketData = CalculationEnvironment.builder(date(2011, 3, 8))
+        .addValue(TestId.of("EUR"), "1")
+        .addValue(TestId.of("USD"), "2")
+        .addValue(TestId.of("JPY"), "3")
+        .build();
+    IncrementalResults results = runner.calculateIncremental(tasks, marketData);
+    assertThat(executionCount.get()).isEqualTo(3);
+    assertThat(results.getResults()).isEqualTo(runner.calculate(tasks, marketData));
+    assertThat(results.getMarketDataIds(0, 0)).containsOnly(TestId.of("EUR"));
+    assertThat(results.getMarketDataIds(2, 0)).containsOnly(TestId.of("JPY"));
+
+    CalculationEnvironment updatedMarketData = CalculationEnvironment.builder(date(2011, 3, 8))
+        .addValue(TestId.of("EUR"), "4")
+        .addValue(TestId.of("USD"), "2")
+        .addValue(TestId.of("JPY"), "3")
+        .build();
+    executionCount.set(0);
+    IncrementalResults updatedResults =
+        runner.recalculate(tasks, updatedMarketData, results, ImmutableSet.of(TestId.of("EUR")));
+    assertThat(executionCount.get()).isEqualTo(1);
+    assertThat(updatedResults.getResults().get(0, 0)).hasValue("EUR4");
+    assertThat(updatedResults.getResults().get(1, 0)).hasValue("USD2");
+    assertThat(updatedResults.getResults().get(2, 0)).hasValue("JPY3");
+    assertThat(updatedResults.getResults()).isEqualTo(runner.calculate(tasks, updatedMarketData));
+  }
+
+  /**
+   * Test that all the calculations are performed again if the valuation date changes.
+   */
+  public void recalculateValuationDateChanged() {
+    AtomicInteger executionCount = new AtomicInteger();
+    MarketDataFunction fn = new MarketDataFunction(executionCount);
+    MarketDataMappings mappings = DefaultMarketDataMappings.builder()
+        .marketDataFeed(MarketDataFeed.NONE)
+        .mappings(ImmutableMap.of(TestKey.class, new TestMapping("foo")))
+        .build();
+    ReportingRules reportingRules = ReportingRules.empty();
+    List<CalculationTask> taskList = ImmutableList.of(
+        new CalculationTask(new TestTarget("EUR"), 0, 0, fn, mappings, reportingRules),
+        new CalculationTask(new TestTarget("USD"), 1, 0, fn, mappings, reportingRules));
+    CalculationTasks tasks = new CalculationTasks(taskList, ImmutableList.of(Column.of(Measure.PRESENT_VALUE)));
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+
+    CalculationEnvironment marketData = CalculationEnvironment.builder(date(2011, 3, 8))
+        .addValue(TestId.of("EUR"), "1")
+        .addValue(TestId.of("USD"), "2")
+        .build();
+    IncrementalResults results = runner.calculateIncremental(tasks, marketData);
+    assertThat(results.getValuationDate()).isEqualTo(date(2011, 3, 8));
+
+    CalculationEnvironment updatedMarketData = CalculationEnvironment.builder(date(2011, 3, 9))
+        .addValue(TestId.of("EUR"), "4")
+        .addValue(TestId.of("USD"), "2")
+        .build();
+    executionCount.set(0);
+    IncrementalResults updatedResults =
+        runner.recalculate(tasks, updatedMarketData, results, ImmutableSet.of(TestId.of("EUR")));
+    assertThat(executionCount.get()).isEqualTo(2);
+    assertThat(updatedResults.getValuationDate()).isEqualTo(date(2011, 3, 9));
+    assertThat(updatedResults.getResults().get(0, 0)).hasValue("EUR4");
+    assertThat(updatedResults.getResults().get(1, 0)).hasValue("USD2");
+  }
+
+  /**
+   * Test that results are delivered to a sink in row order in chunks.
+   */
+  public void streamResults() {
+    List<CalculationTask> taskList = new ArrayList<>();
+    ReportingRules reportingRules = ReportingRules.empty();
+    MarketDataMappings mappings = MarketDataMappings.empty();
+
+    for (int i = 0; i < 9; i++) {
+      TestTarget target = new TestTarget(Integer.toString(i));
+      taskList.add(new CalculationTask(target, i, 0, new NameFunction("a"), mappings, reportingRules));
+      taskList.add(new CalculationTask(target, i, 1, new NameFunction("b"), mappings, reportingRules));
+    }
+    List<Column> columns = ImmutableList.of(Column.of(Measure.of("a")), Column.of(Measure.of("b")));
+    CalculationTasks tasks = new CalculationTasks(taskList, columns);
+    CalculationEnvironment marketData = CalculationEnvironment.empty(date(2011, 3, 8));
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+
+    try {
+      DefaultCalculationRunner runner = new DefaultCalculationRunner(executor);
+      Results expected = runner.calculate(tasks, marketData);
+      CollectingSink sink = new CollectingSink();
+      runner.calculate(tasks, marketData, sink, 2);
+
+      assertThat(sink.complete).isTrue();
+      assertThat(sink.firstRowIndices).containsExactly(0, 2, 4, 6, 8);
+      assertThat(sink.rowCounts).containsExactly(2, 2, 2, 2, 1);
+      assertThat(sink.items).isEqualTo(expected.getItems());
+      assertThat(sink.items.get(0)).hasValue("0a");
+      assertThat(sink.items.get(17)).hasValue("8b");
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  /**
+   * Test that an exception thrown by a sink is thrown when streaming results.
+   */
+  public void streamResultsSinkException() {
+    TestTarget target = new TestTarget("1");
+    CalculationTask task =
+        new CalculationTask(target, 0, 0, new NameFunction("a"), MarketDataMappings.empty(), ReportingRules.empty());
+    CalculationTasks tasks = new CalculationTasks(ImmutableList.of(task), ImmutableList.of(Column.of(Measure.of("a"))));
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    ResultsSink sink = new CollectingSink() {
+      @Override
+      public void rowsReceived(int firstRowIndex, Results rows) {
+        throw new IllegalStateException("Sink failed");
+      }
+    };
+    assertThrows(
+        () -> runner.calculate(tasks, CalculationEnvironment.empty(date(2011, 3, 8)), sink, 1),
+        IllegalStateException.class,
+        "Sink failed");
+  }
+
   //--------------------------------------------------------------------------------------------------------------------
 
-  private static class TestTarget implements CalculationTarget { }
+  private static class TestTarget implements CalculationTarget {
+
+    private final String name;
+    private final String group;
+
+    private TestTarget() {
+      this("");
+    }
+
+    private TestTarget(String name) {
+      this(name, "");
+    }
+
+    private TestTarget(String name, String group) {
+      this.name = name;
+      this.group = group;
+    }
+  }
 
   public static final class TestFunction implements CalculationSingleFunction<TestTarget, Object> {
 
@@ -249,6 +546,156 @@ public class DefaultCalculationRunnerTest {
     }
   }
 
+  private static final class SharedInputFunction
+      implements SharedInputCalculationFunction<TestTarget, String, String> {
+
+    private final AtomicInteger inputCount;
+    private final String suffix;
+
+    private SharedInputFunction(AtomicInteger inputCount, String suffix) {
+      this.inputCount = inputCount;
+      this.suffix = suffix;
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Object inputKey() {
+      return SharedInputFunction.class;
+    }
+
+    @Override
+    public String createInput(TestTarget target) {
+      inputCount.incrementAndGet();
+      return "input";
+    }
+
+    @Override
+    public String execute(TestTarget target, String input, CalculationMarketData marketData) {
+      return input + suffix;
+    }
+  }
+
+  private static final class BatchFunction
+      implements BatchCalculationFunction<TestTarget, ScenarioResult<String>> {
+
+    private final List<List<TestTarget>> batches;
+
+    private BatchFunction(List<List<TestTarget>> batches) {
+      this.batches = batches;
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public Object batchKey(TestTarget target) {
+      return Pair.of(BatchFunction.class, target.group);
+    }
+
+    @Override
+    public ScenarioResult<String> execute(TestTarget target, CalculationMarketData marketData) {
+      return execute(ImmutableList.of(target), marketData).get(0);
+    }
+
+    @Override
+    public List<ScenarioResult<String>> execute(List<TestTarget> targets, CalculationMarketData marketData) {
+      batches.add(targets);
+      if (targets.stream().anyMatch(target -> target.name.equals("fail"))) {
+        throw new IllegalArgumentException("Calculation failed");
+      }
+      return targets.stream()
+          .<ScenarioResult<String>>map(target -> DefaultScenarioResult.of(target.name + "a"))
+          .collect(toImmutableList());
+    }
+  }
+
+  private static final class MarketDataFunction
+      implements CalculationSingleFunction<TestTarget, ScenarioResult<String>> {
+
+    private final AtomicInteger executionCount;
+
+    private MarketDataFunction(AtomicInteger executionCount) {
+      this.executionCount = executionCount;
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.builder()
+          .singleValueRequirements(TestKey.of(target.name))
+          .build();
+    }
+
+    @Override
+    public ScenarioResult<String> execute(TestTarget target, CalculationMarketData marketData) {
+      executionCount.incrementAndGet();
+      List<String> values = marketData.getValues(TestKey.of(target.name));
+      return DefaultScenarioResult.of(values.stream().map(value -> target.name + value).collect(toImmutableList()));
+    }
+  }
+
+  private static final class NameFunction implements CalculationSingleFunction<TestTarget, ScenarioResult<String>> {
+
+    private final String suffix;
+
+    private NameFunction(String suffix) {
+      this.suffix = suffix;
+    }
+
+    @Override
+    public FunctionRequirements requirements(TestTarget target) {
+      return FunctionRequirements.empty();
+    }
+
+    @Override
+    public ScenarioResult<String> execute(TestTarget target, CalculationMarketData marketData) {
+      return DefaultScenarioResult.of(target.name + suffix);
+    }
+  }
+
+  // executor service that runs the tasks in the calling thread and counts them
+  private static final class CountingExecutorService extends ForwardingExecutorService {
+
+    private final ExecutorService delegate = MoreExecutors.newDirectExecutorService();
+    private final AtomicInteger executionCount = new AtomicInteger();
+
+    @Override
+    protected ExecutorService delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      executionCount.incrementAndGet();
+      super.execute(command);
+    }
+  }
+
+  private static class CollectingSink implements ResultsSink {
+
+    private final List<Integer> firstRowIndices = new ArrayList<>();
+    private final List<Integer> rowCounts = new ArrayList<>();
+    private final List<Result<?>> items = new ArrayList<>();
+    private boolean complete;
+
+    @Override
+    public void rowsReceived(int firstRowIndex, Results rows) {
+      firstRowIndices.add(firstRowIndex);
+      rowCounts.add(rows.getRowCount());
+      items.addAll(rows.getItems());
+    }
+
+    @Override
+    public void resultsComplete() {
+      complete = true;
+    }
+  }
+
   private static final class Listener implements CalculationListener {
 
     private CalculationResult result;
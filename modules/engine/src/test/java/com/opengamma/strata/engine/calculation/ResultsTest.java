@@ -41,6 +41,18 @@ public class ResultsTest {
     assertThrows(() -> results.get(0, 3), IllegalArgumentException.class, "Column index must be greater than or.*");
   }
 
+  public void rows() {
+    Results results = Results.of(3, 2, results(1, 2, 3, 4, 5, 6));
+    Results rows = results.rows(1, 3);
+    assertThat(rows.getRowCount()).isEqualTo(2);
+    assertThat(rows.getColumnCount()).isEqualTo(2);
+    assertThat(rows.get(0, 0)).hasValue(3);
+    assertThat(rows.get(1, 1)).hasValue(6);
+    assertThat(results.rows(2, 2).getRowCount()).isEqualTo(0);
+    assertThrows(() -> results.rows(2, 4), IllegalArgumentException.class, "Row range must be within.*");
+    assertThrows(() -> results.rows(2, 1), IllegalArgumentException.class);
+  }
+
   /**
    * Tests that it's not possible to create results with invalid combinations of row and column
    * count and number of items
@@ -15,6 +15,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
@@ -384,6 +386,68 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests building market data that depends on other market data using an executor to build
+   * the values in each level of the dependency tree concurrently.
+   */
+  public void buildDataFromOtherDataConcurrently() {
+    CalculationRequirements requirements =
+        CalculationRequirements.builder()
+            .addValues(new TestIdB("1"), new TestIdB("2"))
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+
+    Map<TestIdA, LocalDateDoubleTimeSeries> timeSeriesMap =
+        ImmutableMap.of(
+            new TestIdA("1"), timeSeries1,
+            new TestIdA("2"), timeSeries2);
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+
+    try {
+      DefaultMarketDataFactory marketDataFactory =
+          new DefaultMarketDataFactory(
+              new TestTimeSeriesProvider(timeSeriesMap),
+              new TestObservableMarketDataFunction(),
+              FeedIdMapping.identity(),
+              executor,
+              ImmutableList.of(new TestMarketDataFunctionB(), new TestMarketDataFunctionC()));
+
+      CalculationEnvironment marketData = marketDataFactory.buildCalculationEnvironment(
+          requirements,
+          MarketEnvironment.empty(date(2011, 3, 8)),
+          MARKET_DATA_CONFIG);
+
+      assertThat(marketData.getSingleValueFailures()).isEmpty();
+      assertThat(marketData.getTimeSeriesFailures()).isEmpty();
+      assertThat(marketData.getValue(new TestIdB("1")))
+          .isEqualTo(new TestMarketDataB(1, new TestMarketDataC(timeSeries1)));
+      assertThat(marketData.getValue(new TestIdB("2")))
+          .isEqualTo(new TestMarketDataB(2, new TestMarketDataC(timeSeries2)));
+
+      // This mapping doesn't perturb any data but it causes two scenarios to be built
+      PerturbationMapping<String> mapping = PerturbationMapping.of(
+          String.class,
+          new FalseFilter<>(TestIdB.class),
+          new StringAppender(""),
+          new StringAppender(""));
+      ScenarioCalculationEnvironment scenarioData = marketDataFactory.buildScenarioCalculationEnvironment(
+          requirements,
+          MarketEnvironment.empty(date(2011, 3, 8)),
+          ScenarioDefinition.ofMappings(mapping),
+          MARKET_DATA_CONFIG);
+
+      TestMarketDataB expectedB1 = new TestMarketDataB(1, new TestMarketDataC(timeSeries1));
+      TestMarketDataB expectedB2 = new TestMarketDataB(2, new TestMarketDataC(timeSeries2));
+      assertThat(scenarioData.getValues(new TestIdB("1"))).containsExactly(expectedB1, expectedB1);
+      assertThat(scenarioData.getValues(new TestIdB("2"))).containsExactly(expectedB2, expectedB2);
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   /**
    * Tests building market data that depends on other market data that is supplied by the user.
    *
@@ -452,6 +516,128 @@ public class DefaultMarketDataFactoryTest {
     assertThat(marketDataB2).isEqualTo(expectedB2);
   }
 
+  /**
+   * Tests rebuilding market data after some of the supplied data has changed.
+   *
+   * Only the values depending on the changed data should be rebuilt, the other values should be reused.
+   */
+  public void rebuildDependentData() {
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+    TestIdC idC1 = new TestIdC("1");
+
+    CalculationRequirements requirements =
+        CalculationRequirements.builder()
+            .addValues(idB1, idB2)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+
+    MarketEnvironment suppliedData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 1d)
+        .addValue(idA2, 2d)
+        .build();
+
+    DefaultMarketDataFactory marketDataFactory = new DefaultMarketDataFactory(
+        TimeSeriesProvider.none(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity(),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    CalculationEnvironment marketData =
+        marketDataFactory.buildCalculationEnvironment(requirements, suppliedData, MARKET_DATA_CONFIG);
+
+    MarketEnvironment updatedData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 3d)
+        .addValue(idA2, 2d)
+        .build();
+
+    Set<TestIdA> changedIds = ImmutableSet.of(idA1);
+    assertThat(marketDataFactory.dependentIds(changedIds, requirements, updatedData, MARKET_DATA_CONFIG))
+        .containsOnly(idA1, idB1);
+
+    CalculationEnvironment rebuiltData = marketDataFactory.rebuildCalculationEnvironment(
+        marketData,
+        changedIds,
+        requirements,
+        updatedData,
+        MARKET_DATA_CONFIG);
+
+    CalculationEnvironment expectedData =
+        marketDataFactory.buildCalculationEnvironment(requirements, updatedData, MARKET_DATA_CONFIG);
+
+    assertThat(rebuiltData).isEqualTo(expectedData);
+    assertThat(rebuiltData.getValue(idB1)).isEqualTo(new TestMarketDataB(3, new TestMarketDataC(timeSeries1)));
+    // Values that don't depend on the changed data are reused
+    assertThat(rebuiltData.getValue(idB2)).isSameAs(marketData.getValue(idB2));
+    assertThat(rebuiltData.getValue(idC1)).isSameAs(marketData.getValue(idC1));
+  }
+
+  /**
+   * Tests building and rebuilding market data using a dependency tree passed explicitly to the factory.
+   */
+  public void rebuildDependentDataWithTree() {
+    TestIdA idA1 = new TestIdA("1");
+    TestIdA idA2 = new TestIdA("2");
+    TestIdB idB1 = new TestIdB("1");
+    TestIdB idB2 = new TestIdB("2");
+
+    CalculationRequirements requirements =
+        CalculationRequirements.builder()
+            .addValues(idB1, idB2)
+            .build();
+
+    LocalDateDoubleTimeSeries timeSeries1 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 1);
+    LocalDateDoubleTimeSeries timeSeries2 = LocalDateDoubleTimeSeries.of(date(2011, 3, 8), 10);
+
+    MarketEnvironment suppliedData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 1d)
+        .addValue(idA2, 2d)
+        .build();
+
+    DefaultMarketDataFactory marketDataFactory = new DefaultMarketDataFactory(
+        TimeSeriesProvider.none(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity(),
+        new TestMarketDataFunctionB(),
+        new TestMarketDataFunctionC());
+
+    MarketDataDependencyTree tree = marketDataFactory.dependencyTree(requirements, suppliedData, MARKET_DATA_CONFIG);
+    CalculationEnvironment marketData = marketDataFactory.buildCalculationEnvironment(tree, suppliedData);
+    assertThat(marketData)
+        .isEqualTo(marketDataFactory.buildCalculationEnvironment(requirements, suppliedData, MARKET_DATA_CONFIG));
+
+    MarketEnvironment updatedData = MarketEnvironment.builder(date(2011, 3, 8))
+        .addTimeSeries(idA1, timeSeries1)
+        .addTimeSeries(idA2, timeSeries2)
+        .addValue(idA1, 3d)
+        .addValue(idA2, 2d)
+        .build();
+
+    Set<TestIdA> changedIds = ImmutableSet.of(idA1);
+    assertThat(tree.isValidFor(updatedData)).isTrue();
+    assertThat(tree.dependentIds(changedIds)).containsOnly(idA1, idB1);
+
+    CalculationEnvironment rebuiltData =
+        marketDataFactory.rebuildCalculationEnvironment(marketData, changedIds, tree, updatedData);
+
+    CalculationEnvironment expectedData =
+        marketDataFactory.buildCalculationEnvironment(requirements, updatedData, MARKET_DATA_CONFIG);
+
+    assertThat(rebuiltData).isEqualTo(expectedData);
+    assertThat(rebuiltData.getValue(idB2)).isSameAs(marketData.getValue(idB2));
+  }
+
   /**
    * Tests failures when there is no builder for an ID type.
    */
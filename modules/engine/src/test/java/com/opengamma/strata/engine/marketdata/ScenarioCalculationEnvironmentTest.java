@@ -7,9 +7,14 @@ package com.opengamma.strata.engine.marketdata;
 
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.date;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.market.ScenarioValueList;
 import com.opengamma.strata.basics.market.TestObservableKey;
 import com.opengamma.strata.engine.calculation.MissingMappingId;
 import com.opengamma.strata.engine.calculation.NoMatchingRuleId;
@@ -36,4 +41,51 @@ public class ScenarioCalculationEnvironmentTest {
     String msgRegex = "No market data mapping found for.*";
     assertThrows(() -> marketData.getValues(id), IllegalArgumentException.class, msgRegex);
   }
+
+  /**
+   * Tests that a list creating its values on demand is stored without creating the values
+   */
+  public void scenarioValueList() {
+    TestId id = TestId.of("1");
+    List<String> values = new TestScenarioValueList(3);
+    ScenarioCalculationEnvironment marketData = ScenarioCalculationEnvironment.builder(3, date(2011, 3, 8))
+        .addValues(id, values)
+        .build();
+    assertThat(marketData.getValues(id)).isSameAs(values);
+    assertThat(marketData.getValues(id)).containsExactly("0", "1", "2");
+    assertThat(marketData.toBuilder().build().getValues(id)).isSameAs(values);
+  }
+
+  /**
+   * Tests that values added more than once replace the existing values
+   */
+  public void replaceValues() {
+    TestId id = TestId.of("1");
+    ScenarioCalculationEnvironment marketData = ScenarioCalculationEnvironment.builder(2, date(2011, 3, 8))
+        .addValues(id, "a", "b")
+        .addValues(id, ImmutableList.of("c", "d"))
+        .build();
+    assertThat(marketData.getValues(id)).containsExactly("c", "d");
+  }
+
+  private static final class TestScenarioValueList extends ScenarioValueList<String> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int size;
+
+    private TestScenarioValueList(int size) {
+      this.size = size;
+    }
+
+    @Override
+    public String get(int scenarioIndex) {
+      return Integer.toString(scenarioIndex);
+    }
+
+    @Override
+    public int size() {
+      return size;
+    }
+  }
 }
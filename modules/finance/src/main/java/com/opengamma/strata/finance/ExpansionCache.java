@@ -0,0 +1,154 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.finance;
+
+import java.util.concurrent.ExecutionException;
+import java.util.function.ToIntFunction;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A bounded cache of the expanded forms of {@link Expandable} objects.
+ * <p>
+ * Expanding a product can be expensive, for example expanding a swap creates the schedule and
+ * adjusts the dates using holiday calendars. Trades rarely change, but they are typically priced many
+ * times, for multiple measures, scenarios and runs. This cache allows the expanded form of a product
+ * to be reused instead of being created every time it is priced.
+ * <p>
+ * The cache is keyed on the object being expanded, using its {@code equals} and {@code hashCode} methods,
+ * so an equal object can use the expanded form of an object that was expanded previously.
+ * Entries are evicted when the maximum size or weight of the cache is reached, least recently used first.
+ * <p>
+ * The expanded form depends on the holiday calendars used to adjust the dates. If the calendars change,
+ * the cache must be cleared using {@link #invalidateAll()}. There is no shared instance, the owner of a cache
+ * controls its lifetime, for example by creating one for each calculation run.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class ExpansionCache {
+
+  /**
+   * A cache that doesn't hold any expanded objects.
+   */
+  private static final ExpansionCache NONE = new ExpansionCache(CacheBuilder.newBuilder().maximumSize(0).build());
+
+  /** The cache of expanded objects, keyed by the object that was expanded. */
+  private final Cache<Expandable<?>, Object> cache;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a cache that doesn't cache anything.
+   * <p>
+   * Every object passed to {@link #expand} is expanded. No statistics are recorded.
+   *
+   * @return a cache that doesn't cache anything
+   */
+  public static ExpansionCache none() {
+    return NONE;
+  }
+
+  /**
+   * Obtains a cache that holds a maximum number of expanded objects.
+   *
+   * @param maximumSize  the maximum number of expanded objects in the cache
+   * @return a cache that holds a maximum number of expanded objects
+   */
+  public static ExpansionCache ofMaximumSize(long maximumSize) {
+    ArgChecker.notNegative(maximumSize, "maximumSize");
+    return new ExpansionCache(CacheBuilder.newBuilder().maximumSize(maximumSize).recordStats().build());
+  }
+
+  /**
+   * Obtains a cache whose entries have a maximum total weight.
+   * <p>
+   * The weight of each entry is calculated by the weigher when the entry is added to the cache.
+   * For example, the weight of a swap could be the number of payment periods in its legs.
+   *
+   * @param maximumWeight  the maximum total weight of the entries in the cache
+   * @param weigher  calculates the weight of an object added to the cache, must not be negative
+   * @return a cache whose entries have a maximum total weight
+   */
+  public static ExpansionCache ofMaximumWeight(long maximumWeight, ToIntFunction<Expandable<?>> weigher) {
+    ArgChecker.notNegative(maximumWeight, "maximumWeight");
+    ArgChecker.notNull(weigher, "weigher");
+    Cache<Expandable<?>, Object> cache = CacheBuilder.newBuilder()
+        .maximumWeight(maximumWeight)
+        .<Expandable<?>, Object>weigher((key, value) -> weigher.applyAsInt(key))
+        .recordStats()
+        .build();
+    return new ExpansionCache(cache);
+  }
+
+  /**
+   * @param cache  the underlying cache
+   */
+  private ExpansionCache(Cache<Expandable<?>, Object> cache) {
+    this.cache = cache;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the expanded form of an object, using a cached value if available.
+   * <p>
+   * If the expanded form is not in the cache the object is expanded and the result added to the cache.
+   *
+   * @param <T>  the type of the expanded form
+   * @param expandable  the object to expand
+   * @return the expanded form of the object
+   * @throws RuntimeException if unable to expand due to an invalid definition
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T expand(Expandable<T> expandable) {
+    ArgChecker.notNull(expandable, "expandable");
+    try {
+      return (T) cache.get(expandable, expandable::expand);
+    } catch (UncheckedExecutionException e) {
+      // the cache wraps exceptions thrown when expanding, unwrap to be consistent with Expandable.expand()
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    } catch (ExecutionException e) {
+      // cannot happen, expand() does not throw checked exceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Removes all entries from the cache.
+   * <p>
+   * This must be called if the holiday calendars change.
+   */
+  public void invalidateAll() {
+    cache.invalidateAll();
+  }
+
+  /**
+   * Returns the approximate number of entries in the cache.
+   *
+   * @return the approximate number of entries in the cache
+   */
+  public long size() {
+    return cache.size();
+  }
+
+  /**
+   * Returns statistics about the cache, including the number of hits, misses and evictions.
+   * <p>
+   * The statistics are cumulative since the cache was created. They can be used to choose
+   * the size of the cache.
+   *
+   * @return statistics about the cache
+   */
+  public CacheStats stats() {
+    return cache.stats();
+  }
+
+}
@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.finance;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrows;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link ExpansionCache}.
+ */
+@Test
+public class ExpansionCacheTest {
+
+  public void test_expand() {
+    AtomicInteger count = new AtomicInteger();
+    ExpansionCache test = ExpansionCache.ofMaximumSize(10);
+    String expanded = test.expand(new MockExpandable("A", count));
+    assertEquals(expanded, "A expanded");
+    assertEquals(count.get(), 1);
+    // an equal object uses the cached value
+    assertSame(test.expand(new MockExpandable("A", count)), expanded);
+    assertEquals(count.get(), 1);
+    assertEquals(test.expand(new MockExpandable("B", count)), "B expanded");
+    assertEquals(count.get(), 2);
+    assertEquals(test.size(), 2);
+    assertEquals(test.stats().hitCount(), 1);
+    assertEquals(test.stats().missCount(), 2);
+  }
+
+  public void test_ofMaximumSize_eviction() {
+    AtomicInteger count = new AtomicInteger();
+    ExpansionCache test = ExpansionCache.ofMaximumSize(1);
+    test.expand(new MockExpandable("A", count));
+    test.expand(new MockExpandable("B", count));
+    test.expand(new MockExpandable("A", count));
+    assertEquals(count.get(), 3);
+    assertEquals(test.size(), 1);
+    assertEquals(test.stats().evictionCount(), 2);
+  }
+
+  public void test_ofMaximumWeight_eviction() {
+    AtomicInteger count = new AtomicInteger();
+    ExpansionCache test = ExpansionCache.ofMaximumWeight(3, expandable -> ((MockExpandable) expandable).name.length());
+    test.expand(new MockExpandable("AA", count));
+    test.expand(new MockExpandable("B", count));
+    assertEquals(test.size(), 2);
+    test.expand(new MockExpandable("CC", count));
+    assertEquals(test.stats().evictionCount(), 1);
+  }
+
+  public void test_invalidateAll() {
+    AtomicInteger count = new AtomicInteger();
+    ExpansionCache test = ExpansionCache.ofMaximumSize(10);
+    test.expand(new MockExpandable("A", count));
+    test.invalidateAll();
+    assertEquals(test.size(), 0);
+    test.expand(new MockExpandable("A", count));
+    assertEquals(count.get(), 2);
+  }
+
+  public void test_none() {
+    AtomicInteger count = new AtomicInteger();
+    ExpansionCache test = ExpansionCache.none();
+    assertEquals(test.expand(new MockExpandable("A", count)), "A expanded");
+    assertEquals(test.expand(new MockExpandable("A", count)), "A expanded");
+    assertEquals(count.get(), 2);
+    assertEquals(test.size(), 0);
+  }
+
+  public void test_expand_exception() {
+    ExpansionCache test = ExpansionCache.ofMaximumSize(10);
+    assertThrows(() -> test.expand(new MockExpandable("", new AtomicInteger())), IllegalArgumentException.class);
+  }
+
+  //-------------------------------------------------------------------------
+  private static final class MockExpandable implements Expandable<String> {
+
+    private final String name;
+    private final AtomicInteger count;
+
+    private MockExpandable(String name, AtomicInteger count) {
+      this.name = name;
+      this.count = count;
+    }
+
+    @Override
+    public String expand() {
+      count.incrementAndGet();
+      if (name.isEmpty()) {
+        throw new IllegalArgumentException("Empty name");
+      }
+      return name + " expanded";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      return obj instanceof MockExpandable && ((MockExpandable) obj).name.equals(name);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hashCode(name);
+    }
+  }
+
+}
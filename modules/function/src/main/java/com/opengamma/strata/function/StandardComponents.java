@@ -6,6 +6,7 @@
 package com.opengamma.strata.function;
 
 import java.util.List;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
@@ -22,6 +23,7 @@ import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
 import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunction;
 import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
 import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.CdsTrade;
 import com.opengamma.strata.finance.future.GenericFutureOptionTrade;
 import com.opengamma.strata.finance.future.GenericFutureTrade;
@@ -32,6 +34,10 @@ import com.opengamma.strata.finance.fx.FxSingleTrade;
 import com.opengamma.strata.finance.rate.deposit.TermDepositTrade;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveJacobianMarketDataFunction;
+import com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveMarketDataFunction;
+import com.opengamma.strata.function.marketdata.credit.IsdaYieldCurveJacobianMarketDataFunction;
+import com.opengamma.strata.function.marketdata.credit.IsdaYieldCurveMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.CurveGroupMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.DiscountCurveMarketDataFunction;
 import com.opengamma.strata.function.marketdata.curve.DiscountFactorsMarketDataFunction;
@@ -108,6 +114,25 @@ public class StandardComponents {
         marketDataFunctions());
   }
 
+  /**
+   * Returns a market data factory containing the standard set of market data functions which
+   * builds independent market data values concurrently.
+   * <p>
+   * This is the same as {@link #marketDataFactory()} except that independent values,
+   * such as curve groups for different currencies, are built using the executor.
+   *
+   * @param executor  the executor used to build independent market data values
+   * @return a market data factory containing the standard set of market data functions
+   */
+  public static MarketDataFactory marketDataFactory(Executor executor) {
+    return new DefaultMarketDataFactory(
+        TimeSeriesProvider.none(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity(),
+        executor,
+        marketDataFunctions());
+  }
+
   /**
    * Returns the standard market data functions used to build market data values from other market data.
    * <p>
@@ -117,6 +142,7 @@ public class StandardComponents {
    *  <li>Curve groups from par rates
    *  <li>Curves from curve groups
    *  <li>Discount factors and index rates from curves
+   *  <li>ISDA yield and credit curves and their Jacobians from par rates
    * </ul>
    *
    * @return the standard market data functions
@@ -129,7 +155,11 @@ public class StandardComponents {
         new IborIndexRatesMarketDataFunction(),
         new OvernightIndexRatesMarketDataFunction(),
         new CurveGroupMarketDataFunction(RootFinderConfig.defaults(), CalibrationMeasures.DEFAULT),
-        new ParRatesMarketDataFunction());
+        new ParRatesMarketDataFunction(),
+        new IsdaYieldCurveMarketDataFunction(),
+        new IsdaCreditCurveMarketDataFunction(),
+        new IsdaYieldCurveJacobianMarketDataFunction(),
+        new IsdaCreditCurveJacobianMarketDataFunction());
   }
 
   /**
@@ -159,4 +189,18 @@ public class StandardComponents {
     return StandardPricingRules.standard();
   }
 
+  /**
+   * Returns the standard pricing rules, expanding the products using a cache.
+   * <p>
+   * The rules are the same as those of {@link #pricingRules()}. The products of swap, FRA,
+   * term deposit and CDS trades are expanded using the cache, which allows them to be reused
+   * across measures and calculation runs. The lifetime of the cache is controlled by the caller.
+   *
+   * @param expansionCache  the cache used to expand the products
+   * @return pricing rules defining how to calculate the standard measures for the standard asset classes
+   */
+  public static PricingRules pricingRules(ExpansionCache expansionCache) {
+    return StandardPricingRules.standard(expansionCache);
+  }
+
 }
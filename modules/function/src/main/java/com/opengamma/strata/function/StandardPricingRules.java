@@ -8,6 +8,7 @@ package com.opengamma.strata.function;
 import com.opengamma.strata.engine.config.pricing.DefaultPricingRules;
 import com.opengamma.strata.engine.config.pricing.PricingRule;
 import com.opengamma.strata.engine.config.pricing.PricingRules;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.CdsTrade;
 import com.opengamma.strata.finance.future.GenericFutureOptionTrade;
 import com.opengamma.strata.finance.future.GenericFutureTrade;
@@ -39,17 +40,7 @@ final class StandardPricingRules {
   /**
    * The standard pricing rules.
    */
-  private static final PricingRules STANDARD = DefaultPricingRules.of(
-      PricingRule.builder(BulletPaymentTrade.class).functionGroup(BulletPaymentFunctionGroups.discounting()).build(),
-      PricingRule.builder(CdsTrade.class).functionGroup(CdsFunctionGroups.discounting()).build(),
-      PricingRule.builder(FraTrade.class).functionGroup(FraFunctionGroups.discounting()).build(),
-      PricingRule.builder(FxSingleTrade.class).functionGroup(FxSingleFunctionGroups.discounting()).build(),
-      PricingRule.builder(FxNdfTrade.class).functionGroup(FxNdfFunctionGroups.discounting()).build(),
-      PricingRule.builder(FxSwapTrade.class).functionGroup(FxSwapFunctionGroups.discounting()).build(),
-      PricingRule.builder(GenericFutureTrade.class).functionGroup(GenericFutureFunctionGroups.market()).build(),
-      PricingRule.builder(GenericFutureOptionTrade.class).functionGroup(GenericFutureOptionFunctionGroups.market()).build(),
-      PricingRule.builder(SwapTrade.class).functionGroup(SwapFunctionGroups.discounting()).build(),
-      PricingRule.builder(TermDepositTrade.class).functionGroup(TermDepositFunctionGroups.discounting()).build());
+  private static final PricingRules STANDARD = standard(ExpansionCache.none());
 
   /**
    * Restricted constructor.
@@ -85,4 +76,31 @@ final class StandardPricingRules {
     return STANDARD;
   }
 
+  /**
+   * Gets the standard pricing rules, expanding the products using a cache.
+   * <p>
+   * The rules are the same as those of {@link #standard()}. The functions for asset classes
+   * whose products are expanded before pricing share the cache.
+   * 
+   * @param expansionCache  the cache used to expand the products
+   * @return the default pricing rules
+   */
+  static PricingRules standard(ExpansionCache expansionCache) {
+    return DefaultPricingRules.of(
+        PricingRule.builder(BulletPaymentTrade.class).functionGroup(BulletPaymentFunctionGroups.discounting()).build(),
+        PricingRule.builder(CdsTrade.class).functionGroup(CdsFunctionGroups.discounting(expansionCache)).build(),
+        PricingRule.builder(FraTrade.class).functionGroup(FraFunctionGroups.discounting(expansionCache)).build(),
+        PricingRule.builder(FxSingleTrade.class).functionGroup(FxSingleFunctionGroups.discounting()).build(),
+        PricingRule.builder(FxNdfTrade.class).functionGroup(FxNdfFunctionGroups.discounting()).build(),
+        PricingRule.builder(FxSwapTrade.class).functionGroup(FxSwapFunctionGroups.discounting()).build(),
+        PricingRule.builder(GenericFutureTrade.class).functionGroup(GenericFutureFunctionGroups.market()).build(),
+        PricingRule.builder(GenericFutureOptionTrade.class)
+            .functionGroup(GenericFutureOptionFunctionGroups.market())
+            .build(),
+        PricingRule.builder(SwapTrade.class).functionGroup(SwapFunctionGroups.discounting(expansionCache)).build(),
+        PricingRule.builder(TermDepositTrade.class)
+            .functionGroup(TermDepositFunctionGroups.discounting(expansionCache))
+            .build());
+  }
+
 }
@@ -5,21 +5,31 @@
  */
 package com.opengamma.strata.function.calculation.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
 import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import com.google.common.collect.Sets;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.BatchCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.Cds;
 import com.opengamma.strata.finance.credit.CdsTrade;
 import com.opengamma.strata.finance.credit.ExpandedCds;
@@ -28,12 +38,19 @@ import com.opengamma.strata.finance.credit.ReferenceInformation;
 import com.opengamma.strata.finance.credit.ReferenceInformationType;
 import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
 import com.opengamma.strata.function.calculation.AbstractCalculationFunction;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.key.IsdaCreditCurveJacobianKey;
+import com.opengamma.strata.market.key.IsdaCreditCurveKey;
 import com.opengamma.strata.market.key.IsdaIndexCreditCurveParRatesKey;
 import com.opengamma.strata.market.key.IsdaIndexRecoveryRateKey;
 import com.opengamma.strata.market.key.IsdaSingleNameCreditCurveParRatesKey;
 import com.opengamma.strata.market.key.IsdaSingleNameRecoveryRateKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveJacobianKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveKey;
 import com.opengamma.strata.market.key.IsdaYieldCurveParRatesKey;
 import com.opengamma.strata.market.value.CdsRecoveryRate;
 import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
@@ -42,18 +59,29 @@ import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
  * Perform calculations on a single {@code CdsTrade} for each of a set of scenarios.
  * <p>
  * The default reporting currency is determined to be the currency of the fee leg.
+ * <p>
+ * A list of trades can also be calculated together using {@link #execute(List, CalculationMarketData)}.
+ * The trades sharing the same curves and recovery rate are then passed as a group to the pricer,
+ * allowing functions that support it to price them together. When the engine groups its tasks,
+ * the trades of all tasks using the same function class, curves and market data are passed in a single call.
  * 
  * @param <T>  the return type
  */
 public abstract class AbstractCdsFunction<T>
-    extends AbstractCalculationFunction<CdsTrade, ScenarioResult<T>> {
+    extends AbstractCalculationFunction<CdsTrade, ScenarioResult<T>>
+    implements BatchCalculationFunction<CdsTrade, ScenarioResult<T>> {
+
+  /**
+   * The cache used to expand the products, which doesn't cache anything by default.
+   */
+  private final ExpansionCache expansionCache;
 
   /**
    * Creates a new instance which will return results from the {@code execute} method that support automatic
    * currency conversion if the underlying results support it.
    */
   protected AbstractCdsFunction() {
-    super();
+    this(true, ExpansionCache.none());
   }
 
   /**
@@ -63,7 +91,22 @@ public abstract class AbstractCdsFunction<T>
    *   automatic currency conversion if the underlying results support it
    */
   protected AbstractCdsFunction(boolean convertCurrencies) {
+    this(convertCurrencies, ExpansionCache.none());
+  }
+
+  /**
+   * Creates a new instance that expands products using a cache.
+   * <p>
+   * The cache allows the expanded products to be reused across calculation runs.
+   * The lifetime of the cache is controlled by the caller.
+   *
+   * @param convertCurrencies if this is true the value returned by the {@code execute} method will support
+   *   automatic currency conversion if the underlying results support it
+   * @param expansionCache  the cache used to expand the products
+   */
+  protected AbstractCdsFunction(boolean convertCurrencies, ExpansionCache expansionCache) {
     super(convertCurrencies);
+    this.expansionCache = ArgChecker.notNull(expansionCache, "expansionCache");
   }
 
   //-------------------------------------------------------------------------
@@ -76,6 +119,18 @@ public abstract class AbstractCdsFunction<T>
     return IsdaCdsPricer.DEFAULT;
   }
 
+  /**
+   * Returns whether the function requires the Jacobians of the yield and credit curves.
+   * <p>
+   * If this returns true, the Jacobians are requested as market data, built once for each scenario,
+   * and passed to the list {@code execute} method taking them.
+   * 
+   * @return true if the function requires the curve Jacobians
+   */
+  protected boolean isCurveJacobiansRequired() {
+    return false;
+  }
+
   @Override
   public ScenarioResult<T> execute(CdsTrade trade, CalculationMarketData marketData) {
     return IntStream.range(0, marketData.getScenarioCount())
@@ -84,6 +139,64 @@ public abstract class AbstractCdsFunction<T>
         .collect(toScenarioResult(isConvertCurrencies()));
   }
 
+  /**
+   * Returns the batch key of this function for a trade.
+   * <p>
+   * The values calculated by this function are determined by its class and whether it converts currencies.
+   * The trades sharing the same notional currency and reference information use the same curves and
+   * recovery rate, so they are calculated together. The trades using different curves are calculated
+   * in separate batches, which can be calculated in parallel.
+   *
+   * @param trade  the trade
+   * @return the batch key of this function for the trade
+   */
+  @Override
+  public Object batchKey(CdsTrade trade) {
+    Cds cds = trade.getProduct();
+    Currency notionalCurrency = cds.getFeeLeg().getPeriodicPayments().getNotional().getCurrency();
+    return ImmutableList.of(getClass(), isConvertCurrencies(), notionalCurrency, cds.getReferenceInformation());
+  }
+
+  /**
+   * Performs calculations on a list of trades for each of a set of scenarios.
+   * <p>
+   * The trades are grouped by notional currency and reference information, which determine the yield curve,
+   * the credit curve and the recovery rate. Each group is then passed in a single call to the pricer.
+   * The results are returned in the order of the trades.
+   *
+   * @param trades  the trades
+   * @param marketData  the market data used in the calculations
+   * @return the results of the calculations, one for each trade
+   */
+  @Override
+  public List<ScenarioResult<T>> execute(List<CdsTrade> trades, CalculationMarketData marketData) {
+    Map<Pair<Currency, ReferenceInformation>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < trades.size(); i++) {
+      Cds cds = trades.get(i).getProduct();
+      Currency notionalCurrency = cds.getFeeLeg().getPeriodicPayments().getNotional().getCurrency();
+      groups.computeIfAbsent(Pair.of(notionalCurrency, cds.getReferenceInformation()), key -> new ArrayList<>())
+          .add(i);
+    }
+    int scenarioCount = marketData.getScenarioCount();
+    List<List<T>> values = new ArrayList<>(trades.size());
+    for (int i = 0; i < trades.size(); i++) {
+      values.add(new ArrayList<>(scenarioCount));
+    }
+    for (int scenarioIndex = 0; scenarioIndex < scenarioCount; scenarioIndex++) {
+      DefaultSingleCalculationMarketData provider = new DefaultSingleCalculationMarketData(marketData, scenarioIndex);
+      for (List<Integer> indices : groups.values()) {
+        List<CdsTrade> groupTrades = indices.stream().map(trades::get).collect(toImmutableList());
+        List<T> groupValues = executeGroup(groupTrades, provider);
+        for (int j = 0; j < indices.size(); j++) {
+          values.get(indices.get(j)).add(groupValues.get(j));
+        }
+      }
+    }
+    return values.stream()
+        .map(tradeValues -> tradeValues.stream().collect(toScenarioResult(isConvertCurrencies())))
+        .collect(toImmutableList());
+  }
+
   @Override
   public FunctionRequirements requirements(CdsTrade trade) {
     Cds cds = trade.getProduct();
@@ -91,11 +204,18 @@ public abstract class AbstractCdsFunction<T>
     Currency notionalCurrency = cds.getFeeLeg().getPeriodicPayments().getNotional().getCurrency();
     Currency feeCurrency = cds.getFeeLeg().getUpfrontFee().getFixedAmount().getCurrency();
 
-    Set<MarketDataKey<?>> rateCurveKeys = ImmutableSet.of(
-        IsdaYieldCurveParRatesKey.of(notionalCurrency),
-        IsdaYieldCurveParRatesKey.of(feeCurrency));
-
     ReferenceInformation referenceInformation = cds.getReferenceInformation();
+    ImmutableSet.Builder<MarketDataKey<?>> rateCurveKeys = ImmutableSet.<MarketDataKey<?>>builder()
+        .add(IsdaYieldCurveParRatesKey.of(notionalCurrency))
+        .add(IsdaYieldCurveParRatesKey.of(feeCurrency))
+        .add(IsdaYieldCurveKey.of(notionalCurrency))
+        .add(IsdaCreditCurveKey.of(referenceInformation, notionalCurrency));
+    if (isCurveJacobiansRequired()) {
+      rateCurveKeys
+          .add(IsdaYieldCurveJacobianKey.of(notionalCurrency))
+          .add(IsdaCreditCurveJacobianKey.of(referenceInformation, notionalCurrency));
+    }
+
     ReferenceInformationType cdsType = referenceInformation.getType();
     // TODO the only real difference between single name and index trades is how the credit curves are keyed and the
     // TODO application of an index factor. We have two switch statements currently to handle this
@@ -116,7 +236,7 @@ public abstract class AbstractCdsFunction<T>
     }
     // TODO index factor as static data behind a resolvable link
     return FunctionRequirements.builder()
-        .singleValueRequirements(Sets.union(rateCurveKeys, spreadCurveKey))
+        .singleValueRequirements(Sets.union(rateCurveKeys.build(), spreadCurveKey))
         .outputCurrencies(ImmutableSet.of(notionalCurrency, feeCurrency))
         .build();
   }
@@ -128,12 +248,21 @@ public abstract class AbstractCdsFunction<T>
 
   // execute for a single product
   protected T execute(CdsTrade trade, DefaultSingleCalculationMarketData provider) {
+    return executeGroup(ImmutableList.of(trade), provider).get(0);
+  }
 
-    IsdaYieldCurveParRatesKey yieldCurveParRatesKey = IsdaYieldCurveParRatesKey.of(
-        trade.getProduct().getFeeLeg().getPeriodicPayments().getNotional().getCurrency());
+  // execute for trades sharing the same notional currency and reference information
+  private List<T> executeGroup(List<CdsTrade> trades, DefaultSingleCalculationMarketData provider) {
+    CdsTrade trade = trades.get(0);
+    Currency notionalCurrency = trade.getProduct().getFeeLeg().getPeriodicPayments().getNotional().getCurrency();
+    IsdaYieldCurveParRatesKey yieldCurveParRatesKey = IsdaYieldCurveParRatesKey.of(notionalCurrency);
     IsdaYieldCurveParRates yieldCurveParRates = provider.getValue(yieldCurveParRatesKey);
 
     ReferenceInformation referenceInformation = trade.getProduct().getReferenceInformation();
+    // the curves are calibrated once for each scenario and shared by all the trades
+    NodalCurve yieldCurve = provider.getValue(IsdaYieldCurveKey.of(notionalCurrency));
+    NodalCurve creditCurve = provider.getValue(IsdaCreditCurveKey.of(referenceInformation, notionalCurrency));
+
     ReferenceInformationType cdsType = referenceInformation.getType();
     // TODO see comment above on the other switch statement
     IsdaCreditCurveParRates creditCurveParRates;
@@ -162,20 +291,93 @@ public abstract class AbstractCdsFunction<T>
     }
     double recoveryRate = cdsRecoveryRate.getRecoveryRate();
     double scalingFactor = creditCurveParRates.getScalingFactor();
+    List<ExpandedCds> products = trades.stream()
+        .map(groupTrade -> expansionCache.expand(groupTrade.getProduct()))
+        .collect(toImmutableList());
+    if (isCurveJacobiansRequired()) {
+      // the Jacobians are built once for each scenario and shared by all the trades
+      IsdaYieldCurveJacobian yieldCurveJacobian = provider.getValue(IsdaYieldCurveJacobianKey.of(notionalCurrency));
+      IsdaCreditCurveJacobian creditCurveJacobian =
+          provider.getValue(IsdaCreditCurveJacobianKey.of(referenceInformation, notionalCurrency));
+      return execute(
+          products,
+          yieldCurveParRates,
+          creditCurveParRates,
+          yieldCurve,
+          creditCurve,
+          yieldCurveJacobian,
+          creditCurveJacobian,
+          provider.getValuationDate(),
+          recoveryRate,
+          scalingFactor);
+    }
     return execute(
-        trade.getProduct().expand(),
+        products,
         yieldCurveParRates,
         creditCurveParRates,
+        yieldCurve,
+        creditCurve,
         provider.getValuationDate(),
         recoveryRate,
         scalingFactor);
   }
 
+  // execute for products sharing the same curves and recovery rate, by default one product at a time
+  protected List<T> execute(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return products.stream()
+        .map(product -> execute(
+            product,
+            yieldCurveParRates,
+            creditCurveParRates,
+            yieldCurve,
+            creditCurve,
+            valuationDate,
+            recoveryRate,
+            scalingFactor))
+        .collect(toImmutableList());
+  }
+
+  // execute for products sharing the same curves, curve Jacobians and recovery rate
+  // by default the Jacobians are ignored
+  protected List<T> execute(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaYieldCurveJacobian yieldCurveJacobian,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return execute(
+        products,
+        yieldCurveParRates,
+        creditCurveParRates,
+        yieldCurve,
+        creditCurve,
+        valuationDate,
+        recoveryRate,
+        scalingFactor);
+  }
+
   // execute for a single product
   protected abstract T execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor);
@@ -7,9 +7,11 @@ package com.opengamma.strata.function.calculation.credit;
 
 import java.time.LocalDate;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 
 /**
@@ -20,17 +22,29 @@ import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitiviti
 public class CdsCs01BucketedHazardFunction
     extends AbstractCdsFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public CdsCs01BucketedHazardFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurveCurrencyParameterSensitivities execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
     return pricer().cs01BucketedHazard(
-        product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate, scalingFactor);
+        product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve, valuationDate, recoveryRate,
+        scalingFactor);
   }
 
 }
@@ -6,31 +6,73 @@
 package com.opengamma.strata.function.calculation.credit;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 
 /**
  * Calculates vector CS01 of a {@code CdsTrade} for each of a set of scenarios.
  * <p>
  * This calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+ * The sensitivities are calculated from the analytic curve Jacobians, which are built once for each scenario
+ * as market data and shared by all the trades priced on the same curves.
  */
 public class CdsCs01BucketedParFunction
     extends AbstractCdsFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public CdsCs01BucketedParFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurveCurrencyParameterSensitivities execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return pricer().cs01BucketedPar(
+        product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve, valuationDate, recoveryRate,
+        scalingFactor);
+  }
+
+  @Override
+  protected boolean isCurveJacobiansRequired() {
+    return true;
+  }
+
+  @Override
+  protected List<CurveCurrencyParameterSensitivities> execute(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaYieldCurveJacobian yieldCurveJacobian,
+      IsdaCreditCurveJacobian creditCurveJacobian,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
     return pricer().cs01BucketedPar(
-        product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate, scalingFactor);
+        products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve, creditCurveJacobian, valuationDate,
+        recoveryRate, scalingFactor);
   }
 
 }
@@ -8,9 +8,11 @@ package com.opengamma.strata.function.calculation.credit;
 import java.time.LocalDate;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 
 /**
  * Calculates scalar CS01 of a {@code CdsTrade} for each of a set of scenarios.
@@ -20,17 +22,29 @@ import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
 public class CdsCs01ParallelParFunction
     extends AbstractCdsFunction<CurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public CdsCs01ParallelParFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurrencyAmount execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
     return pricer().cs01ParallelPar(
-        product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate, scalingFactor);
+        product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve, valuationDate, recoveryRate,
+        scalingFactor);
   }
 
 }
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.function.calculation.credit;
 
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.CdsTrade;
 
 /**
@@ -21,21 +25,7 @@ public final class CdsFunctionGroups {
   /**
    * The group with pricers based on discounting methods.
    */
-  private static final FunctionGroup<CdsTrade> DISCOUNTING_GROUP =
-      DefaultFunctionGroup.builder(CdsTrade.class).name("CdsDiscounting")
-          .addFunction(Measure.PRESENT_VALUE, CdsPvFunction.class)
-          .addFunction(Measure.PAR_RATE, CdsParRateFunction.class)
-          .addFunction(Measure.RECOVERY01, CdsRecovery01Function.class)
-          .addFunction(Measure.JUMP_TO_DEFAULT, CdsJumpToDefaultFunction.class)
-          .addFunction(Measure.IR01_PARALLEL_PAR, CdsIr01ParallelParFunction.class)
-          .addFunction(Measure.IR01_PARALLEL_ZERO, CdsIr01ParallelZeroFunction.class)
-          .addFunction(Measure.IR01_BUCKETED_PAR, CdsIr01BucketedParFunction.class)
-          .addFunction(Measure.IR01_BUCKETED_ZERO, CdsIr01BucketedZeroFunction.class)
-          .addFunction(Measure.CS01_PARALLEL_PAR, CdsCs01ParallelParFunction.class)
-          .addFunction(Measure.CS01_PARALLEL_HAZARD, CdsCs01ParallelHazardFunction.class)
-          .addFunction(Measure.CS01_BUCKETED_PAR, CdsCs01BucketedParFunction.class)
-          .addFunction(Measure.CS01_BUCKETED_HAZARD, CdsCs01BucketedHazardFunction.class)
-          .build();
+  private static final FunctionGroup<CdsTrade> DISCOUNTING_GROUP = discounting(ExpansionCache.none());
 
   /**
    * Restricted constructor.
@@ -63,4 +53,41 @@ public final class CdsFunctionGroups {
     return DISCOUNTING_GROUP;
   }
 
+  /**
+   * Obtains the function group providing all built-in measures on CDS trades,
+   * using the standard discounting calculation method and expanding the products using a cache.
+   * <p>
+   * The functions in the group share the cache, allowing the expanded products to be reused
+   * across measures and calculation runs. The lifetime of the cache is controlled by the caller.
+   * The supported measures are the same as those of {@link #discounting()}.
+   * 
+   * @param expansionCache  the cache used to expand the products
+   * @return the function group
+   */
+  public static FunctionGroup<CdsTrade> discounting(ExpansionCache expansionCache) {
+    ArgChecker.notNull(expansionCache, "expansionCache");
+    return DefaultFunctionGroup.builder(CdsTrade.class).name("CdsDiscounting")
+        .addFunction(Measure.PRESENT_VALUE, function(CdsPvFunction.class, expansionCache))
+        .addFunction(Measure.PAR_RATE, function(CdsParRateFunction.class, expansionCache))
+        .addFunction(Measure.RECOVERY01, function(CdsRecovery01Function.class, expansionCache))
+        .addFunction(Measure.JUMP_TO_DEFAULT, function(CdsJumpToDefaultFunction.class, expansionCache))
+        .addFunction(Measure.IR01_PARALLEL_PAR, function(CdsIr01ParallelParFunction.class, expansionCache))
+        .addFunction(Measure.IR01_PARALLEL_ZERO, function(CdsIr01ParallelZeroFunction.class, expansionCache))
+        .addFunction(Measure.IR01_BUCKETED_PAR, function(CdsIr01BucketedParFunction.class, expansionCache))
+        .addFunction(Measure.IR01_BUCKETED_ZERO, function(CdsIr01BucketedZeroFunction.class, expansionCache))
+        .addFunction(Measure.CS01_PARALLEL_PAR, function(CdsCs01ParallelParFunction.class, expansionCache))
+        .addFunction(Measure.CS01_PARALLEL_HAZARD, function(CdsCs01ParallelHazardFunction.class, expansionCache))
+        .addFunction(Measure.CS01_BUCKETED_PAR, function(CdsCs01BucketedParFunction.class, expansionCache))
+        .addFunction(Measure.CS01_BUCKETED_HAZARD, function(CdsCs01BucketedHazardFunction.class, expansionCache))
+        .build();
+  }
+
+  // creates the configuration of a function that expands the products using the cache
+  private static FunctionConfig<CdsTrade> function(
+      Class<? extends CalculationSingleFunction<CdsTrade, ?>> functionType,
+      ExpansionCache expansionCache) {
+
+    return FunctionConfig.builder(functionType).addArgument("expansionCache", expansionCache).build();
+  }
+
 }
@@ -6,10 +6,14 @@
 package com.opengamma.strata.function.calculation.credit;
 
 import java.time.LocalDate;
+import java.util.List;
 
+import com.google.common.primitives.Doubles;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
 
 /**
  * Calculates the par rate of a {@code CdsTrade} for each of a set of scenarios.
@@ -17,16 +21,41 @@ import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
 public class CdsParRateFunction
     extends AbstractCdsFunction<Double> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public CdsParRateFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected Double execute(
       ExpandedCds product,
       IsdaYieldCurveParRates yieldCurveParRates,
       IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return pricer().parRate(product, yieldCurve, creditCurve, valuationDate, recoveryRate);
+  }
+
+  @Override
+  protected List<Double> execute(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
       LocalDate valuationDate,
       double recoveryRate,
       double scalingFactor) {
 
-    return pricer().parRate(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate);
+    return Doubles.asList(pricer().parRate(products, yieldCurve, creditCurve, valuationDate, recoveryRate));
   }
 
 }
@@ -13,10 +13,13 @@ import java.util.stream.IntStream;
 
 import com.google.common.collect.ImmutableSet;
 import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.deposit.ExpandedTermDeposit;
 import com.opengamma.strata.finance.rate.deposit.TermDeposit;
 import com.opengamma.strata.finance.rate.deposit.TermDepositTrade;
@@ -32,14 +35,20 @@ import com.opengamma.strata.pricer.rate.deposit.DiscountingTermDepositProductPri
  * @param <T>  the return type
  */
 public abstract class AbstractTermDepositFunction<T>
-    extends AbstractCalculationFunction<TermDepositTrade, ScenarioResult<T>> {
+    extends AbstractCalculationFunction<TermDepositTrade, ScenarioResult<T>>
+    implements SharedInputCalculationFunction<TermDepositTrade, ExpandedTermDeposit, ScenarioResult<T>> {
+
+  /**
+   * The cache used to expand the products, which doesn't cache anything by default.
+   */
+  private final ExpansionCache expansionCache;
 
   /**
    * Creates a new instance which will return results from the {@code execute} method that support automatic
    * currency conversion if the underlying results support it.
    */
   protected AbstractTermDepositFunction() {
-    super();
+    this(true, ExpansionCache.none());
   }
 
   /**
@@ -49,7 +58,22 @@ public abstract class AbstractTermDepositFunction<T>
    *   automatic currency conversion if the underlying results support it
    */
   protected AbstractTermDepositFunction(boolean convertCurrencies) {
+    this(convertCurrencies, ExpansionCache.none());
+  }
+
+  /**
+   * Creates a new instance that expands products using a cache.
+   * <p>
+   * The cache allows the expanded products to be reused across calculation runs.
+   * The lifetime of the cache is controlled by the caller.
+   *
+   * @param convertCurrencies if this is true the value returned by the {@code execute} method will support
+   *   automatic currency conversion if the underlying results support it
+   * @param expansionCache  the cache used to expand the products
+   */
+  protected AbstractTermDepositFunction(boolean convertCurrencies, ExpansionCache expansionCache) {
     super(convertCurrencies);
+    this.expansionCache = ArgChecker.notNull(expansionCache, "expansionCache");
   }
 
   //-------------------------------------------------------------------------
@@ -77,8 +101,20 @@ public abstract class AbstractTermDepositFunction<T>
   }
 
   @Override
-  public ScenarioResult<T> execute(TermDepositTrade trade, CalculationMarketData marketData) {
-    ExpandedTermDeposit product = trade.getProduct().expand();
+  public Object inputKey() {
+    return AbstractTermDepositFunction.class;
+  }
+
+  @Override
+  public ExpandedTermDeposit createInput(TermDepositTrade trade) {
+    return expansionCache.expand(trade.getProduct());
+  }
+
+  @Override
+  public ScenarioResult<T> execute(
+      TermDepositTrade trade,
+      ExpandedTermDeposit product,
+      CalculationMarketData marketData) {
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
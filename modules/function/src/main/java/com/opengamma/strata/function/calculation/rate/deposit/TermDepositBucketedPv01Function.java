@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.deposit;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.deposit.ExpandedTermDeposit;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
@@ -17,6 +18,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class TermDepositBucketedPv01Function
     extends AbstractTermDepositFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public TermDepositBucketedPv01Function(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurveCurrencyParameterSensitivities execute(ExpandedTermDeposit product, RatesProvider provider) {
     PointSensitivities pointSensitivity = pricer().presentValueSensitivity(product, provider);
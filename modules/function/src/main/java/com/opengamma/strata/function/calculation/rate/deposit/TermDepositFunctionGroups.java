@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.function.calculation.rate.deposit;
 
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.deposit.TermDepositTrade;
 
 /**
@@ -21,14 +25,7 @@ public final class TermDepositFunctionGroups {
   /**
    * The group with pricers based on discounting methods.
    */
-  private static final FunctionGroup<TermDepositTrade> DISCOUNTING_GROUP =
-      DefaultFunctionGroup.builder(TermDepositTrade.class).name("TermDepositDiscounting")
-          .addFunction(Measure.PAR_RATE, TermDepositParRateFunction.class)
-          .addFunction(Measure.PAR_SPREAD, TermDepositParSpreadFunction.class)
-          .addFunction(Measure.PRESENT_VALUE, TermDepositPvFunction.class)
-          .addFunction(Measure.PV01, TermDepositPv01Function.class)
-          .addFunction(Measure.BUCKETED_PV01, TermDepositBucketedPv01Function.class)
-          .build();
+  private static final FunctionGroup<TermDepositTrade> DISCOUNTING_GROUP = discounting(ExpansionCache.none());
 
   /**
    * Restricted constructor.
@@ -56,4 +53,34 @@ public final class TermDepositFunctionGroups {
     return DISCOUNTING_GROUP;
   }
 
+  /**
+   * Obtains the function group providing all built-in measures on Term Deposit trades,
+   * using the standard discounting calculation method and expanding the products using a cache.
+   * <p>
+   * The functions in the group share the cache, allowing the expanded products to be reused
+   * across measures and calculation runs. The lifetime of the cache is controlled by the caller.
+   * The supported measures are the same as those of {@link #discounting()}.
+   * 
+   * @param expansionCache  the cache used to expand the products
+   * @return the function group
+   */
+  public static FunctionGroup<TermDepositTrade> discounting(ExpansionCache expansionCache) {
+    ArgChecker.notNull(expansionCache, "expansionCache");
+    return DefaultFunctionGroup.builder(TermDepositTrade.class).name("TermDepositDiscounting")
+        .addFunction(Measure.PAR_RATE, function(TermDepositParRateFunction.class, expansionCache))
+        .addFunction(Measure.PAR_SPREAD, function(TermDepositParSpreadFunction.class, expansionCache))
+        .addFunction(Measure.PRESENT_VALUE, function(TermDepositPvFunction.class, expansionCache))
+        .addFunction(Measure.PV01, function(TermDepositPv01Function.class, expansionCache))
+        .addFunction(Measure.BUCKETED_PV01, function(TermDepositBucketedPv01Function.class, expansionCache))
+        .build();
+  }
+
+  // creates the configuration of a function that expands the products using the cache
+  private static FunctionConfig<TermDepositTrade> function(
+      Class<? extends CalculationSingleFunction<TermDepositTrade, ?>> functionType,
+      ExpansionCache expansionCache) {
+
+    return FunctionConfig.builder(functionType).addArgument("expansionCache", expansionCache).build();
+  }
+
 }
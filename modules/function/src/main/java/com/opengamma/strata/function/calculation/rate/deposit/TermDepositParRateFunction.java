@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.deposit;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.deposit.ExpandedTermDeposit;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -14,6 +15,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class TermDepositParRateFunction
     extends AbstractTermDepositFunction<Double> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public TermDepositParRateFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected Double execute(ExpandedTermDeposit product, RatesProvider provider) {
     return pricer().parRate(product, provider);
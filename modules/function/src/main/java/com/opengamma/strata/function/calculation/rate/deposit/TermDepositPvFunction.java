@@ -6,6 +6,7 @@
 package com.opengamma.strata.function.calculation.rate.deposit;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.deposit.ExpandedTermDeposit;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -15,6 +16,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class TermDepositPvFunction
     extends AbstractTermDepositFunction<CurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public TermDepositPvFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurrencyAmount execute(ExpandedTermDeposit product, RatesProvider provider) {
     return pricer().presentValue(product, provider);
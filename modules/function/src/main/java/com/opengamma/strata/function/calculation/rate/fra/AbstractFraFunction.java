@@ -19,10 +19,13 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.finance.rate.fra.Fra;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
@@ -40,14 +43,20 @@ import com.opengamma.strata.pricer.rate.fra.DiscountingFraProductPricer;
  * @param <T>  the return type
  */
 public abstract class AbstractFraFunction<T>
-    extends AbstractCalculationFunction<FraTrade, ScenarioResult<T>> {
+    extends AbstractCalculationFunction<FraTrade, ScenarioResult<T>>
+    implements SharedInputCalculationFunction<FraTrade, ExpandedFra, ScenarioResult<T>> {
+
+  /**
+   * The cache used to expand the products, which doesn't cache anything by default.
+   */
+  private final ExpansionCache expansionCache;
 
   /**
    * Creates a new instance which will return results from the {@code execute} method that support automatic
    * currency conversion if the underlying results support it.
    */
   protected AbstractFraFunction() {
-    super();
+    this(true, ExpansionCache.none());
   }
 
   /**
@@ -57,7 +66,22 @@ public abstract class AbstractFraFunction<T>
    *   automatic currency conversion if the underlying results support it
    */
   protected AbstractFraFunction(boolean convertCurrencies) {
+    this(convertCurrencies, ExpansionCache.none());
+  }
+
+  /**
+   * Creates a new instance that expands products using a cache.
+   * <p>
+   * The cache allows the expanded products to be reused across calculation runs.
+   * The lifetime of the cache is controlled by the caller.
+   *
+   * @param convertCurrencies if this is true the value returned by the {@code execute} method will support
+   *   automatic currency conversion if the underlying results support it
+   * @param expansionCache  the cache used to expand the products
+   */
+  protected AbstractFraFunction(boolean convertCurrencies, ExpansionCache expansionCache) {
     super(convertCurrencies);
+    this.expansionCache = ArgChecker.notNull(expansionCache, "expansionCache");
   }
 
   //-------------------------------------------------------------------------
@@ -104,8 +128,17 @@ public abstract class AbstractFraFunction<T>
   }
 
   @Override
-  public ScenarioResult<T> execute(FraTrade trade, CalculationMarketData marketData) {
-    ExpandedFra product = trade.getProduct().expand();
+  public Object inputKey() {
+    return AbstractFraFunction.class;
+  }
+
+  @Override
+  public ExpandedFra createInput(FraTrade trade) {
+    return expansionCache.expand(trade.getProduct());
+  }
+
+  @Override
+  public ScenarioResult<T> execute(FraTrade trade, ExpandedFra product, CalculationMarketData marketData) {
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
@@ -21,6 +21,7 @@ import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketDat
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.SingleCalculationMarketData;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.finance.rate.fra.Fra;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
@@ -45,9 +46,21 @@ import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 public class FraBucketedGammaPv01Function
     extends AbstractFraFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public FraBucketedGammaPv01Function(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
-  public ScenarioResult<CurveCurrencyParameterSensitivities> execute(FraTrade trade, CalculationMarketData marketData) {
-    ExpandedFra expandedFra = trade.getProduct().expand();
+  public ScenarioResult<CurveCurrencyParameterSensitivities> execute(
+      FraTrade trade,
+      ExpandedFra expandedFra,
+      CalculationMarketData marketData) {
+
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(md -> execute(trade.getProduct(), expandedFra, md))
@@ -56,7 +69,8 @@ public class FraBucketedGammaPv01Function
 
   @Override
   protected CurveCurrencyParameterSensitivities execute(ExpandedFra product, RatesProvider ratesProvider) {
-    throw new UnsupportedOperationException("execute(FraTrade) overridden instead");
+    throw new UnsupportedOperationException(
+        "execute(FraTrade, ExpandedFra, CalculationMarketData) overridden instead");
   }
 
   //-------------------------------------------------------------------------
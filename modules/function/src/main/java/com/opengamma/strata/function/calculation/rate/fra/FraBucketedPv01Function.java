@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.fra;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
@@ -17,6 +18,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class FraBucketedPv01Function
     extends AbstractFraFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public FraBucketedPv01Function(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurveCurrencyParameterSensitivities execute(ExpandedFra product, RatesProvider provider) {
     PointSensitivities pointSensitivity = pricer().presentValueSensitivity(product, provider);
@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.function.calculation.rate.fra;
 
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
 
 /**
@@ -21,16 +25,7 @@ public final class FraFunctionGroups {
   /**
    * The group with pricers based on discounting methods.
    */
-  private static final FunctionGroup<FraTrade> DISCOUNTING_GROUP =
-      DefaultFunctionGroup.builder(FraTrade.class).name("FraDiscounting")
-          .addFunction(Measure.PAR_RATE, FraParRateFunction.class)
-          .addFunction(Measure.PAR_SPREAD, FraParSpreadFunction.class)
-          .addFunction(Measure.PRESENT_VALUE, FraPvFunction.class)
-          .addFunction(Measure.EXPLAIN_PRESENT_VALUE, FraExplainPvFunction.class)
-          .addFunction(Measure.PV01, FraPv01Function.class)
-          .addFunction(Measure.BUCKETED_PV01, FraBucketedPv01Function.class)
-          .addFunction(Measure.BUCKETED_GAMMA_PV01, FraBucketedGammaPv01Function.class)
-          .build();
+  private static final FunctionGroup<FraTrade> DISCOUNTING_GROUP = discounting(ExpansionCache.none());
 
   /**
    * Restricted constructor.
@@ -60,4 +55,36 @@ public final class FraFunctionGroups {
     return DISCOUNTING_GROUP;
   }
 
+  /**
+   * Obtains the function group providing all built-in measures on FRA trades,
+   * using the standard discounting calculation method and expanding the products using a cache.
+   * <p>
+   * The functions in the group share the cache, allowing the expanded products to be reused
+   * across measures and calculation runs. The lifetime of the cache is controlled by the caller.
+   * The supported measures are the same as those of {@link #discounting()}.
+   * 
+   * @param expansionCache  the cache used to expand the products
+   * @return the function group
+   */
+  public static FunctionGroup<FraTrade> discounting(ExpansionCache expansionCache) {
+    ArgChecker.notNull(expansionCache, "expansionCache");
+    return DefaultFunctionGroup.builder(FraTrade.class).name("FraDiscounting")
+        .addFunction(Measure.PAR_RATE, function(FraParRateFunction.class, expansionCache))
+        .addFunction(Measure.PAR_SPREAD, function(FraParSpreadFunction.class, expansionCache))
+        .addFunction(Measure.PRESENT_VALUE, function(FraPvFunction.class, expansionCache))
+        .addFunction(Measure.EXPLAIN_PRESENT_VALUE, function(FraExplainPvFunction.class, expansionCache))
+        .addFunction(Measure.PV01, function(FraPv01Function.class, expansionCache))
+        .addFunction(Measure.BUCKETED_PV01, function(FraBucketedPv01Function.class, expansionCache))
+        .addFunction(Measure.BUCKETED_GAMMA_PV01, function(FraBucketedGammaPv01Function.class, expansionCache))
+        .build();
+  }
+
+  // creates the configuration of a function that expands the products using the cache
+  private static FunctionConfig<FraTrade> function(
+      Class<? extends CalculationSingleFunction<FraTrade, ?>> functionType,
+      ExpansionCache expansionCache) {
+
+    return FunctionConfig.builder(functionType).addArgument("expansionCache", expansionCache).build();
+  }
+
 }
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.fra;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -14,6 +15,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class FraParRateFunction
     extends AbstractFraFunction<Double> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public FraParRateFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected Double execute(ExpandedFra product, RatesProvider provider) {
     return pricer().parRate(product, provider);
@@ -6,6 +6,7 @@
 package com.opengamma.strata.function.calculation.rate.fra;
 
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -17,6 +18,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class FraPv01Function
     extends AbstractFraFunction<MultiCurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public FraPv01Function(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected MultiCurrencyAmount execute(ExpandedFra product, RatesProvider provider) {
     PointSensitivities pointSensitivity = pricer().presentValueSensitivity(product, provider);
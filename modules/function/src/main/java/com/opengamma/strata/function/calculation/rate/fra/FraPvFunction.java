@@ -6,6 +6,7 @@
 package com.opengamma.strata.function.calculation.rate.fra;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -15,6 +16,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class FraPvFunction
     extends AbstractFraFunction<CurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public FraPvFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected CurrencyAmount execute(ExpandedFra product, RatesProvider provider) {
     return pricer().presentValue(product, provider);
@@ -17,10 +17,13 @@ import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.market.MarketDataKey;
 import com.opengamma.strata.basics.market.ObservableKey;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.SharedInputCalculationFunction;
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.finance.rate.swap.Swap;
 import com.opengamma.strata.finance.rate.swap.SwapLeg;
@@ -41,14 +44,20 @@ import com.opengamma.strata.pricer.rate.swap.DiscountingSwapProductPricer;
  * @param <T>  the return type
  */
 public abstract class AbstractSwapFunction<T>
-    extends AbstractCalculationFunction<SwapTrade, ScenarioResult<T>> {
+    extends AbstractCalculationFunction<SwapTrade, ScenarioResult<T>>
+    implements SharedInputCalculationFunction<SwapTrade, ExpandedSwap, ScenarioResult<T>> {
+
+  /**
+   * The cache used to expand the products, which doesn't cache anything by default.
+   */
+  private final ExpansionCache expansionCache;
 
   /**
    * Creates a new instance which will return results from the {@code execute} method that support automatic
    * currency conversion if the underlying results support it.
    */
   protected AbstractSwapFunction() {
-    super();
+    this(true, ExpansionCache.none());
   }
 
   /**
@@ -58,7 +67,22 @@ public abstract class AbstractSwapFunction<T>
    *   automatic currency conversion if the underlying results support it
    */
   protected AbstractSwapFunction(boolean convertCurrencies) {
+    this(convertCurrencies, ExpansionCache.none());
+  }
+
+  /**
+   * Creates a new instance that expands products using a cache.
+   * <p>
+   * The cache allows the expanded products to be reused across calculation runs.
+   * The lifetime of the cache is controlled by the caller.
+   *
+   * @param convertCurrencies if this is true the value returned by the {@code execute} method will support
+   *   automatic currency conversion if the underlying results support it
+   * @param expansionCache  the cache used to expand the products
+   */
+  protected AbstractSwapFunction(boolean convertCurrencies, ExpansionCache expansionCache) {
     super(convertCurrencies);
+    this.expansionCache = ArgChecker.notNull(expansionCache, "expansionCache");
   }
 
   //-------------------------------------------------------------------------
@@ -100,8 +124,17 @@ public abstract class AbstractSwapFunction<T>
   }
 
   @Override
-  public ScenarioResult<T> execute(SwapTrade trade, CalculationMarketData marketData) {
-    ExpandedSwap product = trade.getProduct().expand();
+  public Object inputKey() {
+    return AbstractSwapFunction.class;
+  }
+
+  @Override
+  public ExpandedSwap createInput(SwapTrade trade) {
+    return expansionCache.expand(trade.getProduct());
+  }
+
+  @Override
+  public ScenarioResult<T> execute(SwapTrade trade, ExpandedSwap product, CalculationMarketData marketData) {
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(MarketDataRatesProvider::new)
@@ -6,6 +6,7 @@
 package com.opengamma.strata.function.calculation.rate.swap;
 
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -15,6 +16,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class SwapAccruedInterestFunction
     extends AbstractSwapFunction<MultiCurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapAccruedInterestFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected MultiCurrencyAmount execute(ExpandedSwap product, RatesProvider provider) {
     return pricer().accruedInterest(product, provider);
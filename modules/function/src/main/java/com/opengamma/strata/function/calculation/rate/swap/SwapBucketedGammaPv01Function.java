@@ -20,6 +20,7 @@ import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketDat
 import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
 import com.opengamma.strata.engine.marketdata.CalculationMarketData;
 import com.opengamma.strata.engine.marketdata.SingleCalculationMarketData;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.finance.rate.swap.Swap;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
@@ -44,9 +45,21 @@ import com.opengamma.strata.pricer.sensitivity.CurveGammaCalculator;
 public class SwapBucketedGammaPv01Function
     extends AbstractSwapFunction<CurveCurrencyParameterSensitivities> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapBucketedGammaPv01Function(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
-  public ScenarioResult<CurveCurrencyParameterSensitivities> execute(SwapTrade trade, CalculationMarketData marketData) {
-    ExpandedSwap expandedSwap = trade.getProduct().expand();
+  public ScenarioResult<CurveCurrencyParameterSensitivities> execute(
+      SwapTrade trade,
+      ExpandedSwap expandedSwap,
+      CalculationMarketData marketData) {
+
     return IntStream.range(0, marketData.getScenarioCount())
         .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
         .map(md -> execute(trade.getProduct(), expandedSwap, md))
@@ -55,7 +68,8 @@ public class SwapBucketedGammaPv01Function
 
   @Override
   protected CurveCurrencyParameterSensitivities execute(ExpandedSwap product, RatesProvider provider) {
-    throw new UnsupportedOperationException("execute(SwapTrade) overridden instead");
+    throw new UnsupportedOperationException(
+        "execute(SwapTrade, ExpandedSwap, CalculationMarketData) overridden instead");
   }
 
   //-------------------------------------------------------------------------
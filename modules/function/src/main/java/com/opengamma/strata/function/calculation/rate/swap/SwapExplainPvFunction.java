@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.market.explain.ExplainMap;
 import com.opengamma.strata.pricer.rate.RatesProvider;
@@ -15,6 +16,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class SwapExplainPvFunction
     extends AbstractSwapFunction<ExplainMap> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapExplainPvFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected ExplainMap execute(ExpandedSwap product, RatesProvider provider) {
     return pricer().explainPresentValue(product, provider);
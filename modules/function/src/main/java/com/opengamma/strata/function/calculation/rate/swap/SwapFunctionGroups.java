@@ -5,9 +5,13 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.pricing.DefaultFunctionGroup;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
 
 /**
@@ -21,18 +25,7 @@ public final class SwapFunctionGroups {
   /**
    * The group with pricers based on discounting methods.
    */
-  private static final FunctionGroup<SwapTrade> DISCOUNTING_GROUP =
-      DefaultFunctionGroup.builder(SwapTrade.class).name("SwapDiscounting")
-          .addFunction(Measure.LEG_INITIAL_NOTIONAL, SwapLegNotionalFunction.class)
-          .addFunction(Measure.PRESENT_VALUE, SwapPvFunction.class)
-          .addFunction(Measure.EXPLAIN_PRESENT_VALUE, SwapExplainPvFunction.class)
-          .addFunction(Measure.LEG_PRESENT_VALUE, SwapLegPvFunction.class)
-          .addFunction(Measure.PV01, SwapPv01Function.class)
-          .addFunction(Measure.BUCKETED_PV01, SwapBucketedPv01Function.class)
-          .addFunction(Measure.BUCKETED_GAMMA_PV01, SwapBucketedGammaPv01Function.class)
-          .addFunction(Measure.PAR_RATE, SwapParRateFunction.class)
-          .addFunction(Measure.ACCRUED_INTEREST, SwapAccruedInterestFunction.class)
-          .build();
+  private static final FunctionGroup<SwapTrade> DISCOUNTING_GROUP = discounting(ExpansionCache.none());
 
   /**
    * Restricted constructor.
@@ -62,4 +55,38 @@ public final class SwapFunctionGroups {
     return DISCOUNTING_GROUP;
   }
 
+  /**
+   * Obtains the function group providing all built-in measures on Swap trades,
+   * using the standard discounting calculation method and expanding the products using a cache.
+   * <p>
+   * The functions in the group share the cache, allowing the expanded products to be reused
+   * across measures and calculation runs. The lifetime of the cache is controlled by the caller.
+   * The supported measures are the same as those of {@link #discounting()}.
+   * 
+   * @param expansionCache  the cache used to expand the products
+   * @return the function group
+   */
+  public static FunctionGroup<SwapTrade> discounting(ExpansionCache expansionCache) {
+    ArgChecker.notNull(expansionCache, "expansionCache");
+    return DefaultFunctionGroup.builder(SwapTrade.class).name("SwapDiscounting")
+        .addFunction(Measure.LEG_INITIAL_NOTIONAL, SwapLegNotionalFunction.class)
+        .addFunction(Measure.PRESENT_VALUE, function(SwapPvFunction.class, expansionCache))
+        .addFunction(Measure.EXPLAIN_PRESENT_VALUE, function(SwapExplainPvFunction.class, expansionCache))
+        .addFunction(Measure.LEG_PRESENT_VALUE, function(SwapLegPvFunction.class, expansionCache))
+        .addFunction(Measure.PV01, function(SwapPv01Function.class, expansionCache))
+        .addFunction(Measure.BUCKETED_PV01, function(SwapBucketedPv01Function.class, expansionCache))
+        .addFunction(Measure.BUCKETED_GAMMA_PV01, function(SwapBucketedGammaPv01Function.class, expansionCache))
+        .addFunction(Measure.PAR_RATE, function(SwapParRateFunction.class, expansionCache))
+        .addFunction(Measure.ACCRUED_INTEREST, function(SwapAccruedInterestFunction.class, expansionCache))
+        .build();
+  }
+
+  // creates the configuration of a function that expands the products using the cache
+  private static FunctionConfig<SwapTrade> function(
+      Class<? extends CalculationSingleFunction<SwapTrade, ?>> functionType,
+      ExpansionCache expansionCache) {
+
+    return FunctionConfig.builder(functionType).addArgument("expansionCache", expansionCache).build();
+  }
+
 }
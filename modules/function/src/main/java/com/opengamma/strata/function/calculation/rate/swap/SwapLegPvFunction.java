@@ -9,6 +9,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwapLeg;
 import com.opengamma.strata.market.amount.LegAmount;
@@ -25,6 +26,15 @@ import com.opengamma.strata.pricer.rate.swap.DiscountingSwapLegPricer;
  */
 public class SwapLegPvFunction extends AbstractSwapFunction<LegAmounts> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapLegPvFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected LegAmounts execute(ExpandedSwap product, RatesProvider provider) {
     List<LegAmount> legAmounts = product.getLegs().stream()
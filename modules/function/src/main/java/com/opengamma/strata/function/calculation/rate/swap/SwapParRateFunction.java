@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
@@ -14,6 +15,15 @@ import com.opengamma.strata.pricer.rate.RatesProvider;
 public class SwapParRateFunction
     extends AbstractSwapFunction<Double> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapParRateFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
   @Override
   protected Double execute(ExpandedSwap product, RatesProvider provider) {
     return pricer().parRate(product, provider);
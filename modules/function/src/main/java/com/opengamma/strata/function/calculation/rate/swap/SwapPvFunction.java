@@ -5,16 +5,63 @@
  */
 package com.opengamma.strata.function.calculation.rate.swap;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+import static com.opengamma.strata.engine.calculation.function.FunctionUtils.toScenarioResult;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
+import com.opengamma.strata.engine.marketdata.CalculationMarketData;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwap;
+import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.function.marketdata.MarketDataRatesProvider;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
  * Calculates the present value of a {@code SwapTrade} for each of a set of scenarios.
+ * <p>
+ * The present value of a single currency swap is calculated for all scenarios at once. The parts of the
+ * calculation that don't depend on the market data are only performed once.
  */
 public class SwapPvFunction
     extends AbstractSwapFunction<MultiCurrencyAmount> {
 
+  /**
+   * Creates a new instance.
+   *
+   * @param expansionCache  the cache used to expand the products
+   */
+  public SwapPvFunction(ExpansionCache expansionCache) {
+    super(true, expansionCache);
+  }
+
+  @Override
+  public ScenarioResult<MultiCurrencyAmount> execute(
+      SwapTrade trade,
+      ExpandedSwap product,
+      CalculationMarketData marketData) {
+
+    if (product.isCrossCurrency()) {
+      return super.execute(trade, product, marketData);
+    }
+    List<RatesProvider> providers = IntStream.range(0, marketData.getScenarioCount())
+        .mapToObj(index -> new DefaultSingleCalculationMarketData(marketData, index))
+        .map(MarketDataRatesProvider::new)
+        .collect(toImmutableList());
+
+    Currency currency = product.getLegs().get(0).getCurrency();
+    double[] pvs = pricer().presentValue(product, currency, providers);
+    return Arrays.stream(pvs)
+        .mapToObj(pv -> MultiCurrencyAmount.of(currency, pv))
+        .collect(toScenarioResult(isConvertCurrencies()));
+  }
+
   @Override
   protected MultiCurrencyAmount execute(ExpandedSwap product, RatesProvider provider) {
     return pricer().presentValue(product, provider);
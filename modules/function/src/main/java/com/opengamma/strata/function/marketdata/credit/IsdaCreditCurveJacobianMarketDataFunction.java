@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveMarketDataFunction.parRatesId;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCreditCurveMarketDataFunction.recoveryRateId;
+
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataLookup;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
+import com.opengamma.strata.finance.credit.ReferenceInformation;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaCreditCurveJacobianId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Market data function that builds the Jacobian of the credit curve of the ISDA credit model.
+ * <p>
+ * The Jacobian is built from the {@link IsdaCreditCurveParRates} and the {@link CdsRecoveryRate}
+ * of the single-name or index, the ISDA yield curve of the currency and the credit curve calibrated by
+ * {@link IsdaCreditCurveMarketDataFunction}.
+ * The Jacobian is built once for each scenario and shared by all the calculations of bucketed sensitivities
+ * on the same curves, so it is not recomputed for each trade.
+ */
+public class IsdaCreditCurveJacobianMarketDataFunction
+    implements MarketDataFunction<IsdaCreditCurveJacobian, IsdaCreditCurveJacobianId> {
+
+  @Override
+  public MarketDataRequirements requirements(IsdaCreditCurveJacobianId id, MarketDataConfig config) {
+    ReferenceInformation referenceInformation = id.getReferenceInformation();
+    return MarketDataRequirements.builder()
+        .addValues(
+            IsdaYieldCurveId.of(id.getCurrency()),
+            IsdaCreditCurveId.of(referenceInformation, id.getCurrency()),
+            parRatesId(referenceInformation),
+            recoveryRateId(referenceInformation))
+        .build();
+  }
+
+  @Override
+  public Result<IsdaCreditCurveJacobian> build(
+      IsdaCreditCurveJacobianId id,
+      MarketDataLookup marketData,
+      MarketDataConfig config) {
+
+    ReferenceInformation referenceInformation = id.getReferenceInformation();
+    IsdaYieldCurveId yieldCurveId = IsdaYieldCurveId.of(id.getCurrency());
+    IsdaCreditCurveId creditCurveId = IsdaCreditCurveId.of(referenceInformation, id.getCurrency());
+    MarketDataId<IsdaCreditCurveParRates> parRatesId = parRatesId(referenceInformation);
+    MarketDataId<CdsRecoveryRate> recoveryRateId = recoveryRateId(referenceInformation);
+    if (!marketData.containsValue(yieldCurveId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve found: Currency: {}",
+          id.getCurrency());
+    }
+    if (!marketData.containsValue(creditCurveId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA credit curve found: Reference information: {}",
+          referenceInformation);
+    }
+    if (!marketData.containsValue(parRatesId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA credit curve par rates found: Reference information: {}",
+          referenceInformation);
+    }
+    if (!marketData.containsValue(recoveryRateId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No recovery rate found: Reference information: {}",
+          referenceInformation);
+    }
+    NodalCurve yieldCurve = marketData.getValue(yieldCurveId);
+    NodalCurve creditCurve = marketData.getValue(creditCurveId);
+    IsdaCreditCurveParRates parRates = marketData.getValue(parRatesId);
+    double recoveryRate = marketData.getValue(recoveryRateId).getRecoveryRate();
+    return Result.of(() -> IsdaCdsPricer.DEFAULT.creditCurveJacobian(
+        marketData.getValuationDate(), parRates, yieldCurve, creditCurve, recoveryRate));
+  }
+
+  @Override
+  public Class<IsdaCreditCurveJacobianId> getMarketDataIdType() {
+    return IsdaCreditCurveJacobianId.class;
+  }
+
+}
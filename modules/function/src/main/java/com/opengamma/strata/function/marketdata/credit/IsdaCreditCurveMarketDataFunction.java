@@ -0,0 +1,116 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataLookup;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
+import com.opengamma.strata.finance.credit.IndexReferenceInformation;
+import com.opengamma.strata.finance.credit.ReferenceInformation;
+import com.opengamma.strata.finance.credit.ReferenceInformationType;
+import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaIndexCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaIndexRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaSingleNameCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Market data function that calibrates the credit curve of the ISDA credit model.
+ * <p>
+ * The curve is calibrated from the {@link IsdaCreditCurveParRates} and the {@link CdsRecoveryRate}
+ * of the single-name or index, using the ISDA yield curve of the currency.
+ * The yield curve is built by {@link IsdaYieldCurveMarketDataFunction}, the par rates and the recovery rate
+ * must be available in the {@code MarketDataLookup} passed to the {@link #build} method.
+ * The curve is built once for each scenario and shared by all the calculations that require it.
+ */
+public class IsdaCreditCurveMarketDataFunction
+    implements MarketDataFunction<NodalCurve, IsdaCreditCurveId> {
+
+  @Override
+  public MarketDataRequirements requirements(IsdaCreditCurveId id, MarketDataConfig config) {
+    ReferenceInformation referenceInformation = id.getReferenceInformation();
+    return MarketDataRequirements.builder()
+        .addValues(
+            IsdaYieldCurveId.of(id.getCurrency()),
+            parRatesId(referenceInformation),
+            recoveryRateId(referenceInformation))
+        .build();
+  }
+
+  @Override
+  public Result<NodalCurve> build(IsdaCreditCurveId id, MarketDataLookup marketData, MarketDataConfig config) {
+    ReferenceInformation referenceInformation = id.getReferenceInformation();
+    IsdaYieldCurveId yieldCurveId = IsdaYieldCurveId.of(id.getCurrency());
+    MarketDataId<IsdaCreditCurveParRates> parRatesId = parRatesId(referenceInformation);
+    MarketDataId<CdsRecoveryRate> recoveryRateId = recoveryRateId(referenceInformation);
+    if (!marketData.containsValue(yieldCurveId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve found: Currency: {}",
+          id.getCurrency());
+    }
+    if (!marketData.containsValue(parRatesId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA credit curve par rates found: Reference information: {}",
+          referenceInformation);
+    }
+    if (!marketData.containsValue(recoveryRateId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No recovery rate found: Reference information: {}",
+          referenceInformation);
+    }
+    NodalCurve yieldCurve = marketData.getValue(yieldCurveId);
+    IsdaCreditCurveParRates parRates = marketData.getValue(parRatesId);
+    double recoveryRate = marketData.getValue(recoveryRateId).getRecoveryRate();
+    return Result.of(() -> IsdaCdsPricer.DEFAULT.calibrateCreditCurve(
+        marketData.getValuationDate(), parRates, yieldCurve, recoveryRate));
+  }
+
+  @Override
+  public Class<IsdaCreditCurveId> getMarketDataIdType() {
+    return IsdaCreditCurveId.class;
+  }
+
+  //-------------------------------------------------------------------------
+  // the ID of the par rates of the single-name or index
+  static MarketDataId<IsdaCreditCurveParRates> parRatesId(ReferenceInformation referenceInformation) {
+    ReferenceInformationType type = referenceInformation.getType();
+    switch (type) {
+      case SINGLE_NAME:
+        return IsdaSingleNameCreditCurveParRatesId.of((SingleNameReferenceInformation) referenceInformation);
+      case INDEX:
+        return IsdaIndexCreditCurveParRatesId.of((IndexReferenceInformation) referenceInformation);
+      default:
+        throw new IllegalStateException("unknown reference information type: " + type);
+    }
+  }
+
+  // the ID of the recovery rate of the single-name or index
+  static MarketDataId<CdsRecoveryRate> recoveryRateId(ReferenceInformation referenceInformation) {
+    ReferenceInformationType type = referenceInformation.getType();
+    switch (type) {
+      case SINGLE_NAME:
+        return IsdaSingleNameRecoveryRateId.of((SingleNameReferenceInformation) referenceInformation);
+      case INDEX:
+        return IsdaIndexRecoveryRateId.of((IndexReferenceInformation) referenceInformation);
+      default:
+        throw new IllegalStateException("unknown reference information type: " + type);
+    }
+  }
+
+}
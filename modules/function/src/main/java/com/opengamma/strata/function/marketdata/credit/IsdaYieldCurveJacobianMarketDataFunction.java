@@ -0,0 +1,73 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataLookup;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.engine.marketdata.function.MarketDataFunction;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.id.IsdaYieldCurveJacobianId;
+import com.opengamma.strata.market.id.IsdaYieldCurveParRatesId;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Market data function that builds the Jacobian of the yield curve of the ISDA credit model.
+ * <p>
+ * The Jacobian is built from the {@link IsdaYieldCurveParRates} of the currency and the yield curve
+ * calibrated from them by {@link IsdaYieldCurveMarketDataFunction}.
+ * The Jacobian is built once for each scenario and shared by all the calculations of bucketed sensitivities
+ * to the par rates, so the yield curve is not recalibrated for each trade.
+ */
+public class IsdaYieldCurveJacobianMarketDataFunction
+    implements MarketDataFunction<IsdaYieldCurveJacobian, IsdaYieldCurveJacobianId> {
+
+  @Override
+  public MarketDataRequirements requirements(IsdaYieldCurveJacobianId id, MarketDataConfig config) {
+    return MarketDataRequirements.builder()
+        .addValues(
+            IsdaYieldCurveParRatesId.of(id.getCurrency()),
+            IsdaYieldCurveId.of(id.getCurrency()))
+        .build();
+  }
+
+  @Override
+  public Result<IsdaYieldCurveJacobian> build(
+      IsdaYieldCurveJacobianId id,
+      MarketDataLookup marketData,
+      MarketDataConfig config) {
+
+    IsdaYieldCurveParRatesId parRatesId = IsdaYieldCurveParRatesId.of(id.getCurrency());
+    IsdaYieldCurveId yieldCurveId = IsdaYieldCurveId.of(id.getCurrency());
+    if (!marketData.containsValue(parRatesId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve par rates found: Currency: {}",
+          id.getCurrency());
+    }
+    if (!marketData.containsValue(yieldCurveId)) {
+      return Result.failure(
+          FailureReason.MISSING_DATA,
+          "No ISDA yield curve found: Currency: {}",
+          id.getCurrency());
+    }
+    IsdaYieldCurveParRates parRates = marketData.getValue(parRatesId);
+    NodalCurve yieldCurve = marketData.getValue(yieldCurveId);
+    return Result.of(() -> IsdaCdsPricer.DEFAULT.yieldCurveJacobian(
+        marketData.getValuationDate(), parRates, yieldCurve));
+  }
+
+  @Override
+  public Class<IsdaYieldCurveJacobianId> getMarketDataIdType() {
+    return IsdaYieldCurveJacobianId.class;
+  }
+
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.calculation.credit;
+
+import static com.opengamma.strata.basics.BuySell.BUY;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.RECOVERY_RATE;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.REFERENCE_INFORMATION;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.VAL_DATE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ForwardingExecutorService;
+import com.google.common.util.concurrent.MoreExecutors;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.engine.Column;
+import com.opengamma.strata.engine.calculation.CalculationTask;
+import com.opengamma.strata.engine.calculation.CalculationTasks;
+import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
+import com.opengamma.strata.engine.calculation.Results;
+import com.opengamma.strata.engine.calculation.function.result.ScenarioResult;
+import com.opengamma.strata.engine.config.Measure;
+import com.opengamma.strata.engine.config.ReportingRules;
+import com.opengamma.strata.engine.marketdata.CalculationEnvironment;
+import com.opengamma.strata.engine.marketdata.CalculationEnvironmentBuilder;
+import com.opengamma.strata.engine.marketdata.mapping.DefaultMarketDataMappings;
+import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+import com.opengamma.strata.finance.ExpansionCache;
+import com.opengamma.strata.finance.credit.CdsTrade;
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.finance.credit.ReferenceInformation;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData;
+import com.opengamma.strata.function.marketdata.curve.MarketDataMap;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaSingleNameCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.id.IsdaYieldCurveParRatesId;
+import com.opengamma.strata.market.key.IsdaCreditCurveKey;
+import com.opengamma.strata.market.key.IsdaSingleNameCreditCurveParRatesKey;
+import com.opengamma.strata.market.key.IsdaSingleNameRecoveryRateKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveKey;
+import com.opengamma.strata.market.key.IsdaYieldCurveParRatesKey;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Test {@link CdsPvFunction}.
+ */
+@Test
+public class CdsPvFunctionTest {
+
+  private static final SingleNameReferenceInformation REFERENCE_INFORMATION2 = SingleNameReferenceInformation.of(
+      StandardId.of("OG-Ticker", "COMP02"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+  private static final CdsTrade TRADE1 = trade(REFERENCE_INFORMATION, 100_000_000d, 0.01);
+  private static final CdsTrade TRADE2 = trade(REFERENCE_INFORMATION2, 100_000_000d, 0.01);
+  private static final CdsTrade TRADE3 = trade(REFERENCE_INFORMATION, 50_000_000d, 0.05);
+  private static final MarketDataMap MARKET_DATA = marketData();
+
+  public void test_batchKey() {
+    CdsPvFunction test = new CdsPvFunction(ExpansionCache.none());
+    assertThat(test.batchKey(TRADE1)).isEqualTo(new CdsPvFunction(ExpansionCache.none()).batchKey(TRADE1));
+    assertThat(test.batchKey(TRADE1)).isEqualTo(test.batchKey(TRADE3));
+    assertThat(test.batchKey(TRADE1)).isNotEqualTo(test.batchKey(TRADE2));
+    assertThat(test.batchKey(TRADE1)).isNotEqualTo(new CdsParRateFunction(ExpansionCache.none()).batchKey(TRADE1));
+  }
+
+  public void test_executeList() {
+    List<CdsTrade> trades = ImmutableList.of(TRADE1, TRADE2, TRADE3);
+    GroupRecordingFunction test = new GroupRecordingFunction();
+    List<ScenarioResult<CurrencyAmount>> results = test.execute(trades, MARKET_DATA);
+
+    // the trades with the same reference information are priced together
+    assertThat(test.groupSizes).containsExactly(2, 1);
+    assertThat(results).hasSize(3);
+    CdsPvFunction function = new CdsPvFunction(ExpansionCache.none());
+    for (int i = 0; i < trades.size(); i++) {
+      assertThat(results.get(i)).isEqualTo(function.execute(trades.get(i), MARKET_DATA));
+    }
+    assertThat(results.get(0)).isNotEqualTo(results.get(2));
+  }
+
+  public void test_runnerBatches() {
+    List<CdsTrade> trades = ImmutableList.of(TRADE1, TRADE2, TRADE3);
+    MarketDataMappings mappings = DefaultMarketDataMappings.builder().marketDataFeed(MarketDataFeed.NONE).build();
+    List<CalculationTask> taskList = new ArrayList<>();
+    for (int i = 0; i < trades.size(); i++) {
+      CdsPvFunction function = new CdsPvFunction(ExpansionCache.none());
+      taskList.add(new CalculationTask(trades.get(i), i, 0, function, mappings, ReportingRules.empty()));
+    }
+    CalculationTasks tasks = new CalculationTasks(taskList, ImmutableList.of(Column.of(Measure.PRESENT_VALUE)));
+    CountingExecutorService executor = new CountingExecutorService();
+    DefaultCalculationRunner runner = new DefaultCalculationRunner(executor, true);
+    Results results = runner.calculate(tasks, calculationEnvironment());
+
+    // the trades of each reference entity are priced together in a separate executor task
+    assertThat(executor.executionCount.get()).isEqualTo(2);
+    DefaultCalculationRunner separateRunner = new DefaultCalculationRunner(MoreExecutors.newDirectExecutorService());
+    Results expected = separateRunner.calculate(tasks, calculationEnvironment());
+    assertThat(results).isEqualTo(expected);
+    assertThat(results.get(0, 0).isSuccess()).isTrue();
+  }
+
+  //-------------------------------------------------------------------------
+  private static CdsTrade trade(ReferenceInformation referenceInformation, double notional, double coupon) {
+    return CdsConventions.NORTH_AMERICAN_USD.toTrade(
+        LocalDate.of(2014, 9, 22),
+        LocalDate.of(2019, 12, 20),
+        BUY,
+        notional,
+        coupon,
+        referenceInformation,
+        1_000_000d,
+        LocalDate.of(2014, 10, 21));
+  }
+
+  private static MarketDataMap marketData() {
+    IsdaYieldCurveParRates yieldCurveParRates = IsdaCurveTestData.yieldCurveParRates();
+    IsdaCreditCurveParRates creditCurveParRates = IsdaCurveTestData.creditCurveParRates();
+    NodalCurve yieldCurve = IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, yieldCurveParRates);
+    NodalCurve creditCurve =
+        IsdaCdsPricer.DEFAULT.calibrateCreditCurve(VAL_DATE, creditCurveParRates, yieldCurve, RECOVERY_RATE);
+    ImmutableMap.Builder<MarketDataKey<?>, Object> builder = ImmutableMap.builder();
+    builder.put(IsdaYieldCurveParRatesKey.of(USD), yieldCurveParRates);
+    builder.put(IsdaYieldCurveKey.of(USD), yieldCurve);
+    for (SingleNameReferenceInformation referenceInformation :
+        ImmutableList.of(REFERENCE_INFORMATION, REFERENCE_INFORMATION2)) {
+      builder.put(IsdaCreditCurveKey.of(referenceInformation, USD), creditCurve);
+      builder.put(IsdaSingleNameCreditCurveParRatesKey.of(referenceInformation), creditCurveParRates);
+      builder.put(IsdaSingleNameRecoveryRateKey.of(referenceInformation), CdsRecoveryRate.of(RECOVERY_RATE));
+    }
+    return new MarketDataMap(VAL_DATE, builder.build(), ImmutableMap.of());
+  }
+
+  private static CalculationEnvironment calculationEnvironment() {
+    IsdaYieldCurveParRates yieldCurveParRates = IsdaCurveTestData.yieldCurveParRates();
+    IsdaCreditCurveParRates creditCurveParRates = IsdaCurveTestData.creditCurveParRates();
+    NodalCurve yieldCurve = IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, yieldCurveParRates);
+    NodalCurve creditCurve =
+        IsdaCdsPricer.DEFAULT.calibrateCreditCurve(VAL_DATE, creditCurveParRates, yieldCurve, RECOVERY_RATE);
+    CalculationEnvironmentBuilder builder = CalculationEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveParRatesId.of(USD), yieldCurveParRates)
+        .addValue(IsdaYieldCurveId.of(USD), yieldCurve);
+    for (SingleNameReferenceInformation referenceInformation :
+        ImmutableList.of(REFERENCE_INFORMATION, REFERENCE_INFORMATION2)) {
+      builder.addValue(IsdaCreditCurveId.of(referenceInformation, USD), creditCurve);
+      builder.addValue(IsdaSingleNameCreditCurveParRatesId.of(referenceInformation), creditCurveParRates);
+      builder.addValue(IsdaSingleNameRecoveryRateId.of(referenceInformation), CdsRecoveryRate.of(RECOVERY_RATE));
+    }
+    return builder.build();
+  }
+
+  // executor service that runs the tasks in the calling thread and counts them
+  private static final class CountingExecutorService extends ForwardingExecutorService {
+
+    private final ExecutorService delegate = MoreExecutors.newDirectExecutorService();
+    private final AtomicInteger executionCount = new AtomicInteger();
+
+    @Override
+    protected ExecutorService delegate() {
+      return delegate;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      executionCount.incrementAndGet();
+      super.execute(command);
+    }
+  }
+
+  // records the number of products in each group priced by the function
+  private static final class GroupRecordingFunction extends CdsPvFunction {
+
+    private final List<Integer> groupSizes = new ArrayList<>();
+
+    private GroupRecordingFunction() {
+      super(ExpansionCache.none());
+    }
+
+    @Override
+    protected List<CurrencyAmount> execute(
+        List<ExpandedCds> products,
+        IsdaYieldCurveParRates yieldCurveParRates,
+        IsdaCreditCurveParRates creditCurveParRates,
+        NodalCurve yieldCurve,
+        NodalCurve creditCurve,
+        LocalDate valuationDate,
+        double recoveryRate,
+        double scalingFactor) {
+
+      groupSizes.add(products.size());
+      return super.execute(
+          products,
+          yieldCurveParRates,
+          creditCurveParRates,
+          yieldCurve,
+          creditCurve,
+          valuationDate,
+          recoveryRate,
+          scalingFactor);
+    }
+  }
+
+}
@@ -23,6 +23,7 @@ import com.opengamma.strata.collect.CollectProjectAssertions;
 import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketData;
 import com.opengamma.strata.engine.calculation.function.result.FxConvertibleList;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwapLeg;
 import com.opengamma.strata.finance.rate.swap.RateAccrualPeriod;
 import com.opengamma.strata.finance.rate.swap.RatePaymentPeriod;
@@ -46,7 +47,7 @@ public class SwapAccruedInterestFunctionTest {
         .product(Swap.of(FIXED_RATECALC_SWAP_LEG))
         .build();
 
-    SwapAccruedInterestFunction test = new SwapAccruedInterestFunction();
+    SwapAccruedInterestFunction test = new SwapAccruedInterestFunction(ExpansionCache.none());
     FunctionRequirements reqs = test.requirements(trade);
     assertThat(reqs.getOutputCurrencies()).containsOnly(ccy);
     assertThat(reqs.getSingleValueRequirements()).isEqualTo(ImmutableSet.of(DiscountFactorsKey.of(ccy)));
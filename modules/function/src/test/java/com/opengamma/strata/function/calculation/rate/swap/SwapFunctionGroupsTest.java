@@ -28,6 +28,7 @@ import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.Measure;
 import com.opengamma.strata.engine.config.pricing.FunctionGroup;
 import com.opengamma.strata.engine.marketdata.FunctionRequirements;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.rate.swap.Swap;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
 import com.opengamma.strata.function.marketdata.curve.MarketDataMap;
@@ -98,13 +99,13 @@ public class SwapFunctionGroupsTest {
         ImmutableMap.of(DiscountCurveKey.of(GBP), curve, DiscountFactorsKey.of(GBP), df),
         ImmutableMap.of());
 
-    assertNotNull(new SwapBucketedGammaPv01Function().execute(trade, md));
-    assertNotNull(new SwapBucketedPv01Function().execute(trade, md));
-    assertNotNull(new SwapExplainPvFunction().execute(trade, md));
-    assertNotNull(new SwapLegPvFunction().execute(trade, md));
-    assertNotNull(new SwapParRateFunction().execute(trade, md));
-    assertNotNull(new SwapPv01Function().execute(trade, md));
-    assertNotNull(new SwapPvFunction().execute(trade, md));
+    assertNotNull(new SwapBucketedGammaPv01Function(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapBucketedPv01Function(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapExplainPvFunction(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapLegPvFunction(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapParRateFunction(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapPv01Function(ExpansionCache.none()).execute(trade, md));
+    assertNotNull(new SwapPvFunction(ExpansionCache.none()).execute(trade, md));
   }
 
 }
@@ -44,6 +44,7 @@ import com.opengamma.strata.engine.calculation.CalculationTasks;
 import com.opengamma.strata.engine.calculation.DefaultCalculationRunner;
 import com.opengamma.strata.engine.calculation.Results;
 import com.opengamma.strata.engine.config.CalculationTasksConfig;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.MarketDataRule;
 import com.opengamma.strata.engine.config.MarketDataRules;
 import com.opengamma.strata.engine.config.Measure;
@@ -60,6 +61,7 @@ import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunct
 import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
 import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
 import com.opengamma.strata.engine.marketdata.mapping.MarketDataMappings;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.TradeInfo;
 import com.opengamma.strata.finance.rate.swap.FixedRateCalculation;
 import com.opengamma.strata.finance.rate.swap.IborRateCalculation;
@@ -105,38 +107,16 @@ public class SwapPricingTest {
 
   //-------------------------------------------------------------------------
   public void presentValueVanillaFixedVsLibor1mSwap() {
-    SwapLeg payLeg = fixedLeg(
-        LocalDate.of(2014, 9, 12), LocalDate.of(2016, 9, 12), Frequency.P6M, PayReceive.PAY, NOTIONAL, 0.0125, null);
-
-    SwapLeg receiveLeg = RateCalculationSwapLeg.builder()
-        .payReceive(RECEIVE)
-        .accrualSchedule(PeriodicSchedule.builder()
-            .startDate(LocalDate.of(2014, 9, 12))
-            .endDate(LocalDate.of(2016, 9, 12))
-            .frequency(Frequency.P1M)
-            .businessDayAdjustment(BDA_MF)
-            .build())
-        .paymentSchedule(PaymentSchedule.builder()
-            .paymentFrequency(Frequency.P1M)
-            .paymentDateOffset(DaysAdjustment.NONE)
-            .build())
-        .notionalSchedule(NOTIONAL)
-        .calculation(IborRateCalculation.builder()
-            .index(USD_LIBOR_1M)
-            .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CalendarUSD.NYC, BDA_P))
-            .build())
-        .build();
-
-    SwapTrade trade = SwapTrade.builder()
-        .tradeInfo(TradeInfo.builder().tradeDate(LocalDate.of(2014, 9, 10)).build())
-        .product(Swap.of(payLeg, receiveLeg)).build();
+    SwapTrade trade = vanillaFixedVsLibor1mSwap();
 
     MarketEnvironment suppliedData = MarketEnvironment.builder(VAL_DATE)
         .addValue(CurveGroupId.of(CURVE_GROUP_NAME), CURVE_GROUP)
         .build();
 
     FunctionGroup<SwapTrade> functionGroup = DefaultFunctionGroup.builder(SwapTrade.class)
-        .addFunction(Measure.PRESENT_VALUE, SwapPvFunction.class)
+        .addFunction(Measure.PRESENT_VALUE, FunctionConfig.builder(SwapPvFunction.class)
+            .addArgument("expansionCache", ExpansionCache.none())
+            .build())
         .name("FunctionGroup")
         .build();
 
@@ -147,21 +127,9 @@ public class SwapPricingTest {
 
     DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
 
-    MarketDataMappings marketDataMappings = MarketDataMappingsBuilder.create()
-        .curveGroup(CURVE_GROUP_NAME)
-        .build();
+    MarketDataRules marketDataRules = marketDataRules();
 
-    MarketDataRules marketDataRules = MarketDataRules.of(MarketDataRule.of(marketDataMappings, SwapTrade.class));
-
-    DefaultMarketDataFactory marketDataFactory = new DefaultMarketDataFactory(
-        new EmptyTimeSeriesProvider(),
-        ObservableMarketDataFunction.none(),
-        FeedIdMapping.identity(),
-        new DiscountCurveMarketDataFunction(),
-        new DiscountFactorsMarketDataFunction(),
-        new RateIndexCurveMarketDataFunction(),
-        new IborIndexRatesMarketDataFunction(),
-        new OvernightIndexRatesMarketDataFunction());
+    DefaultMarketDataFactory marketDataFactory = marketDataFactory();
 
     List<SwapTrade> trades = ImmutableList.of(trade);
     Column pvColumn = Column.of(Measure.PRESENT_VALUE);
@@ -185,6 +153,97 @@ public class SwapPricingTest {
     assertThat(pv.getAmount()).isCloseTo(-1003684.8402, offset(TOLERANCE_PV));
   }
 
+  public void expansionCacheSharedAcrossRuns() {
+    SwapTrade trade = vanillaFixedVsLibor1mSwap();
+    MarketEnvironment suppliedData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(CurveGroupId.of(CURVE_GROUP_NAME), CURVE_GROUP)
+        .build();
+
+    ExpansionCache expansionCache = ExpansionCache.ofMaximumSize(10);
+    PricingRule<SwapTrade> pricingRule = PricingRule.builder(SwapTrade.class)
+        .addMeasures(Measure.PRESENT_VALUE, Measure.PV01)
+        .functionGroup(SwapFunctionGroups.discounting(expansionCache))
+        .build();
+
+    DefaultPricingRules pricingRules = DefaultPricingRules.of(pricingRule);
+    List<SwapTrade> trades = ImmutableList.of(trade);
+    List<Column> columns = ImmutableList.of(Column.of(Measure.PRESENT_VALUE), Column.of(Measure.PV01));
+    CalculationRunner calculationRunner = new DefaultCalculationRunner(Executors.newSingleThreadExecutor());
+    ReportingRules reportingCurrency = ReportingRules.fixedCurrency(USD);
+    CalculationTasksConfig calculationConfig =
+        calculationRunner.createCalculationConfig(trades, columns, pricingRules, marketDataRules(), reportingCurrency);
+    CalculationTasks calculationTasks = calculationRunner.createCalculationTasks(calculationConfig);
+
+    CalculationEnvironment marketData = marketDataFactory().buildCalculationEnvironment(
+        calculationTasks.getRequirements(),
+        suppliedData,
+        MarketDataConfig.empty());
+
+    // the product is expanded once, the function for the second measure takes it from the cache
+    Results results1 = calculationRunner.calculate(calculationTasks, marketData);
+    assertThat(expansionCache.stats().missCount()).isEqualTo(1);
+    assertThat(expansionCache.stats().hitCount()).isEqualTo(1);
+
+    // the second run takes the expanded product from the cache for both measures
+    Results results2 = calculationRunner.calculate(calculationTasks, marketData);
+    assertThat(expansionCache.stats().missCount()).isEqualTo(1);
+    assertThat(expansionCache.stats().hitCount()).isEqualTo(3);
+    assertThat(results2.get(0, 0)).isSuccess();
+    assertThat(results2.get(0, 0)).isEqualTo(results1.get(0, 0));
+    assertThat(results2.get(0, 1)).isEqualTo(results1.get(0, 1));
+    CurrencyAmount pv = (CurrencyAmount) results2.get(0, 0).getValue();
+    assertThat(pv.getAmount()).isCloseTo(-1003684.8402, offset(TOLERANCE_PV));
+  }
+
+  //-------------------------------------------------------------------------
+  private static SwapTrade vanillaFixedVsLibor1mSwap() {
+    SwapLeg payLeg = fixedLeg(
+        LocalDate.of(2014, 9, 12), LocalDate.of(2016, 9, 12), Frequency.P6M, PayReceive.PAY, NOTIONAL, 0.0125, null);
+
+    SwapLeg receiveLeg = RateCalculationSwapLeg.builder()
+        .payReceive(RECEIVE)
+        .accrualSchedule(PeriodicSchedule.builder()
+            .startDate(LocalDate.of(2014, 9, 12))
+            .endDate(LocalDate.of(2016, 9, 12))
+            .frequency(Frequency.P1M)
+            .businessDayAdjustment(BDA_MF)
+            .build())
+        .paymentSchedule(PaymentSchedule.builder()
+            .paymentFrequency(Frequency.P1M)
+            .paymentDateOffset(DaysAdjustment.NONE)
+            .build())
+        .notionalSchedule(NOTIONAL)
+        .calculation(IborRateCalculation.builder()
+            .index(USD_LIBOR_1M)
+            .fixingDateOffset(DaysAdjustment.ofBusinessDays(-2, CalendarUSD.NYC, BDA_P))
+            .build())
+        .build();
+
+    return SwapTrade.builder()
+        .tradeInfo(TradeInfo.builder().tradeDate(LocalDate.of(2014, 9, 10)).build())
+        .product(Swap.of(payLeg, receiveLeg)).build();
+  }
+
+  private static MarketDataRules marketDataRules() {
+    MarketDataMappings marketDataMappings = MarketDataMappingsBuilder.create()
+        .curveGroup(CURVE_GROUP_NAME)
+        .build();
+
+    return MarketDataRules.of(MarketDataRule.of(marketDataMappings, SwapTrade.class));
+  }
+
+  private static DefaultMarketDataFactory marketDataFactory() {
+    return new DefaultMarketDataFactory(
+        new EmptyTimeSeriesProvider(),
+        ObservableMarketDataFunction.none(),
+        FeedIdMapping.identity(),
+        new DiscountCurveMarketDataFunction(),
+        new DiscountFactorsMarketDataFunction(),
+        new RateIndexCurveMarketDataFunction(),
+        new IborIndexRatesMarketDataFunction(),
+        new OvernightIndexRatesMarketDataFunction());
+  }
+
   private static SwapLeg fixedLeg(
       LocalDate start, LocalDate end, Frequency frequency,
       PayReceive payReceive, NotionalSchedule notional, double fixedRate, StubConvention stubConvention) {
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.RECOVERY_RATE;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.REFERENCE_INFORMATION;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.VAL_DATE;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaCreditCurveJacobianId;
+import com.opengamma.strata.market.id.IsdaSingleNameCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Test {@link IsdaCreditCurveJacobianMarketDataFunction}.
+ */
+@Test
+public class IsdaCreditCurveJacobianMarketDataFunctionTest {
+
+  private static final IsdaCreditCurveJacobianId JACOBIAN_ID = IsdaCreditCurveJacobianId.of(REFERENCE_INFORMATION, USD);
+  private static final IsdaCreditCurveId CURVE_ID = IsdaCreditCurveId.of(REFERENCE_INFORMATION, USD);
+  private static final IsdaSingleNameCreditCurveParRatesId PAR_RATES_ID =
+      IsdaSingleNameCreditCurveParRatesId.of(REFERENCE_INFORMATION);
+  private static final IsdaSingleNameRecoveryRateId RECOVERY_RATE_ID =
+      IsdaSingleNameRecoveryRateId.of(REFERENCE_INFORMATION);
+  private static final IsdaCreditCurveParRates PAR_RATES = IsdaCurveTestData.creditCurveParRates();
+  private static final NodalCurve YIELD_CURVE =
+      IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, IsdaCurveTestData.yieldCurveParRates());
+  private static final NodalCurve CREDIT_CURVE =
+      IsdaCdsPricer.DEFAULT.calibrateCreditCurve(VAL_DATE, PAR_RATES, YIELD_CURVE, RECOVERY_RATE);
+
+  public void test_requirements() {
+    IsdaCreditCurveJacobianMarketDataFunction test = new IsdaCreditCurveJacobianMarketDataFunction();
+    MarketDataRequirements requirements = test.requirements(JACOBIAN_ID, MarketDataConfig.empty());
+    assertEquals(
+        requirements.getNonObservables(),
+        ImmutableSet.of(IsdaYieldCurveId.of(USD), CURVE_ID, PAR_RATES_ID, RECOVERY_RATE_ID));
+  }
+
+  public void test_build() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(CURVE_ID, CREDIT_CURVE)
+        .addValue(PAR_RATES_ID, PAR_RATES)
+        .addValue(RECOVERY_RATE_ID, CdsRecoveryRate.of(RECOVERY_RATE))
+        .build();
+    IsdaCreditCurveJacobianMarketDataFunction test = new IsdaCreditCurveJacobianMarketDataFunction();
+
+    Result<IsdaCreditCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isSuccess();
+    IsdaCreditCurveJacobian expected = IsdaCdsPricer.DEFAULT.creditCurveJacobian(
+        VAL_DATE, PAR_RATES, YIELD_CURVE, CREDIT_CURVE, RECOVERY_RATE);
+    assertEquals(result.getValue(), expected);
+  }
+
+  public void test_noCreditCurve() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(PAR_RATES_ID, PAR_RATES)
+        .addValue(RECOVERY_RATE_ID, CdsRecoveryRate.of(RECOVERY_RATE))
+        .build();
+    IsdaCreditCurveJacobianMarketDataFunction test = new IsdaCreditCurveJacobianMarketDataFunction();
+
+    Result<IsdaCreditCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+  public void test_noRecoveryRate() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(CURVE_ID, CREDIT_CURVE)
+        .addValue(PAR_RATES_ID, PAR_RATES)
+        .build();
+    IsdaCreditCurveJacobianMarketDataFunction test = new IsdaCreditCurveJacobianMarketDataFunction();
+
+    Result<IsdaCreditCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+}
@@ -0,0 +1,105 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.RECOVERY_RATE;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.REFERENCE_INFORMATION;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.VAL_DATE;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaCreditCurveId;
+import com.opengamma.strata.market.id.IsdaSingleNameCreditCurveParRatesId;
+import com.opengamma.strata.market.id.IsdaSingleNameRecoveryRateId;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.value.CdsRecoveryRate;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Test {@link IsdaCreditCurveMarketDataFunction}.
+ */
+@Test
+public class IsdaCreditCurveMarketDataFunctionTest {
+
+  private static final IsdaCreditCurveId CURVE_ID = IsdaCreditCurveId.of(REFERENCE_INFORMATION, USD);
+  private static final IsdaSingleNameCreditCurveParRatesId PAR_RATES_ID =
+      IsdaSingleNameCreditCurveParRatesId.of(REFERENCE_INFORMATION);
+  private static final IsdaSingleNameRecoveryRateId RECOVERY_RATE_ID =
+      IsdaSingleNameRecoveryRateId.of(REFERENCE_INFORMATION);
+  private static final NodalCurve YIELD_CURVE =
+      IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, IsdaCurveTestData.yieldCurveParRates());
+
+  public void test_requirements() {
+    IsdaCreditCurveMarketDataFunction test = new IsdaCreditCurveMarketDataFunction();
+    MarketDataRequirements requirements = test.requirements(CURVE_ID, MarketDataConfig.empty());
+    assertEquals(
+        requirements.getNonObservables(),
+        ImmutableSet.of(IsdaYieldCurveId.of(USD), PAR_RATES_ID, RECOVERY_RATE_ID));
+  }
+
+  public void test_build() {
+    IsdaCreditCurveParRates parRates = IsdaCurveTestData.creditCurveParRates();
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(PAR_RATES_ID, parRates)
+        .addValue(RECOVERY_RATE_ID, CdsRecoveryRate.of(RECOVERY_RATE))
+        .build();
+    IsdaCreditCurveMarketDataFunction test = new IsdaCreditCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isSuccess();
+    NodalCurve expected = IsdaCdsPricer.DEFAULT.calibrateCreditCurve(VAL_DATE, parRates, YIELD_CURVE, RECOVERY_RATE);
+    NodalCurve curve = result.getValue();
+    assertEquals(curve.getMetadata(), expected.getMetadata());
+    assertEquals(curve.getXValues(), expected.getXValues());
+    assertEquals(curve.getYValues(), expected.getYValues());
+  }
+
+  public void test_noYieldCurve() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(PAR_RATES_ID, IsdaCurveTestData.creditCurveParRates())
+        .addValue(RECOVERY_RATE_ID, CdsRecoveryRate.of(RECOVERY_RATE))
+        .build();
+    IsdaCreditCurveMarketDataFunction test = new IsdaCreditCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+  public void test_noParRates() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(RECOVERY_RATE_ID, CdsRecoveryRate.of(RECOVERY_RATE))
+        .build();
+    IsdaCreditCurveMarketDataFunction test = new IsdaCreditCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+  public void test_noRecoveryRate() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .addValue(PAR_RATES_ID, IsdaCurveTestData.creditCurveParRates())
+        .build();
+    IsdaCreditCurveMarketDataFunction test = new IsdaCreditCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+}
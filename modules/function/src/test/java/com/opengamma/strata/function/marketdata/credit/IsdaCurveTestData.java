@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET;
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_SWAP;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.SingleNameReferenceInformation;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+
+/**
+ * Par rates used to test the calibration of the ISDA curves.
+ */
+public final class IsdaCurveTestData {
+
+  public static final LocalDate VAL_DATE = date(2014, 10, 16);
+  public static final double RECOVERY_RATE = 0.4;
+  public static final SingleNameReferenceInformation REFERENCE_INFORMATION = SingleNameReferenceInformation.of(
+      StandardId.of("OG-Ticker", "COMP01"),
+      SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+      USD,
+      RestructuringClause.NO_RESTRUCTURING_2014);
+
+  private static final CdsConvention CDS_CONVENTION = CdsConventions.NORTH_AMERICAN_USD;
+  private static final Period[] YIELD_PERIODS = {
+      Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+      Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+  private static final IsdaYieldCurveUnderlyingType[] YIELD_TYPES = {
+      ISDA_MONEY_MARKET, ISDA_MONEY_MARKET, ISDA_MONEY_MARKET, ISDA_MONEY_MARKET,
+      ISDA_SWAP, ISDA_SWAP, ISDA_SWAP};
+  private static final double[] YIELD_RATES = {0.00445, 0.012337, 0.017762, 0.01935, 0.020838, 0.023033, 0.03017};
+  private static final Period[] CREDIT_PERIODS = {
+      Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10)};
+  private static final double[] CREDIT_RATES = {0.0028, 0.0028, 0.0030, 0.0032, 0.0035};
+
+  /**
+   * Restricted constructor.
+   */
+  private IsdaCurveTestData() {
+  }
+
+  // the par rates of the USD yield curve
+  public static IsdaYieldCurveParRates yieldCurveParRates() {
+    LocalDate[] endDates = new LocalDate[YIELD_PERIODS.length];
+    for (int i = 0; i < YIELD_PERIODS.length; i++) {
+      endDates[i] = VAL_DATE.plus(YIELD_PERIODS[i]);
+    }
+    return IsdaYieldCurveParRates.of(
+        CurveName.of("USD-ISDA"),
+        YIELD_PERIODS,
+        endDates,
+        YIELD_TYPES,
+        YIELD_RATES,
+        IsdaYieldCurveConventions.ISDA_USD);
+  }
+
+  // the par rates of the credit curve of the single-name
+  public static IsdaCreditCurveParRates creditCurveParRates() {
+    LocalDate[] endDates = new LocalDate[CREDIT_PERIODS.length];
+    for (int i = 0; i < CREDIT_PERIODS.length; i++) {
+      endDates[i] = CDS_CONVENTION.getUnadjustedMaturityDateFromValuationDate(VAL_DATE, CREDIT_PERIODS[i]);
+    }
+    return IsdaCreditCurveParRates.of(
+        CurveName.of("COMP01"), CREDIT_PERIODS, endDates, CREDIT_RATES, CDS_CONVENTION, 1d);
+  }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.VAL_DATE;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.id.IsdaYieldCurveJacobianId;
+import com.opengamma.strata.market.id.IsdaYieldCurveParRatesId;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Test {@link IsdaYieldCurveJacobianMarketDataFunction}.
+ */
+@Test
+public class IsdaYieldCurveJacobianMarketDataFunctionTest {
+
+  private static final IsdaYieldCurveJacobianId JACOBIAN_ID = IsdaYieldCurveJacobianId.of(USD);
+  private static final IsdaYieldCurveParRates PAR_RATES = IsdaCurveTestData.yieldCurveParRates();
+  private static final NodalCurve YIELD_CURVE = IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, PAR_RATES);
+
+  public void test_requirements() {
+    IsdaYieldCurveJacobianMarketDataFunction test = new IsdaYieldCurveJacobianMarketDataFunction();
+    MarketDataRequirements requirements = test.requirements(JACOBIAN_ID, MarketDataConfig.empty());
+    assertEquals(
+        requirements.getNonObservables(),
+        ImmutableSet.of(IsdaYieldCurveParRatesId.of(USD), IsdaYieldCurveId.of(USD)));
+  }
+
+  public void test_build() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveParRatesId.of(USD), PAR_RATES)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .build();
+    IsdaYieldCurveJacobianMarketDataFunction test = new IsdaYieldCurveJacobianMarketDataFunction();
+
+    Result<IsdaYieldCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isSuccess();
+    IsdaYieldCurveJacobian expected = IsdaCdsPricer.DEFAULT.yieldCurveJacobian(VAL_DATE, PAR_RATES, YIELD_CURVE);
+    assertEquals(result.getValue(), expected);
+  }
+
+  public void test_noParRates() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveId.of(USD), YIELD_CURVE)
+        .build();
+    IsdaYieldCurveJacobianMarketDataFunction test = new IsdaYieldCurveJacobianMarketDataFunction();
+
+    Result<IsdaYieldCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+  public void test_noYieldCurve() {
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveParRatesId.of(USD), PAR_RATES)
+        .build();
+    IsdaYieldCurveJacobianMarketDataFunction test = new IsdaYieldCurveJacobianMarketDataFunction();
+
+    Result<IsdaYieldCurveJacobian> result = test.build(JACOBIAN_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+}
@@ -0,0 +1,65 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.function.marketdata.credit;
+
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.CollectProjectAssertions.assertThat;
+import static com.opengamma.strata.function.marketdata.credit.IsdaCurveTestData.VAL_DATE;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableSet;
+import com.opengamma.strata.collect.result.FailureReason;
+import com.opengamma.strata.collect.result.Result;
+import com.opengamma.strata.engine.marketdata.MarketDataRequirements;
+import com.opengamma.strata.engine.marketdata.MarketEnvironment;
+import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.id.IsdaYieldCurveId;
+import com.opengamma.strata.market.id.IsdaYieldCurveParRatesId;
+import com.opengamma.strata.pricer.credit.IsdaCdsPricer;
+
+/**
+ * Test {@link IsdaYieldCurveMarketDataFunction}.
+ */
+@Test
+public class IsdaYieldCurveMarketDataFunctionTest {
+
+  private static final IsdaYieldCurveId CURVE_ID = IsdaYieldCurveId.of(USD);
+
+  public void test_requirements() {
+    IsdaYieldCurveMarketDataFunction test = new IsdaYieldCurveMarketDataFunction();
+    MarketDataRequirements requirements = test.requirements(CURVE_ID, MarketDataConfig.empty());
+    assertEquals(requirements.getNonObservables(), ImmutableSet.of(IsdaYieldCurveParRatesId.of(USD)));
+  }
+
+  public void test_build() {
+    IsdaYieldCurveParRates parRates = IsdaCurveTestData.yieldCurveParRates();
+    MarketEnvironment marketData = MarketEnvironment.builder(VAL_DATE)
+        .addValue(IsdaYieldCurveParRatesId.of(USD), parRates)
+        .build();
+    IsdaYieldCurveMarketDataFunction test = new IsdaYieldCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isSuccess();
+    NodalCurve expected = IsdaCdsPricer.DEFAULT.calibrateYieldCurve(VAL_DATE, parRates);
+    NodalCurve curve = result.getValue();
+    assertEquals(curve.getMetadata(), expected.getMetadata());
+    assertEquals(curve.getXValues(), expected.getXValues());
+    assertEquals(curve.getYValues(), expected.getYValues());
+  }
+
+  public void test_noParRates() {
+    MarketEnvironment marketData = MarketEnvironment.empty(VAL_DATE);
+    IsdaYieldCurveMarketDataFunction test = new IsdaYieldCurveMarketDataFunction();
+
+    Result<NodalCurve> result = test.build(CURVE_ID, marketData, MarketDataConfig.empty());
+    assertThat(result).isFailure(FailureReason.MISSING_DATA);
+  }
+
+}
@@ -52,6 +52,7 @@ import com.opengamma.strata.engine.calculation.DefaultSingleCalculationMarketDat
 import com.opengamma.strata.engine.calculation.Results;
 import com.opengamma.strata.engine.calculation.function.CalculationSingleFunction;
 import com.opengamma.strata.engine.calculation.function.result.FxConvertibleList;
+import com.opengamma.strata.engine.config.FunctionConfig;
 import com.opengamma.strata.engine.config.MarketDataRule;
 import com.opengamma.strata.engine.config.MarketDataRules;
 import com.opengamma.strata.engine.config.Measure;
@@ -69,6 +70,7 @@ import com.opengamma.strata.engine.marketdata.config.MarketDataConfig;
 import com.opengamma.strata.engine.marketdata.function.ObservableMarketDataFunction;
 import com.opengamma.strata.engine.marketdata.function.TimeSeriesProvider;
 import com.opengamma.strata.engine.marketdata.mapping.FeedIdMapping;
+import com.opengamma.strata.finance.ExpansionCache;
 import com.opengamma.strata.finance.Trade;
 import com.opengamma.strata.finance.rate.fra.ExpandedFra;
 import com.opengamma.strata.finance.rate.fra.Fra;
@@ -230,7 +232,9 @@ public class CurveEndToEndTest {
   private static PricingRules pricingRules() {
     FunctionGroup<SwapTrade> swapGroup = DefaultFunctionGroup.builder(SwapTrade.class)
         .name("Swap")
-        .addFunction(Measure.PRESENT_VALUE, SwapPvFunction.class)
+        .addFunction(Measure.PRESENT_VALUE, FunctionConfig.builder(SwapPvFunction.class)
+            .addArgument("expansionCache", ExpansionCache.none())
+            .build())
         .build();
 
     FunctionGroup<FraTrade> fraGroup = DefaultFunctionGroup.builder(FraTrade.class)
@@ -90,6 +90,44 @@ public interface Curve {
    */
   public abstract double firstDerivative(double x);
 
+  /**
+   * Computes the y-values for an array of x-values.
+   * <p>
+   * This returns an array with one element for each x-value, equal to {@link #yValue(double)}.
+   * Implementations may evaluate the x-values in a single sweep, which is most efficient when
+   * the x-values are sorted in ascending order.
+   *
+   * @param x  the x-values to find the y-values for
+   * @return the values at the x-values
+   */
+  public default double[] yValues(double[] x) {
+    double[] result = new double[x.length];
+    for (int i = 0; i < x.length; i++) {
+      result[i] = yValue(x[i]);
+    }
+    return result;
+  }
+
+  /**
+   * Computes the sensitivity of the y-values with respect to the curve parameters for an array of x-values.
+   * <p>
+   * This returns an array with one element for each x-value. Each element is an array with one element
+   * for each parameter of the curve, equal to the sensitivity returned by {@link #yValueParameterSensitivity(double)}.
+   * Implementations may evaluate the x-values in a single sweep, which is most efficient when
+   * the x-values are sorted in ascending order.
+   *
+   * @param x  the x-values at which the parameter sensitivity is computed
+   * @return the sensitivity of the value at each x-value to each parameter
+   * @throws RuntimeException if the sensitivity cannot be calculated
+   */
+  public default double[][] yValueParameterSensitivities(double[] x) {
+    double[][] result = new double[x.length][];
+    for (int i = 0; i < x.length; i++) {
+      result[i] = yValueParameterSensitivity(x[i]).getSensitivity();
+    }
+    return result;
+  }
+
   /**
    * Applies the perturbation to this curve.
    * <p>
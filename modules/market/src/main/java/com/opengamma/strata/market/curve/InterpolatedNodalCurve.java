@@ -34,8 +34,8 @@ import com.opengamma.strata.basics.value.ValueAdjustment;
 import com.opengamma.strata.collect.DoubleArrayMath;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivity;
 import com.opengamma.strata.math.impl.interpolation.CombinedInterpolatorExtrapolator;
-import com.opengamma.strata.math.impl.interpolation.Interpolator1D;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 
 /**
@@ -100,7 +100,7 @@ public final class InterpolatedNodalCurve
   /**
    * The underlying interpolator.
    */
-  private transient final Interpolator1D underlyingInterpolator;  // derived and cached, not a property
+  private transient final CombinedInterpolatorExtrapolator underlyingInterpolator;  // derived, cached, not a property
 
   //-------------------------------------------------------------------------
   /**
@@ -187,18 +187,40 @@ public final class InterpolatedNodalCurve
   //-------------------------------------------------------------------------
   @Override
   public double yValue(double x) {
-    return underlyingInterpolator.interpolate(underlyingDataBundle, x);
+    return underlyingInterpolator.interpolate(underlyingDataBundle, x, null);
   }
 
   @Override
   public CurveUnitParameterSensitivity yValueParameterSensitivity(double x) {
-    double[] array = underlyingInterpolator.getNodeSensitivitiesForValue(underlyingDataBundle, x);
+    double[] array = new double[xValues.length];
+    underlyingInterpolator.getNodeSensitivitiesForValue(underlyingDataBundle, x, null, array);
     return CurveUnitParameterSensitivity.of(metadata, array);
   }
 
   @Override
   public double firstDerivative(double x) {
-    return underlyingInterpolator.firstDerivative(underlyingDataBundle, x);
+    return underlyingInterpolator.firstDerivative(underlyingDataBundle, x, null);
+  }
+
+  @Override
+  public double[] yValues(double[] x) {
+    // the cursor avoids searching the nodes for each value when the x-values are sorted
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    double[] result = new double[x.length];
+    for (int i = 0; i < x.length; i++) {
+      result[i] = underlyingInterpolator.interpolate(underlyingDataBundle, x[i], cursor);
+    }
+    return result;
+  }
+
+  @Override
+  public double[][] yValueParameterSensitivities(double[] x) {
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    double[][] result = new double[x.length][xValues.length];
+    for (int i = 0; i < x.length; i++) {
+      underlyingInterpolator.getNodeSensitivitiesForValue(underlyingDataBundle, x[i], cursor, result[i]);
+    }
+    return result;
   }
 
   //-------------------------------------------------------------------------
@@ -0,0 +1,366 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.ImmutableValidator;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+
+/**
+ * The Jacobian of an ISDA credit curve with respect to the par spreads it is calibrated from
+ * and to the zero rates of the yield curve used in the calibration.
+ * <p>
+ * The credit curve is recalibrated when the yield curve moves, so that the par spreads are unchanged.
+ * The Jacobian depends only on the calibrated curves, so it can be computed once and shared by all the
+ * calculations of bucketed sensitivities that use the curves.
+ */
+@BeanDefinition(builderScope = "private")
+public final class IsdaCreditCurveJacobian
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The sensitivity of the hazard rates of the curve to the par spreads.
+   * <p>
+   * The matrix has a row for each node of the curve and a column for each par spread.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix2D parSpreadJacobian;
+  /**
+   * The sensitivity of the hazard rates of the curve to the zero rates of the yield curve.
+   * <p>
+   * The par spreads are held constant, so this is the move of the recalibrated curve.
+   * The matrix has a row for each node of the curve and a column for each node of the yield curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix2D zeroRateJacobian;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance of the Jacobian.
+   *
+   * @param parSpreadJacobian  the sensitivity of the hazard rates of the curve to the par spreads,
+   *  one row for each node and one column for each par spread
+   * @param zeroRateJacobian  the sensitivity of the hazard rates of the curve to the zero rates of the yield curve,
+   *  one row for each node and one column for each node of the yield curve
+   * @return the Jacobian
+   */
+  public static IsdaCreditCurveJacobian of(DoubleMatrix2D parSpreadJacobian, DoubleMatrix2D zeroRateJacobian) {
+    return new IsdaCreditCurveJacobian(parSpreadJacobian, zeroRateJacobian);
+  }
+
+  @ImmutableValidator
+  private void validate() {
+    if (parSpreadJacobian.getNumberOfRows() != zeroRateJacobian.getNumberOfRows()) {
+      throw new IllegalArgumentException("Jacobians do not line up");
+    }
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaCreditCurveJacobian}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaCreditCurveJacobian.Meta meta() {
+    return IsdaCreditCurveJacobian.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaCreditCurveJacobian.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCreditCurveJacobian(
+      DoubleMatrix2D parSpreadJacobian,
+      DoubleMatrix2D zeroRateJacobian) {
+    JodaBeanUtils.notNull(parSpreadJacobian, "parSpreadJacobian");
+    JodaBeanUtils.notNull(zeroRateJacobian, "zeroRateJacobian");
+    this.parSpreadJacobian = parSpreadJacobian;
+    this.zeroRateJacobian = zeroRateJacobian;
+    validate();
+  }
+
+  @Override
+  public IsdaCreditCurveJacobian.Meta metaBean() {
+    return IsdaCreditCurveJacobian.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivity of the hazard rates of the curve to the par spreads.
+   * <p>
+   * The matrix has a row for each node of the curve and a column for each par spread.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix2D getParSpreadJacobian() {
+    return parSpreadJacobian;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivity of the hazard rates of the curve to the zero rates of the yield curve.
+   * <p>
+   * The par spreads are held constant, so this is the move of the recalibrated curve.
+   * The matrix has a row for each node of the curve and a column for each node of the yield curve.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix2D getZeroRateJacobian() {
+    return zeroRateJacobian;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveJacobian other = (IsdaCreditCurveJacobian) obj;
+      return JodaBeanUtils.equal(getParSpreadJacobian(), other.getParSpreadJacobian()) &&
+          JodaBeanUtils.equal(getZeroRateJacobian(), other.getZeroRateJacobian());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(getParSpreadJacobian());
+    hash = hash * 31 + JodaBeanUtils.hashCode(getZeroRateJacobian());
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("IsdaCreditCurveJacobian{");
+    buf.append("parSpreadJacobian").append('=').append(getParSpreadJacobian()).append(',').append(' ');
+    buf.append("zeroRateJacobian").append('=').append(JodaBeanUtils.toString(getZeroRateJacobian()));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveJacobian}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code parSpreadJacobian} property.
+     */
+    private final MetaProperty<DoubleMatrix2D> parSpreadJacobian = DirectMetaProperty.ofImmutable(
+        this, "parSpreadJacobian", IsdaCreditCurveJacobian.class, DoubleMatrix2D.class);
+    /**
+     * The meta-property for the {@code zeroRateJacobian} property.
+     */
+    private final MetaProperty<DoubleMatrix2D> zeroRateJacobian = DirectMetaProperty.ofImmutable(
+        this, "zeroRateJacobian", IsdaCreditCurveJacobian.class, DoubleMatrix2D.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "parSpreadJacobian",
+        "zeroRateJacobian");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1040604501:  // parSpreadJacobian
+          return parSpreadJacobian;
+        case -972322593:  // zeroRateJacobian
+          return zeroRateJacobian;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaCreditCurveJacobian> builder() {
+      return new IsdaCreditCurveJacobian.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaCreditCurveJacobian> beanType() {
+      return IsdaCreditCurveJacobian.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code parSpreadJacobian} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix2D> parSpreadJacobian() {
+      return parSpreadJacobian;
+    }
+
+    /**
+     * The meta-property for the {@code zeroRateJacobian} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix2D> zeroRateJacobian() {
+      return zeroRateJacobian;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -1040604501:  // parSpreadJacobian
+          return ((IsdaCreditCurveJacobian) bean).getParSpreadJacobian();
+        case -972322593:  // zeroRateJacobian
+          return ((IsdaCreditCurveJacobian) bean).getZeroRateJacobian();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaCreditCurveJacobian}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<IsdaCreditCurveJacobian> {
+
+    private DoubleMatrix2D parSpreadJacobian;
+    private DoubleMatrix2D zeroRateJacobian;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -1040604501:  // parSpreadJacobian
+          return parSpreadJacobian;
+        case -972322593:  // zeroRateJacobian
+          return zeroRateJacobian;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -1040604501:  // parSpreadJacobian
+          this.parSpreadJacobian = (DoubleMatrix2D) newValue;
+          break;
+        case -972322593:  // zeroRateJacobian
+          this.zeroRateJacobian = (DoubleMatrix2D) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public IsdaCreditCurveJacobian build() {
+      return new IsdaCreditCurveJacobian(
+          parSpreadJacobian,
+          zeroRateJacobian);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("IsdaCreditCurveJacobian.Builder{");
+      buf.append("parSpreadJacobian").append('=').append(JodaBeanUtils.toString(parSpreadJacobian)).append(',').append(' ');
+      buf.append("zeroRateJacobian").append('=').append(JodaBeanUtils.toString(zeroRateJacobian));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
@@ -0,0 +1,301 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+
+/**
+ * The Jacobian of an ISDA yield curve with respect to the par rates it is calibrated from.
+ * <p>
+ * The Jacobian depends only on the calibrated curve, so it can be computed once and shared by all the
+ * calculations of sensitivities to the par rates that use the curve.
+ */
+@BeanDefinition(builderScope = "private")
+public final class IsdaYieldCurveJacobian
+    implements ImmutableBean, Serializable {
+
+  /**
+   * The sensitivity of the zero rates of the curve to the par rates.
+   * <p>
+   * The matrix has a row for each node of the curve and a column for each par rate.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final DoubleMatrix2D parRateJacobian;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance of the Jacobian.
+   *
+   * @param parRateJacobian  the sensitivity of the zero rates of the curve to the par rates,
+   *  one row for each node and one column for each par rate
+   * @return the Jacobian
+   */
+  public static IsdaYieldCurveJacobian of(DoubleMatrix2D parRateJacobian) {
+    return new IsdaYieldCurveJacobian(parRateJacobian);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaYieldCurveJacobian}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaYieldCurveJacobian.Meta meta() {
+    return IsdaYieldCurveJacobian.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaYieldCurveJacobian.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaYieldCurveJacobian(
+      DoubleMatrix2D parRateJacobian) {
+    JodaBeanUtils.notNull(parRateJacobian, "parRateJacobian");
+    this.parRateJacobian = parRateJacobian;
+  }
+
+  @Override
+  public IsdaYieldCurveJacobian.Meta metaBean() {
+    return IsdaYieldCurveJacobian.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the sensitivity of the zero rates of the curve to the par rates.
+   * <p>
+   * The matrix has a row for each node of the curve and a column for each par rate.
+   * @return the value of the property, not null
+   */
+  public DoubleMatrix2D getParRateJacobian() {
+    return parRateJacobian;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaYieldCurveJacobian other = (IsdaYieldCurveJacobian) obj;
+      return JodaBeanUtils.equal(getParRateJacobian(), other.getParRateJacobian());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(getParRateJacobian());
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(64);
+    buf.append("IsdaYieldCurveJacobian{");
+    buf.append("parRateJacobian").append('=').append(JodaBeanUtils.toString(getParRateJacobian()));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaYieldCurveJacobian}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code parRateJacobian} property.
+     */
+    private final MetaProperty<DoubleMatrix2D> parRateJacobian = DirectMetaProperty.ofImmutable(
+        this, "parRateJacobian", IsdaYieldCurveJacobian.class, DoubleMatrix2D.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "parRateJacobian");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -289141416:  // parRateJacobian
+          return parRateJacobian;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaYieldCurveJacobian> builder() {
+      return new IsdaYieldCurveJacobian.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaYieldCurveJacobian> beanType() {
+      return IsdaYieldCurveJacobian.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code parRateJacobian} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<DoubleMatrix2D> parRateJacobian() {
+      return parRateJacobian;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -289141416:  // parRateJacobian
+          return ((IsdaYieldCurveJacobian) bean).getParRateJacobian();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaYieldCurveJacobian}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<IsdaYieldCurveJacobian> {
+
+    private DoubleMatrix2D parRateJacobian;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -289141416:  // parRateJacobian
+          return parRateJacobian;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -289141416:  // parRateJacobian
+          this.parRateJacobian = (DoubleMatrix2D) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public IsdaYieldCurveJacobian build() {
+      return new IsdaYieldCurveJacobian(
+          parRateJacobian);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(64);
+      buf.append("IsdaYieldCurveJacobian.Builder{");
+      buf.append("parRateJacobian").append('=').append(JodaBeanUtils.toString(parRateJacobian));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
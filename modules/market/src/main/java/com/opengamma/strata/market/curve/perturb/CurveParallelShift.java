@@ -5,6 +5,9 @@
  */
 package com.opengamma.strata.market.curve.perturb;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -25,6 +28,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.basics.market.ScenarioPerturbation;
 import com.opengamma.strata.market.curve.Curve;
 
 /**
@@ -39,7 +43,7 @@ import com.opengamma.strata.market.curve.Curve;
  */
 @BeanDefinition(builderScope = "private")
 public final class CurveParallelShift
-    implements Perturbation<Curve>, ImmutableBean {
+    implements ScenarioPerturbation<Curve>, ImmutableBean {
 
   /** Logger. */
   private static final Logger log = LoggerFactory.getLogger(CurveParallelShift.class);
@@ -87,6 +91,31 @@ public final class CurveParallelShift
     return ParallelShiftedCurve.of(curve, shiftType, shiftAmount);
   }
 
+  /**
+   * Applies parallel shifts, one for each scenario, to a curve.
+   * <p>
+   * If all the shifts have the same shift type the returned list holds the curve and the shift amounts,
+   * and creates the shifted curve for a scenario when it is requested.
+   *
+   * @param curve  the curve to shift
+   * @param perturbations  the parallel shifts, one for each scenario
+   * @return the shifted curves, one for each scenario
+   */
+  @Override
+  public List<Curve> applyToScenarios(Curve curve, List<? extends Perturbation<Curve>> perturbations) {
+    int scenarioCount = perturbations.size();
+    double[] shiftAmounts = new double[scenarioCount];
+    for (int i = 0; i < scenarioCount; i++) {
+      CurveParallelShift shift = (CurveParallelShift) perturbations.get(i);
+      if (shift.shiftType != shiftType) {
+        return perturbations.stream().map(perturbation -> perturbation.applyTo(curve)).collect(toImmutableList());
+      }
+      shiftAmounts[i] = shift.shiftAmount;
+    }
+    log.debug("Applying {} parallel shifts for {} scenarios to curve '{}'", shiftType, scenarioCount, curve.getName());
+    return new ParallelShiftedCurveList(curve, shiftType, shiftAmounts);
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
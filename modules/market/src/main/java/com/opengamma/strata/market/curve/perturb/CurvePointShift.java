@@ -5,6 +5,8 @@
  */
 package com.opengamma.strata.market.curve.perturb;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -27,6 +29,7 @@ import org.slf4j.LoggerFactory;
 
 import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.basics.market.ScenarioPerturbation;
 import com.opengamma.strata.collect.Messages;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveParameterMetadata;
@@ -50,7 +53,7 @@ import com.opengamma.strata.market.curve.NodalCurve;
  */
 @BeanDefinition(builderScope = "private", constructorScope = "package")
 public final class CurvePointShift
-    implements Perturbation<Curve>, ImmutableBean {
+    implements ScenarioPerturbation<Curve>, ImmutableBean {
 
   /** Logger. */
   private static final Logger log = LoggerFactory.getLogger(CurveParallelShift.class);
@@ -99,6 +102,41 @@ public final class CurvePointShift
     return nodalCurve.withYValues(yValues);
   }
 
+  /**
+   * Applies point shifts, one for each scenario, to a curve.
+   * <p>
+   * If all the shifts have the same shift type the returned list holds the nodal form of the curve
+   * and a matrix of node shifts, and creates the shifted curve for a scenario when it is requested.
+   *
+   * @param curve  the curve to shift
+   * @param perturbations  the point shifts, one for each scenario
+   * @return the shifted curves, one for each scenario
+   */
+  @Override
+  public List<Curve> applyToScenarios(Curve curve, List<? extends Perturbation<Curve>> perturbations) {
+    if (perturbations.stream().anyMatch(perturbation -> ((CurvePointShift) perturbation).shiftType != shiftType)) {
+      return perturbations.stream().map(perturbation -> perturbation.applyTo(curve)).collect(toImmutableList());
+    }
+    int scenarioCount = perturbations.size();
+    log.debug("Applying {} point shifts for {} scenarios to curve '{}'", shiftType, scenarioCount, curve.getName());
+    List<CurveParameterMetadata> nodeMetadata = curve.getMetadata().getParameterMetadata()
+        .orElseThrow(() -> new IllegalArgumentException(Messages.format(
+            "Unable to apply point shifts to curve '{}' because it has no parameter metadata", curve.getName())));
+    NodalCurve nodalCurve = curve.toNodalCurve();
+    int nodeCount = nodalCurve.getParameterCount();
+    double[][] shiftAmounts = new double[scenarioCount][nodeCount];
+    for (int i = 0; i < scenarioCount; i++) {
+      CurvePointShift shift = (CurvePointShift) perturbations.get(i);
+      for (int j = 0; j < nodeCount; j++) {
+        Double shiftAmount = shift.shiftAmountForNode(nodeMetadata.get(j));
+        if (shiftAmount != null) {
+          shiftAmounts[i][j] = shiftAmount;
+        }
+      }
+    }
+    return new PointShiftedCurveList(nodalCurve, shiftType, shiftAmounts);
+  }
+
   // find the shift amount applicable for the node, null if none
   private Double shiftAmountForNode(CurveParameterMetadata meta) {
     Double shiftAmount = shifts.get(meta.getIdentifier());
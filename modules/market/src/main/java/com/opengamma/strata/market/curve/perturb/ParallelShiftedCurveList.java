@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve.perturb;
+
+import com.opengamma.strata.basics.market.ScenarioValueList;
+import com.opengamma.strata.market.curve.Curve;
+
+/**
+ * The curves of a set of scenarios, each one a parallel shift of the same underlying curve.
+ * <p>
+ * Only the underlying curve and the shift amounts are held.
+ * The curve for a scenario is a {@link ParallelShiftedCurve} decorating the underlying curve,
+ * created when it is requested.
+ */
+final class ParallelShiftedCurveList
+    extends ScenarioValueList<Curve> {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The underlying curve.
+   */
+  private final Curve underlyingCurve;
+  /**
+   * The type of shift applied in every scenario.
+   */
+  private final ShiftType shiftType;
+  /**
+   * The shift amounts, one for each scenario.
+   */
+  private final double[] shiftAmounts;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlyingCurve  the underlying curve
+   * @param shiftType  the type of shift applied in every scenario
+   * @param shiftAmounts  the shift amounts, one for each scenario, not cloned
+   */
+  ParallelShiftedCurveList(Curve underlyingCurve, ShiftType shiftType, double[] shiftAmounts) {
+    this.underlyingCurve = underlyingCurve;
+    this.shiftType = shiftType;
+    this.shiftAmounts = shiftAmounts;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Curve get(int scenarioIndex) {
+    return ParallelShiftedCurve.of(underlyingCurve, shiftType, shiftAmounts[scenarioIndex]);
+  }
+
+  @Override
+  public int size() {
+    return shiftAmounts.length;
+  }
+
+}
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.curve.perturb;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.opengamma.strata.basics.market.ScenarioValueList;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.NodalCurve;
+
+/**
+ * The curves of a set of scenarios, each one derived by shifting the node values of the same underlying curve.
+ * <p>
+ * Only the underlying curve and a dense matrix of node shifts are serialized.
+ * The curve for a scenario is created from them when it is first requested and
+ * the same instance is returned by subsequent requests.
+ */
+final class PointShiftedCurveList
+    extends ScenarioValueList<Curve> {
+
+  /** Serialization version. */
+  private static final long serialVersionUID = 1L;
+
+  /**
+   * The underlying curve.
+   */
+  private final NodalCurve underlyingCurve;
+  /**
+   * The type of shift applied in every scenario.
+   */
+  private final ShiftType shiftType;
+  /**
+   * The shift amounts, indexed by scenario then node, zero where a node is not shifted.
+   */
+  private final double[][] shiftAmounts;
+  /**
+   * The curves of the scenarios, null until the curve for a scenario is first requested.
+   */
+  private final transient AtomicReferenceArray<Curve> curves;
+
+  /**
+   * Creates an instance.
+   *
+   * @param underlyingCurve  the underlying curve
+   * @param shiftType  the type of shift applied in every scenario
+   * @param shiftAmounts  the shift amounts, indexed by scenario then node, not cloned
+   */
+  PointShiftedCurveList(NodalCurve underlyingCurve, ShiftType shiftType, double[][] shiftAmounts) {
+    this.underlyingCurve = underlyingCurve;
+    this.shiftType = shiftType;
+    this.shiftAmounts = shiftAmounts;
+    this.curves = new AtomicReferenceArray<>(shiftAmounts.length);
+  }
+
+  // ensure standard constructor is invoked
+  private Object readResolve() {
+    return new PointShiftedCurveList(underlyingCurve, shiftType, shiftAmounts);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Curve get(int scenarioIndex) {
+    Curve curve = curves.get(scenarioIndex);
+    if (curve != null) {
+      return curve;
+    }
+    // if two threads create the curve at the same time both return the curve stored first
+    curves.compareAndSet(scenarioIndex, null, createCurve(scenarioIndex));
+    return curves.get(scenarioIndex);
+  }
+
+  // creates the curve for a scenario by shifting the node values of the underlying curve
+  private Curve createCurve(int scenarioIndex) {
+    double[] shifts = shiftAmounts[scenarioIndex];
+    double[] yValues = underlyingCurve.getYValues();  // this get method clones the array so we can mutate it
+    for (int i = 0; i < yValues.length; i++) {
+      yValues[i] = shiftType.applyShift(yValues[i], shifts[i]);
+    }
+    return underlyingCurve.withYValues(yValues);
+  }
+
+  @Override
+  public int size() {
+    return shiftAmounts.length;
+  }
+
+}
@@ -0,0 +1,361 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.key;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+import org.joda.beans.Bean;
+import org.joda.beans.BeanBuilder;
+import org.joda.beans.BeanDefinition;
+import org.joda.beans.ImmutableBean;
+import org.joda.beans.JodaBeanUtils;
+import org.joda.beans.MetaProperty;
+import org.joda.beans.Property;
+import org.joda.beans.PropertyDefinition;
+import org.joda.beans.impl.direct.DirectFieldsBeanBuilder;
+import org.joda.beans.impl.direct.DirectMetaBean;
+import org.joda.beans.impl.direct.DirectMetaProperty;
+import org.joda.beans.impl.direct.DirectMetaPropertyMap;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.market.MarketDataFeed;
+import com.opengamma.strata.basics.market.MarketDataId;
+import com.opengamma.strata.basics.market.SimpleMarketDataKey;
+import com.opengamma.strata.finance.credit.ReferenceInformation;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
+import com.opengamma.strata.market.id.IsdaCreditCurveJacobianId;
+
+/**
+ * Market data key identifying the Jacobian of the credit curve of the ISDA credit model
+ * for a single-name or an index.
+ * <p>
+ * The Jacobian is built once from the curve identified by {@link IsdaCreditCurveKey}
+ * and shared by all the calculations of bucketed sensitivities to the par spreads and rates.
+ */
+@BeanDefinition(builderScope = "private")
+public final class IsdaCreditCurveJacobianKey
+    implements SimpleMarketDataKey<IsdaCreditCurveJacobian>, ImmutableBean, Serializable {
+
+  /**
+   * The information that identifies the single-name or the index.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final ReferenceInformation referenceInformation;
+  /**
+   * The currency of the yield curve used to calibrate the credit curve.
+   */
+  @PropertyDefinition(validate = "notNull")
+  private final Currency currency;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Creates an instance based on the reference information and the currency.
+   * 
+   * @param referenceInformation  the information that identifies the single-name or the index
+   * @param currency  the currency of the yield curve used to calibrate the credit curve
+   * @return the key
+   */
+  public static IsdaCreditCurveJacobianKey of(ReferenceInformation referenceInformation, Currency currency) {
+    return new IsdaCreditCurveJacobianKey(referenceInformation, currency);
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public Class<IsdaCreditCurveJacobian> getMarketDataType() {
+    return IsdaCreditCurveJacobian.class;
+  }
+
+  @Override
+  public MarketDataId<IsdaCreditCurveJacobian> toMarketDataId(MarketDataFeed marketDataFeed) {
+    return IsdaCreditCurveJacobianId.of(referenceInformation, currency);
+  }
+
+  //------------------------- AUTOGENERATED START -------------------------
+  ///CLOVER:OFF
+  /**
+   * The meta-bean for {@code IsdaCreditCurveJacobianKey}.
+   * @return the meta-bean, not null
+   */
+  public static IsdaCreditCurveJacobianKey.Meta meta() {
+    return IsdaCreditCurveJacobianKey.Meta.INSTANCE;
+  }
+
+  static {
+    JodaBeanUtils.registerMetaBean(IsdaCreditCurveJacobianKey.Meta.INSTANCE);
+  }
+
+  /**
+   * The serialization version id.
+   */
+  private static final long serialVersionUID = 1L;
+
+  private IsdaCreditCurveJacobianKey(
+      ReferenceInformation referenceInformation,
+      Currency currency) {
+    JodaBeanUtils.notNull(referenceInformation, "referenceInformation");
+    JodaBeanUtils.notNull(currency, "currency");
+    this.referenceInformation = referenceInformation;
+    this.currency = currency;
+  }
+
+  @Override
+  public IsdaCreditCurveJacobianKey.Meta metaBean() {
+    return IsdaCreditCurveJacobianKey.Meta.INSTANCE;
+  }
+
+  @Override
+  public <R> Property<R> property(String propertyName) {
+    return metaBean().<R>metaProperty(propertyName).createProperty(this);
+  }
+
+  @Override
+  public Set<String> propertyNames() {
+    return metaBean().metaPropertyMap().keySet();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the information that identifies the single-name or the index.
+   * @return the value of the property, not null
+   */
+  public ReferenceInformation getReferenceInformation() {
+    return referenceInformation;
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * Gets the currency of the yield curve used to calibrate the credit curve.
+   * @return the value of the property, not null
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  //-----------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj != null && obj.getClass() == this.getClass()) {
+      IsdaCreditCurveJacobianKey other = (IsdaCreditCurveJacobianKey) obj;
+      return JodaBeanUtils.equal(getReferenceInformation(), other.getReferenceInformation()) &&
+          JodaBeanUtils.equal(getCurrency(), other.getCurrency());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = getClass().hashCode();
+    hash = hash * 31 + JodaBeanUtils.hashCode(getReferenceInformation());
+    hash = hash * 31 + JodaBeanUtils.hashCode(getCurrency());
+    return hash;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder buf = new StringBuilder(96);
+    buf.append("IsdaCreditCurveJacobianKey{");
+    buf.append("referenceInformation").append('=').append(getReferenceInformation()).append(',').append(' ');
+    buf.append("currency").append('=').append(JodaBeanUtils.toString(getCurrency()));
+    buf.append('}');
+    return buf.toString();
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The meta-bean for {@code IsdaCreditCurveJacobianKey}.
+   */
+  public static final class Meta extends DirectMetaBean {
+    /**
+     * The singleton instance of the meta-bean.
+     */
+    static final Meta INSTANCE = new Meta();
+
+    /**
+     * The meta-property for the {@code referenceInformation} property.
+     */
+    private final MetaProperty<ReferenceInformation> referenceInformation = DirectMetaProperty.ofImmutable(
+        this, "referenceInformation", IsdaCreditCurveJacobianKey.class, ReferenceInformation.class);
+    /**
+     * The meta-property for the {@code currency} property.
+     */
+    private final MetaProperty<Currency> currency = DirectMetaProperty.ofImmutable(
+        this, "currency", IsdaCreditCurveJacobianKey.class, Currency.class);
+    /**
+     * The meta-properties.
+     */
+    private final Map<String, MetaProperty<?>> metaPropertyMap$ = new DirectMetaPropertyMap(
+        this, null,
+        "referenceInformation",
+        "currency");
+
+    /**
+     * Restricted constructor.
+     */
+    private Meta() {
+    }
+
+    @Override
+    protected MetaProperty<?> metaPropertyGet(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return referenceInformation;
+        case 575402001:  // currency
+          return currency;
+      }
+      return super.metaPropertyGet(propertyName);
+    }
+
+    @Override
+    public BeanBuilder<? extends IsdaCreditCurveJacobianKey> builder() {
+      return new IsdaCreditCurveJacobianKey.Builder();
+    }
+
+    @Override
+    public Class<? extends IsdaCreditCurveJacobianKey> beanType() {
+      return IsdaCreditCurveJacobianKey.class;
+    }
+
+    @Override
+    public Map<String, MetaProperty<?>> metaPropertyMap() {
+      return metaPropertyMap$;
+    }
+
+    //-----------------------------------------------------------------------
+    /**
+     * The meta-property for the {@code referenceInformation} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<ReferenceInformation> referenceInformation() {
+      return referenceInformation;
+    }
+
+    /**
+     * The meta-property for the {@code currency} property.
+     * @return the meta-property, not null
+     */
+    public MetaProperty<Currency> currency() {
+      return currency;
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    protected Object propertyGet(Bean bean, String propertyName, boolean quiet) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return ((IsdaCreditCurveJacobianKey) bean).getReferenceInformation();
+        case 575402001:  // currency
+          return ((IsdaCreditCurveJacobianKey) bean).getCurrency();
+      }
+      return super.propertyGet(bean, propertyName, quiet);
+    }
+
+    @Override
+    protected void propertySet(Bean bean, String propertyName, Object newValue, boolean quiet) {
+      metaProperty(propertyName);
+      if (quiet) {
+        return;
+      }
+      throw new UnsupportedOperationException("Property cannot be written: " + propertyName);
+    }
+
+  }
+
+  //-----------------------------------------------------------------------
+  /**
+   * The bean-builder for {@code IsdaCreditCurveJacobianKey}.
+   */
+  private static final class Builder extends DirectFieldsBeanBuilder<IsdaCreditCurveJacobianKey> {
+
+    private ReferenceInformation referenceInformation;
+    private Currency currency;
+
+    /**
+     * Restricted constructor.
+     */
+    private Builder() {
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public Object get(String propertyName) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          return referenceInformation;
+        case 575402001:  // currency
+          return currency;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+    }
+
+    @Override
+    public Builder set(String propertyName, Object newValue) {
+      switch (propertyName.hashCode()) {
+        case -2117930783:  // referenceInformation
+          this.referenceInformation = (ReferenceInformation) newValue;
+          break;
+        case 575402001:  // currency
+          this.currency = (Currency) newValue;
+          break;
+        default:
+          throw new NoSuchElementException("Unknown property: " + propertyName);
+      }
+      return this;
+    }
+
+    @Override
+    public Builder set(MetaProperty<?> property, Object value) {
+      super.set(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(String propertyName, String value) {
+      setString(meta().metaProperty(propertyName), value);
+      return this;
+    }
+
+    @Override
+    public Builder setString(MetaProperty<?> property, String value) {
+      super.setString(property, value);
+      return this;
+    }
+
+    @Override
+    public Builder setAll(Map<String, ? extends Object> propertyValueMap) {
+      super.setAll(propertyValueMap);
+      return this;
+    }
+
+    @Override
+    public IsdaCreditCurveJacobianKey build() {
+      return new IsdaCreditCurveJacobianKey(
+          referenceInformation,
+          currency);
+    }
+
+    //-----------------------------------------------------------------------
+    @Override
+    public String toString() {
+      StringBuilder buf = new StringBuilder(96);
+      buf.append("IsdaCreditCurveJacobianKey.Builder{");
+      buf.append("referenceInformation").append('=').append(JodaBeanUtils.toString(referenceInformation)).append(',').append(' ');
+      buf.append("currency").append('=').append(JodaBeanUtils.toString(currency));
+      buf.append('}');
+      return buf.toString();
+    }
+
+  }
+
+  ///CLOVER:ON
+  //-------------------------- AUTOGENERATED END --------------------------
+}
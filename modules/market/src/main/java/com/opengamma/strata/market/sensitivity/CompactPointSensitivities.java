@@ -0,0 +1,334 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A normalized collection of point sensitivities held in columnar form.
+ * <p>
+ * This is an alternative representation of {@link PointSensitivities} intended for
+ * aggregating large numbers of point sensitivities, for example across a portfolio.
+ * The keys and values are held in two parallel arrays, sorted by
+ * {@link PointSensitivity#compareKey(PointSensitivity) key} with no duplicate keys.
+ * The key at each index is a point sensitivity whose own value is ignored; the value
+ * at the same index is the sensitivity.
+ * <p>
+ * Keys are shared rather than copied when instances are combined, so each distinct key
+ * is held once however many instances contributed to it.
+ * Normalizing is {@code O(n log n)}, combining two instances is linear, and combining
+ * {@code k} instances is {@code O(n log k)} in the total number of entries.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CompactPointSensitivities {
+
+  /**
+   * An empty instance.
+   */
+  private static final CompactPointSensitivities EMPTY =
+      new CompactPointSensitivities(new PointSensitivity[0], new double[0]);
+
+  /**
+   * The keys, sorted and unique.
+   */
+  private final PointSensitivity[] keys;
+  /**
+   * The values, one for each key.
+   */
+  private final double[] values;
+
+  //-------------------------------------------------------------------------
+  /**
+   * An empty sensitivity instance.
+   *
+   * @return the empty instance
+   */
+  public static CompactPointSensitivities empty() {
+    return EMPTY;
+  }
+
+  /**
+   * Obtains an instance by normalizing the specified point sensitivities.
+   * <p>
+   * The sensitivities are sorted and any entries with the same key are summed.
+   *
+   * @param sensitivities  the point sensitivities
+   * @return the compact sensitivities
+   */
+  public static CompactPointSensitivities of(PointSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    return of(sensitivities.getSensitivities());
+  }
+
+  /**
+   * Obtains an instance by normalizing the specified list of point sensitivities.
+   * <p>
+   * The sensitivities are sorted and any entries with the same key are summed.
+   *
+   * @param sensitivities  the point sensitivities
+   * @return the compact sensitivities
+   */
+  public static CompactPointSensitivities of(List<? extends PointSensitivity> sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    if (sensitivities.isEmpty()) {
+      return EMPTY;
+    }
+    PointSensitivity[] sorted = sensitivities.toArray(new PointSensitivity[sensitivities.size()]);
+    Arrays.sort(sorted, PointSensitivity::compareKey);
+    PointSensitivity[] keys = new PointSensitivity[sorted.length];
+    double[] values = new double[sorted.length];
+    int size = 0;
+    for (PointSensitivity point : sorted) {
+      if (size > 0 && point.compareKey(keys[size - 1]) == 0) {
+        values[size - 1] += point.getSensitivity();
+      } else {
+        keys[size] = point;
+        values[size] = point.getSensitivity();
+        size++;
+      }
+    }
+    return new CompactPointSensitivities(keys, values, size);
+  }
+
+  /**
+   * Combines a collection of instances using a k-way merge.
+   * <p>
+   * The result is the sum of the sensitivities, with entries having the same key summed.
+   *
+   * @param sensitivities  the sensitivities to combine
+   * @return the combined sensitivities
+   */
+  public static CompactPointSensitivities combined(Collection<CompactPointSensitivities> sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    PriorityQueue<Cursor> queue = new PriorityQueue<>(Math.max(sensitivities.size(), 1));
+    int total = 0;
+    for (CompactPointSensitivities sens : sensitivities) {
+      if (sens.keys.length > 0) {
+        queue.add(new Cursor(sens));
+        total += sens.keys.length;
+      }
+    }
+    if (queue.size() < 2) {
+      return queue.isEmpty() ? EMPTY : queue.peek().sensitivities;
+    }
+    PointSensitivity[] keys = new PointSensitivity[total];
+    double[] values = new double[total];
+    int size = 0;
+    while (!queue.isEmpty()) {
+      Cursor cursor = queue.poll();
+      PointSensitivity key = cursor.key();
+      if (size > 0 && key.compareKey(keys[size - 1]) == 0) {
+        values[size - 1] += cursor.value();
+      } else {
+        keys[size] = key;
+        values[size] = cursor.value();
+        size++;
+      }
+      if (cursor.next()) {
+        queue.add(cursor);
+      }
+    }
+    return new CompactPointSensitivities(keys, values, size);
+  }
+
+  /**
+   * Aggregates a collection of point sensitivities, such as those of each trade in a portfolio.
+   * <p>
+   * Each element is normalized and the results are combined using a parallel reduction.
+   * As the reduction is parallel, the order in which values are summed is not defined.
+   *
+   * @param sensitivities  the point sensitivities to aggregate
+   * @return the aggregated sensitivities
+   */
+  public static CompactPointSensitivities aggregate(Collection<PointSensitivities> sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    return sensitivities.parallelStream()
+        .map(CompactPointSensitivities::of)
+        .reduce(EMPTY, CompactPointSensitivities::combinedWith);
+  }
+
+  // creates an instance from arrays that are sorted and unique
+  private CompactPointSensitivities(PointSensitivity[] keys, double[] values) {
+    this.keys = keys;
+    this.values = values;
+  }
+
+  // creates an instance from arrays that are sorted and unique up to the specified size
+  private CompactPointSensitivities(PointSensitivity[] keys, double[] values, int size) {
+    this.keys = (size == keys.length ? keys : Arrays.copyOf(keys, size));
+    this.values = (size == values.length ? values : Arrays.copyOf(values, size));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of entries.
+   *
+   * @return the number of distinct keys
+   */
+  public int size() {
+    return keys.length;
+  }
+
+  /**
+   * Gets the key at the specified index.
+   * <p>
+   * The sensitivity value of the returned instance should be ignored,
+   * use {@link #getValue(int)} to obtain the value at the index.
+   *
+   * @param index  the zero-based index
+   * @return the key
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public PointSensitivity getKey(int index) {
+    return keys[index];
+  }
+
+  /**
+   * Gets the sensitivity value at the specified index.
+   *
+   * @param index  the zero-based index
+   * @return the sensitivity value
+   * @throws IndexOutOfBoundsException if the index is invalid
+   */
+  public double getValue(int index) {
+    return values[index];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Combines this instance with another using a linear merge.
+   * <p>
+   * This instance is immutable and unaffected by this method.
+   *
+   * @param other  the other sensitivities
+   * @return the combined sensitivities
+   */
+  public CompactPointSensitivities combinedWith(CompactPointSensitivities other) {
+    if (other.keys.length == 0) {
+      return this;
+    }
+    if (keys.length == 0) {
+      return other;
+    }
+    PointSensitivity[] mergedKeys = new PointSensitivity[keys.length + other.keys.length];
+    double[] mergedValues = new double[mergedKeys.length];
+    int i = 0;
+    int j = 0;
+    int size = 0;
+    while (i < keys.length && j < other.keys.length) {
+      int cmp = keys[i].compareKey(other.keys[j]);
+      if (cmp < 0) {
+        mergedKeys[size] = keys[i];
+        mergedValues[size++] = values[i++];
+      } else if (cmp > 0) {
+        mergedKeys[size] = other.keys[j];
+        mergedValues[size++] = other.values[j++];
+      } else {
+        mergedKeys[size] = keys[i];
+        mergedValues[size++] = values[i++] + other.values[j++];
+      }
+    }
+    for (; i < keys.length; i++) {
+      mergedKeys[size] = keys[i];
+      mergedValues[size++] = values[i];
+    }
+    for (; j < other.keys.length; j++) {
+      mergedKeys[size] = other.keys[j];
+      mergedValues[size++] = other.values[j];
+    }
+    return new CompactPointSensitivities(mergedKeys, mergedValues, size);
+  }
+
+  /**
+   * Multiplies the sensitivities in this instance by the specified factor.
+   * <p>
+   * This instance is immutable and unaffected by this method.
+   *
+   * @param factor  the multiplicative factor
+   * @return an instance based on this one, with each sensitivity multiplied by the factor
+   */
+  public CompactPointSensitivities multipliedBy(double factor) {
+    double[] multiplied = new double[values.length];
+    for (int i = 0; i < values.length; i++) {
+      multiplied[i] = values[i] * factor;
+    }
+    return new CompactPointSensitivities(keys, multiplied);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Converts this instance to the equivalent normalized point sensitivities.
+   *
+   * @return the point sensitivities
+   */
+  public PointSensitivities toPointSensitivities() {
+    List<PointSensitivity> list = new ArrayList<>(keys.length);
+    for (int i = 0; i < keys.length; i++) {
+      list.add(keys[i].getSensitivity() == values[i] ? keys[i] : keys[i].withSensitivity(values[i]));
+    }
+    return PointSensitivities.of(ImmutableList.copyOf(list));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CompactPointSensitivities) {
+      return toPointSensitivities().equals(((CompactPointSensitivities) obj).toPointSensitivities());
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return toPointSensitivities().hashCode();
+  }
+
+  @Override
+  public String toString() {
+    return "CompactPointSensitivities" + toPointSensitivities().getSensitivities().toString();
+  }
+
+  //-------------------------------------------------------------------------
+  // a position within one of the instances being merged, ordered by the current key
+  private static final class Cursor implements Comparable<Cursor> {
+    private final CompactPointSensitivities sensitivities;
+    private int index;
+
+    private Cursor(CompactPointSensitivities sensitivities) {
+      this.sensitivities = sensitivities;
+    }
+
+    private PointSensitivity key() {
+      return sensitivities.keys[index];
+    }
+
+    private double value() {
+      return sensitivities.values[index];
+    }
+
+    private boolean next() {
+      index++;
+      return index < sensitivities.keys.length;
+    }
+
+    @Override
+    public int compareTo(Cursor other) {
+      return key().compareKey(other.key());
+    }
+  }
+
+}
@@ -0,0 +1,159 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+
+/**
+ * Mutable builder for currency-based parameter sensitivity to a collection of curves.
+ * <p>
+ * Contains a mutable sensitivity array for each combination of curve name and currency.
+ * Each addition is summed into the matching array, avoiding the copying that occurs
+ * when combining immutable {@link CurveCurrencyParameterSensitivities} instances.
+ * <p>
+ * This is a mutable builder that is not intended for use in multiple threads.
+ * It is intended to be used to create an immutable {@link CurveCurrencyParameterSensitivities} instance.
+ */
+public final class MutableCurveCurrencyParameterSensitivities {
+
+  /**
+   * The sensitivities, keyed by curve name and currency.
+   */
+  private final Map<Pair<CurveName, Currency>, Entry> sensitivities = new LinkedHashMap<>();
+
+  /**
+   * Creates an empty instance.
+   */
+  public MutableCurveCurrencyParameterSensitivities() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of sensitivity entries.
+   * <p>
+   * There is one entry for each combination of curve name and currency.
+   *
+   * @return the number of entries
+   */
+  public int size() {
+    return sensitivities.size();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Adds a parameter sensitivity, mutating this instance.
+   * <p>
+   * The sensitivity is added to any existing entry with the same curve name and currency.
+   *
+   * @param sensitivity  the sensitivity to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if the entry exists with a different number of parameters
+   */
+  public MutableCurveCurrencyParameterSensitivities add(CurveCurrencyParameterSensitivity sensitivity) {
+    ArgChecker.notNull(sensitivity, "sensitivity");
+    return add(sensitivity.getMetadata(), sensitivity.getCurrency(), sensitivity.getSensitivity(), 1d);
+  }
+
+  /**
+   * Adds the parameter sensitivities, mutating this instance.
+   * <p>
+   * Each sensitivity is added to any existing entry with the same curve name and currency.
+   *
+   * @param sensitivities  the sensitivities to add
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if an entry exists with a different number of parameters
+   */
+  public MutableCurveCurrencyParameterSensitivities add(CurveCurrencyParameterSensitivities sensitivities) {
+    ArgChecker.notNull(sensitivities, "sensitivities");
+    for (CurveCurrencyParameterSensitivity sensitivity : sensitivities.getSensitivities()) {
+      add(sensitivity);
+    }
+    return this;
+  }
+
+  /**
+   * Adds a multiple of the unit parameter sensitivity of a curve, mutating this instance.
+   * <p>
+   * Each element of the specified array is multiplied by the factor and added to
+   * the entry with the same curve name and currency, creating it if necessary.
+   * The array is not retained.
+   *
+   * @param metadata  the curve metadata
+   * @param currency  the currency of the sensitivity
+   * @param sensitivity  the sensitivity to each parameter of the curve
+   * @param factor  the factor to multiply the sensitivity by
+   * @return {@code this}, for method chaining
+   * @throws IllegalArgumentException if the entry exists with a different number of parameters
+   */
+  public MutableCurveCurrencyParameterSensitivities add(
+      CurveMetadata metadata,
+      Currency currency,
+      double[] sensitivity,
+      double factor) {
+
+    Pair<CurveName, Currency> key = Pair.of(metadata.getCurveName(), currency);
+    Entry entry = sensitivities.get(key);
+    if (entry == null) {
+      entry = new Entry(metadata, new double[sensitivity.length]);
+      sensitivities.put(key, entry);
+    }
+    double[] values = entry.values;
+    ArgChecker.isTrue(
+        values.length == sensitivity.length,
+        "Sensitivity for curve '{}' must have {} parameters, but was {}",
+        key.getFirst(),
+        values.length,
+        sensitivity.length);
+    for (int i = 0; i < values.length; i++) {
+      values[i] += sensitivity[i] * factor;
+    }
+    return this;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Builds the immutable parameter sensitivities.
+   * <p>
+   * This instance is not altered and may continue to be used.
+   *
+   * @return the immutable parameter sensitivities
+   */
+  public CurveCurrencyParameterSensitivities build() {
+    List<CurveCurrencyParameterSensitivity> list = new ArrayList<>(sensitivities.size());
+    for (Map.Entry<Pair<CurveName, Currency>, Entry> entry : sensitivities.entrySet()) {
+      Entry value = entry.getValue();
+      list.add(CurveCurrencyParameterSensitivity.of(value.metadata, entry.getKey().getSecond(), value.values.clone()));
+    }
+    return CurveCurrencyParameterSensitivities.of(list);
+  }
+
+  @Override
+  public String toString() {
+    return build().toString();
+  }
+
+  //-------------------------------------------------------------------------
+  // the metadata of the first sensitivity added and the summed values
+  private static final class Entry {
+    private final CurveMetadata metadata;
+    private final double[] values;
+
+    private Entry(CurveMetadata metadata, double[] values) {
+      this.metadata = metadata;
+      this.values = values;
+    }
+  }
+
+}
@@ -190,16 +190,7 @@ public final class MutablePointSensitivities
   @Override
   public MutablePointSensitivities normalize() {
     sensitivities.sort(PointSensitivity::compareKey);
-    PointSensitivity previous = sensitivities.get(0);
-    for (int i = 1; i < sensitivities.size(); i++) {
-      PointSensitivity current = sensitivities.get(i);
-      if (current.compareKey(previous) == 0) {
-        sensitivities.set(i - 1, previous.withSensitivity(previous.getSensitivity() + current.getSensitivity()));
-        sensitivities.remove(i);
-        i--;
-      }
-      previous = current;
-    }
+    PointSensitivities.merge(sensitivities);
     return this;
   }
 
@@ -186,17 +186,28 @@ public final class PointSensitivities
     }
     List<PointSensitivity> mutable = new ArrayList<>(sensitivities);
     mutable.sort(PointSensitivity::compareKey);
-    PointSensitivity last = mutable.get(0);
-    for (int i = 1; i < mutable.size(); i++) {
-      PointSensitivity current = mutable.get(i);
-      if (current.compareKey(last) == 0) {
-        mutable.set(i - 1, last.withSensitivity(last.getSensitivity() + current.getSensitivity()));
-        mutable.remove(i);
-        i--;
+    merge(mutable);
+    return new PointSensitivities(mutable);
+  }
+
+  // merges adjacent entries with the same key in a sorted list, in a single pass
+  static void merge(List<PointSensitivity> sorted) {
+    int size = sorted.size();
+    if (size < 2) {
+      return;
+    }
+    int last = 0;
+    for (int i = 1; i < size; i++) {
+      PointSensitivity current = sorted.get(i);
+      PointSensitivity merged = sorted.get(last);
+      if (current.compareKey(merged) == 0) {
+        sorted.set(last, merged.withSensitivity(merged.getSensitivity() + current.getSensitivity()));
+      } else {
+        last++;
+        sorted.set(last, current);
       }
-      last = current;
     }
-    return new PointSensitivities(mutable);
+    sorted.subList(last + 1, size).clear();
   }
 
   //-----------------------------------------------------------------------
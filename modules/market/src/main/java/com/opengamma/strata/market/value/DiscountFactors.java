@@ -6,6 +6,8 @@
 package com.opengamma.strata.market.value;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.market.Perturbation;
@@ -13,6 +15,7 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
 
 /**
@@ -72,6 +75,25 @@ public interface DiscountFactors {
    */
   public abstract double discountFactor(LocalDate date);
 
+  /**
+   * Gets the discount factors for an array of dates.
+   * <p>
+   * This returns an array with one element for each date, equal to {@link #discountFactor(LocalDate)}.
+   * Implementations may evaluate the dates in a single sweep of the underlying curve,
+   * which is most efficient when the dates are sorted in ascending order.
+   *
+   * @param dates  the dates to discount to
+   * @return the discount factors
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default double[] discountFactors(LocalDate[] dates) {
+    double[] result = new double[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      result[i] = discountFactor(dates[i]);
+    }
+    return result;
+  }
+
   /**
    * Gets the discount factor with z-spread.
    * <p>
@@ -109,6 +131,25 @@ public interface DiscountFactors {
     return zeroRatePointSensitivity(date, getCurrency());
   }
 
+  /**
+   * Calculates the zero rate point sensitivities at an array of dates.
+   * <p>
+   * This returns a list with one element for each date, equal to {@link #zeroRatePointSensitivity(LocalDate)}.
+   * Implementations may evaluate the dates in a single sweep of the underlying curve,
+   * which is most efficient when the dates are sorted in ascending order.
+   * 
+   * @param dates  the dates to discount to
+   * @return the point sensitivities of the zero rate
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default List<ZeroRateSensitivity> zeroRatePointSensitivities(LocalDate[] dates) {
+    List<ZeroRateSensitivity> result = new ArrayList<>(dates.length);
+    for (LocalDate date : dates) {
+      result.add(zeroRatePointSensitivity(date));
+    }
+    return result;
+  }
+
   /**
    * Calculates the zero rate point sensitivity with z-spread at the specified date.
    * <p>
@@ -206,6 +247,26 @@ public interface DiscountFactors {
    */
   public abstract CurveCurrencyParameterSensitivities curveParameterSensitivity(ZeroRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the curve parameter sensitivity from a list of point sensitivities, adding it to the result.
+   * <p>
+   * This is used to convert many point sensitivities to curve parameter sensitivity.
+   * The effect is the same as calling {@link #curveParameterSensitivity(ZeroRateSensitivity)}
+   * for each point and summing, however implementations may evaluate the points together.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @param result  the mutable parameter sensitivity to add to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void curveParameterSensitivity(
+      List<ZeroRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    for (ZeroRateSensitivity pointSensitivity : pointSensitivities) {
+      result.add(curveParameterSensitivity(pointSensitivity));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Applies the specified perturbation to the underlying curve.
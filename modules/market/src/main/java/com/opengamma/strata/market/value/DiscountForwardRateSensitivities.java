@@ -0,0 +1,76 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.value;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
+
+/**
+ * Calculates the curve parameter sensitivity of forward rates implied by discount factors.
+ * <p>
+ * The forward rate between a start and end date is {@code (dfStart / dfEnd - 1) / accrualFactor}.
+ * The sensitivities to a list of forward rates are converted to zero rate sensitivities at the
+ * start and end dates, with the discount factors and zero rate sensitivities for all dates
+ * evaluated in a single call to the batch methods of {@link DiscountFactors}.
+ */
+final class DiscountForwardRateSensitivities {
+
+  /**
+   * Restricted constructor.
+   */
+  private DiscountForwardRateSensitivities() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the curve parameter sensitivity of a list of forward rates, adding it to the result.
+   * <p>
+   * The arrays must all have the same length, with one element for each forward rate.
+   *
+   * @param discountFactors  the discount factors used to imply the forward rates
+   * @param startDates  the start dates of the forward rates
+   * @param endDates  the end dates of the forward rates
+   * @param accrualFactors  the accrual factors of the forward rates
+   * @param forwardBars  the sensitivities to the forward rates
+   * @param currencies  the currencies of the sensitivities
+   * @param result  the sensitivities to add to
+   */
+  static void curveParameterSensitivity(
+      DiscountFactors discountFactors,
+      LocalDate[] startDates,
+      LocalDate[] endDates,
+      double[] accrualFactors,
+      double[] forwardBars,
+      Currency[] currencies,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    int size = startDates.length;
+    LocalDate[] dates = new LocalDate[size * 2];
+    System.arraycopy(startDates, 0, dates, 0, size);
+    System.arraycopy(endDates, 0, dates, size, size);
+    double[] dfs = discountFactors.discountFactors(dates);
+    List<ZeroRateSensitivity> zrSensitivities = discountFactors.zeroRatePointSensitivities(dates);
+    // convert to zero rate sensitivities at start and end, then evaluate the curve for all points together
+    List<ZeroRateSensitivity> zeroRateSensitivities = new ArrayList<>(size * 2);
+    for (int i = 0; i < size; i++) {
+      double dfForwardStart = dfs[i];
+      double dfForwardEnd = dfs[size + i];
+      double dfStartBar = forwardBars[i] / (accrualFactors[i] * dfForwardEnd);
+      double dfEndBar = -forwardBars[i] * dfForwardStart / (accrualFactors[i] * dfForwardEnd * dfForwardEnd);
+      ZeroRateSensitivity zrStart = zrSensitivities.get(i).withCurrency(currencies[i]);
+      ZeroRateSensitivity zrEnd = zrSensitivities.get(size + i).withCurrency(currencies[i]);
+      zeroRateSensitivities.add(zrStart.withSensitivity(zrStart.getSensitivity() * dfStartBar));
+      zeroRateSensitivities.add(zrEnd.withSensitivity(zrEnd.getSensitivity() * dfEndBar));
+    }
+    discountFactors.curveParameterSensitivity(zeroRateSensitivities, result);
+  }
+
+}
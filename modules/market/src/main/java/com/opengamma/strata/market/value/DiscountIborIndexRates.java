@@ -7,6 +7,8 @@ package com.opengamma.strata.market.value;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
@@ -26,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.market.Perturbation;
 import com.opengamma.strata.collect.Messages;
@@ -35,6 +38,7 @@ import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 
 /**
@@ -129,6 +133,41 @@ public final class DiscountIborIndexRates
     return forwardRate(fixingDate);
   }
 
+  @Override
+  public double[] rates(LocalDate[] fixingDates) {
+    int n = fixingDates.length;
+    double[] result = new double[n];
+    // historic rates are found directly, forward rates are calculated together at the end
+    int[] forwardIndices = new int[n];
+    LocalDate[] startDates = new LocalDate[n];
+    LocalDate[] endDates = new LocalDate[n];
+    double[] yearFractions = new double[n];
+    int forwardCount = 0;
+    for (int i = 0; i < n; i++) {
+      LocalDate fixingDate = fixingDates[i];
+      if (fixingDate.isAfter(getValuationDate()) ||
+          (fixingDate.equals(getValuationDate()) && !timeSeries.get(fixingDate).isPresent())) {
+        LocalDate fixingStartDate = index.calculateEffectiveFromFixing(fixingDate);
+        LocalDate fixingEndDate = index.calculateMaturityFromEffective(fixingStartDate);
+        forwardIndices[forwardCount] = i;
+        startDates[forwardCount] = fixingStartDate;
+        endDates[forwardCount] = fixingEndDate;
+        yearFractions[forwardCount] = index.getDayCount().yearFraction(fixingStartDate, fixingEndDate);
+        forwardCount++;
+      } else {
+        result[i] = historicRate(fixingDate);
+      }
+    }
+    double[] forwardRates = simplyCompoundForwardRates(
+        Arrays.copyOf(startDates, forwardCount),
+        Arrays.copyOf(endDates, forwardCount),
+        yearFractions);
+    for (int i = 0; i < forwardCount; i++) {
+      result[forwardIndices[i]] = forwardRates[i];
+    }
+    return result;
+  }
+
   // historic rate
   private double historicRate(LocalDate fixingDate) {
     OptionalDouble fixedRate = timeSeries.get(fixingDate);
@@ -158,6 +197,17 @@ public final class DiscountIborIndexRates
     return (discountFactors.discountFactor(startDate) / discountFactors.discountFactor(endDate) - 1) / accrualFactor;
   }
 
+  // compounded from discount factors, evaluating the curve in a single sweep
+  private double[] simplyCompoundForwardRates(LocalDate[] startDates, LocalDate[] endDates, double[] accrualFactors) {
+    double[] startDiscountFactors = discountFactors.discountFactors(startDates);
+    double[] endDiscountFactors = discountFactors.discountFactors(endDates);
+    double[] result = new double[startDates.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = (startDiscountFactors[i] / endDiscountFactors[i] - 1) / accrualFactors[i];
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivityBuilder ratePointSensitivity(LocalDate fixingDate) {
@@ -202,6 +252,30 @@ public final class DiscountIborIndexRates
     return sensStart.combinedWith(sensEnd);
   }
 
+  @Override
+  public void curveParameterSensitivity(
+      List<IborRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    int size = pointSensitivities.size();
+    LocalDate[] startDates = new LocalDate[size];
+    LocalDate[] endDates = new LocalDate[size];
+    double[] accrualFactors = new double[size];
+    double[] forwardBars = new double[size];
+    Currency[] currencies = new Currency[size];
+    for (int i = 0; i < size; i++) {
+      IborRateSensitivity pointSensitivity = pointSensitivities.get(i);
+      IborIndex index = pointSensitivity.getIndex();
+      startDates[i] = index.calculateEffectiveFromFixing(pointSensitivity.getFixingDate());
+      endDates[i] = index.calculateMaturityFromEffective(startDates[i]);
+      accrualFactors[i] = index.getDayCount().yearFraction(startDates[i], endDates[i]);
+      forwardBars[i] = pointSensitivity.getSensitivity();
+      currencies[i] = pointSensitivity.getCurrency();
+    }
+    DiscountForwardRateSensitivities.curveParameterSensitivity(
+        discountFactors, startDates, endDates, accrualFactors, forwardBars, currencies, result);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public DiscountIborIndexRates applyPerturbation(Perturbation<Curve> perturbation) {
@@ -7,6 +7,8 @@ package com.opengamma.strata.market.value;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.OptionalDouble;
@@ -26,6 +28,7 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.market.Perturbation;
 import com.opengamma.strata.collect.ArgChecker;
@@ -35,6 +38,7 @@ import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.OvernightRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 
@@ -131,6 +135,42 @@ public final class DiscountOvernightIndexRates
     return forwardRate(fixingDate);
   }
 
+  @Override
+  public double[] rates(LocalDate[] fixingDates) {
+    int n = fixingDates.length;
+    double[] result = new double[n];
+    // historic rates are found directly, forward rates are calculated together at the end
+    int[] forwardIndices = new int[n];
+    LocalDate[] startDates = new LocalDate[n];
+    LocalDate[] endDates = new LocalDate[n];
+    double[] yearFractions = new double[n];
+    int forwardCount = 0;
+    for (int i = 0; i < n; i++) {
+      LocalDate fixingDate = fixingDates[i];
+      LocalDate publicationDate = index.calculatePublicationFromFixing(fixingDate);
+      if (publicationDate.isAfter(getValuationDate()) ||
+          (publicationDate.equals(getValuationDate()) && !timeSeries.get(fixingDate).isPresent())) {
+        LocalDate fixingStartDate = index.calculateEffectiveFromFixing(fixingDate);
+        LocalDate fixingEndDate = index.calculateMaturityFromEffective(fixingStartDate);
+        forwardIndices[forwardCount] = i;
+        startDates[forwardCount] = fixingStartDate;
+        endDates[forwardCount] = fixingEndDate;
+        yearFractions[forwardCount] = index.getDayCount().yearFraction(fixingStartDate, fixingEndDate);
+        forwardCount++;
+      } else {
+        result[i] = historicRate(fixingDate, publicationDate);
+      }
+    }
+    double[] forwardRates = simplyCompoundForwardRates(
+        Arrays.copyOf(startDates, forwardCount),
+        Arrays.copyOf(endDates, forwardCount),
+        yearFractions);
+    for (int i = 0; i < forwardCount; i++) {
+      result[forwardIndices[i]] = forwardRates[i];
+    }
+    return result;
+  }
+
   // historic rate
   private double historicRate(LocalDate fixingDate, LocalDate publicationDate) {
     OptionalDouble fixedRate = timeSeries.get(fixingDate);
@@ -160,6 +200,17 @@ public final class DiscountOvernightIndexRates
     return (discountFactors.discountFactor(startDate) / discountFactors.discountFactor(endDate) - 1) / accrualFactor;
   }
 
+  // compounded from discount factors, evaluating the curve in a single sweep
+  private double[] simplyCompoundForwardRates(LocalDate[] startDates, LocalDate[] endDates, double[] accrualFactors) {
+    double[] startDiscountFactors = discountFactors.discountFactors(startDates);
+    double[] endDiscountFactors = discountFactors.discountFactors(endDates);
+    double[] result = new double[startDates.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = (startDiscountFactors[i] / endDiscountFactors[i] - 1) / accrualFactors[i];
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivityBuilder ratePointSensitivity(LocalDate fixingDate) {
@@ -183,6 +234,18 @@ public final class DiscountOvernightIndexRates
     return simplyCompoundForwardRate(startDate, endDate, fixingYearFraction);
   }
 
+  @Override
+  public double[] periodRates(LocalDate[] startDates, LocalDate[] endDates) {
+    ArgChecker.isTrue(startDates.length == endDates.length, "Start and end dates must have the same length");
+    double[] yearFractions = new double[startDates.length];
+    for (int i = 0; i < startDates.length; i++) {
+      ArgChecker.inOrderNotEqual(startDates[i], endDates[i], "startDate", "endDate");
+      ArgChecker.inOrderOrEqual(getValuationDate(), startDates[i], "valuationDate", "startDate");
+      yearFractions[i] = index.getDayCount().yearFraction(startDates[i], endDates[i]);
+    }
+    return simplyCompoundForwardRates(startDates, endDates, yearFractions);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public PointSensitivityBuilder periodRatePointSensitivity(LocalDate startDate, LocalDate endDate) {
@@ -225,6 +288,30 @@ public final class DiscountOvernightIndexRates
     return sensStart.combinedWith(sensEnd);
   }
 
+  @Override
+  public void curveParameterSensitivity(
+      List<OvernightRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    int size = pointSensitivities.size();
+    LocalDate[] startDates = new LocalDate[size];
+    LocalDate[] endDates = new LocalDate[size];
+    double[] accrualFactors = new double[size];
+    double[] forwardBars = new double[size];
+    Currency[] currencies = new Currency[size];
+    for (int i = 0; i < size; i++) {
+      OvernightRateSensitivity pointSensitivity = pointSensitivities.get(i);
+      OvernightIndex index = pointSensitivity.getIndex();
+      startDates[i] = index.calculateEffectiveFromFixing(pointSensitivity.getFixingDate());
+      endDates[i] = pointSensitivity.getEndDate();
+      accrualFactors[i] = index.getDayCount().yearFraction(startDates[i], endDates[i]);
+      forwardBars[i] = pointSensitivity.getSensitivity();
+      currencies[i] = pointSensitivity.getCurrency();
+    }
+    DiscountForwardRateSensitivities.curveParameterSensitivity(
+        discountFactors, startDates, endDates, accrualFactors, forwardBars, currencies, result);
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public DiscountOvernightIndexRates applyPerturbation(Perturbation<Curve> perturbation) {
@@ -6,6 +6,7 @@
 package com.opengamma.strata.market.value;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.index.IborIndex;
 import com.opengamma.strata.basics.market.Perturbation;
@@ -15,6 +16,7 @@ import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 
 /**
@@ -85,6 +87,25 @@ public interface IborIndexRates {
    */
   public abstract double rate(LocalDate fixingDate);
 
+  /**
+   * Gets the historic or forward rates at an array of fixing dates.
+   * <p>
+   * This returns an array with one element for each fixing date, equal to {@link #rate(LocalDate)}.
+   * Implementations may evaluate the forward rates in a single sweep of the underlying curve,
+   * which is most efficient when the fixing dates are sorted in ascending order.
+   * 
+   * @param fixingDates  the fixing dates to query the rate for
+   * @return the rates of the index, either historic or forward
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default double[] rates(LocalDate[] fixingDates) {
+    double[] result = new double[fixingDates.length];
+    for (int i = 0; i < fixingDates.length; i++) {
+      result[i] = rate(fixingDates[i]);
+    }
+    return result;
+  }
+
   /**
    * Calculates the point sensitivity of the historic or forward rate at the specified fixing date.
    * <p>
@@ -123,6 +144,26 @@ public interface IborIndexRates {
    */
   public abstract CurveCurrencyParameterSensitivities curveParameterSensitivity(IborRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the curve parameter sensitivity from a list of point sensitivities, adding it to the result.
+   * <p>
+   * This is used to convert many point sensitivities to curve parameter sensitivity.
+   * The effect is the same as calling {@link #curveParameterSensitivity(IborRateSensitivity)}
+   * for each point and summing, however implementations may evaluate the points together.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @param result  the mutable parameter sensitivity to add to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void curveParameterSensitivity(
+      List<IborRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    for (IborRateSensitivity pointSensitivity : pointSensitivities) {
+      result.add(curveParameterSensitivity(pointSensitivity));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Applies the specified perturbation to the underlying curve.
@@ -6,14 +6,17 @@
 package com.opengamma.strata.market.value;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.market.Perturbation;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.OvernightRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 
@@ -86,6 +89,25 @@ public interface OvernightIndexRates {
    */
   public abstract double rate(LocalDate fixingDate);
 
+  /**
+   * Gets the historic or forward rates at an array of fixing dates.
+   * <p>
+   * This returns an array with one element for each fixing date, equal to {@link #rate(LocalDate)}.
+   * Implementations may evaluate the forward rates in a single sweep of the underlying curve,
+   * which is most efficient when the fixing dates are sorted in ascending order.
+   * 
+   * @param fixingDates  the fixing dates to query the rate for
+   * @return the rates of the index, either historic or forward
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default double[] rates(LocalDate[] fixingDates) {
+    double[] result = new double[fixingDates.length];
+    for (int i = 0; i < fixingDates.length; i++) {
+      result[i] = rate(fixingDates[i]);
+    }
+    return result;
+  }
+
   /**
    * Calculates the point sensitivity of the historic or forward rate at the specified fixing date.
    * <p>
@@ -118,6 +140,27 @@ public interface OvernightIndexRates {
    */
   public abstract double periodRate(LocalDate startDate, LocalDate endDate);
 
+  /**
+   * Gets the forward rates for an array of fixing periods.
+   * <p>
+   * This returns an array with one element for each period, equal to {@link #periodRate(LocalDate, LocalDate)}.
+   * Implementations may evaluate the rates in a single sweep of the underlying curve,
+   * which is most efficient when the periods are sorted in ascending order.
+   * 
+   * @param startDates  the start or effective dates of the periods on which the rates are computed
+   * @param endDates  the end or maturity dates of the periods on which the rates are computed
+   * @return the simply compounded rates associated to the periods for the index
+   * @throws RuntimeException if the values cannot be obtained
+   */
+  public default double[] periodRates(LocalDate[] startDates, LocalDate[] endDates) {
+    ArgChecker.isTrue(startDates.length == endDates.length, "Start and end dates must have the same length");
+    double[] result = new double[startDates.length];
+    for (int i = 0; i < startDates.length; i++) {
+      result[i] = periodRate(startDates[i], endDates[i]);
+    }
+    return result;
+  }
+
   /**
    * Calculates the point sensitivity of the historic or forward rate at the specified fixing period.
    * <p>
@@ -156,6 +199,26 @@ public interface OvernightIndexRates {
    */
   public abstract CurveCurrencyParameterSensitivities curveParameterSensitivity(OvernightRateSensitivity pointSensitivity);
 
+  /**
+   * Calculates the curve parameter sensitivity from a list of point sensitivities, adding it to the result.
+   * <p>
+   * This is used to convert many point sensitivities to curve parameter sensitivity.
+   * The effect is the same as calling {@link #curveParameterSensitivity(OvernightRateSensitivity)}
+   * for each point and summing, however implementations may evaluate the points together.
+   * 
+   * @param pointSensitivities  the point sensitivities to convert
+   * @param result  the mutable parameter sensitivity to add to
+   * @throws RuntimeException if the result cannot be calculated
+   */
+  public default void curveParameterSensitivity(
+      List<OvernightRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    for (OvernightRateSensitivity pointSensitivity : pointSensitivities) {
+      result.add(curveParameterSensitivity(pointSensitivity));
+    }
+  }
+
   //-------------------------------------------------------------------------
   /**
    * Applies the specified perturbation to the underlying curve.
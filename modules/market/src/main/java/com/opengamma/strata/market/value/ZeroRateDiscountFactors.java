@@ -7,6 +7,7 @@ package com.opengamma.strata.market.value;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Set;
@@ -25,6 +26,7 @@ import org.joda.beans.impl.direct.DirectMetaBean;
 import org.joda.beans.impl.direct.DirectMetaProperty;
 import org.joda.beans.impl.direct.DirectMetaPropertyMap;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.market.Perturbation;
@@ -34,6 +36,7 @@ import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
 
 /**
@@ -131,6 +134,11 @@ public final class ZeroRateDiscountFactors
     return discountFactor(relativeYearFraction);
   }
 
+  @Override
+  public double[] discountFactors(LocalDate[] dates) {
+    return discountFactors(relativeYearFractions(dates));
+  }
+
   @Override
   public double discountFactorWithSpread(LocalDate date, double zSpread, boolean periodic, int periodPerYear) {
     double yearFraction = relativeYearFraction(date);
@@ -154,11 +162,31 @@ public final class ZeroRateDiscountFactors
     return Math.exp(-relativeYearFraction * curve.yValue(relativeYearFraction));
   }
 
+  // calculates the discount factor at each of the specified relative year fractions
+  private double[] discountFactors(double[] relativeYearFractions) {
+    double[] zeroRates = curve.yValues(relativeYearFractions);
+    double[] result = new double[relativeYearFractions.length];
+    for (int i = 0; i < result.length; i++) {
+      // convert zero rate to discount factor
+      result[i] = Math.exp(-relativeYearFractions[i] * zeroRates[i]);
+    }
+    return result;
+  }
+
   // calculate the relative time between the valuation date and the specified date
   private double relativeYearFraction(LocalDate date) {
     return dayCount.relativeYearFraction(valuationDate, date);
   }
 
+  // calculate the relative time between the valuation date and each of the specified dates
+  private double[] relativeYearFractions(LocalDate[] dates) {
+    double[] result = new double[dates.length];
+    for (int i = 0; i < dates.length; i++) {
+      result[i] = relativeYearFraction(dates[i]);
+    }
+    return result;
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivity(LocalDate date, Currency sensitivityCurrency) {
@@ -167,6 +195,17 @@ public final class ZeroRateDiscountFactors
     return ZeroRateSensitivity.of(currency, date, sensitivityCurrency, -discountFactor * relativeYearFraction);
   }
 
+  @Override
+  public List<ZeroRateSensitivity> zeroRatePointSensitivities(LocalDate[] dates) {
+    double[] relativeYearFractions = relativeYearFractions(dates);
+    double[] discountFactors = discountFactors(relativeYearFractions);
+    ImmutableList.Builder<ZeroRateSensitivity> builder = ImmutableList.builder();
+    for (int i = 0; i < dates.length; i++) {
+      builder.add(ZeroRateSensitivity.of(currency, dates[i], -discountFactors[i] * relativeYearFractions[i]));
+    }
+    return builder.build();
+  }
+
   @Override
   public ZeroRateSensitivity zeroRatePointSensitivityWithSpread(
       LocalDate date,
@@ -204,6 +243,23 @@ public final class ZeroRateDiscountFactors
     return sens.multipliedBy(pointSensitivity.getCurrency(), pointSensitivity.getSensitivity());
   }
 
+  @Override
+  public void curveParameterSensitivity(
+      List<ZeroRateSensitivity> pointSensitivities,
+      MutableCurveCurrencyParameterSensitivities result) {
+
+    LocalDate[] dates = new LocalDate[pointSensitivities.size()];
+    for (int i = 0; i < dates.length; i++) {
+      dates[i] = pointSensitivities.get(i).getDate();
+    }
+    double[][] unitSensitivities = curve.yValueParameterSensitivities(relativeYearFractions(dates));
+    for (int i = 0; i < dates.length; i++) {
+      ZeroRateSensitivity pointSensitivity = pointSensitivities.get(i);
+      result.add(
+          curve.getMetadata(), pointSensitivity.getCurrency(), unitSensitivities[i], pointSensitivity.getSensitivity());
+    }
+  }
+
   //-------------------------------------------------------------------------
   @Override
   public ZeroRateDiscountFactors applyPerturbation(Perturbation<Curve> perturbation) {
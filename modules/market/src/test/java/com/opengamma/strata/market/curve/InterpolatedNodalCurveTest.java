@@ -90,6 +90,19 @@ public class InterpolatedNodalCurveTest {
     assertThat(test.firstDerivative(10d)).isEqualTo(COMBINED.firstDerivative(bundle, 10d));
   }
 
+  public void test_yValues() {
+    InterpolatedNodalCurve test = InterpolatedNodalCurve.of(METADATA, XVALUES, YVALUES, INTERPOLATOR);
+    double[] x = {0.5d, 1d, 1.5d, 2.5d, 3d, 10d, 1.2d};
+    double[] yValues = test.yValues(x);
+    double[][] sensitivities = test.yValueParameterSensitivities(x);
+    assertThat(yValues.length).isEqualTo(x.length);
+    assertThat(sensitivities.length).isEqualTo(x.length);
+    for (int i = 0; i < x.length; i++) {
+      assertThat(yValues[i]).isEqualTo(test.yValue(x[i]));
+      assertThat(sensitivities[i]).containsExactly(test.yValueParameterSensitivity(x[i]).getSensitivity());
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_withYValues() {
     double[] yBumped = YVALUES_BUMPED.clone();
@@ -9,8 +9,11 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
+
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.market.curve.ConstantNodalCurve;
 import com.opengamma.strata.market.curve.Curve;
 
@@ -32,6 +35,30 @@ public class CurveParallelShiftTest {
     checkCurveValues(shiftedCurve, 2.2);
   }
 
+  public void applyToScenarios() {
+    Curve curve = ConstantNodalCurve.of("curveName", 2d);
+    List<CurveParallelShift> shifts = ImmutableList.of(
+        CurveParallelShift.absolute(0.1),
+        CurveParallelShift.absolute(0.2),
+        CurveParallelShift.absolute(-0.1));
+    List<Curve> shiftedCurves = shifts.get(0).applyToScenarios(curve, shifts);
+    assertThat(shiftedCurves).isInstanceOf(ParallelShiftedCurveList.class);
+    assertThat(shiftedCurves).hasSize(3);
+    for (int i = 0; i < shifts.size(); i++) {
+      assertThat(shiftedCurves.get(i)).isEqualTo(shifts.get(i).applyTo(curve));
+    }
+    checkCurveValues(shiftedCurves.get(1), 2.2);
+  }
+
+  public void applyToScenarios_mixedShiftTypes() {
+    Curve curve = ConstantNodalCurve.of("curveName", 2d);
+    List<CurveParallelShift> shifts = ImmutableList.of(
+        CurveParallelShift.absolute(0.1),
+        CurveParallelShift.relative(0.1));
+    List<Curve> shiftedCurves = shifts.get(0).applyToScenarios(curve, shifts);
+    assertThat(shiftedCurves).containsExactly(shifts.get(0).applyTo(curve), shifts.get(1).applyTo(curve));
+  }
+
   // It's not possible to do an equality test on the curves because shifting them wraps them in a different type
   private void checkCurveValues(Curve curve, double expectedValue) {
     for (int i = 0; i < 10; i++) {
@@ -5,6 +5,7 @@
  */
 package com.opengamma.strata.market.curve.perturb;
 
+import static com.opengamma.strata.collect.TestHelper.assertSerialization;
 import static com.opengamma.strata.collect.TestHelper.assertThrows;
 import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
@@ -104,6 +105,74 @@ public class CurvePointShiftTest {
     }
   }
 
+  public void applyToScenarios() {
+    List<TenorCurveNodeMetadata> nodeMetadata = ImmutableList.of(
+        TenorCurveNodeMetadata.of(date(2011, 3, 8), Tenor.TENOR_1M),
+        TenorCurveNodeMetadata.of(date(2011, 5, 8), Tenor.TENOR_3M),
+        TenorCurveNodeMetadata.of(date(2011, 8, 8), Tenor.TENOR_6M));
+
+    List<CurvePointShift> shifts = ImmutableList.of(
+        CurvePointShift.builder(ShiftType.ABSOLUTE)
+            .addShift(Tenor.TENOR_1W, 0.1)
+            .addShift(Tenor.TENOR_1M, 0.2)
+            .build(),
+        CurvePointShift.builder(ShiftType.ABSOLUTE)
+            .addShift("3M", 0.3)
+            .addShift(Tenor.TENOR_6M, -0.1)
+            .build());
+
+    Curve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
+        new double[] {1, 2, 3},
+        new double[] {5, 6, 7},
+        INTERPOLATOR);
+
+    List<Curve> shiftedCurves = shifts.get(0).applyToScenarios(curve, shifts);
+    assertThat(shiftedCurves).isInstanceOf(PointShiftedCurveList.class);
+    assertThat(shiftedCurves).hasSize(2);
+    for (int i = 0; i < shifts.size(); i++) {
+      assertThat(shiftedCurves.get(i)).isEqualTo(shifts.get(i).applyTo(curve));
+    }
+  }
+
+  public void applyToScenarios_curveCached() {
+    List<TenorCurveNodeMetadata> nodeMetadata = ImmutableList.of(
+        TenorCurveNodeMetadata.of(date(2011, 3, 8), Tenor.TENOR_1M),
+        TenorCurveNodeMetadata.of(date(2011, 5, 8), Tenor.TENOR_3M));
+
+    List<CurvePointShift> shifts = ImmutableList.of(
+        CurvePointShift.builder(ShiftType.ABSOLUTE).addShift(Tenor.TENOR_1M, 0.1).build(),
+        CurvePointShift.builder(ShiftType.ABSOLUTE).addShift(Tenor.TENOR_3M, 0.2).build());
+
+    Curve curve = InterpolatedNodalCurve.of(
+        Curves.zeroRates(CurveName.of("curve"), DayCounts.ACT_365F, nodeMetadata),
+        new double[] {1, 2},
+        new double[] {5, 6},
+        INTERPOLATOR);
+
+    List<Curve> shiftedCurves = shifts.get(0).applyToScenarios(curve, shifts);
+    Curve shiftedCurve = shiftedCurves.get(1);
+    assertThat(shiftedCurves.get(1)).isSameAs(shiftedCurve);
+    assertThat(shiftedCurves.get(0)).isNotSameAs(shiftedCurve);
+    assertThat(shiftedCurves.get(0)).isSameAs(shiftedCurves.get(0));
+    assertSerialization(shiftedCurves);
+  }
+
+  public void applyToScenarios_noNodeMetadata() {
+    Curve curve = InterpolatedNodalCurve.of(
+        DefaultCurveMetadata.of("curve"),
+        new double[] {1, 2, 3},
+        new double[] {5, 6, 7},
+        INTERPOLATOR);
+
+    CurvePointShift shift = CurvePointShift.builder(ShiftType.RELATIVE).addShift(Tenor.TENOR_1M, 0.2).build();
+
+    assertThrows(
+        () -> shift.applyToScenarios(curve, ImmutableList.of(shift, shift)),
+        IllegalArgumentException.class,
+        ".* no parameter metadata.*");
+  }
+
   public void noNodeMetadata() {
     Curve curve = InterpolatedNodalCurve.of(
         DefaultCurveMetadata.of("curve"),
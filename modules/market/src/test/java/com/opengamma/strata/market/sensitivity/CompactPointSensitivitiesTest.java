@@ -0,0 +1,113 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.basics.index.IborIndices.GBP_LIBOR_3M;
+import static com.opengamma.strata.collect.TestHelper.date;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+
+/**
+ * Test {@link CompactPointSensitivities}.
+ */
+@Test
+public class CompactPointSensitivitiesTest {
+
+  private static final PointSensitivity CS1 = ZeroRateSensitivity.of(GBP, date(2015, 6, 30), 12d);
+  private static final PointSensitivity CS2 = ZeroRateSensitivity.of(GBP, date(2015, 7, 30), 22d);
+  private static final PointSensitivity CS3 = ZeroRateSensitivity.of(GBP, date(2015, 8, 30), 32d);
+  private static final PointSensitivity CS3B = ZeroRateSensitivity.of(GBP, date(2015, 8, 30), 3d);
+  private static final PointSensitivity CS4 = ZeroRateSensitivity.of(GBP, date(2015, 8, 30), USD, 4d);
+  private static final PointSensitivity IBOR1 = IborRateSensitivity.of(GBP_LIBOR_3M, date(2015, 7, 30), 7d);
+  private static final double TOL = 1e-10;
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    CompactPointSensitivities test = CompactPointSensitivities.empty();
+    assertEquals(test.size(), 0);
+    assertEquals(test.toPointSensitivities(), PointSensitivities.empty());
+    assertEquals(CompactPointSensitivities.of(PointSensitivities.empty()), test);
+  }
+
+  public void test_of_normalizes() {
+    PointSensitivities base = PointSensitivities.of(CS3, IBOR1, CS2, CS4, CS1, CS3B, CS2);
+    CompactPointSensitivities test = CompactPointSensitivities.of(base);
+    assertEquals(test.size(), 5);
+    assertEquals(test.toPointSensitivities(), base.normalized());
+    assertEquals(test.getKey(0), IBOR1);
+    assertEquals(test.getKey(1), CS1);
+    assertEquals(test.getValue(3), 35d);
+  }
+
+  public void test_combinedWith() {
+    CompactPointSensitivities base1 = CompactPointSensitivities.of(ImmutableList.of(CS3, CS1, IBOR1));
+    CompactPointSensitivities base2 = CompactPointSensitivities.of(ImmutableList.of(CS3B, CS2, CS4));
+    CompactPointSensitivities test = base1.combinedWith(base2);
+    PointSensitivities expected = PointSensitivities.of(CS3, CS1, IBOR1, CS3B, CS2, CS4).normalized();
+    assertEquals(test.toPointSensitivities(), expected);
+    assertEquals(base2.combinedWith(base1), test);
+    assertEquals(base1.combinedWith(CompactPointSensitivities.empty()), base1);
+    assertEquals(CompactPointSensitivities.empty().combinedWith(base1), base1);
+  }
+
+  public void test_combined() {
+    List<PointSensitivity> all = new ArrayList<>();
+    List<CompactPointSensitivities> parts = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      List<PointSensitivity> part = new ArrayList<>();
+      for (int j = 0; j < 30; j++) {
+        LocalDate date = date(2015, 1, 1).plusDays((i * 7 + j * 13) % 50);
+        part.add(ZeroRateSensitivity.of(i % 2 == 0 ? GBP : USD, date, i + j));
+      }
+      all.addAll(part);
+      parts.add(CompactPointSensitivities.of(part));
+    }
+    parts.add(CompactPointSensitivities.empty());
+    CompactPointSensitivities test = CompactPointSensitivities.combined(parts);
+    assertTrue(test.toPointSensitivities().equalWithTolerance(PointSensitivities.of(all).normalized(), TOL));
+    assertEquals(CompactPointSensitivities.combined(ImmutableList.of()), CompactPointSensitivities.empty());
+    assertEquals(CompactPointSensitivities.combined(ImmutableList.of(parts.get(0))), parts.get(0));
+  }
+
+  public void test_aggregate() {
+    List<PointSensitivities> trades = new ArrayList<>();
+    List<PointSensitivity> all = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      PointSensitivities trade = PointSensitivities.of(
+          ZeroRateSensitivity.of(GBP, date(2015, 6, 30).plusDays(i % 10), i),
+          IborRateSensitivity.of(GBP_LIBOR_3M, date(2015, 7, 30).plusDays(i % 3), 2d * i));
+      trades.add(trade);
+      all.addAll(trade.getSensitivities());
+    }
+    CompactPointSensitivities test = CompactPointSensitivities.aggregate(trades);
+    assertEquals(test.size(), 13);
+    assertTrue(test.toPointSensitivities().equalWithTolerance(PointSensitivities.of(all).normalized(), TOL));
+  }
+
+  public void test_multipliedBy() {
+    CompactPointSensitivities test = CompactPointSensitivities.of(ImmutableList.of(CS3, CS1)).multipliedBy(2d);
+    assertEquals(test.toPointSensitivities(), PointSensitivities.of(CS1, CS3).multipliedBy(2d));
+  }
+
+  public void test_equalsHashCodeToString() {
+    CompactPointSensitivities test = CompactPointSensitivities.of(ImmutableList.of(CS3, CS1));
+    CompactPointSensitivities test2 = CompactPointSensitivities.of(ImmutableList.of(CS1, CS3));
+    assertEquals(test, test2);
+    assertEquals(test.hashCode(), test2.hashCode());
+    assertTrue(test.toString().contains("CompactPointSensitivities"));
+  }
+
+}
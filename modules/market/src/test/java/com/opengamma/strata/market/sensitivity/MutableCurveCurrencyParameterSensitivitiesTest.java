@@ -0,0 +1,89 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.market.sensitivity;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+
+/**
+ * Test {@link MutableCurveCurrencyParameterSensitivities}.
+ */
+@Test
+public class MutableCurveCurrencyParameterSensitivitiesTest {
+
+  private static final double[] VECTOR_USD1 = new double[] {100, 200, 300, 123};
+  private static final double[] VECTOR_USD2 = new double[] {1000, 250, 321, 123};
+  private static final double[] VECTOR_EUR1 = new double[] {1000, 250, 321, 123, 321};
+  private static final Currency USD = Currency.USD;
+  private static final Currency EUR = Currency.EUR;
+  private static final CurveMetadata METADATA1 = DefaultCurveMetadata.of(CurveName.of("NAME-1"));
+  private static final CurveMetadata METADATA2 = DefaultCurveMetadata.of(CurveName.of("NAME-2"));
+
+  private static final CurveCurrencyParameterSensitivity ENTRY_USD =
+      CurveCurrencyParameterSensitivity.of(METADATA1, USD, VECTOR_USD1);
+  private static final CurveCurrencyParameterSensitivity ENTRY_USD2 =
+      CurveCurrencyParameterSensitivity.of(METADATA1, USD, VECTOR_USD2);
+  private static final CurveCurrencyParameterSensitivity ENTRY_EUR =
+      CurveCurrencyParameterSensitivity.of(METADATA2, EUR, VECTOR_EUR1);
+  private static final CurveCurrencyParameterSensitivity ENTRY_USD_IN_EUR =
+      CurveCurrencyParameterSensitivity.of(METADATA1, EUR, VECTOR_USD2);
+
+  //-------------------------------------------------------------------------
+  public void test_empty() {
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    assertEquals(test.size(), 0);
+    assertEquals(test.build(), CurveCurrencyParameterSensitivities.empty());
+  }
+
+  public void test_add_matchesCombinedWith() {
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    test.add(ENTRY_EUR).add(ENTRY_USD).add(ENTRY_USD_IN_EUR).add(ENTRY_USD2);
+    CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty()
+        .combinedWith(ENTRY_EUR)
+        .combinedWith(ENTRY_USD)
+        .combinedWith(ENTRY_USD_IN_EUR)
+        .combinedWith(ENTRY_USD2);
+    assertEquals(test.size(), 3);
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_add_sensitivities() {
+    CurveCurrencyParameterSensitivities base = CurveCurrencyParameterSensitivities.of(ENTRY_USD, ENTRY_EUR);
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    test.add(base).add(base);
+    assertEquals(test.build(), base.multipliedBy(2d));
+  }
+
+  public void test_add_multiplied() {
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    test.add(METADATA1, USD, VECTOR_USD1, 2.5d).add(METADATA1, USD, VECTOR_USD2, -1d);
+    CurveCurrencyParameterSensitivities expected =
+        CurveCurrencyParameterSensitivities.of(ENTRY_USD.multipliedBy(2.5d)).combinedWith(ENTRY_USD2.multipliedBy(-1d));
+    assertEquals(test.build(), expected);
+  }
+
+  public void test_build_notAffectedByLaterAdd() {
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    test.add(ENTRY_USD);
+    CurveCurrencyParameterSensitivities built = test.build();
+    test.add(ENTRY_USD2);
+    assertEquals(built, CurveCurrencyParameterSensitivities.of(ENTRY_USD));
+  }
+
+  public void test_add_badSize() {
+    MutableCurveCurrencyParameterSensitivities test = new MutableCurveCurrencyParameterSensitivities();
+    test.add(ENTRY_USD);
+    assertThrowsIllegalArg(() -> test.add(METADATA1, USD, new double[] {1d}, 1d));
+  }
+
+}
@@ -79,6 +79,14 @@ public class PointSensitivitiesTest {
     assertEquals(test.normalized().getSensitivities(), ImmutableList.of(CS1, CS2, CS3.withSensitivity(35d)));
   }
 
+  public void test_normalized_mergesMany() {
+    PointSensitivity cs3c = ZeroRateSensitivity.of(GBP, date(2015, 8, 30), 5d);
+    PointSensitivities test = PointSensitivities.of(Lists.newArrayList(CS3, CS2, CS3B, CS1, cs3c, CS2));
+    assertEquals(
+        test.normalized().getSensitivities(),
+        ImmutableList.of(CS1, CS2.withSensitivity(44d), CS3.withSensitivity(40d)));
+  }
+
   public void test_normalized_empty() {
     assertEquals(PointSensitivities.empty().normalized(), PointSensitivities.empty());
   }
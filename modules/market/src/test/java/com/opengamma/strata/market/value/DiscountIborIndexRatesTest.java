@@ -14,11 +14,14 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.basics.market.Perturbation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -27,7 +30,9 @@ import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
@@ -146,6 +151,18 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.rate(DATE_AFTER), expected, 1e-8);
   }
 
+  public void test_rates() {
+    LocalDate[] fixingDates = {DATE_BEFORE, DATE_VAL, DATE_AFTER, date(2016, 6, 6), date(2015, 9, 1)};
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, SERIES, DFCURVE);
+    double[] computed = test.rates(fixingDates);
+    for (int i = 0; i < fixingDates.length; i++) {
+      assertEquals(computed[i], test.rate(fixingDates[i]), 1e-14);
+    }
+    DiscountIborIndexRates testNoFixing = DiscountIborIndexRates.of(GBP_LIBOR_3M, SERIES_MINIMAL, DFCURVE);
+    assertEquals(testNoFixing.rates(new LocalDate[] {DATE_VAL, DATE_AFTER})[0], RATE_VAL);
+    assertThrowsIllegalArg(() -> testNoFixing.rates(new LocalDate[] {DATE_AFTER, DATE_BEFORE}));
+  }
+
   //-------------------------------------------------------------------------
   public void test_ratePointSensitivity_fixing() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, SERIES, DFCURVE);
@@ -210,6 +227,21 @@ public class DiscountIborIndexRatesTest {
     assertEquals(test.curveParameterSensitivity(point).size(), 1);
   }
 
+  public void test_curveParameterSensitivity_list() {
+    DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, SERIES, DFCURVE);
+    List<IborRateSensitivity> points = ImmutableList.of(
+        IborRateSensitivity.of(GBP_LIBOR_3M, DATE_AFTER, GBP, 2d),
+        IborRateSensitivity.of(GBP_LIBOR_3M, date(2020, 6, 4), GBP, 3d),
+        IborRateSensitivity.of(GBP_LIBOR_3M, date(2016, 6, 6), GBP, -1.5d));
+    CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty();
+    for (IborRateSensitivity point : points) {
+      expected = expected.combinedWith(test.curveParameterSensitivity(point));
+    }
+    MutableCurveCurrencyParameterSensitivities computed = new MutableCurveCurrencyParameterSensitivities();
+    test.curveParameterSensitivity(points, computed);
+    assertTrue(computed.build().equalWithTolerance(expected, 1e-12));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     DiscountIborIndexRates test = DiscountIborIndexRates.of(GBP_LIBOR_3M, SERIES, DFCURVE);
@@ -14,11 +14,14 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.basics.market.Perturbation;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
@@ -27,7 +30,9 @@ import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.OvernightRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
@@ -147,6 +152,18 @@ public class DiscountOvernightIndexRatesTest {
     assertEquals(test.rate(DATE_AFTER), expected, 1e-8);
   }
 
+  public void test_rates() {
+    LocalDate[] fixingDates = {DATE_BEFORE, DATE_VAL, DATE_AFTER, date(2016, 6, 6), date(2015, 9, 1)};
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
+    double[] computed = test.rates(fixingDates);
+    for (int i = 0; i < fixingDates.length; i++) {
+      assertEquals(computed[i], test.rate(fixingDates[i]), 1e-14);
+    }
+    DiscountOvernightIndexRates testNoFixing = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES_EMPTY, DFCURVE);
+    assertEquals(testNoFixing.rates(new LocalDate[] {DATE_VAL, DATE_AFTER})[0], testNoFixing.rate(DATE_VAL), 1e-14);
+    assertThrowsIllegalArg(() -> testNoFixing.rates(new LocalDate[] {DATE_AFTER, DATE_BEFORE}));
+  }
+
   //-------------------------------------------------------------------------
   public void test_ratePointSensitivity_fixing() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
@@ -180,6 +197,23 @@ public class DiscountOvernightIndexRatesTest {
     assertThrowsIllegalArg(() -> test.periodRate(DATE_AFTER_END, DATE_AFTER));
   }
 
+  public void test_periodRates() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
+    LocalDate[] startDates = {DATE_VAL, DATE_AFTER, date(2016, 6, 6), date(2015, 9, 1)};
+    LocalDate[] endDates = {DATE_AFTER, DATE_AFTER_END, date(2016, 9, 6), date(2015, 9, 2)};
+    double[] computed = test.periodRates(startDates, endDates);
+    for (int i = 0; i < startDates.length; i++) {
+      assertEquals(computed[i], test.periodRate(startDates[i], endDates[i]), 1e-14);
+    }
+  }
+
+  public void test_periodRates_badDates() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
+    assertThrowsIllegalArg(() -> test.periodRates(new LocalDate[] {DATE_BEFORE}, new LocalDate[] {DATE_VAL}));
+    assertThrowsIllegalArg(() -> test.periodRates(new LocalDate[] {DATE_AFTER_END}, new LocalDate[] {DATE_AFTER}));
+    assertThrowsIllegalArg(() -> test.periodRates(new LocalDate[] {DATE_AFTER}, new LocalDate[0]));
+  }
+
   //-------------------------------------------------------------------------
   public void test_periodRatePointSensitivity() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
@@ -238,6 +272,21 @@ public class DiscountOvernightIndexRatesTest {
     assertEquals(test.curveParameterSensitivity(point).size(), 1);
   }
 
+  public void test_curveParameterSensitivity_list() {
+    DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
+    List<OvernightRateSensitivity> points = ImmutableList.of(
+        OvernightRateSensitivity.of(GBP_SONIA, DATE_AFTER, DATE_AFTER.plusMonths(3), GBP, 2d),
+        OvernightRateSensitivity.of(GBP_SONIA, date(2020, 6, 4), date(2020, 6, 4).plusMonths(3), GBP, 3d),
+        OvernightRateSensitivity.of(GBP_SONIA, date(2016, 6, 6), date(2016, 6, 6).plusMonths(3), GBP, -1.5d));
+    CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty();
+    for (OvernightRateSensitivity point : points) {
+      expected = expected.combinedWith(test.curveParameterSensitivity(point));
+    }
+    MutableCurveCurrencyParameterSensitivities computed = new MutableCurveCurrencyParameterSensitivities();
+    test.curveParameterSensitivity(points, computed);
+    assertTrue(computed.build().equalWithTolerance(expected, 1e-12));
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     DiscountOvernightIndexRates test = DiscountOvernightIndexRates.of(GBP_SONIA, SERIES, DFCURVE);
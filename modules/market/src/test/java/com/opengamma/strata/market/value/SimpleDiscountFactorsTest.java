@@ -13,11 +13,14 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.time.LocalDate;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.basics.market.Perturbation;
 import com.opengamma.strata.market.curve.Curve;
@@ -26,7 +29,9 @@ import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.Curves;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
 
@@ -87,6 +92,29 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.discountFactor(DATE_AFTER), expected);
   }
 
+  public void test_discountFactors() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    LocalDate[] dates = {DATE_VAL, DATE_AFTER, date(2016, 6, 4), date(2030, 6, 4), date(2015, 9, 1)};
+    double[] computed = test.discountFactors(dates);
+    for (int i = 0; i < dates.length; i++) {
+      assertEquals(computed[i], test.discountFactor(dates[i]), TOL);
+    }
+  }
+
+  public void test_zeroRatePointSensitivities() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    LocalDate[] dates = {DATE_VAL, DATE_AFTER, date(2016, 6, 4), date(2030, 6, 4), date(2015, 9, 1)};
+    List<ZeroRateSensitivity> computed = test.zeroRatePointSensitivities(dates);
+    assertEquals(computed.size(), dates.length);
+    for (int i = 0; i < dates.length; i++) {
+      ZeroRateSensitivity expected = test.zeroRatePointSensitivity(dates[i]);
+      assertEquals(computed.get(i).getDate(), expected.getDate());
+      assertEquals(computed.get(i).getCurrency(), expected.getCurrency());
+      assertEquals(computed.get(i).getCurveCurrency(), expected.getCurveCurrency());
+      assertEquals(computed.get(i).getSensitivity(), expected.getSensitivity(), TOL);
+    }
+  }
+
   //-------------------------------------------------------------------------
   public void test_discountFactor_withSpread_continuous() {
     SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
@@ -216,6 +244,21 @@ public class SimpleDiscountFactorsTest {
     assertEquals(test.curveParameterSensitivity(point).size(), 1);
   }
 
+  public void test_curveParameterSensitivity_list() {
+    SimpleDiscountFactors test = SimpleDiscountFactors.of(GBP, DATE_VAL, CURVE);
+    List<ZeroRateSensitivity> points = ImmutableList.of(
+        ZeroRateSensitivity.of(GBP, DATE_AFTER, 2d),
+        ZeroRateSensitivity.of(GBP, date(2020, 6, 4), USD, 3d),
+        ZeroRateSensitivity.of(GBP, date(2016, 6, 4), -1.5d));
+    CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty();
+    for (ZeroRateSensitivity point : points) {
+      expected = expected.combinedWith(test.curveParameterSensitivity(point));
+    }
+    MutableCurveCurrencyParameterSensitivities computed = new MutableCurveCurrencyParameterSensitivities();
+    test.curveParameterSensitivity(points, computed);
+    assertTrue(computed.build().equalWithTolerance(expected, TOL));
+  }
+
   //-------------------------------------------------------------------------
   public void test_applyPerturbation() {
     Perturbation<Curve> perturbation = curve -> CURVE2;
@@ -9,12 +9,13 @@ import com.opengamma.strata.basics.interpolator.CurveExtrapolator;
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.Messages;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 
 /**
  *
  */
-public class CombinedInterpolatorExtrapolator extends Interpolator1D {
+public class CombinedInterpolatorExtrapolator extends Interpolator1D implements PrimitiveInterpolator1D {
 
   private static final long serialVersionUID = 1L;
   private final Interpolator1D _interpolator;
@@ -171,6 +172,122 @@ public class CombinedInterpolatorExtrapolator extends Interpolator1D {
     return _interpolator.getNodeSensitivitiesForValue(data, value);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the interpolated or extrapolated value at the specified input value without boxing.
+   * <p>
+   * The primitive methods of the interpolator and extrapolators are used if they implement
+   * {@link PrimitiveInterpolator1D} and {@link PrimitiveExtrapolator1D}, otherwise the boxed methods are used.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @return the interpolated or extrapolated value
+   */
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    if (value < xData[0]) {
+      return extrapolate(_leftExtrapolator, data, value);
+    } else if (value > xData[xData.length - 1]) {
+      return extrapolate(_rightExtrapolator, data, value);
+    }
+    if (_interpolator instanceof PrimitiveInterpolator1D) {
+      return ((PrimitiveInterpolator1D) _interpolator).interpolate(data, value, cursor);
+    }
+    return _interpolator.interpolate(data, value);
+  }
+
+  /**
+   * Returns the first derivative at the specified input value without boxing.
+   * <p>
+   * The primitive methods of the interpolator and extrapolators are used if they implement
+   * {@link PrimitiveInterpolator1D} and {@link PrimitiveExtrapolator1D}, otherwise the boxed methods are used.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @return the first derivative
+   */
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    if (value < xData[0]) {
+      return extrapolateFirstDerivative(_leftExtrapolator, data, value);
+    } else if (value > xData[xData.length - 1]) {
+      return extrapolateFirstDerivative(_rightExtrapolator, data, value);
+    }
+    if (_interpolator instanceof PrimitiveInterpolator1D) {
+      return ((PrimitiveInterpolator1D) _interpolator).firstDerivative(data, value, cursor);
+    }
+    return _interpolator.firstDerivative(data, value);
+  }
+
+  /**
+   * Calculates the sensitivity of the value at the specified input value to each node without boxing.
+   * <p>
+   * The primitive methods of the interpolator and extrapolators are used if they implement
+   * {@link PrimitiveInterpolator1D} and {@link PrimitiveExtrapolator1D}, otherwise the boxed methods are used
+   * and the sensitivities are copied into the result array.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @param result  the array that receives the sensitivity to each node
+   */
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    if (value < xData[0]) {
+      extrapolateNodeSensitivities(_leftExtrapolator, data, value, result);
+    } else if (value > xData[xData.length - 1]) {
+      extrapolateNodeSensitivities(_rightExtrapolator, data, value, result);
+    } else if (_interpolator instanceof PrimitiveInterpolator1D) {
+      ((PrimitiveInterpolator1D) _interpolator).getNodeSensitivitiesForValue(data, value, cursor, result);
+    } else {
+      double[] sensitivities = _interpolator.getNodeSensitivitiesForValue(data, value);
+      System.arraycopy(sensitivities, 0, result, 0, result.length);
+    }
+  }
+
+  // extrapolates using the primitive methods if possible
+  private double extrapolate(Extrapolator1D extrapolator, Interpolator1DDataBundle data, double value) {
+    if (extrapolator instanceof PrimitiveExtrapolator1D && _interpolator instanceof PrimitiveInterpolator1D) {
+      return ((PrimitiveExtrapolator1D) extrapolator).extrapolate(data, value, (PrimitiveInterpolator1D) _interpolator);
+    }
+    return extrapolator.extrapolate(data, value, _interpolator);
+  }
+
+  // calculates the first derivative of the extrapolated function using the primitive methods if possible
+  private double extrapolateFirstDerivative(Extrapolator1D extrapolator, Interpolator1DDataBundle data, double value) {
+    if (extrapolator instanceof PrimitiveExtrapolator1D && _interpolator instanceof PrimitiveInterpolator1D) {
+      return ((PrimitiveExtrapolator1D) extrapolator).firstDerivative(
+          data, value, (PrimitiveInterpolator1D) _interpolator);
+    }
+    return extrapolator.firstDerivative(data, value, _interpolator);
+  }
+
+  // calculates the node sensitivities of the extrapolated value using the primitive methods if possible
+  private void extrapolateNodeSensitivities(
+      Extrapolator1D extrapolator,
+      Interpolator1DDataBundle data,
+      double value,
+      double[] result) {
+
+    if (extrapolator instanceof PrimitiveExtrapolator1D && _interpolator instanceof PrimitiveInterpolator1D) {
+      ((PrimitiveExtrapolator1D) extrapolator).getNodeSensitivitiesForValue(
+          data, value, (PrimitiveInterpolator1D) _interpolator, result);
+    } else {
+      double[] sensitivities = extrapolator.getNodeSensitivitiesForValue(data, value, _interpolator);
+      System.arraycopy(sensitivities, 0, result, 0, result.length);
+    }
+  }
+
   @Override
   public String toString() {
     StringBuilder sb = new StringBuilder("Interpolator[interpolator=");
@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -20,6 +21,7 @@ import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.impl.function.RealPolynomialFunction1D;
 import com.opengamma.strata.math.impl.interpolation.data.ArrayInterpolator1DDataBundle;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDoubleQuadraticDataBundle;
 
@@ -29,7 +31,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDoubleQua
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class DoubleQuadraticInterpolator1D
     extends Interpolator1D
-    implements CurveInterpolator, ImmutableBean, Serializable {
+    implements PrimitiveInterpolator1D, CurveInterpolator, ImmutableBean, Serializable {
 
   private static final WeightingFunction DEFAULT_WEIGHT_FUNCTION = WeightingFunctions.LINEAR;
 
@@ -51,96 +53,99 @@ public final class DoubleQuadraticInterpolator1D
   public Double interpolate(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
+    return interpolate(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
     ArgChecker.isTrue(data instanceof Interpolator1DDoubleQuadraticDataBundle, "data bundle is of wrong type");
     Interpolator1DDoubleQuadraticDataBundle quadraticData = (Interpolator1DDoubleQuadraticDataBundle) data;
-    int low = data.getLowerBoundIndex(value);
-    int high = low + 1;
-    int n = data.size() - 1;
     double[] xData = data.getKeys();
     double[] yData = data.getValues();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    int high = low + 1;
+    int n = xData.length - 1;
     if (low == n) {
       return yData[n];
     } else if (low == 0) {
-      RealPolynomialFunction1D quadratic = quadraticData.getQuadratic(0);
-      double x = value - xData[1];
-      return quadratic.evaluate(x);
+      return evaluate(quadraticData.getQuadratic(0), value - xData[1]);
     } else if (high == n) {
-      RealPolynomialFunction1D quadratic = quadraticData.getQuadratic(n - 2);
-      double x = value - xData[n - 1];
-      return quadratic.evaluate(x);
+      return evaluate(quadraticData.getQuadratic(n - 2), value - xData[n - 1]);
     }
-    RealPolynomialFunction1D quadratic1 = quadraticData.getQuadratic(low - 1);
-    RealPolynomialFunction1D quadratic2 = quadraticData.getQuadratic(high - 1);
     double w = weightFunction.getWeight((xData[high] - value) / (xData[high] - xData[low]));
-    return w * quadratic1.evaluate(value - xData[low]) + (1 - w) * quadratic2.evaluate(value - xData[high]);
+    return w * evaluate(quadraticData.getQuadratic(low - 1), value - xData[low]) +
+        (1 - w) * evaluate(quadraticData.getQuadratic(high - 1), value - xData[high]);
   }
 
   @Override
   public double firstDerivative(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
+    return firstDerivative(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
     ArgChecker.isTrue(data instanceof Interpolator1DDoubleQuadraticDataBundle, "data bundle is of wrong type");
     Interpolator1DDoubleQuadraticDataBundle quadraticData = (Interpolator1DDoubleQuadraticDataBundle) data;
-    int low = data.getLowerBoundIndex(value);
-    int high = low + 1;
-    int n = data.size() - 1;
     double[] xData = data.getKeys();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    int high = low + 1;
+    int n = xData.length - 1;
 
     if (n == 0) {
       return 0.0; // Special case of single knot
     }
     if (low == 0 || n == 1) { //second case handles two knots 
-      RealPolynomialFunction1D quadraticFirstDerivative = quadraticData.getQuadraticFirstDerivative(0);
-      double x = value - xData[1];
-      return quadraticFirstDerivative.evaluate(x);
+      return evaluate(quadraticData.getQuadraticFirstDerivative(0), value - xData[1]);
     } else if (high >= n) {
-      RealPolynomialFunction1D quadraticFirstDerivative = quadraticData.getQuadraticFirstDerivative(n - 2);
-      double x = value - xData[n - 1];
-      return quadraticFirstDerivative.evaluate(x);
+      return evaluate(quadraticData.getQuadraticFirstDerivative(n - 2), value - xData[n - 1]);
     }
     RealPolynomialFunction1D quadratic1 = quadraticData.getQuadratic(low - 1);
     RealPolynomialFunction1D quadratic2 = quadraticData.getQuadratic(high - 1);
     RealPolynomialFunction1D quadratic1FirstDerivative = quadraticData.getQuadraticFirstDerivative(low - 1);
     RealPolynomialFunction1D quadratic2FirstDerivative = quadraticData.getQuadraticFirstDerivative(high - 1);
     double w = weightFunction.getWeight((xData[high] - value) / (xData[high] - xData[low]));
-    return w * quadratic1FirstDerivative.evaluate(value - xData[low]) + (1 - w) * quadratic2FirstDerivative.evaluate(value - xData[high]) +
-        (quadratic2.evaluate(value - xData[high]) - quadratic1.evaluate(value - xData[low])) / (xData[high] - xData[low]);
+    return w * evaluate(quadratic1FirstDerivative, value - xData[low]) +
+        (1 - w) * evaluate(quadratic2FirstDerivative, value - xData[high]) +
+        (evaluate(quadratic2, value - xData[high]) - evaluate(quadratic1, value - xData[low])) /
+        (xData[high] - xData[low]);
   }
 
   @Override
   public double[] getNodeSensitivitiesForValue(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(data, "data");
+    double[] result = new double[data.size()];
+    getNodeSensitivitiesForValue(data, value, null, result);
+    return result;
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
     ArgChecker.isTrue(data instanceof Interpolator1DDoubleQuadraticDataBundle, "data bundle is of wrong type");
-    Interpolator1DDoubleQuadraticDataBundle quadraticData = (Interpolator1DDoubleQuadraticDataBundle) data;
-    int low = quadraticData.getLowerBoundIndex(value);
-    int high = low + 1;
-    int n = quadraticData.size();
     double[] xData = data.getKeys();
-    double[] result = new double[n];
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    int high = low + 1;
+    int n = xData.length;
+    Arrays.fill(result, 0d);
     if (low == 0) {
-      double[] temp = getQuadraticSensitivities(xData, value, 1);
-      result[0] = temp[0];
-      result[1] = temp[1];
-      result[2] = temp[2];
-      return result;
+      addQuadraticSensitivities(xData, value, 1, 1d, result);
+      return;
     } else if (high == n - 1) {
-      double[] temp = getQuadraticSensitivities(xData, value, n - 2);
-      result[n - 3] = temp[0];
-      result[n - 2] = temp[1];
-      result[n - 1] = temp[2];
-      return result;
+      addQuadraticSensitivities(xData, value, n - 2, 1d, result);
+      return;
     } else if (high == n) {
       result[n - 1] = 1;
-      return result;
+      return;
     }
-    double[] temp1 = getQuadraticSensitivities(xData, value, low);
-    double[] temp2 = getQuadraticSensitivities(xData, value, high);
     double w = weightFunction.getWeight((xData[high] - value) / (xData[high] - xData[low]));
-    result[low - 1] = w * temp1[0];
-    result[low] = w * temp1[1] + (1 - w) * temp2[0];
-    result[high] = w * temp1[2] + (1 - w) * temp2[1];
-    result[high + 1] = (1 - w) * temp2[2];
-    return result;
+    addQuadraticSensitivities(xData, value, low, w, result);
+    addQuadraticSensitivities(xData, value, high, 1 - w, result);
   }
 
   @Override
@@ -153,15 +158,25 @@ public final class DoubleQuadraticInterpolator1D
     return new Interpolator1DDoubleQuadraticDataBundle(new ArrayInterpolator1DDataBundle(x, y, true));
   }
 
-  private double[] getQuadraticSensitivities(double[] xData, double x, int i) {
-    double[] res = new double[3];
+  // evaluates the polynomial without boxing, equivalent to RealPolynomialFunction1D.evaluate(Double)
+  private static double evaluate(RealPolynomialFunction1D polynomial, double x) {
+    double[] coefficients = polynomial.getCoefficients();
+    int n = coefficients.length;
+    double y = coefficients[n - 1];
+    for (int i = n - 2; i >= 0; i--) {
+      y = x * y + coefficients[i];
+    }
+    return y;
+  }
+
+  // adds the weighted sensitivities of the quadratic centred on node i to the nodes i - 1, i and i + 1
+  private void addQuadraticSensitivities(double[] xData, double x, int i, double weight, double[] result) {
     double deltaX = x - xData[i];
     double h1 = xData[i] - xData[i - 1];
     double h2 = xData[i + 1] - xData[i];
-    res[0] = deltaX * (deltaX - h2) / h1 / (h1 + h2);
-    res[1] = 1 + deltaX * (h2 - h1 - deltaX) / h1 / h2;
-    res[2] = deltaX * (h1 + deltaX) / (h1 + h2) / h2;
-    return res;
+    result[i - 1] += weight * (deltaX * (deltaX - h2) / h1 / (h1 + h2));
+    result[i] += weight * (1 + deltaX * (h2 - h1 - deltaX) / h1 / h2);
+    result[i + 1] += weight * (deltaX * (h1 + deltaX) / (h1 + h2) / h2);
   }
 
   @Override
@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -24,7 +25,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
  */
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class FlatExtrapolator1D
-    implements CurveExtrapolator, Extrapolator1D, ImmutableBean, Serializable {
+    implements CurveExtrapolator, Extrapolator1D, PrimitiveExtrapolator1D, ImmutableBean, Serializable {
 
   /** The extrapolator name. */
   public static final String NAME = "Flat";
@@ -75,6 +76,49 @@ public final class FlatExtrapolator1D
     throw new IllegalArgumentException("Value " + value + " was within data range");
   }
 
+  @Override
+  public double extrapolate(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int n = xData.length;
+    if (value < xData[0]) {
+      return yData[0];
+    } else if (value > xData[n - 1]) {
+      return yData[n - 1];
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    if (value < xData[0] || value > xData[xData.length - 1]) {
+      return 0.;
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      PrimitiveInterpolator1D interpolator,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    if (value < xData[0]) {
+      Arrays.fill(result, 0d);
+      result[0] = 1;
+      return;
+    } else if (value > xData[n - 1]) {
+      Arrays.fill(result, 0d);
+      result[n - 1] = 1;
+      return;
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
   @Override
   public String getName() {
     return NAME;
@@ -25,7 +25,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
  */
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class LinearExtrapolator1D
-    implements CurveExtrapolator, Extrapolator1D, ImmutableBean, Serializable {
+    implements CurveExtrapolator, Extrapolator1D, PrimitiveExtrapolator1D, ImmutableBean, Serializable {
 
   /** The extrapolator name. */
   public static final String NAME = "Linear";
@@ -88,6 +88,77 @@ public final class LinearExtrapolator1D
     throw new IllegalArgumentException("Value " + value + " was within data range");
   }
 
+  @Override
+  public double extrapolate(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int n = xData.length;
+    if (value < xData[0]) {
+      return yData[0] + (value - xData[0]) * leftSlope(data, interpolator);
+    } else if (value > xData[n - 1]) {
+      return yData[n - 1] + (value - xData[n - 1]) * rightSlope(data, interpolator);
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    if (value < xData[0]) {
+      return leftSlope(data, interpolator);
+    } else if (value > xData[xData.length - 1]) {
+      return rightSlope(data, interpolator);
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      PrimitiveInterpolator1D interpolator,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    double eps = this.eps * (xData[n - 1] - xData[0]);
+    if (value < xData[0]) {
+      double x = xData[0];
+      interpolator.getNodeSensitivitiesForValue(data, x + eps, null, result);
+      for (int i = 1; i < n; i++) {
+        result[i] = result[i] * (value - x) / eps;
+      }
+      result[0] = 1 + (result[0] - 1) * (value - x) / eps;
+      return;
+    } else if (value > xData[n - 1]) {
+      double x = xData[n - 1];
+      interpolator.getNodeSensitivitiesForValue(data, x - eps, null, result);
+      for (int i = 0; i < n - 1; i++) {
+        result[i] = -result[i] * (value - x) / eps;
+      }
+      result[n - 1] = 1 + (1 - result[n - 1]) * (value - x) / eps;
+      return;
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  // the slope at the first node, by finite difference
+  private double leftSlope(Interpolator1DDataBundle data, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    double x = xData[0];
+    double eps = this.eps * (xData[xData.length - 1] - x);
+    return (interpolator.interpolate(data, x + eps, null) - data.getValues()[0]) / eps;
+  }
+
+  // the slope at the last node, by finite difference
+  private double rightSlope(Interpolator1DDataBundle data, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    double x = xData[n - 1];
+    double eps = this.eps * (x - xData[0]);
+    return (data.getValues()[n - 1] - interpolator.interpolate(data, x - eps, null)) / eps;
+  }
+
   private Double leftExtrapolate(Interpolator1DDataBundle data, Double value, Interpolator1D interpolator) {
     ArgChecker.notNull(data, "data");
     ArgChecker.notNull(value, "value");
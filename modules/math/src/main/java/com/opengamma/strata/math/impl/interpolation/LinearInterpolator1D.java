@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -17,9 +18,8 @@ import org.joda.beans.impl.light.LightMetaBean;
 
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.math.impl.MathException;
 import com.opengamma.strata.math.impl.interpolation.data.ArrayInterpolator1DDataBundle;
-import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundedValues;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 
 /**
@@ -32,7 +32,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class LinearInterpolator1D
     extends Interpolator1D
-    implements CurveInterpolator, ImmutableBean, Serializable {
+    implements PrimitiveInterpolator1D, CurveInterpolator, ImmutableBean, Serializable {
 
   /** The name of the interpolator. */
   private static final String NAME = "Linear";
@@ -42,14 +42,21 @@ public final class LinearInterpolator1D
   public Double interpolate(Interpolator1DDataBundle data, Double value) {
     JodaBeanUtils.notNull(value, "value");
     JodaBeanUtils.notNull(data, "data");
-    InterpolationBoundedValues boundedValues = data.getBoundedValues(value);
-    double x1 = boundedValues.getLowerBoundKey();
-    double y1 = boundedValues.getLowerBoundValue();
-    if (data.getLowerBoundIndex(value) == data.size() - 1) {
+    return interpolate(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    double x1 = xData[low];
+    double y1 = yData[low];
+    if (low == xData.length - 1) {
       return y1;
     }
-    double x2 = boundedValues.getHigherBoundKey();
-    double y2 = boundedValues.getHigherBoundValue();
+    double x2 = xData[low + 1];
+    double y2 = yData[low + 1];
     return y1 + (value - x1) / (x2 - x1) * (y2 - y1);
   }
 
@@ -57,42 +64,49 @@ public final class LinearInterpolator1D
   public double firstDerivative(Interpolator1DDataBundle data, Double value) {
     JodaBeanUtils.notNull(value, "value");
     JodaBeanUtils.notNull(data, "data");
-    InterpolationBoundedValues boundedValues = data.getBoundedValues(value);
-    double x1 = boundedValues.getLowerBoundKey();
-    double y1 = boundedValues.getLowerBoundValue();
-    if (data.getLowerBoundIndex(value) == data.size() - 1) {
-      if (value > data.lastKey()) {
-        throw new MathException("Value of " + value + " after last key. Use exstrapolator");
-      }
-      double[] x = data.getKeys();
-      double[] y = data.getValues();
-      int n = x.length;
-      return n == 1 ? 0.0 : (y[n - 1] - y[n - 2]) / (x[n - 1] - x[n - 2]);
+    return firstDerivative(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int n = xData.length;
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    if (low == n - 1) {
+      return n == 1 ? 0.0 : (yData[n - 1] - yData[n - 2]) / (xData[n - 1] - xData[n - 2]);
     }
-    double x2 = boundedValues.getHigherBoundKey();
-    double y2 = boundedValues.getHigherBoundValue();
-    return (y2 - y1) / (x2 - x1);
+    return (yData[low + 1] - yData[low]) / (xData[low + 1] - xData[low]);
   }
 
   @Override
   public double[] getNodeSensitivitiesForValue(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(data, "data");
-    int n = data.size();
-    double[] result = new double[n];
-    InterpolationBoundedValues boundedValues = data.getBoundedValues(value);
-    if (boundedValues.getHigherBoundKey() == null) {
+    double[] result = new double[data.size()];
+    getNodeSensitivitiesForValue(data, value, null, result);
+    return result;
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    Arrays.fill(result, 0d);
+    if (low == n - 1) {
       result[n - 1] = 1.0;
-      return result;
+      return;
     }
-    int index = data.getLowerBoundIndex(value);
-    double x1 = boundedValues.getLowerBoundKey();
-    double x2 = boundedValues.getHigherBoundKey();
-    double dx = x2 - x1;
-    double a = (x2 - value) / dx;
-    double b = 1 - a;
-    result[index] = a;
-    result[index + 1] = b;
-    return result;
+    double x1 = xData[low];
+    double x2 = xData[low + 1];
+    double a = (x2 - value) / (x2 - x1);
+    result[low] = a;
+    result[low + 1] = 1 - a;
   }
 
   @Override
@@ -28,7 +28,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
  */
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class LogLinearExtrapolator1D
-    implements CurveExtrapolator, Extrapolator1D, ImmutableBean, Serializable {
+    implements CurveExtrapolator, Extrapolator1D, PrimitiveExtrapolator1D, ImmutableBean, Serializable {
 
   /** The extrapolator name. */
   public static final String NAME = "LogLinear";
@@ -87,6 +87,87 @@ public final class LogLinearExtrapolator1D
     throw new IllegalArgumentException("Value " + value + " was within data range");
   }
 
+  @Override
+  public double extrapolate(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    if (value < xData[0]) {
+      return extrapolate(data, value, 0, interpolator);
+    } else if (value > xData[n - 1]) {
+      return extrapolate(data, value, n - 1, interpolator);
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator) {
+    double[] xData = data.getKeys();
+    int n = xData.length;
+    if (value < xData[0]) {
+      return logSlope(data, 0, interpolator) * extrapolate(data, value, 0, interpolator);
+    } else if (value > xData[n - 1]) {
+      return logSlope(data, n - 1, interpolator) * extrapolate(data, value, n - 1, interpolator);
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      PrimitiveInterpolator1D interpolator,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int n = xData.length;
+    double eps = this.eps * (xData[n - 1] - xData[0]);
+    if (value < xData[0]) {
+      double x = xData[0];
+      double resValueInterpolator = interpolator.interpolate(data, x + eps, null);
+      double resValueExtrapolator = extrapolate(data, value, 0, interpolator);
+      interpolator.getNodeSensitivitiesForValue(data, x + eps, null, result);
+      double factor1 = (value - x) / eps;
+      double factor2 = factor1 * resValueExtrapolator / resValueInterpolator;
+      for (int i = 1; i < n; i++) {
+        result[i] *= factor2;
+      }
+      result[0] = result[0] * factor2 + (1. - factor1) * resValueExtrapolator / yData[0];
+      return;
+    } else if (value > xData[n - 1]) {
+      double x = xData[n - 1];
+      double resValueInterpolator = interpolator.interpolate(data, x - eps, null);
+      double resValueExtrapolator = extrapolate(data, value, n - 1, interpolator);
+      interpolator.getNodeSensitivitiesForValue(data, x - eps, null, result);
+      double factor1 = (value - x) / eps;
+      double factor2 = factor1 * resValueExtrapolator / resValueInterpolator;
+      for (int i = 0; i < n - 1; i++) {
+        result[i] *= -factor2;
+      }
+      result[n - 1] = (1. + factor1) * resValueExtrapolator / yData[n - 1] - result[n - 1] * factor2;
+      return;
+    }
+    throw new IllegalArgumentException("Value " + value + " was within data range");
+  }
+
+  // extrapolates from the end node with the specified index
+  private double extrapolate(
+      Interpolator1DDataBundle data,
+      double value,
+      int nodeIndex,
+      PrimitiveInterpolator1D interpolator) {
+
+    double x = data.getKeys()[nodeIndex];
+    double y = Math.log(data.getValues()[nodeIndex]);
+    return Math.exp(y + (value - x) * logSlope(data, nodeIndex, interpolator));
+  }
+
+  // the slope of the logarithm of the interpolated function at the end node with the specified index
+  private double logSlope(Interpolator1DDataBundle data, int nodeIndex, PrimitiveInterpolator1D interpolator) {
+    double x = data.getKeys()[nodeIndex];
+    return interpolator.firstDerivative(data, x, null) / interpolator.interpolate(data, x, null);
+  }
+
   private Double leftExtrapolate(Interpolator1DDataBundle data, Double value, Interpolator1D interpolator) {
     ArgChecker.notNull(data, "data");
     ArgChecker.notNull(value, "value");
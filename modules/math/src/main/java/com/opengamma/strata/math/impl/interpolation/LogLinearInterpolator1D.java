@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -17,7 +18,7 @@ import org.joda.beans.impl.light.LightMetaBean;
 
 import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.math.impl.interpolation.data.ArrayInterpolator1DDataBundle;
-import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundedValues;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 
 /**
@@ -33,7 +34,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class LogLinearInterpolator1D
     extends Interpolator1D
-    implements CurveInterpolator, ImmutableBean, Serializable {
+    implements PrimitiveInterpolator1D, CurveInterpolator, ImmutableBean, Serializable {
 
   /** The name of the interpolator. */
   private static final String NAME = "LogLinear";
@@ -43,14 +44,21 @@ public final class LogLinearInterpolator1D
   public Double interpolate(Interpolator1DDataBundle data, Double value) {
     JodaBeanUtils.notNull(value, "value");
     JodaBeanUtils.notNull(data, "data");
-    InterpolationBoundedValues boundedValues = data.getBoundedValues(value);
-    Double x1 = boundedValues.getLowerBoundKey();
-    Double y1 = boundedValues.getLowerBoundValue();
-    if (data.getLowerBoundIndex(value) == data.size() - 1) {
+    return interpolate(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    double x1 = xData[low];
+    double y1 = yData[low];
+    if (low == xData.length - 1) {
       return y1;
     }
-    Double x2 = boundedValues.getHigherBoundKey();
-    Double y2 = boundedValues.getHigherBoundValue();
+    double x2 = xData[low + 1];
+    double y2 = yData[low + 1];
     return Math.pow(y2 / y1, (value - x1) / (x2 - x1)) * y1;
   }
 
@@ -58,14 +66,21 @@ public final class LogLinearInterpolator1D
   public double firstDerivative(Interpolator1DDataBundle data, Double value) {
     JodaBeanUtils.notNull(value, "value");
     JodaBeanUtils.notNull(data, "data");
-    InterpolationBoundedValues boundedValues = data.getBoundedValues(value);
-    Double x1 = boundedValues.getLowerBoundKey();
-    Double y1 = boundedValues.getLowerBoundValue();
-    if (data.getLowerBoundIndex(value) == data.size() - 1) {
+    return firstDerivative(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    if (low == xData.length - 1) {
       return 0.;
     }
-    Double x2 = boundedValues.getHigherBoundKey();
-    Double y2 = boundedValues.getHigherBoundValue();
+    double x1 = xData[low];
+    double y1 = yData[low];
+    double x2 = xData[low + 1];
+    double y2 = yData[low + 1];
     return Math.pow(y2 / y1, (value - x1) / (x2 - x1)) * y1 * Math.log(y2 / y1) / (x2 - x1);
   }
 
@@ -81,7 +96,36 @@ public final class LogLinearInterpolator1D
 
   @Override
   public double[] getNodeSensitivitiesForValue(Interpolator1DDataBundle data, Double value) {
-    return getFiniteDifferenceSensitivities(data, value);
+    JodaBeanUtils.notNull(data, "data");
+    double[] result = new double[data.size()];
+    getNodeSensitivitiesForValue(data, value, null, result);
+    return result;
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
+    double[] xData = data.getKeys();
+    double[] yData = data.getValues();
+    int n = xData.length;
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    Arrays.fill(result, 0d);
+    if (low == n - 1) {
+      result[n - 1] = 1.0;
+      return;
+    }
+    // y = y1^(1-t) * y2^t, so dy/dy1 = (1-t) * y / y1 and dy/dy2 = t * y / y2
+    double x1 = xData[low];
+    double y1 = yData[low];
+    double y2 = yData[low + 1];
+    double t = (value - x1) / (xData[low + 1] - x1);
+    double y = Math.pow(y2 / y1, t) * y1;
+    result[low] = (1 - t) * y / y1;
+    result[low + 1] = t * y / y2;
   }
 
   @Override
@@ -6,6 +6,7 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.joda.beans.BeanDefinition;
@@ -20,6 +21,7 @@ import com.opengamma.strata.basics.interpolator.CurveInterpolator;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.impl.MathException;
 import com.opengamma.strata.math.impl.interpolation.data.ArrayInterpolator1DDataBundle;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DCubicSplineDataBundle;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 
@@ -29,7 +31,7 @@ import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundl
 @BeanDefinition(style = "light", constructorScope = "public")
 public final class NaturalCubicSplineInterpolator1D
     extends Interpolator1D
-    implements CurveInterpolator, ImmutableBean, Serializable {
+    implements PrimitiveInterpolator1D, CurveInterpolator, ImmutableBean, Serializable {
 
   /** The name of the interpolator. */
   private static final String NAME = "NaturalCubicSpline";
@@ -49,14 +51,19 @@ public final class NaturalCubicSplineInterpolator1D
   public Double interpolate(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
+    return interpolate(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
     ArgChecker.isTrue(data instanceof Interpolator1DCubicSplineDataBundle);
     Interpolator1DCubicSplineDataBundle splineData = (Interpolator1DCubicSplineDataBundle) data;
-    int low = data.getLowerBoundIndex(value);
-    int high = low + 1;
-    int n = data.size() - 1;
     double[] xData = data.getKeys();
     double[] yData = data.getValues();
-    if (data.getLowerBoundIndex(value) == n) {
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    int high = low + 1;
+    int n = xData.length - 1;
+    if (low == n) {
       return yData[n];
     }
     double delta = xData[high] - xData[low];
@@ -73,13 +80,18 @@ public final class NaturalCubicSplineInterpolator1D
   public double firstDerivative(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
+    return firstDerivative(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
     ArgChecker.isTrue(data instanceof Interpolator1DCubicSplineDataBundle);
     Interpolator1DCubicSplineDataBundle splineData = (Interpolator1DCubicSplineDataBundle) data;
-    int low = data.getLowerBoundIndex(value);
-    int high = low + 1;
-    int n = data.size() - 1;
     double[] xData = data.getKeys();
     double[] yData = data.getValues();
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    int high = low + 1;
+    int n = xData.length - 1;
     if (low == n) {
       low = n - 1;
       high = n;
@@ -97,16 +109,28 @@ public final class NaturalCubicSplineInterpolator1D
   @Override
   public double[] getNodeSensitivitiesForValue(Interpolator1DDataBundle data, Double value) {
     ArgChecker.notNull(data, "data");
+    double[] result = new double[data.size()];
+    getNodeSensitivitiesForValue(data, value, null, result);
+    return result;
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
     ArgChecker.isTrue(data instanceof Interpolator1DCubicSplineDataBundle);
     Interpolator1DCubicSplineDataBundle cubicData = (Interpolator1DCubicSplineDataBundle) data;
-    int n = cubicData.size();
-    double[] result = new double[n];
-    if (cubicData.getLowerBoundIndex(value) == n - 1) {
+    double[] xData = cubicData.getKeys();
+    int n = xData.length;
+    int low = InterpolationBoundsCursor.lowerBoundIndex(xData, value, cursor);
+    if (low == n - 1) {
+      Arrays.fill(result, 0d);
       result[n - 1] = 1.0;
-      return result;
+      return;
     }
-    double[] xData = cubicData.getKeys();
-    int low = cubicData.getLowerBoundIndex(value);
     int high = low + 1;
     double delta = xData[high] - xData[low];
     double a = (xData[high] - value) / delta;
@@ -119,7 +143,6 @@ public final class NaturalCubicSplineInterpolator1D
     }
     result[low] += a;
     result[high] += b;
-    return result;
   }
 
   @Override
@@ -6,47 +6,109 @@
 package com.opengamma.strata.math.impl.interpolation;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.math.impl.function.PiecewisePolynomialFunction1D;
-import com.opengamma.strata.math.impl.function.PiecewisePolynomialWithSensitivityFunction1D;
 import com.opengamma.strata.math.impl.interpolation.data.ArrayInterpolator1DDataBundle;
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
 import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DPiecewisePoynomialDataBundle;
-import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
 
 /**
  * Piecewise Cubic Hermite Interpolating Polynomial (PCHIP)
  */
-public class PCHIPInterpolator1D extends Interpolator1D {
+public class PCHIPInterpolator1D extends Interpolator1D implements PrimitiveInterpolator1D {
 
   /** Serialization version */
   private static final long serialVersionUID = 1L;
 
-  // TODO have options on method
-  private static final PiecewisePolynomialFunction1D FUNC = new PiecewisePolynomialWithSensitivityFunction1D();
-
   @Override
   public Double interpolate(final Interpolator1DDataBundle data, final Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
-    ArgChecker.isTrue(data instanceof Interpolator1DPiecewisePoynomialDataBundle);
-    final Interpolator1DPiecewisePoynomialDataBundle polyData = (Interpolator1DPiecewisePoynomialDataBundle) data;
-    final DoubleMatrix1D res = FUNC.evaluate(polyData.getPiecewisePolynomialResultsWithSensitivity(), value);
-    return res.getEntry(0);
+    return interpolate(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    PiecewisePolynomialResultsWithSensitivity poly = polynomial(data);
+    double[] knots = poly.getKnots().getData();
+    int interval = interval(knots, value, cursor);
+    double[] coefs = poly.getCoefMatrix().getData()[interval];
+    double s = value - knots[interval];
+    double res = coefs[0];
+    for (int i = 1; i < coefs.length; i++) {
+      res = res * s + coefs[i];
+    }
+    return res;
   }
 
   @Override
   public double firstDerivative(final Interpolator1DDataBundle data, final Double value) {
     ArgChecker.notNull(value, "value");
     ArgChecker.notNull(data, "data bundle");
-    ArgChecker.isTrue(data instanceof Interpolator1DPiecewisePoynomialDataBundle);
-    final Interpolator1DPiecewisePoynomialDataBundle polyData = (Interpolator1DPiecewisePoynomialDataBundle) data;
-    final DoubleMatrix1D res = FUNC.differentiate(polyData.getPiecewisePolynomialResultsWithSensitivity(), value);
-    return res.getEntry(0);
+    return firstDerivative(data, value.doubleValue(), null);
+  }
+
+  @Override
+  public double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor) {
+    PiecewisePolynomialResultsWithSensitivity poly = polynomial(data);
+    double[] knots = poly.getKnots().getData();
+    int interval = interval(knots, value, cursor);
+    double[] coefs = poly.getCoefMatrix().getData()[interval];
+    double s = value - knots[interval];
+    double res = coefs[0];
+    double derivative = 0d;
+    for (int i = 1; i < coefs.length; i++) {
+      derivative = derivative * s + res;
+      res = res * s + coefs[i];
+    }
+    return derivative;
   }
 
   @Override
   public double[] getNodeSensitivitiesForValue(final Interpolator1DDataBundle data, final Double value) {
-    throw new UnsupportedOperationException();
+    ArgChecker.notNull(value, "value");
+    ArgChecker.notNull(data, "data bundle");
+    double[] result = new double[data.size()];
+    getNodeSensitivitiesForValue(data, value, null, result);
+    return result;
+  }
+
+  @Override
+  public void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result) {
+
+    PiecewisePolynomialResultsWithSensitivity poly = polynomial(data);
+    double[] knots = poly.getKnots().getData();
+    int interval = interval(knots, value, cursor);
+    double[][] coefSensitivity = poly.getCoefficientSensitivity(interval).getData();
+    double s = value - knots[interval];
+    for (int j = 0; j < result.length; j++) {
+      double res = coefSensitivity[0][j];
+      for (int i = 1; i < coefSensitivity.length; i++) {
+        res = res * s + coefSensitivity[i][j];
+      }
+      result[j] = res;
+    }
+  }
+
+  // obtains the piecewise polynomial from the data bundle
+  private static PiecewisePolynomialResultsWithSensitivity polynomial(Interpolator1DDataBundle data) {
+    ArgChecker.isTrue(data instanceof Interpolator1DPiecewisePoynomialDataBundle);
+    return ((Interpolator1DPiecewisePoynomialDataBundle) data).getPiecewisePolynomialResultsWithSensitivity();
+  }
+
+  // finds the interval of the polynomial, values outside the knots use the first or last interval
+  private static int interval(double[] knots, double value, InterpolationBoundsCursor cursor) {
+    int nIntervals = knots.length - 1;
+    if (value < knots[0]) {
+      return 0;
+    }
+    if (value >= knots[nIntervals]) {
+      return nIntervals - 1;
+    }
+    return InterpolationBoundsCursor.lowerBoundIndex(knots, value, cursor);
   }
 
   @Override
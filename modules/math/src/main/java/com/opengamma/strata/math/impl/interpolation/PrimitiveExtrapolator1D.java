@@ -0,0 +1,57 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.interpolation;
+
+import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
+
+/**
+ * A one-dimensional extrapolator that operates on primitive values without allocating objects.
+ * <p>
+ * This is the counterpart of {@link PrimitiveInterpolator1D} for values outside the range of the nodes.
+ * The methods are equivalent to those on {@link Extrapolator1D}, using a primitive interpolator.
+ */
+public interface PrimitiveExtrapolator1D {
+
+  /**
+   * Returns the extrapolated value at the specified input value.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, outside the range of the nodes
+   * @param interpolator  the interpolator used in conjunction with this extrapolator
+   * @return the extrapolated value
+   */
+  public abstract double extrapolate(Interpolator1DDataBundle data, double value, PrimitiveInterpolator1D interpolator);
+
+  /**
+   * Returns the first derivative of the extrapolated function at the specified input value.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, outside the range of the nodes
+   * @param interpolator  the interpolator used in conjunction with this extrapolator
+   * @return the first derivative of the extrapolated function
+   */
+  public abstract double firstDerivative(
+      Interpolator1DDataBundle data,
+      double value,
+      PrimitiveInterpolator1D interpolator);
+
+  /**
+   * Calculates the sensitivity of the extrapolated value to the value at each node.
+   * <p>
+   * The result array must have the same size as the data bundle. It is overwritten by this method.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, outside the range of the nodes
+   * @param interpolator  the interpolator used in conjunction with this extrapolator
+   * @param result  the array that receives the sensitivity to each node
+   */
+  public abstract void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      PrimitiveInterpolator1D interpolator,
+      double[] result);
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.interpolation;
+
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
+import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
+
+/**
+ * A one-dimensional interpolator that operates on primitive values without allocating objects.
+ * <p>
+ * The methods on {@link Interpolator1D} take and return boxed values and allocate a new array for
+ * the node sensitivities. This interface provides equivalent methods using primitive values, where the
+ * sensitivities are written into an array supplied by the caller. An optional cursor avoids searching
+ * the nodes when the input values are evaluated in ascending order.
+ * <p>
+ * The values must be within the range of the nodes, extrapolation is handled by {@link PrimitiveExtrapolator1D}.
+ */
+public interface PrimitiveInterpolator1D {
+
+  /**
+   * Returns the interpolated value at the specified input value.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, within the range of the nodes
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @return the interpolated value
+   */
+  public abstract double interpolate(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor);
+
+  /**
+   * Returns the first derivative of the interpolated function at the specified input value.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, within the range of the nodes
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @return the first derivative of the interpolated function
+   */
+  public abstract double firstDerivative(Interpolator1DDataBundle data, double value, InterpolationBoundsCursor cursor);
+
+  /**
+   * Calculates the sensitivity of the interpolated value to the value at each node.
+   * <p>
+   * The result array must have the same size as the data bundle. It is overwritten by this method.
+   *
+   * @param data  the data bundle containing the nodes
+   * @param value  the input value, within the range of the nodes
+   * @param cursor  the cursor used to find the interval containing the value, null to search the nodes
+   * @param result  the array that receives the sensitivity to each node
+   */
+  public abstract void getNodeSensitivitiesForValue(
+      Interpolator1DDataBundle data,
+      double value,
+      InterpolationBoundsCursor cursor,
+      double[] result);
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.interpolation.data;
+
+import java.util.Arrays;
+
+/**
+ * A cursor that remembers the interval found by the last search of a set of keys.
+ * <p>
+ * Finding the interval containing a value normally requires a binary search of the keys.
+ * When a set of values is evaluated in ascending order, for example the payment dates of a swap leg,
+ * consecutive values usually fall in the same interval or the next one. This cursor checks those
+ * intervals first and only falls back to a binary search if the value is elsewhere.
+ * <p>
+ * A cursor can be used with any set of keys, although it is only effective when it is reused with the
+ * same keys. It holds no reference to the keys and allocates no objects when searching.
+ * <p>
+ * This class is mutable and not thread-safe. A cursor is intended to be created for a batch of values
+ * and discarded afterwards, it must not be shared between threads.
+ */
+public final class InterpolationBoundsCursor {
+
+  /** The index of the lower bound found by the last search. */
+  private int index;
+
+  /**
+   * Creates a cursor positioned at the first interval.
+   */
+  public InterpolationBoundsCursor() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns the index of the largest key that is less than or equal to the value.
+   * <p>
+   * The result is the same as {@link Interpolator1DDataBundle#getLowerBoundIndex(Double)}.
+   * The intervals found by the last search and the one after it are checked before searching the keys.
+   *
+   * @param keys  the sorted keys
+   * @param value  the value
+   * @return the index of the lower bound of the value
+   * @throws IllegalArgumentException if the value is outside the range of the keys
+   */
+  public int lowerBoundIndex(double[] keys, double value) {
+    int last = keys.length - 1;
+    int i = index;
+    if (i < last && keys[i] <= value && value < keys[i + 1]) {
+      return i;
+    }
+    if (i + 1 < last && keys[i + 1] <= value && value < keys[i + 2]) {
+      index = i + 1;
+      return i + 1;
+    }
+    int found = lowerBoundIndex(keys, value, null);
+    index = found;
+    return found;
+  }
+
+  /**
+   * Returns the index of the largest key that is less than or equal to the value, using a cursor if available.
+   * <p>
+   * If the cursor is null the keys are searched directly.
+   *
+   * @param keys  the sorted keys
+   * @param value  the value
+   * @param cursor  the cursor used to find the interval, null to search the keys
+   * @return the index of the lower bound of the value
+   * @throws IllegalArgumentException if the value is outside the range of the keys
+   */
+  public static int lowerBoundIndex(double[] keys, double value, InterpolationBoundsCursor cursor) {
+    if (cursor != null) {
+      return cursor.lowerBoundIndex(keys, value);
+    }
+    int n = keys.length;
+    if (value < keys[0]) {
+      throw new IllegalArgumentException("Could not get lower bound index for " + value + ": lowest x-value is "
+          + keys[0]);
+    }
+    if (value > keys[n - 1]) {
+      throw new IllegalArgumentException("Could not get lower bound index for " + value + ": highest x-value is "
+          + keys[n - 1]);
+    }
+    int index = Arrays.binarySearch(keys, value);
+    if (index >= 0) {
+      // Fast break out if it's an exact match.
+      return index;
+    }
+    index = -(index + 1) - 1;
+    if (value == -0. && index < n - 1 && keys[index + 1] == 0.) {
+      ++index;
+    }
+    return index;
+  }
+
+}
@@ -0,0 +1,98 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Cholesky decomposition, working on a {@link FlatDoubleMatrix}.
+ * <p>
+ * The decomposition of a flat matrix is performed in place: the matrix is overwritten by the
+ * lower triangular factor L, with zeros above the diagonal, and is used by the result without being copied.
+ * A {@link DoubleMatrix2D} is copied once into a flat matrix before being decomposed.
+ * <p>
+ * The symmetry and positivity checks are the same as in {@link CholeskyDecompositionOpenGamma}.
+ * The factor is computed row by row, so that the rows of the matrix are read sequentially.
+ */
+public class CholeskyDecompositionFlat extends Decomposition<CholeskyDecompositionResult> {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CholeskyDecompositionFlatResult evaluate(final DoubleMatrix2D x) {
+    ArgChecker.notNull(x, "x");
+    return evaluate(FlatDoubleMatrix.copyOf(x));
+  }
+
+  /**
+   * Performs the decomposition in place, with the default symmetry and positivity thresholds.
+   * <p>
+   * The matrix is overwritten by the decomposition and must not be modified afterwards.
+   *
+   * @param matrix  the symmetric positive definite matrix to decompose, overwritten
+   * @return the decomposition
+   * @throws IllegalArgumentException if the matrix is not symmetric or not positive definite
+   */
+  public CholeskyDecompositionFlatResult evaluate(final FlatDoubleMatrix matrix) {
+    return evaluate(
+        matrix,
+        CholeskyDecompositionOpenGamma.DEFAULT_SYMMETRY_THRESHOLD,
+        CholeskyDecompositionOpenGamma.DEFAULT_POSITIVITY_THRESHOLD);
+  }
+
+  /**
+   * Performs the decomposition in place, with given symmetry and positivity thresholds.
+   * <p>
+   * The matrix is overwritten by the decomposition and must not be modified afterwards.
+   *
+   * @param matrix  the symmetric positive definite matrix to decompose, overwritten
+   * @param symmetryThreshold  the symmetry threshold
+   * @param positivityThreshold  the positivity threshold
+   * @return the decomposition
+   * @throws IllegalArgumentException if the matrix is not symmetric or not positive definite
+   */
+  public CholeskyDecompositionFlatResult evaluate(
+      final FlatDoubleMatrix matrix,
+      final double symmetryThreshold,
+      final double positivityThreshold) {
+
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix not square");
+    int n = matrix.rowCount();
+    double[] data = matrix.getData();
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < i; j++) {
+        double maxValue = Math.max(Math.abs(data[i * n + j]), Math.abs(data[j * n + i]));
+        double diff = Math.abs(data[i * n + j] - data[j * n + i]);
+        ArgChecker.isTrue(diff <= maxValue * symmetryThreshold, "Matrix not symmetrical");
+      }
+    }
+    for (int i = 0; i < n; i++) {
+      int offsetI = i * n;
+      for (int j = 0; j <= i; j++) {
+        int offsetJ = j * n;
+        double sum = data[offsetI + j];
+        for (int k = 0; k < j; k++) {
+          sum -= data[offsetI + k] * data[offsetJ + k];
+        }
+        if (i == j) {
+          ArgChecker.isTrue(sum > positivityThreshold, "Matrix not positive");
+          data[offsetI + i] = Math.sqrt(sum);
+        } else {
+          data[offsetI + j] = sum / data[offsetJ + j];
+        }
+      }
+      for (int j = i + 1; j < n; j++) {
+        data[offsetI + j] = 0d;
+      }
+    }
+    return new CholeskyDecompositionFlatResult(matrix);
+  }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Results of the flat implementation of Cholesky decomposition ({@link CholeskyDecompositionFlat}).
+ * <p>
+ * The matrices returned by the {@link CholeskyDecompositionResult} methods are created on demand.
+ */
+public class CholeskyDecompositionFlatResult implements CholeskyDecompositionResult {
+
+  /**
+   * The lower triangular factor L.
+   */
+  private final FlatDoubleMatrix l;
+
+  /**
+   * Creates an instance.
+   *
+   * @param l  the lower triangular factor, not copied
+   */
+  CholeskyDecompositionFlatResult(FlatDoubleMatrix l) {
+    this.l = l;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Solves {@code A x = b}, writing the result to an array supplied by the caller.
+   * <p>
+   * The array x may be the same as b, in which case b is overwritten.
+   *
+   * @param b  the vector b
+   * @param x  the array to receive the solution
+   */
+  public void solve(double[] b, double[] x) {
+    int n = l.rowCount();
+    ArgChecker.isTrue(b.length == n && x.length == n, "b array of incorrect size");
+    double[] data = l.getData();
+    // L y = b
+    for (int i = 0; i < n; i++) {
+      int offset = i * n;
+      double sum = b[i];
+      for (int k = 0; k < i; k++) {
+        sum -= data[offset + k] * x[k];
+      }
+      x[i] = sum / data[offset + i];
+    }
+    // L^T x = y
+    for (int i = n - 1; i >= 0; i--) {
+      int offset = i * n;
+      x[i] /= data[offset + i];
+      double xi = x[i];
+      for (int k = 0; k < i; k++) {
+        x[k] -= data[offset + k] * xi;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix1D solve(final DoubleMatrix1D b) {
+    ArgChecker.notNull(b, "b");
+    return new DoubleMatrix1D(solve(b.getData()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(final double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = new double[b.length];
+    solve(b, x);
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D solve(final DoubleMatrix2D b) {
+    ArgChecker.notNull(b, "b");
+    int n = l.rowCount();
+    ArgChecker.isTrue(b.getNumberOfRows() == n, "b array of incorrect size");
+    int m = b.getNumberOfColumns();
+    double[][] x = new double[n][m];
+    double[] column = new double[n];
+    for (int j = 0; j < m; j++) {
+      for (int i = 0; i < n; i++) {
+        column[i] = b.getEntry(i, j);
+      }
+      solve(column, column);
+      for (int i = 0; i < n; i++) {
+        x[i][j] = column[i];
+      }
+    }
+    return new DoubleMatrix2D(x);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getL() {
+    return l.toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getLT() {
+    return l.transpose().toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant() {
+    double determinant = 1d;
+    for (int i = 0; i < l.rowCount(); i++) {
+      determinant *= l.get(i, i) * l.get(i, i);
+    }
+    return determinant;
+  }
+
+}
@@ -19,12 +19,24 @@ public final class DecompositionFactory {
   public static final String QR_COMMONS_NAME = "QR_COMMONS";
   /** Commons SV decomposition */
   public static final String SV_COMMONS_NAME = "SV_COMMONS";
+  /** Flat LU decomposition */
+  public static final String LU_FLAT_NAME = "LU_FLAT";
+  /** Flat QR decomposition */
+  public static final String QR_FLAT_NAME = "QR_FLAT";
+  /** Flat SV decomposition */
+  public static final String SV_FLAT_NAME = "SV_FLAT";
   /** {@link LUDecompositionCommons} */
   public static final Decomposition<?> LU_COMMONS = new LUDecompositionCommons();
   /** {@link QRDecompositionCommons} */
   public static final Decomposition<?> QR_COMMONS = new QRDecompositionCommons();
   /** {@link SVDecompositionCommons} */
   public static final Decomposition<?> SV_COMMONS = new SVDecompositionCommons();
+  /** {@link LUDecompositionFlat} */
+  public static final Decomposition<?> LU_FLAT = new LUDecompositionFlat();
+  /** {@link QRDecompositionFlat} */
+  public static final Decomposition<?> QR_FLAT = new QRDecompositionFlat();
+  /** {@link SVDecompositionFlat} */
+  public static final Decomposition<?> SV_FLAT = new SVDecompositionFlat();
   private static final Map<String, Decomposition<?>> s_staticInstances;
   private static final Map<Class<?>, String> s_instanceNames;
 
@@ -33,10 +45,16 @@ public final class DecompositionFactory {
     s_staticInstances.put(LU_COMMONS_NAME, LU_COMMONS);
     s_staticInstances.put(QR_COMMONS_NAME, QR_COMMONS);
     s_staticInstances.put(SV_COMMONS_NAME, SV_COMMONS);
+    s_staticInstances.put(LU_FLAT_NAME, LU_FLAT);
+    s_staticInstances.put(QR_FLAT_NAME, QR_FLAT);
+    s_staticInstances.put(SV_FLAT_NAME, SV_FLAT);
     s_instanceNames = new HashMap<>();
     s_instanceNames.put(LU_COMMONS.getClass(), LU_COMMONS_NAME);
     s_instanceNames.put(QR_COMMONS.getClass(), QR_COMMONS_NAME);
     s_instanceNames.put(SV_COMMONS.getClass(), SV_COMMONS_NAME);
+    s_instanceNames.put(LU_FLAT.getClass(), LU_FLAT_NAME);
+    s_instanceNames.put(QR_FLAT.getClass(), QR_FLAT_NAME);
+    s_instanceNames.put(SV_FLAT.getClass(), SV_FLAT_NAME);
   }
 
   private DecompositionFactory() {
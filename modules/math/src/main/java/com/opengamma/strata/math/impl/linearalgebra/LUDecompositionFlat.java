@@ -0,0 +1,121 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * LU decomposition with partial pivoting, working on a {@link FlatDoubleMatrix}.
+ * <p>
+ * The decomposition of a flat matrix is performed in place: the matrix is overwritten by the
+ * factors L and U, and is used by the result without being copied.
+ * A {@link DoubleMatrix2D} is copied once into a flat matrix before being decomposed.
+ * <p>
+ * A matrix is considered singular if the absolute value of a pivot is below {@link #SINGULARITY_THRESHOLD},
+ * which is the same threshold as in {@link LUDecompositionCommons}.
+ */
+public class LUDecompositionFlat extends Decomposition<LUDecompositionResult> {
+
+  /**
+   * The threshold below which a pivot is considered to be zero.
+   */
+  public static final double SINGULARITY_THRESHOLD = 1.0E-11;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public LUDecompositionFlatResult evaluate(final DoubleMatrix2D x) {
+    ArgChecker.notNull(x, "x");
+    return evaluate(FlatDoubleMatrix.copyOf(x));
+  }
+
+  /**
+   * Performs the decomposition in place.
+   * <p>
+   * The matrix is overwritten by the decomposition and must not be modified afterwards.
+   *
+   * @param matrix  the square matrix to decompose, overwritten
+   * @return the decomposition
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public LUDecompositionFlatResult evaluate(final FlatDoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    return evaluate(matrix, new int[matrix.rowCount()]);
+  }
+
+  /**
+   * Performs the decomposition in place, using a pivot array supplied by the caller.
+   * <p>
+   * The matrix and the pivot array are overwritten by the decomposition and must not be modified afterwards.
+   * This allows the buffers to be reused when decomposing many matrices of the same size.
+   *
+   * @param matrix  the square matrix to decompose, overwritten
+   * @param pivot  the array to receive the pivot permutation vector, of length the size of the matrix
+   * @return the decomposition
+   * @throws IllegalArgumentException if the matrix is singular
+   */
+  public LUDecompositionFlatResult evaluate(final FlatDoubleMatrix matrix, final int[] pivot) {
+    ArgChecker.notNull(matrix, "matrix");
+    ArgChecker.notNull(pivot, "pivot");
+    ArgChecker.isTrue(matrix.isSquare(), "Matrix must be square");
+    int n = matrix.rowCount();
+    ArgChecker.isTrue(pivot.length == n, "Pivot array must have length {}", n);
+    double[] lu = matrix.getData();
+    for (int i = 0; i < n; i++) {
+      pivot[i] = i;
+    }
+    boolean even = true;
+    for (int k = 0; k < n; k++) {
+      // find the pivot in column k
+      int max = k;
+      double largest = Math.abs(lu[k * n + k]);
+      for (int i = k + 1; i < n; i++) {
+        double abs = Math.abs(lu[i * n + k]);
+        if (abs > largest) {
+          largest = abs;
+          max = i;
+        }
+      }
+      ArgChecker.isTrue(largest >= SINGULARITY_THRESHOLD, "Matrix is singular; could not perform LU decomposition");
+      if (max != k) {
+        swapRows(lu, n, k, max);
+        int tmp = pivot[k];
+        pivot[k] = pivot[max];
+        pivot[max] = tmp;
+        even = !even;
+      }
+      // eliminate below the pivot, updating the rows sequentially
+      int pivotOffset = k * n;
+      double pivotInverse = 1d / lu[pivotOffset + k];
+      for (int i = k + 1; i < n; i++) {
+        int offset = i * n;
+        double factor = lu[offset + k] * pivotInverse;
+        lu[offset + k] = factor;
+        if (factor != 0d) {
+          for (int j = k + 1; j < n; j++) {
+            lu[offset + j] -= factor * lu[pivotOffset + j];
+          }
+        }
+      }
+    }
+    return new LUDecompositionFlatResult(matrix, pivot, even);
+  }
+
+  // swaps two rows of a square matrix
+  private static void swapRows(double[] data, int n, int row1, int row2) {
+    int offset1 = row1 * n;
+    int offset2 = row2 * n;
+    for (int j = 0; j < n; j++) {
+      double tmp = data[offset1 + j];
+      data[offset1 + j] = data[offset2 + j];
+      data[offset2 + j] = tmp;
+    }
+  }
+
+}
@@ -0,0 +1,237 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Results of the flat implementation of LU decomposition ({@link LUDecompositionFlat}).
+ * <p>
+ * The factors are held in a single flat matrix, the strictly lower part being L (with a unit diagonal)
+ * and the upper part being U. The matrices returned by the {@link LUDecompositionResult} methods
+ * are created on demand.
+ */
+public class LUDecompositionFlatResult implements LUDecompositionResult {
+
+  /**
+   * The factors L and U, in a single matrix.
+   */
+  private final FlatDoubleMatrix lu;
+  /**
+   * The pivot permutation vector.
+   */
+  private final int[] pivot;
+  /**
+   * Whether the number of row exchanges is even.
+   */
+  private final boolean even;
+
+  /**
+   * Creates an instance.
+   *
+   * @param lu  the factors L and U, in a single matrix, not copied
+   * @param pivot  the pivot permutation vector, not copied
+   * @param even  whether the number of row exchanges is even
+   */
+  LUDecompositionFlatResult(FlatDoubleMatrix lu, int[] pivot, boolean even) {
+    this.lu = lu;
+    this.pivot = pivot;
+    this.even = even;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Solves {@code A x = b}, writing the result to an array supplied by the caller.
+   *
+   * @param b  the vector b
+   * @param x  the array to receive the solution, different from b
+   */
+  public void solve(double[] b, double[] x) {
+    int n = pivot.length;
+    ArgChecker.isTrue(b.length == n && x.length == n, "Vectors must have length {}", n);
+    ArgChecker.isFalse(b == x, "Vectors b and x must be different");
+    double[] data = lu.getData();
+    for (int i = 0; i < n; i++) {
+      x[i] = b[pivot[i]];
+    }
+    // L y = P b
+    for (int i = 1; i < n; i++) {
+      int offset = i * n;
+      double sum = x[i];
+      for (int k = 0; k < i; k++) {
+        sum -= data[offset + k] * x[k];
+      }
+      x[i] = sum;
+    }
+    // U x = y
+    for (int i = n - 1; i >= 0; i--) {
+      int offset = i * n;
+      double sum = x[i];
+      for (int k = i + 1; k < n; k++) {
+        sum -= data[offset + k] * x[k];
+      }
+      x[i] = sum / data[offset + i];
+    }
+  }
+
+  /**
+   * Solves {@code A X = B}.
+   *
+   * @param b  the matrix B
+   * @return the solution X
+   */
+  public FlatDoubleMatrix solve(FlatDoubleMatrix b) {
+    int n = pivot.length;
+    ArgChecker.isTrue(b.rowCount() == n, "Matrix must have {} rows", n);
+    int m = b.columnCount();
+    double[] data = lu.getData();
+    double[] bData = b.getData();
+    FlatDoubleMatrix result = FlatDoubleMatrix.of(n, m);
+    double[] x = result.getData();
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(bData, pivot[i] * m, x, i * m, m);
+    }
+    // L Y = P B, row by row
+    for (int i = 1; i < n; i++) {
+      int offset = i * m;
+      for (int k = 0; k < i; k++) {
+        double factor = data[i * n + k];
+        if (factor != 0d) {
+          int offsetK = k * m;
+          for (int j = 0; j < m; j++) {
+            x[offset + j] -= factor * x[offsetK + j];
+          }
+        }
+      }
+    }
+    // U X = Y, row by row
+    for (int i = n - 1; i >= 0; i--) {
+      int offset = i * m;
+      for (int k = i + 1; k < n; k++) {
+        double factor = data[i * n + k];
+        if (factor != 0d) {
+          int offsetK = k * m;
+          for (int j = 0; j < m; j++) {
+            x[offset + j] -= factor * x[offsetK + j];
+          }
+        }
+      }
+      double diagonalInverse = 1d / data[i * n + i];
+      for (int j = 0; j < m; j++) {
+        x[offset + j] *= diagonalInverse;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Computes the inverse of the decomposed matrix.
+   *
+   * @return the inverse
+   */
+  public FlatDoubleMatrix inverse() {
+    return solve(FlatDoubleMatrix.identity(pivot.length));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix1D solve(final DoubleMatrix1D b) {
+    ArgChecker.notNull(b, "b");
+    return new DoubleMatrix1D(solve(b.getData()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(final double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = new double[b.length];
+    solve(b, x);
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D solve(final DoubleMatrix2D b) {
+    ArgChecker.notNull(b, "b");
+    return solve(FlatDoubleMatrix.copyOf(b)).toDoubleMatrix2D();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getL() {
+    int n = pivot.length;
+    double[][] l = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = 0; j < i; j++) {
+        l[i][j] = lu.get(i, j);
+      }
+      l[i][i] = 1d;
+    }
+    return new DoubleMatrix2D(l);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getU() {
+    int n = pivot.length;
+    double[][] u = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      for (int j = i; j < n; j++) {
+        u[i][j] = lu.get(i, j);
+      }
+    }
+    return new DoubleMatrix2D(u);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getP() {
+    int n = pivot.length;
+    double[][] p = new double[n][n];
+    for (int i = 0; i < n; i++) {
+      p[i][pivot[i]] = 1d;
+    }
+    return new DoubleMatrix2D(p);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int[] getPivot() {
+    return pivot.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getDeterminant() {
+    double determinant = even ? 1d : -1d;
+    for (int i = 0; i < pivot.length; i++) {
+      determinant *= lu.get(i, i);
+    }
+    return determinant;
+  }
+
+}
@@ -0,0 +1,85 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * QR decomposition using Householder reflections, working on a {@link FlatDoubleMatrix}.
+ * <p>
+ * The decomposition of a flat matrix is performed in place: the matrix is overwritten by the
+ * Householder vectors on and below the diagonal and by R above the diagonal, and is used by the
+ * result without being copied. A {@link DoubleMatrix2D} is copied once into a flat matrix before being decomposed.
+ * <p>
+ * The reflections are the same as in {@link QRDecompositionCommons}, so the factors Q and R are the same.
+ * Each reflection is applied a row at a time, so that the rows of the matrix are read sequentially.
+ */
+public class QRDecompositionFlat extends Decomposition<QRDecompositionResult> {
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public QRDecompositionFlatResult evaluate(final DoubleMatrix2D x) {
+    ArgChecker.notNull(x, "x");
+    return evaluate(FlatDoubleMatrix.copyOf(x));
+  }
+
+  /**
+   * Performs the decomposition in place.
+   * <p>
+   * The matrix is overwritten by the decomposition and must not be modified afterwards.
+   *
+   * @param matrix  the matrix to decompose, overwritten
+   * @return the decomposition
+   */
+  public QRDecompositionFlatResult evaluate(final FlatDoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    int m = matrix.rowCount();
+    int n = matrix.columnCount();
+    double[] qr = matrix.getData();
+    int size = Math.min(m, n);
+    double[] rDiag = new double[size];
+    double[] work = new double[n];
+    for (int minor = 0; minor < size; minor++) {
+      double xNormSqr = 0d;
+      for (int i = minor; i < m; i++) {
+        double value = qr[i * n + minor];
+        xNormSqr += value * value;
+      }
+      double a = (qr[minor * n + minor] > 0) ? -Math.sqrt(xNormSqr) : Math.sqrt(xNormSqr);
+      rDiag[minor] = a;
+      if (a != 0d) {
+        // the Householder vector v is stored in the column, on and below the diagonal
+        qr[minor * n + minor] -= a;
+        // w = v^T A for the remaining columns, accumulated row by row
+        for (int j = minor + 1; j < n; j++) {
+          work[j] = 0d;
+        }
+        for (int i = minor; i < m; i++) {
+          int offset = i * n;
+          double v = qr[offset + minor];
+          for (int j = minor + 1; j < n; j++) {
+            work[j] += v * qr[offset + j];
+          }
+        }
+        // A = A + v w^T / (a v_0), as |v|^2 = -2 a v_0
+        double factor = 1d / (a * qr[minor * n + minor]);
+        for (int i = minor; i < m; i++) {
+          int offset = i * n;
+          double v = qr[offset + minor] * factor;
+          for (int j = minor + 1; j < n; j++) {
+            qr[offset + j] += v * work[j];
+          }
+        }
+      }
+    }
+    return new QRDecompositionFlatResult(matrix, rDiag);
+  }
+
+}
@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Results of the flat implementation of QR decomposition ({@link QRDecompositionFlat}).
+ * <p>
+ * The solution of {@code A x = b} is the least squares solution when the matrix has more rows than columns.
+ * The matrices returned by the {@link QRDecompositionResult} methods are created on demand.
+ */
+public class QRDecompositionFlatResult implements QRDecompositionResult {
+
+  /**
+   * The Householder vectors on and below the diagonal and R above the diagonal.
+   */
+  private final FlatDoubleMatrix qr;
+  /**
+   * The diagonal of R.
+   */
+  private final double[] rDiag;
+
+  /**
+   * Creates an instance.
+   *
+   * @param qr  the Householder vectors and R, not copied
+   * @param rDiag  the diagonal of R, not copied
+   */
+  QRDecompositionFlatResult(FlatDoubleMatrix qr, double[] rDiag) {
+    this.qr = qr;
+    this.rDiag = rDiag;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Applies {@code Q^T} to a vector in place.
+   *
+   * @param y  the vector, of length the number of rows of the matrix, overwritten by {@code Q^T y}
+   */
+  public void applyQT(double[] y) {
+    int m = qr.rowCount();
+    int n = qr.columnCount();
+    ArgChecker.isTrue(y.length == m, "Vector must have length {}", m);
+    double[] data = qr.getData();
+    for (int minor = 0; minor < rDiag.length; minor++) {
+      double vMinor = data[minor * n + minor];
+      if (vMinor != 0d) {
+        double dot = 0d;
+        for (int i = minor; i < m; i++) {
+          dot += y[i] * data[i * n + minor];
+        }
+        dot /= rDiag[minor] * vMinor;
+        for (int i = minor; i < m; i++) {
+          y[i] += dot * data[i * n + minor];
+        }
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix1D solve(final DoubleMatrix1D b) {
+    ArgChecker.notNull(b, "b");
+    return new DoubleMatrix1D(solve(b.getData()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(final double[] b) {
+    ArgChecker.notNull(b, "b");
+    int m = qr.rowCount();
+    int n = qr.columnCount();
+    ArgChecker.isTrue(m >= n, "Matrix must have at least as many rows as columns");
+    double[] y = b.clone();
+    applyQT(y);
+    // R x = Q^T b
+    double[] data = qr.getData();
+    double[] x = new double[n];
+    for (int i = n - 1; i >= 0; i--) {
+      ArgChecker.isTrue(rDiag[i] != 0d, "Matrix is singular");
+      int offset = i * n;
+      double sum = y[i];
+      for (int k = i + 1; k < n; k++) {
+        sum -= data[offset + k] * x[k];
+      }
+      x[i] = sum / rDiag[i];
+    }
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D solve(final DoubleMatrix2D b) {
+    ArgChecker.notNull(b, "b");
+    int m = qr.rowCount();
+    ArgChecker.isTrue(b.getNumberOfRows() == m, "Matrix must have {} rows", m);
+    int columns = b.getNumberOfColumns();
+    double[][] x = new double[qr.columnCount()][columns];
+    double[] column = new double[m];
+    for (int j = 0; j < columns; j++) {
+      for (int i = 0; i < m; i++) {
+        column[i] = b.getEntry(i, j);
+      }
+      double[] solution = solve(column);
+      for (int i = 0; i < solution.length; i++) {
+        x[i][j] = solution[i];
+      }
+    }
+    return new DoubleMatrix2D(x);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getQ() {
+    return getQTFlat().transpose().toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getQT() {
+    return getQTFlat().toDoubleMatrix2D();
+  }
+
+  // computes Q^T a column at a time, by applying it to the unit vectors
+  private FlatDoubleMatrix getQTFlat() {
+    int m = qr.rowCount();
+    FlatDoubleMatrix qt = FlatDoubleMatrix.of(m, m);
+    double[] unit = new double[m];
+    for (int j = 0; j < m; j++) {
+      Arrays.fill(unit, 0d);
+      unit[j] = 1d;
+      applyQT(unit);
+      for (int i = 0; i < m; i++) {
+        qt.set(i, j, unit[i]);
+      }
+    }
+    return qt;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getR() {
+    int m = qr.rowCount();
+    int n = qr.columnCount();
+    double[][] r = new double[m][n];
+    for (int i = 0; i < rDiag.length; i++) {
+      r[i][i] = rDiag[i];
+      for (int j = i + 1; j < n; j++) {
+        r[i][j] = qr.get(i, j);
+      }
+    }
+    return new DoubleMatrix2D(r);
+  }
+
+}
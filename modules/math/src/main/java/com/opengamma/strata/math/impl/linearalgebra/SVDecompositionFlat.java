@@ -0,0 +1,194 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.MathException;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Singular value decomposition using one-sided Jacobi rotations, working on a {@link FlatDoubleMatrix}.
+ * <p>
+ * The rows of the matrix are rotated in pairs until they are orthogonal, the rotations being accumulated
+ * in a square matrix the size of the number of rows. The norms of the rows are then the singular values.
+ * Rotating rows rather than columns means the row-major data is read sequentially.
+ * <p>
+ * When the matrix has no more rows than columns, which includes the square Jacobians of curve calibration,
+ * the decomposition of a flat matrix is performed in place: the matrix is overwritten by the rows of
+ * $\mathbf{V}^T$ and is used by the result without being copied. Otherwise, the transpose of the matrix is decomposed.
+ * A {@link DoubleMatrix2D} is copied once into a flat matrix before being decomposed.
+ * <p>
+ * The decomposition is the compact one, as in {@link SVDecompositionCommons}: for a m by n matrix with
+ * p = min(m, n), $\mathbf{U}$ is m by p, $\mathbf{\Sigma}$ is p by p and $\mathbf{V}$ is n by p.
+ * The singular values are in non-increasing order, but the signs of the singular vectors may differ from
+ * those of the Commons implementation.
+ */
+public class SVDecompositionFlat extends Decomposition<SVDecompositionResult> {
+
+  /**
+   * The relative tolerance below which two rows are considered orthogonal, per element of the rows.
+   * This allows for the rounding of the dot product of the rows.
+   */
+  private static final double TOLERANCE = 0x1.0p-52;
+  /**
+   * The maximum number of sweeps over all the pairs of rows.
+   */
+  private static final int MAX_SWEEPS = 100;
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public SVDecompositionFlatResult evaluate(final DoubleMatrix2D x) {
+    ArgChecker.notNull(x, "x");
+    return evaluate(FlatDoubleMatrix.copyOf(x));
+  }
+
+  /**
+   * Performs the decomposition in place.
+   * <p>
+   * The matrix is overwritten by the decomposition and must not be modified afterwards.
+   *
+   * @param matrix  the matrix to decompose, overwritten
+   * @return the decomposition
+   * @throws MathException if the rotations do not converge
+   */
+  public SVDecompositionFlatResult evaluate(final FlatDoubleMatrix matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    for (double value : matrix.getData()) {
+      ArgChecker.isFalse(Double.isNaN(value), "Matrix contains NaN");
+      ArgChecker.isFalse(Double.isInfinite(value), "Matrix contains infinite values");
+    }
+    int m = matrix.rowCount();
+    int n = matrix.columnCount();
+    boolean transposed = m > n;
+    FlatDoubleMatrix w = transposed ? matrix.transpose() : matrix;
+    int p = w.rowCount();
+    FlatDoubleMatrix rotations = FlatDoubleMatrix.identity(p);
+    orthogonalizeRows(w, rotations);
+    double[] singularValues = normalizeAndSortRows(w, rotations);
+    // the original rows are rotations^T * diag(singularValues) * w
+    if (transposed) {
+      return new SVDecompositionFlatResult(singularValues, w, rotations);
+    }
+    return new SVDecompositionFlatResult(singularValues, rotations, w);
+  }
+
+  //-------------------------------------------------------------------------
+  // rotates pairs of rows until all are orthogonal, applying the same rotations to the accumulator
+  // rows that are negligible compared to the largest row are not rotated, as they only contribute
+  // singular values below the threshold used when solving, and may otherwise not converge due to underflow
+  private static void orthogonalizeRows(FlatDoubleMatrix w, FlatDoubleMatrix rotations) {
+    int p = w.rowCount();
+    int q = w.columnCount();
+    double[] wData = w.getData();
+    double[] rData = rotations.getData();
+    double tolerance = Math.max(q, 1) * TOLERANCE;
+    double maxNorm2 = 0d;
+    for (int i = 0; i < p; i++) {
+      double norm2 = 0d;
+      for (int j = 0; j < q; j++) {
+        norm2 += wData[i * q + j] * wData[i * q + j];
+      }
+      maxNorm2 = Math.max(maxNorm2, norm2);
+    }
+    double negligible = maxNorm2 * tolerance * tolerance;
+    for (int sweep = 0; sweep < MAX_SWEEPS; sweep++) {
+      boolean rotated = false;
+      for (int i = 0; i < p - 1; i++) {
+        int offsetI = i * q;
+        for (int k = i + 1; k < p; k++) {
+          int offsetK = k * q;
+          double alpha = 0d;
+          double beta = 0d;
+          double gamma = 0d;
+          for (int j = 0; j < q; j++) {
+            double wi = wData[offsetI + j];
+            double wk = wData[offsetK + j];
+            alpha += wi * wi;
+            beta += wk * wk;
+            gamma += wi * wk;
+          }
+          if (alpha > negligible && beta > negligible &&
+              Math.abs(gamma) > tolerance * Math.sqrt(alpha) * Math.sqrt(beta)) {
+            rotated = true;
+            double zeta = (beta - alpha) / (2d * gamma);
+            double t = (zeta >= 0d ? 1d : -1d) / (Math.abs(zeta) + Math.hypot(1d, zeta));
+            double c = 1d / Math.sqrt(1d + t * t);
+            double s = c * t;
+            rotate(wData, offsetI, offsetK, q, c, s);
+            rotate(rData, i * p, k * p, p, c, s);
+          }
+        }
+      }
+      if (!rotated) {
+        return;
+      }
+    }
+    throw new MathException("Singular value decomposition did not converge after " + MAX_SWEEPS + " sweeps");
+  }
+
+  // applies a plane rotation to two rows
+  private static void rotate(double[] data, int offsetI, int offsetK, int length, double c, double s) {
+    for (int j = 0; j < length; j++) {
+      double wi = data[offsetI + j];
+      double wk = data[offsetK + j];
+      data[offsetI + j] = c * wi - s * wk;
+      data[offsetK + j] = s * wi + c * wk;
+    }
+  }
+
+  // normalizes the rows, returning their norms, and sorts the rows by decreasing norm
+  private static double[] normalizeAndSortRows(FlatDoubleMatrix w, FlatDoubleMatrix rotations) {
+    int p = w.rowCount();
+    int q = w.columnCount();
+    double[] wData = w.getData();
+    double[] norms = new double[p];
+    for (int i = 0; i < p; i++) {
+      int offset = i * q;
+      double sum = 0d;
+      for (int j = 0; j < q; j++) {
+        sum += wData[offset + j] * wData[offset + j];
+      }
+      norms[i] = Math.sqrt(sum);
+      if (norms[i] > 0d) {
+        double inverse = 1d / norms[i];
+        for (int j = 0; j < q; j++) {
+          wData[offset + j] *= inverse;
+        }
+      }
+    }
+    for (int i = 0; i < p - 1; i++) {
+      int max = i;
+      for (int k = i + 1; k < p; k++) {
+        if (norms[k] > norms[max]) {
+          max = k;
+        }
+      }
+      if (max != i) {
+        double tmp = norms[i];
+        norms[i] = norms[max];
+        norms[max] = tmp;
+        swapRows(wData, q, i, max);
+        swapRows(rotations.getData(), p, i, max);
+      }
+    }
+    return norms;
+  }
+
+  // swaps two rows of a matrix
+  private static void swapRows(double[] data, int columns, int row1, int row2) {
+    int offset1 = row1 * columns;
+    int offset2 = row2 * columns;
+    for (int j = 0; j < columns; j++) {
+      double tmp = data[offset1 + j];
+      data[offset1 + j] = data[offset2 + j];
+      data[offset2 + j] = tmp;
+    }
+  }
+
+}
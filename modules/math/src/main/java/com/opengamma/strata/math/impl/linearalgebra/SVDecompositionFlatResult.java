@@ -0,0 +1,223 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Results of the flat implementation of singular value decomposition ({@link SVDecompositionFlat}).
+ * <p>
+ * The solution of {@code A x = b} uses the pseudo-inverse, ignoring the singular values that are not above
+ * the threshold $\max(m, n) \times \sigma_1 \times 2^{-52}$, as in {@link SVDecompositionCommons}.
+ * The matrices returned by the {@link SVDecompositionResult} methods are created on demand.
+ */
+public class SVDecompositionFlatResult implements SVDecompositionResult {
+
+  /**
+   * The singular values, in non-increasing order.
+   */
+  private final double[] singularValues;
+  /**
+   * The matrix U^T, p by m.
+   */
+  private final FlatDoubleMatrix uT;
+  /**
+   * The matrix V^T, p by n.
+   */
+  private final FlatDoubleMatrix vT;
+  /**
+   * The threshold below which singular values are ignored.
+   */
+  private final double threshold;
+
+  /**
+   * Creates an instance.
+   *
+   * @param singularValues  the singular values, in non-increasing order, not copied
+   * @param uT  the matrix U^T, not copied
+   * @param vT  the matrix V^T, not copied
+   */
+  SVDecompositionFlatResult(double[] singularValues, FlatDoubleMatrix uT, FlatDoubleMatrix vT) {
+    this.singularValues = singularValues;
+    this.uT = uT;
+    this.vT = vT;
+    int maxSize = Math.max(uT.columnCount(), vT.columnCount());
+    double largest = singularValues.length == 0 ? 0d : singularValues[0];
+    this.threshold = Math.max(maxSize * largest * 0x1.0p-52, Math.sqrt(Double.MIN_NORMAL));
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Solves {@code A x = b} using the pseudo-inverse, writing the result to an array supplied by the caller.
+   *
+   * @param b  the vector b, of length the number of rows of the matrix
+   * @param x  the array to receive the solution, of length the number of columns of the matrix
+   */
+  public void solve(double[] b, double[] x) {
+    double[] work = new double[singularValues.length];
+    FlatBlas.gemv(1d, uT, b, 0d, work);
+    for (int i = 0; i < work.length; i++) {
+      work[i] = singularValues[i] > threshold ? work[i] / singularValues[i] : 0d;
+    }
+    FlatBlas.gemvTranspose(1d, vT, work, 0d, x);
+  }
+
+  /**
+   * Computes the pseudo-inverse of the decomposed matrix.
+   * <p>
+   * This is the inverse if the matrix is square and not singular.
+   *
+   * @return the pseudo-inverse
+   */
+  public FlatDoubleMatrix inverse() {
+    int m = uT.columnCount();
+    int n = vT.columnCount();
+    FlatDoubleMatrix result = FlatDoubleMatrix.of(n, m);
+    double[] data = result.getData();
+    double[] uTData = uT.getData();
+    double[] vTData = vT.getData();
+    // sum over i of the outer product of row i of V^T and row i of U^T, divided by the singular value
+    for (int i = 0; i < singularValues.length; i++) {
+      if (singularValues[i] > threshold) {
+        double inverse = 1d / singularValues[i];
+        for (int a = 0; a < n; a++) {
+          double factor = vTData[i * n + a] * inverse;
+          if (factor != 0d) {
+            int offset = a * m;
+            int uOffset = i * m;
+            for (int b = 0; b < m; b++) {
+              data[offset + b] += factor * uTData[uOffset + b];
+            }
+          }
+        }
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix1D solve(final DoubleMatrix1D b) {
+    ArgChecker.notNull(b, "b");
+    return new DoubleMatrix1D(solve(b.getData()));
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] solve(final double[] b) {
+    ArgChecker.notNull(b, "b");
+    double[] x = new double[vT.columnCount()];
+    solve(b, x);
+    return x;
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D solve(final DoubleMatrix2D b) {
+    ArgChecker.notNull(b, "b");
+    FlatDoubleMatrix flatB = FlatDoubleMatrix.copyOf(b);
+    FlatDoubleMatrix inverse = inverse();
+    FlatDoubleMatrix result = FlatDoubleMatrix.of(inverse.rowCount(), flatB.columnCount());
+    FlatBlas.gemm(1d, inverse, flatB, 0d, result);
+    return result.toDoubleMatrix2D();
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getU() {
+    return uT.transpose().toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getUT() {
+    return uT.toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getS() {
+    int p = singularValues.length;
+    double[][] s = new double[p][p];
+    for (int i = 0; i < p; i++) {
+      s[i][i] = singularValues[i];
+    }
+    return new DoubleMatrix2D(s);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double[] getSingularValues() {
+    return singularValues.clone();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getV() {
+    return vT.transpose().toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public DoubleMatrix2D getVT() {
+    return vT.toDoubleMatrix2D();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getNorm() {
+    return singularValues[0];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public double getConditionNumber() {
+    return singularValues[0] / singularValues[singularValues.length - 1];
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public int getRank() {
+    int rank = 0;
+    for (double value : singularValues) {
+      if (value > threshold) {
+        rank++;
+      }
+    }
+    return rank;
+  }
+
+}
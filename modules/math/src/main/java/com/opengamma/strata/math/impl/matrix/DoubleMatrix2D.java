@@ -56,6 +56,27 @@ public class DoubleMatrix2D implements Matrix<Double> {
     }
   }
 
+  // creates an instance using the data array without copying it, the array must be rectangular
+  private DoubleMatrix2D(final double[][] data, final int rows, final int columns) {
+    _data = data;
+    _rows = rows;
+    _columns = columns;
+    _elements = rows * columns;
+  }
+
+  /**
+   * Obtains an instance wrapping the data array, without copying it.
+   * <p>
+   * This is only for use by the matrix package, where the caller guarantees that the
+   * array is rectangular and is not modified after the call.
+   *
+   * @param data  the data, in row-column form, not empty
+   * @return the matrix
+   */
+  static DoubleMatrix2D ofUnsafe(final double[][] data) {
+    return new DoubleMatrix2D(data, data.length, data[0].length);
+  }
+
   /**
    * @param data The data, not null. The data is expected in row-column form.
    * @throws IllegalArgumentException If the matrix is not rectangular
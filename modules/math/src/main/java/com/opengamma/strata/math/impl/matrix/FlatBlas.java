@@ -0,0 +1,197 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * In-place linear algebra operations on {@link FlatDoubleMatrix} and {@code double[]} vectors.
+ * <p>
+ * The operations follow the naming of the level 1, 2 and 3 BLAS routines.
+ * The result is written to an argument supplied by the caller, so no memory is allocated.
+ * The loops are ordered so that the row-major arrays are read sequentially.
+ * <p>
+ * The output argument must not be the same object as any of the inputs, unless stated otherwise.
+ */
+public final class FlatBlas {
+
+  /**
+   * Restricted constructor.
+   */
+  private FlatBlas() {
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the dot product of two vectors.
+   *
+   * @param x  the first vector
+   * @param y  the second vector, of the same length
+   * @return the dot product
+   */
+  public static double dot(double[] x, double[] y) {
+    ArgChecker.isTrue(x.length == y.length, "Vectors must have the same length");
+    double result = 0d;
+    for (int i = 0; i < x.length; i++) {
+      result += x[i] * y[i];
+    }
+    return result;
+  }
+
+  /**
+   * Computes {@code y = alpha * x + y}, updating {@code y} in place.
+   *
+   * @param alpha  the multiplier of x
+   * @param x  the vector x
+   * @param y  the vector y, of the same length, updated in place
+   */
+  public static void axpy(double alpha, double[] x, double[] y) {
+    ArgChecker.isTrue(x.length == y.length, "Vectors must have the same length");
+    for (int i = 0; i < x.length; i++) {
+      y[i] += alpha * x[i];
+    }
+  }
+
+  /**
+   * Computes {@code x = alpha * x}, updating {@code x} in place.
+   *
+   * @param alpha  the multiplier
+   * @param x  the vector, updated in place
+   */
+  public static void scal(double alpha, double[] x) {
+    for (int i = 0; i < x.length; i++) {
+      x[i] *= alpha;
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes {@code y = alpha * A x + beta * y}, updating {@code y} in place.
+   *
+   * @param alpha  the multiplier of the product
+   * @param a  the matrix A
+   * @param x  the vector x, of length the number of columns of A
+   * @param beta  the multiplier of y, if zero the initial content of y is ignored
+   * @param y  the vector y, of length the number of rows of A, updated in place
+   */
+  public static void gemv(double alpha, FlatDoubleMatrix a, double[] x, double beta, double[] y) {
+    int rows = a.rowCount();
+    int columns = a.columnCount();
+    ArgChecker.isTrue(x.length == columns, "Vector x must have length {}", columns);
+    ArgChecker.isTrue(y.length == rows, "Vector y must have length {}", rows);
+    ArgChecker.isFalse(x == y, "Vectors x and y must be different");
+    double[] aData = a.getData();
+    for (int i = 0; i < rows; i++) {
+      int offset = i * columns;
+      double sum = 0d;
+      for (int j = 0; j < columns; j++) {
+        sum += aData[offset + j] * x[j];
+      }
+      y[i] = alpha * sum + (beta == 0d ? 0d : beta * y[i]);
+    }
+  }
+
+  /**
+   * Computes {@code y = alpha * A^T x + beta * y}, updating {@code y} in place.
+   *
+   * @param alpha  the multiplier of the product
+   * @param a  the matrix A
+   * @param x  the vector x, of length the number of rows of A
+   * @param beta  the multiplier of y, if zero the initial content of y is ignored
+   * @param y  the vector y, of length the number of columns of A, updated in place
+   */
+  public static void gemvTranspose(double alpha, FlatDoubleMatrix a, double[] x, double beta, double[] y) {
+    int rows = a.rowCount();
+    int columns = a.columnCount();
+    ArgChecker.isTrue(x.length == rows, "Vector x must have length {}", rows);
+    ArgChecker.isTrue(y.length == columns, "Vector y must have length {}", columns);
+    ArgChecker.isFalse(x == y, "Vectors x and y must be different");
+    double[] aData = a.getData();
+    scaleOrClear(beta, y, 0, columns);
+    for (int i = 0; i < rows; i++) {
+      int offset = i * columns;
+      double factor = alpha * x[i];
+      for (int j = 0; j < columns; j++) {
+        y[j] += factor * aData[offset + j];
+      }
+    }
+  }
+
+  /**
+   * Computes {@code C = alpha * A B + beta * C}, updating {@code C} in place.
+   *
+   * @param alpha  the multiplier of the product
+   * @param a  the matrix A
+   * @param b  the matrix B, with as many rows as A has columns
+   * @param beta  the multiplier of C, if zero the initial content of C is ignored
+   * @param c  the matrix C, with as many rows as A and columns as B, updated in place
+   */
+  public static void gemm(double alpha, FlatDoubleMatrix a, FlatDoubleMatrix b, double beta, FlatDoubleMatrix c) {
+    int rows = a.rowCount();
+    int inner = a.columnCount();
+    int columns = b.columnCount();
+    ArgChecker.isTrue(b.rowCount() == inner, "Matrix B must have {} rows", inner);
+    ArgChecker.isTrue(c.rowCount() == rows && c.columnCount() == columns, "Matrix C must be {} by {}", rows, columns);
+    ArgChecker.isFalse(c == a || c == b, "Matrix C must be different from A and B");
+    double[] aData = a.getData();
+    double[] bData = b.getData();
+    double[] cData = c.getData();
+    scaleOrClear(beta, cData, 0, cData.length);
+    // i-k-j order, so that the rows of B and C are read sequentially
+    for (int i = 0; i < rows; i++) {
+      int aOffset = i * inner;
+      int cOffset = i * columns;
+      for (int k = 0; k < inner; k++) {
+        double factor = alpha * aData[aOffset + k];
+        if (factor != 0d) {
+          int bOffset = k * columns;
+          for (int j = 0; j < columns; j++) {
+            cData[cOffset + j] += factor * bData[bOffset + j];
+          }
+        }
+      }
+    }
+  }
+
+  /**
+   * Computes the rank-1 update {@code A = alpha * x y^T + A}, updating {@code A} in place.
+   *
+   * @param alpha  the multiplier of the outer product
+   * @param x  the vector x, of length the number of rows of A
+   * @param y  the vector y, of length the number of columns of A
+   * @param a  the matrix A, updated in place
+   */
+  public static void ger(double alpha, double[] x, double[] y, FlatDoubleMatrix a) {
+    int rows = a.rowCount();
+    int columns = a.columnCount();
+    ArgChecker.isTrue(x.length == rows, "Vector x must have length {}", rows);
+    ArgChecker.isTrue(y.length == columns, "Vector y must have length {}", columns);
+    double[] aData = a.getData();
+    for (int i = 0; i < rows; i++) {
+      double factor = alpha * x[i];
+      if (factor != 0d) {
+        int offset = i * columns;
+        for (int j = 0; j < columns; j++) {
+          aData[offset + j] += factor * y[j];
+        }
+      }
+    }
+  }
+
+  // scales part of an array, clearing it if the factor is zero so that NaN is not propagated
+  private static void scaleOrClear(double beta, double[] array, int from, int to) {
+    if (beta == 0d) {
+      for (int i = from; i < to; i++) {
+        array[i] = 0d;
+      }
+    } else if (beta != 1d) {
+      for (int i = from; i < to; i++) {
+        array[i] *= beta;
+      }
+    }
+  }
+
+}
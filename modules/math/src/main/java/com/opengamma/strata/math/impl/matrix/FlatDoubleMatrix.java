@@ -0,0 +1,259 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+
+/**
+ * A mutable matrix of doubles stored in a single contiguous array in row-major order.
+ * <p>
+ * Unlike {@link DoubleMatrix2D}, which wraps a jagged {@code double[][]}, the elements are held in one
+ * {@code double[]} where element {@code (i, j)} is at index {@code i * columnCount + j}.
+ * This layout is intended for numerical hot paths, where the matrix is updated in place by
+ * {@link FlatBlas} or decomposed in place, avoiding the copies made by the {@link MatrixAlgebra} implementations.
+ * <p>
+ * Vectors are represented by plain {@code double[]}, which is also the backing array of {@link DoubleMatrix1D}.
+ * <p>
+ * This class is mutable and not thread-safe.
+ */
+public final class FlatDoubleMatrix {
+
+  /**
+   * The number of rows.
+   */
+  private final int rows;
+  /**
+   * The number of columns.
+   */
+  private final int columns;
+  /**
+   * The elements, in row-major order.
+   */
+  private final double[] data;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a matrix of zeros.
+   *
+   * @param rows  the number of rows
+   * @param columns  the number of columns
+   * @return the matrix
+   */
+  public static FlatDoubleMatrix of(int rows, int columns) {
+    ArgChecker.notNegative(rows, "rows");
+    ArgChecker.notNegative(columns, "columns");
+    return new FlatDoubleMatrix(rows, columns, new double[rows * columns]);
+  }
+
+  /**
+   * Obtains an identity matrix.
+   *
+   * @param size  the number of rows and columns
+   * @return the identity matrix
+   */
+  public static FlatDoubleMatrix identity(int size) {
+    FlatDoubleMatrix result = of(size, size);
+    for (int i = 0; i < size; i++) {
+      result.data[i * size + i] = 1d;
+    }
+    return result;
+  }
+
+  /**
+   * Obtains a matrix wrapping an array in row-major order, without copying it.
+   * <p>
+   * Changes to the array are reflected in the matrix and vice versa.
+   *
+   * @param rows  the number of rows
+   * @param columns  the number of columns
+   * @param data  the elements in row-major order, of length {@code rows * columns}
+   * @return the matrix
+   */
+  public static FlatDoubleMatrix wrap(int rows, int columns, double[] data) {
+    ArgChecker.notNegative(rows, "rows");
+    ArgChecker.notNegative(columns, "columns");
+    ArgChecker.notNull(data, "data");
+    ArgChecker.isTrue(
+        data.length == rows * columns, "Data must have {} elements, but was {}", rows * columns, data.length);
+    return new FlatDoubleMatrix(rows, columns, data);
+  }
+
+  /**
+   * Obtains a matrix by copying a jagged array.
+   *
+   * @param data  the elements in row-column form, must be rectangular
+   * @return the matrix
+   */
+  public static FlatDoubleMatrix copyOf(double[][] data) {
+    ArgChecker.notNull(data, "data");
+    int rows = data.length;
+    int columns = (rows == 0 ? 0 : data[0].length);
+    double[] flat = new double[rows * columns];
+    for (int i = 0; i < rows; i++) {
+      ArgChecker.isTrue(data[i].length == columns, "Matrix must be rectangular");
+      System.arraycopy(data[i], 0, flat, i * columns, columns);
+    }
+    return new FlatDoubleMatrix(rows, columns, flat);
+  }
+
+  /**
+   * Obtains a matrix by copying a {@code DoubleMatrix2D}.
+   *
+   * @param matrix  the matrix to copy
+   * @return the matrix
+   */
+  public static FlatDoubleMatrix copyOf(DoubleMatrix2D matrix) {
+    ArgChecker.notNull(matrix, "matrix");
+    return copyOf(matrix.getData());
+  }
+
+  // creates an instance, without copying the data
+  private FlatDoubleMatrix(int rows, int columns, double[] data) {
+    this.rows = rows;
+    this.columns = columns;
+    this.data = data;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the number of rows.
+   *
+   * @return the number of rows
+   */
+  public int rowCount() {
+    return rows;
+  }
+
+  /**
+   * Gets the number of columns.
+   *
+   * @return the number of columns
+   */
+  public int columnCount() {
+    return columns;
+  }
+
+  /**
+   * Checks if the matrix is square.
+   *
+   * @return true if the number of rows equals the number of columns
+   */
+  public boolean isSquare() {
+    return rows == columns;
+  }
+
+  /**
+   * Gets an element of the matrix.
+   *
+   * @param row  the zero-based row index
+   * @param column  the zero-based column index
+   * @return the element
+   */
+  public double get(int row, int column) {
+    return data[row * columns + column];
+  }
+
+  /**
+   * Sets an element of the matrix.
+   *
+   * @param row  the zero-based row index
+   * @param column  the zero-based column index
+   * @param value  the new value
+   */
+  public void set(int row, int column, double value) {
+    data[row * columns + column] = value;
+  }
+
+  /**
+   * Gets the backing array, in row-major order.
+   * <p>
+   * The array is not copied, changes to it are reflected in the matrix.
+   *
+   * @return the backing array
+   */
+  public double[] getData() {
+    return data;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this matrix.
+   *
+   * @return the copy
+   */
+  public FlatDoubleMatrix copy() {
+    return new FlatDoubleMatrix(rows, columns, data.clone());
+  }
+
+  /**
+   * Returns the transpose of this matrix, as a new matrix.
+   *
+   * @return the transpose
+   */
+  public FlatDoubleMatrix transpose() {
+    double[] result = new double[data.length];
+    for (int i = 0; i < rows; i++) {
+      int offset = i * columns;
+      for (int j = 0; j < columns; j++) {
+        result[j * rows + i] = data[offset + j];
+      }
+    }
+    return new FlatDoubleMatrix(columns, rows, result);
+  }
+
+  /**
+   * Returns the elements as a jagged array.
+   *
+   * @return the elements in row-column form
+   */
+  public double[][] toArray() {
+    double[][] result = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      result[i] = Arrays.copyOfRange(data, i * columns, (i + 1) * columns);
+    }
+    return result;
+  }
+
+  /**
+   * Converts this matrix to a {@code DoubleMatrix2D}.
+   * <p>
+   * The elements are copied once.
+   *
+   * @return the matrix
+   */
+  public DoubleMatrix2D toDoubleMatrix2D() {
+    if (rows == 0 || columns == 0) {
+      return DoubleMatrix2D.EMPTY_MATRIX;
+    }
+    return DoubleMatrix2D.ofUnsafe(toArray());
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof FlatDoubleMatrix) {
+      FlatDoubleMatrix other = (FlatDoubleMatrix) obj;
+      return rows == other.rows && columns == other.columns && Arrays.equals(data, other.data);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return (rows * 31 + columns) * 31 + Arrays.hashCode(data);
+  }
+
+  @Override
+  public String toString() {
+    return "FlatDoubleMatrix" + Arrays.deepToString(toArray());
+  }
+
+}
@@ -5,16 +5,18 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
-import static com.opengamma.strata.math.impl.matrix.MatrixAlgebraFactory.OG_ALGEBRA;
-
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.math.impl.function.Function1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
-import com.opengamma.strata.math.impl.matrix.Matrix;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
 
 /**
- *
+ * Broyden's update of the Jacobian estimate.
+ * <p>
+ * The update is the rank-1 correction $\mathbf{J} + (\Delta y - \mathbf{J}\Delta x)\Delta x^T / |\Delta x|^2$.
+ * It is applied in place to a flat copy of the matrix, which is then copied to the result.
  */
 public class BroydenMatrixUpdateFunction implements NewtonRootFinderMatrixUpdateFunction {
 
@@ -23,13 +25,17 @@ public class BroydenMatrixUpdateFunction implements NewtonRootFinderMatrixUpdate
     ArgChecker.notNull(deltaX, "deltaX");
     ArgChecker.notNull(deltaY, "deltaY");
     ArgChecker.notNull(matrix, "matrix");
-    final double length2 = OG_ALGEBRA.getInnerProduct(deltaX, deltaX);
+    double[] dx = deltaX.getData();
+    final double length2 = FlatBlas.dot(dx, dx);
     if (length2 == 0.0) {
       return matrix;
     }
-    Matrix<?> temp = OG_ALGEBRA.subtract(deltaY, OG_ALGEBRA.multiply(matrix, deltaX));
-    temp = OG_ALGEBRA.scale(temp, 1.0 / length2);
-    return (DoubleMatrix2D) OG_ALGEBRA.add(matrix, OG_ALGEBRA.getOuterProduct(temp, deltaX));
+    FlatDoubleMatrix updated = FlatDoubleMatrix.copyOf(matrix);
+    // residual = deltaY - J deltaX
+    double[] residual = deltaY.toArray();
+    FlatBlas.gemv(-1d, updated, dx, 1d, residual);
+    FlatBlas.ger(1d / length2, residual, dx, updated);
+    return updated.toDoubleMatrix2D();
   }
 
 }
@@ -0,0 +1,90 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionFlat;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+
+/**
+ * Broyden root finder working in a {@link NewtonWorkspace}.
+ * <p>
+ * This is equivalent to {@link BroydenVectorRootFinder}: the estimate is the Jacobian, which is updated
+ * using Broyden's rank one update, and the direction is found by decomposing the estimate.
+ * The update is performed in place in the workspace. The flat decompositions, {@link LUDecompositionFlat}
+ * and {@link SVDecompositionFlat}, are performed in place in the factorization buffer of the workspace,
+ * while any other decomposition is applied to a copy of the estimate.
+ */
+public class BroydenWorkspaceVectorRootFinder extends NewtonWorkspaceVectorRootFinder {
+  private static final double DEF_TOL = 1e-7;
+  private static final int MAX_STEPS = 100;
+  private final Decomposition<?> _decomposition;
+
+  public BroydenWorkspaceVectorRootFinder() {
+    this(DEF_TOL, DEF_TOL, MAX_STEPS);
+  }
+
+  public BroydenWorkspaceVectorRootFinder(final double absoluteTol, final double relativeTol, final int maxSteps) {
+    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionFlat());
+  }
+
+  public BroydenWorkspaceVectorRootFinder(
+      final double absoluteTol,
+      final double relativeTol,
+      final int maxSteps,
+      final Decomposition<?> decomp) {
+
+    super(absoluteTol, relativeTol, maxSteps);
+    ArgChecker.notNull(decomp, "decomp");
+    _decomposition = decomp;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  void initializeEstimate(final DoubleMatrix2D jacobian, final NewtonWorkspace workspace) {
+    copyMatrix(jacobian, workspace.estimate);
+  }
+
+  @Override
+  void computeDirection(final NewtonWorkspace workspace) {
+    if (_decomposition instanceof LUDecompositionFlat) {
+      copyEstimateToFactor(workspace);
+      ((LUDecompositionFlat) _decomposition).evaluate(workspace.factor, workspace.pivot)
+          .solve(workspace.y, workspace.direction);
+    } else if (_decomposition instanceof SVDecompositionFlat) {
+      // the estimate is square, so the decomposition is performed in place
+      copyEstimateToFactor(workspace);
+      ((SVDecompositionFlat) _decomposition).evaluate(workspace.factor)
+          .solve(workspace.y, workspace.direction);
+    } else {
+      double[] direction = _decomposition.evaluate(workspace.estimate.toDoubleMatrix2D()).solve(workspace.y);
+      System.arraycopy(direction, 0, workspace.direction, 0, direction.length);
+    }
+  }
+
+  @Override
+  void updateEstimate(final NewtonWorkspace workspace) {
+    final double length2 = FlatBlas.dot(workspace.deltaX, workspace.deltaX);
+    if (length2 == 0.0) {
+      return;
+    }
+    // residual = deltaY - J deltaX
+    final double[] residual = workspace.work1;
+    System.arraycopy(workspace.deltaY, 0, residual, 0, residual.length);
+    FlatBlas.gemv(-1d, workspace.estimate, workspace.deltaX, 1d, residual);
+    FlatBlas.ger(1d / length2, residual, workspace.deltaX, workspace.estimate);
+  }
+
+  // copies the estimate to the buffer overwritten by the decompositions
+  private static void copyEstimateToFactor(final NewtonWorkspace workspace) {
+    final double[] estimate = workspace.estimate.getData();
+    System.arraycopy(estimate, 0, workspace.factor.getData(), 0, estimate.length);
+  }
+
+}
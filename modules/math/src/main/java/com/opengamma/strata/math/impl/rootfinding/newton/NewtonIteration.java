@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.google.common.primitives.Doubles;
+import com.opengamma.strata.math.impl.MathException;
+
+/**
+ * The iterations of a Newton-Raphson style multi-dimensional root finder.
+ * <p>
+ * This holds the iterations, the backtracking line search and the convergence criteria shared by
+ * {@link NewtonVectorRootFinder} and {@link NewtonWorkspaceVectorRootFinder}.
+ * Subclasses hold the position, the function values and the estimate of the Jacobian,
+ * which the root finders store in different ways.
+ * <p>
+ * An instance is created for each root finding problem and is not thread-safe.
+ */
+abstract class NewtonIteration {
+
+  private static final Logger s_logger = LoggerFactory.getLogger(NewtonIteration.class);
+  private static final double ALPHA = 1e-4;
+  private static final double BETA = 1.5;
+  private static final int FULL_RECALC_FREQ = 20;
+  private final double absoluteTol;
+  private final double relativeTol;
+  private final int maxSteps;
+  // the state of the backtracking line search
+  private double g0;
+  private double g1;
+  private double g2;
+  private double lambda0;
+  private double lambda1;
+
+  /**
+   * Creates an instance.
+   *
+   * @param absoluteTol  the absolute tolerance
+   * @param relativeTol  the relative tolerance
+   * @param maxSteps  the maximum number of steps
+   * @param g0  the squared norm of the function value at the start position
+   */
+  NewtonIteration(final double absoluteTol, final double relativeTol, final int maxSteps, final double g0) {
+    this.absoluteTol = absoluteTol;
+    this.relativeTol = relativeTol;
+    this.maxSteps = maxSteps;
+    this.g0 = g0;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Iterates from the start position until the root is found.
+   * <p>
+   * The estimate of the Jacobian at the start position must be initialized before this is called.
+   * When this returns, the current position is the root.
+   *
+   * @throws MathException if the root cannot be found
+   */
+  final void solve() {
+    if (!getNextPosition()) {
+      if (isConverged()) {
+        return; // this can happen if the starting position is the root
+      }
+      throw new MathException("Cannot work with this starting position. Please choose another point");
+    }
+
+    int count = 0;
+    int jacReconCount = 1;
+    while (!isConverged()) {
+      // Want to reset the Jacobian every so often even if backtracking is working
+      if ((jacReconCount) % FULL_RECALC_FREQ == 0) {
+        initializeEstimate();
+        jacReconCount = 1;
+      } else {
+        updateEstimate();
+        jacReconCount++;
+      }
+      // if backtracking fails, could be that Jacobian estimate has drifted too far
+      if (!getNextPosition()) {
+        initializeEstimate();
+        jacReconCount = 1;
+        if (!getNextPosition()) {
+          if (isConverged()) {
+            //non-standard exit. Cannot find an improvement from this position,
+            //so provided we are close enough to the root, exit.
+            return;
+          }
+          String msg = "Failed to converge in backtracking, even after a Jacobian recalculation." + getErrorMessage();
+          s_logger.info(msg);
+          throw new MathException(msg);
+        }
+      }
+      count++;
+      if (count > maxSteps) {
+        throw new MathException("Failed to converge - maximum iterations of " + maxSteps + " reached." +
+            getErrorMessage());
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the direction of the Newton step from the current estimate and function value.
+   * <p>
+   * The step is minus the direction, multiplied by the step length.
+   */
+  abstract void computeDirection();
+
+  /**
+   * Evaluates the function at a trial position.
+   * <p>
+   * The trial position is the current position minus the direction multiplied by the step length.
+   * The step and the change in the function value are stored, to be accepted by {@link #acceptStep()}.
+   *
+   * @param lambda  the step length
+   * @return the squared norm of the function value at the trial position
+   */
+  abstract double evaluateStep(double lambda);
+
+  /**
+   * Moves the current position and function value by the last trial step.
+   */
+  abstract void acceptStep();
+
+  /**
+   * Initializes the estimate from the Jacobian at the current position.
+   */
+  abstract void initializeEstimate();
+
+  /**
+   * Updates the estimate from the last step and change in the function value.
+   */
+  abstract void updateEstimate();
+
+  /**
+   * Gets the current position.
+   *
+   * @return the position, not to be modified
+   */
+  abstract double[] getX();
+
+  /**
+   * Gets the last trial step.
+   *
+   * @return the step, not to be modified
+   */
+  abstract double[] getDeltaX();
+
+  /**
+   * Gets the description of the current state, added to the message when the root finding fails.
+   *
+   * @return the description
+   */
+  abstract String getErrorMessage();
+
+  //-------------------------------------------------------------------------
+  private boolean getNextPosition() {
+    computeDirection();
+    if (lambda0 < 1.0) {
+      lambda0 = 1.0;
+    } else {
+      lambda0 *= BETA;
+    }
+    updatePosition();
+    if (!Doubles.isFinite(g1)) {
+      bisectBacktrack();
+    }
+    if (g1 > g0 / (1 + ALPHA * lambda0)) {
+      quadraticBacktrack();
+      int count = 0;
+      while (g1 > g0 / (1 + ALPHA * lambda0)) {
+        if (count > 5) {
+          return false;
+        }
+        cubicBacktrack();
+        count++;
+      }
+    }
+    g0 = g1;
+    acceptStep();
+    return true;
+  }
+
+  private void updatePosition() {
+    final double gNew = evaluateStep(lambda0);
+    g2 = g1;
+    g1 = gNew;
+  }
+
+  private void bisectBacktrack() {
+    do {
+      lambda0 *= 0.1;
+      updatePosition();
+
+      if (lambda0 == 0.0) {
+        throw new MathException("Failed to converge");
+      }
+    } while (!Doubles.isFinite(g1) || !Doubles.isFinite(g2));
+  }
+
+  private void quadraticBacktrack() {
+    final double lambda = Math.max(0.01 * lambda0, g0 * lambda0 * lambda0 / (g1 + g0 * (2 * lambda0 - 1)));
+    swapLambdaAndReplace(lambda);
+    updatePosition();
+  }
+
+  private void cubicBacktrack() {
+    final double temp1 = 1.0 / lambda0 / lambda0;
+    final double temp2 = 1.0 / lambda1 / lambda1;
+    final double temp3 = g1 + g0 * (2 * lambda0 - 1.0);
+    final double temp4 = g2 + g0 * (2 * lambda1 - 1.0);
+    final double temp5 = 1.0 / (lambda0 - lambda1);
+    final double a = temp5 * (temp1 * temp3 - temp2 * temp4);
+    final double b = temp5 * (-lambda1 * temp1 * temp3 + lambda0 * temp2 * temp4);
+    double lambda = (-b + Math.sqrt(b * b + 6 * a * g0)) / 3 / a;
+    // make sure new lambda is between 1% & 75% of old value
+    lambda = Math.min(Math.max(lambda, 0.01 * lambda0), 0.75 * lambda1);
+    swapLambdaAndReplace(lambda);
+    updatePosition();
+  }
+
+  private void swapLambdaAndReplace(final double lambda) {
+    lambda1 = lambda0;
+    lambda0 = lambda;
+  }
+
+  private boolean isConverged() {
+    final double[] deltaX = getDeltaX();
+    final double[] x = getX();
+    for (int i = 0; i < deltaX.length; i++) {
+      final double diff = Math.abs(deltaX[i]);
+      final double scale = Math.abs(x[i]);
+      if (diff > absoluteTol + scale * relativeTol) {
+        return false;
+      }
+    }
+    return (Math.sqrt(g0) < absoluteTol);
+  }
+
+}
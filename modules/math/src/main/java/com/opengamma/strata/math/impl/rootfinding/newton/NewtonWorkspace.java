@@ -0,0 +1,115 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * The preallocated buffers used by a {@link NewtonWorkspaceVectorRootFinder}.
+ * <p>
+ * A workspace holds the state of the root finder for a problem of a given size: the position, the function value,
+ * the step, the estimate of the Jacobian (or of its inverse) and the buffers used to factorize it.
+ * All the buffers are updated in place, so a workspace can be reused for any number of root finding problems
+ * of the same size, for example the repeated calibrations of the same curve group.
+ * <p>
+ * A workspace is mutable and must not be used by more than one root finder at a time.
+ */
+public final class NewtonWorkspace {
+
+  /**
+   * The size of the problem.
+   */
+  private final int size;
+  /**
+   * The current position.
+   */
+  final double[] x;
+  /**
+   * The function value at the current position.
+   */
+  final double[] y;
+  /**
+   * The last trial step in the position.
+   */
+  final double[] deltaX;
+  /**
+   * The change in the function value for the last trial step.
+   */
+  final double[] deltaY;
+  /**
+   * The trial position.
+   */
+  final double[] xNew;
+  /**
+   * The direction of the Newton step.
+   */
+  final double[] direction;
+  /**
+   * The first work vector.
+   */
+  final double[] work1;
+  /**
+   * The second work vector.
+   */
+  final double[] work2;
+  /**
+   * The estimate of the Jacobian, or of its inverse.
+   */
+  final FlatDoubleMatrix estimate;
+  /**
+   * The matrix overwritten by the factorization of the estimate.
+   */
+  final FlatDoubleMatrix factor;
+  /**
+   * The pivot of the factorization of the estimate.
+   */
+  final int[] pivot;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains a workspace for problems of the specified size.
+   *
+   * @param size  the number of variables, which is also the number of function values
+   * @return the workspace
+   */
+  public static NewtonWorkspace of(int size) {
+    ArgChecker.notNegativeOrZero(size, "size");
+    return new NewtonWorkspace(size);
+  }
+
+  // creates an instance
+  private NewtonWorkspace(int size) {
+    this.size = size;
+    this.x = new double[size];
+    this.y = new double[size];
+    this.deltaX = new double[size];
+    this.deltaY = new double[size];
+    this.xNew = new double[size];
+    this.direction = new double[size];
+    this.work1 = new double[size];
+    this.work2 = new double[size];
+    this.estimate = FlatDoubleMatrix.of(size, size);
+    this.factor = FlatDoubleMatrix.of(size, size);
+    this.pivot = new int[size];
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the size of the problems that can be solved with this workspace.
+   *
+   * @return the number of variables
+   */
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public String toString() {
+    return "NewtonWorkspace[size=" + size + "]";
+  }
+
+}
@@ -0,0 +1,231 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import java.util.Arrays;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.differentiation.VectorFieldFirstOrderDifferentiator;
+import com.opengamma.strata.math.impl.function.Function1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+import com.opengamma.strata.math.impl.rootfinding.VectorRootFinder;
+
+/**
+ * Base implementation for Newton-Raphson style multi-dimensional root finding working in a {@link NewtonWorkspace}.
+ * <p>
+ * The iterations, backtracking and convergence criteria are shared with {@link NewtonVectorRootFinder},
+ * but the position, the function values and the estimate of the Jacobian are held in the preallocated buffers
+ * of the workspace and updated in place. Apart from the values exchanged with the function and the Jacobian
+ * function, no memory is allocated by the iterations.
+ * <p>
+ * The root finder itself is immutable, so it can be shared. The workspace is mutable and can be reused
+ * for repeated problems of the same size, such as the calibration of the same curve group.
+ */
+public abstract class NewtonWorkspaceVectorRootFinder extends VectorRootFinder {
+  private final double _absoluteTol, _relativeTol;
+  private final int _maxSteps;
+
+  /**
+   * Creates an instance.
+   *
+   * @param absoluteTol  the absolute tolerance
+   * @param relativeTol  the relative tolerance
+   * @param maxSteps  the maximum number of steps
+   */
+  NewtonWorkspaceVectorRootFinder(final double absoluteTol, final double relativeTol, final int maxSteps) {
+    ArgChecker.notNegative(absoluteTol, "absolute tolerance");
+    ArgChecker.notNegative(relativeTol, "relative tolerance");
+    ArgChecker.notNegative(maxSteps, "maxSteps");
+    _absoluteTol = absoluteTol;
+    _relativeTol = relativeTol;
+    _maxSteps = maxSteps;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public DoubleMatrix1D getRoot(
+      final Function1D<DoubleMatrix1D, DoubleMatrix1D> function,
+      final DoubleMatrix1D startPosition) {
+
+    final VectorFieldFirstOrderDifferentiator jac = new VectorFieldFirstOrderDifferentiator();
+    return getRoot(function, jac.differentiate(function), startPosition);
+  }
+
+  /**
+   * Finds the root, using a new workspace.
+   *
+   * @param function  a vector function (i.e. vector to vector)
+   * @param jacobianFunction  calculates the Jacobian
+   * @param startPosition  where to start the root finder for
+   * @return the vector root of the collection of functions
+   */
+  public DoubleMatrix1D getRoot(
+      final Function1D<DoubleMatrix1D, DoubleMatrix1D> function,
+      final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianFunction,
+      final DoubleMatrix1D startPosition) {
+
+    ArgChecker.notNull(startPosition, "startPosition");
+    NewtonWorkspace workspace = NewtonWorkspace.of(startPosition.getNumberOfElements());
+    return getRoot(function, jacobianFunction, startPosition, null, workspace);
+  }
+
+  /**
+   * Finds the root, using the buffers of the specified workspace.
+   * <p>
+   * The state of the workspace is overwritten, so the workspace can be reused for successive calls.
+   * If a good estimate of the Jacobian at the start position is already known, for example when the start
+   * position is the root of a previous, similar, problem, it can be passed as the initial Jacobian.
+   * The Jacobian function is then only evaluated if the estimate needs to be recalculated during the iterations.
+   *
+   * @param function  a vector function (i.e. vector to vector), with as many values as variables
+   * @param jacobianFunction  calculates the Jacobian
+   * @param startPosition  where to start the root finder for
+   * @param initialJacobian  the Jacobian at the start position, null to calculate it using the Jacobian function
+   * @param workspace  the workspace, of the size of the start position
+   * @return the vector root of the collection of functions
+   */
+  public DoubleMatrix1D getRoot(
+      final Function1D<DoubleMatrix1D, DoubleMatrix1D> function,
+      final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianFunction,
+      final DoubleMatrix1D startPosition,
+      final DoubleMatrix2D initialJacobian,
+      final NewtonWorkspace workspace) {
+
+    checkInputs(function, startPosition);
+    ArgChecker.notNull(jacobianFunction, "jacobianFunction");
+    ArgChecker.notNull(workspace, "workspace");
+    final int n = startPosition.getNumberOfElements();
+    ArgChecker.isTrue(workspace.getSize() == n,
+        "Workspace size {} must match start position size {}", workspace.getSize(), n);
+
+    System.arraycopy(startPosition.getData(), 0, workspace.x, 0, n);
+    copyValues(function.evaluate(startPosition), workspace.y);
+    initializeEstimate(initialJacobian != null ? initialJacobian : jacobianFunction.evaluate(startPosition), workspace);
+    new Iteration(function, jacobianFunction, workspace).solve();
+    return new DoubleMatrix1D(workspace.x);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Initializes the estimate held in the workspace from the Jacobian at the current position.
+   *
+   * @param jacobian  the Jacobian
+   * @param workspace  the workspace
+   */
+  abstract void initializeEstimate(DoubleMatrix2D jacobian, NewtonWorkspace workspace);
+
+  /**
+   * Computes the direction of the Newton step from the estimate and the function value held in the workspace.
+   * <p>
+   * The result is written in the direction buffer of the workspace. The step is minus the direction.
+   *
+   * @param workspace  the workspace
+   */
+  abstract void computeDirection(NewtonWorkspace workspace);
+
+  /**
+   * Updates the estimate held in the workspace in place, from the last step and change in the function value.
+   *
+   * @param workspace  the workspace
+   */
+  abstract void updateEstimate(NewtonWorkspace workspace);
+
+  //-------------------------------------------------------------------------
+  // the iterations, holding the position, function value and estimate in the buffers of the workspace
+  private final class Iteration extends NewtonIteration {
+    private final Function1D<DoubleMatrix1D, DoubleMatrix1D> _function;
+    private final Function1D<DoubleMatrix1D, DoubleMatrix2D> _jacobianFunction;
+    private final NewtonWorkspace _ws;
+
+    private Iteration(
+        final Function1D<DoubleMatrix1D, DoubleMatrix1D> function,
+        final Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobianFunction,
+        final NewtonWorkspace ws) {
+
+      super(_absoluteTol, _relativeTol, _maxSteps, FlatBlas.dot(ws.y, ws.y));
+      _function = function;
+      _jacobianFunction = jacobianFunction;
+      _ws = ws;
+    }
+
+    @Override
+    void computeDirection() {
+      NewtonWorkspaceVectorRootFinder.this.computeDirection(_ws);
+    }
+
+    @Override
+    double evaluateStep(final double lambda) {
+      final int n = _ws.getSize();
+      final double[] p = _ws.direction;
+      for (int i = 0; i < n; i++) {
+        _ws.deltaX[i] = -lambda * p[i];
+        _ws.xNew[i] = _ws.x[i] + _ws.deltaX[i];
+      }
+      // the function value is held in the change buffer, then the current value is subtracted
+      copyValues(_function.evaluate(new DoubleMatrix1D(_ws.xNew)), _ws.deltaY);
+      final double g1 = FlatBlas.dot(_ws.deltaY, _ws.deltaY);
+      FlatBlas.axpy(-1d, _ws.y, _ws.deltaY);
+      return g1;
+    }
+
+    @Override
+    void acceptStep() {
+      FlatBlas.axpy(1d, _ws.deltaX, _ws.x);
+      FlatBlas.axpy(1d, _ws.deltaY, _ws.y);
+    }
+
+    @Override
+    void initializeEstimate() {
+      NewtonWorkspaceVectorRootFinder.this.initializeEstimate(
+          _jacobianFunction.evaluate(new DoubleMatrix1D(_ws.x)), _ws);
+    }
+
+    @Override
+    void updateEstimate() {
+      NewtonWorkspaceVectorRootFinder.this.updateEstimate(_ws);
+    }
+
+    @Override
+    double[] getX() {
+      return _ws.x;
+    }
+
+    @Override
+    double[] getDeltaX() {
+      return _ws.deltaX;
+    }
+
+    @Override
+    String getErrorMessage() {
+      final DoubleMatrix1D x = new DoubleMatrix1D(_ws.x);
+      return "Final position:" + x + "\nlast deltaX:" + new DoubleMatrix1D(_ws.deltaX) + "\n function value:" +
+          new DoubleMatrix1D(_ws.y) + "\nJacobian: \n" + _jacobianFunction.evaluate(x);
+    }
+  }
+
+  // copies a matrix into a flat matrix of the same size
+  static void copyMatrix(final DoubleMatrix2D matrix, final FlatDoubleMatrix flat) {
+    final int n = flat.rowCount();
+    ArgChecker.isTrue(matrix.getNumberOfRows() == n && matrix.getNumberOfColumns() == n,
+        "Matrix must be {} by {}", n, n);
+    final double[][] data = matrix.getData();
+    final double[] flatData = flat.getData();
+    for (int i = 0; i < n; i++) {
+      System.arraycopy(data[i], 0, flatData, i * n, n);
+    }
+  }
+
+  // copies the function values into a buffer, checking that the function is square
+  private static void copyValues(final DoubleMatrix1D values, final double[] buffer) {
+    ArgChecker.isTrue(values.getNumberOfElements() == buffer.length,
+        "Function must have as many values as variables: {}", Arrays.toString(values.getData()));
+    System.arraycopy(values.getData(), 0, buffer, 0, buffer.length);
+  }
+
+}
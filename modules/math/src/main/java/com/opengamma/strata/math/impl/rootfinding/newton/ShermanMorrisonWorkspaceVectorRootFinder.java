@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.math.impl.linearalgebra.Decomposition;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrixUtils;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+
+/**
+ * Sherman-Morrison root finder working in a {@link NewtonWorkspace}.
+ * <p>
+ * This is equivalent to {@link ShermanMorrisonVectorRootFinder}: the estimate is the inverse of the Jacobian,
+ * which is updated using the Sherman-Morrison formula, so the direction is a matrix-vector product.
+ * The decomposition is only used to invert the Jacobian when the estimate is initialized.
+ * The direction and the update are performed in place in the workspace.
+ */
+public class ShermanMorrisonWorkspaceVectorRootFinder extends NewtonWorkspaceVectorRootFinder {
+  private static final double DEF_TOL = 1e-7;
+  private static final int MAX_STEPS = 100;
+  private final Decomposition<?> _decomposition;
+
+  public ShermanMorrisonWorkspaceVectorRootFinder() {
+    this(DEF_TOL, DEF_TOL, MAX_STEPS);
+  }
+
+  public ShermanMorrisonWorkspaceVectorRootFinder(
+      final double absoluteTol,
+      final double relativeTol,
+      final int maxSteps) {
+
+    this(absoluteTol, relativeTol, maxSteps, new LUDecompositionFlat());
+  }
+
+  public ShermanMorrisonWorkspaceVectorRootFinder(
+      final double absoluteTol,
+      final double relativeTol,
+      final int maxSteps,
+      final Decomposition<?> decomp) {
+
+    super(absoluteTol, relativeTol, maxSteps);
+    ArgChecker.notNull(decomp, "decomp");
+    _decomposition = decomp;
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  void initializeEstimate(final DoubleMatrix2D jacobian, final NewtonWorkspace workspace) {
+    DoubleMatrix2D identity = DoubleMatrixUtils.getIdentityMatrix2D(workspace.getSize());
+    copyMatrix(_decomposition.evaluate(jacobian).solve(identity), workspace.estimate);
+  }
+
+  @Override
+  void computeDirection(final NewtonWorkspace workspace) {
+    FlatBlas.gemv(1d, workspace.estimate, workspace.y, 0d, workspace.direction);
+  }
+
+  @Override
+  void updateEstimate(final NewtonWorkspace workspace) {
+    // v1 = H^T deltaX, scaled by the inverse of v1.deltaY
+    final double[] v1 = workspace.work1;
+    FlatBlas.gemvTranspose(1d, workspace.estimate, workspace.deltaX, 0d, v1);
+    final double length = FlatBlas.dot(v1, workspace.deltaY);
+    if (length == 0) {
+      return;
+    }
+    FlatBlas.scal(1d / length, v1);
+    // v2 = deltaX - H deltaY
+    final double[] v2 = workspace.work2;
+    System.arraycopy(workspace.deltaX, 0, v2, 0, v2.length);
+    FlatBlas.gemv(-1d, workspace.estimate, workspace.deltaY, 1d, v2);
+    FlatBlas.ger(1d, v2, v1, workspace.estimate);
+  }
+
+}
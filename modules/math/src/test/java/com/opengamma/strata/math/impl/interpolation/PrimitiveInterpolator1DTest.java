@@ -0,0 +1,99 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.interpolation;
+
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.interpolation.data.InterpolationBoundsCursor;
+import com.opengamma.strata.math.impl.interpolation.data.Interpolator1DDataBundle;
+
+/**
+ * Test {@link PrimitiveInterpolator1D} and {@link PrimitiveExtrapolator1D}.
+ */
+@Test
+public class PrimitiveInterpolator1DTest {
+
+  private static final double[] X = {0.5, 1d, 2d, 3.5, 5d, 7d, 10d};
+  private static final double[] Y = {0.99, 0.98, 0.955, 0.93, 0.89, 0.85, 0.78};
+  private static final double TOL = 1e-12;
+  private static final double TOL_FD = 1e-6;
+  private static final double EPS = 1e-6;
+
+  private static final Interpolator1D[] INTERPOLATORS = {
+      new LinearInterpolator1D(),
+      new LogLinearInterpolator1D(),
+      new NaturalCubicSplineInterpolator1D(),
+      new DoubleQuadraticInterpolator1D(),
+      new PCHIPInterpolator1D()};
+  private static final Extrapolator1D[] EXTRAPOLATORS = {
+      new FlatExtrapolator1D(),
+      new LinearExtrapolator1D(),
+      new LogLinearExtrapolator1D()};
+
+  //-------------------------------------------------------------------------
+  public void test_combined_primitiveMatchesBoxed() {
+    for (Interpolator1D interpolator : INTERPOLATORS) {
+      for (Extrapolator1D extrapolator : EXTRAPOLATORS) {
+        CombinedInterpolatorExtrapolator combined =
+            new CombinedInterpolatorExtrapolator(interpolator, extrapolator, extrapolator);
+        Interpolator1DDataBundle data = combined.getDataBundleFromSortedArrays(X, Y);
+        InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+        double[] sensitivities = new double[X.length];
+        for (int i = 0; i <= 120; i++) {
+          double x = i * 0.1;
+          String msg = interpolator.getClass().getSimpleName() + ", " + extrapolator.getName() + ", x=" + x;
+          assertEquals(combined.interpolate(data, x, cursor), combined.interpolate(data, x), TOL, msg);
+          assertEquals(combined.interpolate(data, x, null), combined.interpolate(data, x), TOL, msg);
+          assertEquals(combined.firstDerivative(data, x, cursor), combined.firstDerivative(data, x), TOL, msg);
+          combined.getNodeSensitivitiesForValue(data, x, cursor, sensitivities);
+          double[] expected = combined.getNodeSensitivitiesForValue(data, x);
+          for (int j = 0; j < X.length; j++) {
+            assertEquals(sensitivities[j], expected[j], TOL, msg);
+          }
+        }
+      }
+    }
+  }
+
+  public void test_nodeSensitivities_finiteDifference() {
+    for (Interpolator1D interpolator : INTERPOLATORS) {
+      PrimitiveInterpolator1D primitive = (PrimitiveInterpolator1D) interpolator;
+      Interpolator1DDataBundle data = interpolator.getDataBundleFromSortedArrays(X, Y);
+      double[] sensitivities = new double[X.length];
+      for (int i = 0; i <= 19; i++) {
+        double x = 0.5 + i * 0.5;
+        primitive.getNodeSensitivitiesForValue(data, x, null, sensitivities);
+        for (int j = 0; j < X.length; j++) {
+          double[] yUp = Y.clone();
+          double[] yDown = Y.clone();
+          yUp[j] += EPS;
+          yDown[j] -= EPS;
+          double up = primitive.interpolate(interpolator.getDataBundleFromSortedArrays(X, yUp), x, null);
+          double down = primitive.interpolate(interpolator.getDataBundleFromSortedArrays(X, yDown), x, null);
+          String msg = interpolator.getClass().getSimpleName() + ", x=" + x + ", node " + j;
+          assertEquals(sensitivities[j], (up - down) / (2 * EPS), TOL_FD, msg);
+        }
+      }
+    }
+  }
+
+  public void test_sensitivities_resultOverwritten() {
+    for (Interpolator1D interpolator : INTERPOLATORS) {
+      PrimitiveInterpolator1D primitive = (PrimitiveInterpolator1D) interpolator;
+      Interpolator1DDataBundle data = interpolator.getDataBundleFromSortedArrays(X, Y);
+      double[] sensitivities = new double[X.length];
+      primitive.getNodeSensitivitiesForValue(data, 1.5, null, sensitivities);
+      primitive.getNodeSensitivitiesForValue(data, 8.5, null, sensitivities);
+      double[] expected = interpolator.getNodeSensitivitiesForValue(data, 8.5);
+      for (int j = 0; j < X.length; j++) {
+        assertEquals(sensitivities[j], expected[j], TOL);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.interpolation.data;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link InterpolationBoundsCursor}.
+ */
+@Test
+public class InterpolationBoundsCursorTest {
+
+  private static final double[] KEYS = {-2d, -0d, 1d, 1.5d, 3d, 7d};
+  private static final double[] VALUES = {1d, 2d, 3d, 4d, 5d, 6d};
+  private static final ArrayInterpolator1DDataBundle DATA = new ArrayInterpolator1DDataBundle(KEYS, VALUES, true);
+
+  public void test_lowerBoundIndex_ascending() {
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    for (int i = 0; i <= 90; i++) {
+      double value = -2d + i * 0.1;
+      assertEquals(cursor.lowerBoundIndex(KEYS, value), DATA.getLowerBoundIndex(value), "value " + value);
+    }
+  }
+
+  public void test_lowerBoundIndex_unordered() {
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    double[] values = {6.5, -1.5, 7d, 1d, 1.2, -2d, 0d, -0d, 3d, 2.9};
+    for (double value : values) {
+      assertEquals(cursor.lowerBoundIndex(KEYS, value), DATA.getLowerBoundIndex(value), "value " + value);
+      assertEquals(InterpolationBoundsCursor.lowerBoundIndex(KEYS, value, null), DATA.getLowerBoundIndex(value));
+    }
+  }
+
+  public void test_lowerBoundIndex_outOfRange() {
+    InterpolationBoundsCursor cursor = new InterpolationBoundsCursor();
+    assertThrowsIllegalArg(() -> cursor.lowerBoundIndex(KEYS, -2.1));
+    assertThrowsIllegalArg(() -> cursor.lowerBoundIndex(KEYS, 7.1));
+    assertThrowsIllegalArg(() -> InterpolationBoundsCursor.lowerBoundIndex(KEYS, 7.1, null));
+  }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsMatrix;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+
+/**
+ * Test {@link CholeskyDecompositionFlat}.
+ */
+@Test
+public class CholeskyDecompositionFlatTest {
+
+  private static final CholeskyDecompositionFlat CHOLESKY = new CholeskyDecompositionFlat();
+  private static final CholeskyDecompositionOpenGamma CHOLESKY_OG = new CholeskyDecompositionOpenGamma();
+  private static final DoubleMatrix2D A = new DoubleMatrix2D(new double[][] {
+      {10d, 2d, -1d, 0.5d}, {2d, 5d, 1d, 0.2d}, {-1d, 1d, 4d, 1d}, {0.5d, 0.2d, 1d, 3d}});
+  private static final DoubleMatrix2D B = new DoubleMatrix2D(new double[][] {
+      {1d, 0d}, {2d, -1d}, {0.5d, 3d}, {1d, 1d}});
+  private static final DoubleMatrix1D Y = new DoubleMatrix1D(1d, -2d, 0.5d, 3d);
+  private static final double EPS = 1.0E-12;
+
+  public void test_compareOpenGamma() {
+    CholeskyDecompositionResult expected = CHOLESKY_OG.evaluate(A);
+    CholeskyDecompositionFlatResult test = CHOLESKY.evaluate(A);
+    assertEqualsMatrix(test.getL(), expected.getL(), EPS);
+    assertEqualsMatrix(test.getLT(), expected.getLT(), EPS);
+    assertEquals(test.getDeterminant(), expected.getDeterminant(), EPS);
+    assertEqualsVectors(test.solve(Y), new DoubleMatrix1D(expected.solve(Y.getData())), EPS);
+    assertEqualsMatrix(test.solve(B), expected.solve(B), EPS);
+  }
+
+  public void test_inPlace() {
+    FlatDoubleMatrix matrix = FlatDoubleMatrix.copyOf(A);
+    CholeskyDecompositionFlatResult test = CHOLESKY.evaluate(matrix);
+    // the matrix is overwritten by L
+    assertEqualsMatrix(matrix.toDoubleMatrix2D(), test.getL(), 0d);
+    // the solution may overwrite the input
+    double[] x = Y.toArray();
+    test.solve(x, x);
+    assertEqualsVectors(new DoubleMatrix1D(x), test.solve(Y), EPS);
+  }
+
+  public void test_bad() {
+    assertThrowsIllegalArg(() -> CHOLESKY.evaluate(FlatDoubleMatrix.of(2, 3)));
+    assertThrowsIllegalArg(() -> CHOLESKY.evaluate(new DoubleMatrix2D(new double[][] {{1d, 2d}, {3d, 4d}})));
+    assertThrowsIllegalArg(() -> CHOLESKY.evaluate(new DoubleMatrix2D(new double[][] {{1d, 2d}, {2d, 1d}})));
+  }
+
+}
@@ -30,6 +30,12 @@ public class DecompositionFactoryTest {
     assertEquals(DecompositionFactory.LU_COMMONS_NAME, DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.LU_COMMONS_NAME)));
     assertEquals(DecompositionFactory.QR_COMMONS_NAME, DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.QR_COMMONS_NAME)));
     assertEquals(DecompositionFactory.SV_COMMONS_NAME, DecompositionFactory.getDecompositionName(DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME)));
+    assertEquals(DecompositionFactory.LU_FLAT_NAME, DecompositionFactory.getDecompositionName(
+        DecompositionFactory.getDecomposition(DecompositionFactory.LU_FLAT_NAME)));
+    assertEquals(DecompositionFactory.QR_FLAT_NAME, DecompositionFactory.getDecompositionName(
+        DecompositionFactory.getDecomposition(DecompositionFactory.QR_FLAT_NAME)));
+    assertEquals(DecompositionFactory.SV_FLAT_NAME, DecompositionFactory.getDecompositionName(
+        DecompositionFactory.getDecomposition(DecompositionFactory.SV_FLAT_NAME)));
   }
 
 }
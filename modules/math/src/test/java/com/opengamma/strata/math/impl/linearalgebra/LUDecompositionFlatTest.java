@@ -0,0 +1,67 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsMatrix;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link LUDecompositionFlat}.
+ */
+@Test
+public class LUDecompositionFlatTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final LUDecompositionFlat LU = new LUDecompositionFlat();
+  private static final LUDecompositionCommons LU_COMMONS = new LUDecompositionCommons();
+  private static final DoubleMatrix2D A = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, -1d, 0.5d}, {4d, 3d, 1d, -2d}, {2d, 2d, 3d, 1d}, {-1d, 5d, 0.2d, 3d}});
+  private static final DoubleMatrix2D B = new DoubleMatrix2D(new double[][] {
+      {1d, 0d}, {2d, -1d}, {0.5d, 3d}, {1d, 1d}});
+  private static final DoubleMatrix1D Y = new DoubleMatrix1D(1d, -2d, 0.5d, 3d);
+  private static final double EPS = 1.0E-12;
+
+  public void test_compareCommons() {
+    LUDecompositionResult expected = LU_COMMONS.evaluate(A);
+    LUDecompositionFlatResult test = LU.evaluate(A);
+    assertEqualsMatrix(test.getL(), expected.getL(), EPS);
+    assertEqualsMatrix(test.getU(), expected.getU(), EPS);
+    assertEqualsMatrix(test.getP(), expected.getP(), EPS);
+    assertEquals(test.getPivot(), expected.getPivot());
+    assertEquals(test.getDeterminant(), expected.getDeterminant(), EPS);
+    assertEqualsVectors(test.solve(Y), expected.solve(Y), EPS);
+    assertEqualsMatrix(test.solve(B), expected.solve(B), EPS);
+  }
+
+  public void test_inPlace() {
+    FlatDoubleMatrix matrix = FlatDoubleMatrix.copyOf(A);
+    LUDecompositionFlatResult test = LU.evaluate(matrix);
+    // the matrix is overwritten by L and U
+    assertEquals(matrix.get(0, 0), test.getU().getEntry(0, 0));
+    double[] x = new double[4];
+    test.solve(Y.getData(), x);
+    assertEqualsVectors(new DoubleMatrix1D(x), LU_COMMONS.evaluate(A).solve(Y), EPS);
+    assertThrowsIllegalArg(() -> test.solve(x, x));
+    assertEqualsMatrix(test.inverse().toDoubleMatrix2D(), ALGEBRA.getInverse(A), EPS);
+  }
+
+  public void test_bad() {
+    assertThrowsIllegalArg(() -> LU.evaluate((DoubleMatrix2D) null));
+    assertThrowsIllegalArg(() -> LU.evaluate(FlatDoubleMatrix.of(2, 3)));
+    assertThrowsIllegalArg(() -> LU.evaluate(new DoubleMatrix2D(new double[][] {{1d, 2d}, {2d, 4d}})));
+  }
+
+}
@@ -0,0 +1,59 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsMatrix;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+
+/**
+ * Test {@link QRDecompositionFlat}.
+ */
+@Test
+public class QRDecompositionFlatTest {
+
+  private static final QRDecompositionFlat QR = new QRDecompositionFlat();
+  private static final QRDecompositionCommons QR_COMMONS = new QRDecompositionCommons();
+  private static final DoubleMatrix2D SQUARE = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, -1d, 0.5d}, {4d, 3d, 1d, -2d}, {2d, 2d, 3d, 1d}, {-1d, 5d, 0.2d, 3d}});
+  private static final DoubleMatrix2D TALL = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, -1d}, {4d, 3d, 1d}, {2d, 2d, 3d}, {-1d, 5d, 0.2d}, {0.5d, -2d, 1d}});
+  private static final DoubleMatrix2D WIDE = new DoubleMatrix2D(new double[][] {{1d, 2d, -1d}, {4d, 3d, 1d}});
+  private static final DoubleMatrix1D Y4 = new DoubleMatrix1D(1d, -2d, 0.5d, 3d);
+  private static final DoubleMatrix1D Y5 = new DoubleMatrix1D(1d, -2d, 0.5d, 3d, 1d);
+  private static final double EPS = 1.0E-12;
+
+  public void test_compareCommons() {
+    for (DoubleMatrix2D matrix : new DoubleMatrix2D[] {SQUARE, TALL, WIDE}) {
+      QRDecompositionResult expected = QR_COMMONS.evaluate(matrix);
+      QRDecompositionFlatResult test = QR.evaluate(matrix);
+      assertEqualsMatrix(test.getQ(), expected.getQ(), EPS);
+      assertEqualsMatrix(test.getQT(), expected.getQT(), EPS);
+      assertEqualsMatrix(test.getR(), expected.getR(), EPS);
+    }
+  }
+
+  public void test_solve() {
+    QRDecompositionResult expected = QR_COMMONS.evaluate(SQUARE);
+    QRDecompositionFlatResult test = QR.evaluate(SQUARE);
+    assertEqualsVectors(test.solve(Y4), expected.solve(Y4), EPS);
+    assertEqualsMatrix(test.solve(SQUARE), expected.solve(SQUARE), EPS);
+    // least squares
+    assertEqualsVectors(QR.evaluate(TALL).solve(Y5), QR_COMMONS.evaluate(TALL).solve(Y5), EPS);
+  }
+
+  public void test_bad() {
+    assertThrowsIllegalArg(() -> QR.evaluate((DoubleMatrix2D) null));
+    assertThrowsIllegalArg(() -> QR.evaluate(WIDE).solve(new double[] {1d, 2d}));
+    assertThrowsIllegalArg(() -> QR.evaluate(new DoubleMatrix2D(new double[][] {{1d, 0d}, {0d, 0d}})).solve(Y4));
+  }
+
+}
@@ -0,0 +1,100 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.linearalgebra;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsMatrix;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+
+/**
+ * Test {@link SVDecompositionFlat}.
+ */
+@Test
+public class SVDecompositionFlatTest {
+
+  private static final MatrixAlgebra ALGEBRA = new CommonsMatrixAlgebra();
+  private static final SVDecompositionFlat SVD = new SVDecompositionFlat();
+  private static final SVDecompositionCommons SVD_COMMONS = new SVDecompositionCommons();
+  private static final DoubleMatrix2D SQUARE = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, -1d, 0.5d}, {4d, 3d, 1d, -2d}, {2d, 2d, 3d, 1d}, {-1d, 5d, 0.2d, 3d}});
+  private static final DoubleMatrix2D TALL = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, -1d}, {4d, 3d, 1d}, {2d, 2d, 3d}, {-1d, 5d, 0.2d}, {0.5d, -2d, 1d}});
+  private static final DoubleMatrix2D WIDE = ALGEBRA.getTranspose(TALL);
+  private static final DoubleMatrix2D SINGULAR = new DoubleMatrix2D(new double[][] {
+      {1d, 2d, 3d}, {2d, 4d, 6d}, {1d, 0d, 1d}});
+  private static final DoubleMatrix1D Y3 = new DoubleMatrix1D(1d, -2d, 0.5d);
+  private static final DoubleMatrix1D Y4 = new DoubleMatrix1D(1d, -2d, 0.5d, 3d);
+  private static final DoubleMatrix1D Y5 = new DoubleMatrix1D(1d, -2d, 0.5d, 3d, 1d);
+  private static final double EPS = 1.0E-12;
+
+  public void test_compareCommons() {
+    for (DoubleMatrix2D matrix : new DoubleMatrix2D[] {SQUARE, TALL, WIDE, SINGULAR}) {
+      SVDecompositionResult expected = SVD_COMMONS.evaluate(matrix);
+      SVDecompositionFlatResult test = SVD.evaluate(matrix);
+      double[] singularValues = test.getSingularValues();
+      double[] expectedValues = expected.getSingularValues();
+      assertEquals(singularValues.length, expectedValues.length);
+      for (int i = 0; i < singularValues.length; i++) {
+        assertEquals(singularValues[i], expectedValues[i], EPS);
+      }
+      assertEquals(test.getRank(), expected.getRank());
+      assertEquals(test.getNorm(), expected.getNorm(), EPS);
+      // the singular vectors may have different signs, so the decomposition is checked by recomposing the matrix
+      DoubleMatrix2D recomposed =
+          (DoubleMatrix2D) ALGEBRA.multiply(ALGEBRA.multiply(test.getU(), test.getS()), test.getVT());
+      assertEqualsMatrix(recomposed, matrix, EPS);
+      assertEqualsMatrix(test.getUT(), ALGEBRA.getTranspose(test.getU()), 0d);
+      assertEqualsMatrix(test.getV(), ALGEBRA.getTranspose(test.getVT()), 0d);
+    }
+  }
+
+  public void test_solve() {
+    assertEqualsVectors(SVD.evaluate(SQUARE).solve(Y4), SVD_COMMONS.evaluate(SQUARE).solve(Y4), EPS);
+    assertEqualsVectors(SVD.evaluate(TALL).solve(Y5), SVD_COMMONS.evaluate(TALL).solve(Y5), EPS);
+    assertEqualsVectors(SVD.evaluate(WIDE).solve(Y3), SVD_COMMONS.evaluate(WIDE).solve(Y3), EPS);
+    assertEqualsVectors(SVD.evaluate(SINGULAR).solve(Y3), SVD_COMMONS.evaluate(SINGULAR).solve(Y3), EPS);
+    assertEqualsMatrix(SVD.evaluate(SQUARE).solve(SQUARE), SVD_COMMONS.evaluate(SQUARE).solve(SQUARE), EPS);
+    assertEquals(SVD.evaluate(SQUARE).getConditionNumber(), SVD_COMMONS.evaluate(SQUARE).getConditionNumber(), 1e-10);
+  }
+
+  public void test_inverse() {
+    assertEqualsMatrix(SVD.evaluate(SQUARE).inverse().toDoubleMatrix2D(), ALGEBRA.getInverse(SQUARE), EPS);
+    assertEqualsMatrix(SVD.evaluate(SINGULAR).inverse().toDoubleMatrix2D(), ALGEBRA.getInverse(SINGULAR), EPS);
+  }
+
+  public void test_negligibleRows() {
+    DoubleMatrix2D matrix = new DoubleMatrix2D(new double[][] {
+        {1d, 2d, 0d}, {1e-310, -2e-310, 0d}, {3d, -1d, 0d}});
+    SVDecompositionFlatResult test = SVD.evaluate(matrix);
+    assertEquals(test.getRank(), 2);
+    assertEqualsVectors(test.solve(Y3), SVD_COMMONS.evaluate(matrix).solve(Y3), EPS);
+  }
+
+  public void test_inPlace() {
+    FlatDoubleMatrix matrix = FlatDoubleMatrix.copyOf(SQUARE);
+    SVDecompositionFlatResult test = SVD.evaluate(matrix);
+    // the matrix is overwritten by V^T
+    assertEqualsMatrix(matrix.toDoubleMatrix2D(), test.getVT(), 0d);
+    double[] x = new double[4];
+    test.solve(Y4.getData(), x);
+    assertEqualsVectors(new DoubleMatrix1D(x), SVD_COMMONS.evaluate(SQUARE).solve(Y4), EPS);
+  }
+
+  public void test_bad() {
+    assertThrowsIllegalArg(() -> SVD.evaluate((DoubleMatrix2D) null));
+    assertThrowsIllegalArg(() -> SVD.evaluate(new DoubleMatrix2D(new double[][] {{1d, Double.NaN}})));
+  }
+
+}
@@ -0,0 +1,84 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link FlatBlas}.
+ */
+@Test
+public class FlatBlasTest {
+
+  private static final MatrixAlgebra ALGEBRA = new OGMatrixAlgebra();
+  private static final double[][] A = {{1d, 2d, 3d}, {-1d, 1d, 0d}};
+  private static final double[][] B = {{1d, 1d}, {2d, -2d}, {3d, 1d}};
+  private static final double[] X = {1d, -2d, 0.5d};
+  private static final double[] Y = {2d, 3d};
+  private static final double TOLERANCE = 1.0E-14;
+
+  public void test_vector() {
+    assertEquals(FlatBlas.dot(X, new double[] {1d, 1d, 1d}), -0.5d, TOLERANCE);
+    double[] y = X.clone();
+    FlatBlas.axpy(2d, new double[] {1d, 1d, 1d}, y);
+    assertEquals(y, new double[] {3d, 0d, 2.5d});
+    FlatBlas.scal(2d, y);
+    assertEquals(y, new double[] {6d, 0d, 5d});
+    assertThrowsIllegalArg(() -> FlatBlas.dot(X, Y));
+  }
+
+  public void test_gemv() {
+    DoubleMatrix1D expected = (DoubleMatrix1D) ALGEBRA.multiply(new DoubleMatrix2D(A), new DoubleMatrix1D(X));
+    double[] y = Y.clone();
+    FlatBlas.gemv(2d, FlatDoubleMatrix.copyOf(A), X, -1d, y);
+    for (int i = 0; i < y.length; i++) {
+      assertEquals(y[i], 2d * expected.getEntry(i) - Y[i], TOLERANCE);
+    }
+    // NaN in the output is ignored when beta is zero
+    double[] nan = {Double.NaN, Double.NaN};
+    FlatBlas.gemv(1d, FlatDoubleMatrix.copyOf(A), X, 0d, nan);
+    assertEquals(nan, expected.getData());
+    assertThrowsIllegalArg(() -> FlatBlas.gemv(1d, FlatDoubleMatrix.copyOf(A), Y, 0d, Y.clone()));
+  }
+
+  public void test_gemvTranspose() {
+    DoubleMatrix1D expected = (DoubleMatrix1D) ALGEBRA.multiply(
+        ALGEBRA.getTranspose(new DoubleMatrix2D(A)), new DoubleMatrix1D(Y));
+    double[] y = X.clone();
+    FlatBlas.gemvTranspose(1d, FlatDoubleMatrix.copyOf(A), Y, 1d, y);
+    for (int i = 0; i < y.length; i++) {
+      assertEquals(y[i], expected.getEntry(i) + X[i], TOLERANCE);
+    }
+  }
+
+  public void test_gemm() {
+    DoubleMatrix2D expected = (DoubleMatrix2D) ALGEBRA.multiply(new DoubleMatrix2D(A), new DoubleMatrix2D(B));
+    FlatDoubleMatrix c = FlatDoubleMatrix.identity(2);
+    FlatBlas.gemm(-1d, FlatDoubleMatrix.copyOf(A), FlatDoubleMatrix.copyOf(B), 3d, c);
+    for (int i = 0; i < 2; i++) {
+      for (int j = 0; j < 2; j++) {
+        assertEquals(c.get(i, j), -expected.getEntry(i, j) + (i == j ? 3d : 0d), TOLERANCE);
+      }
+    }
+    FlatDoubleMatrix a = FlatDoubleMatrix.copyOf(A);
+    assertThrowsIllegalArg(() -> FlatBlas.gemm(1d, a, a, 0d, FlatDoubleMatrix.of(2, 3)));
+  }
+
+  public void test_ger() {
+    FlatDoubleMatrix a = FlatDoubleMatrix.copyOf(A);
+    FlatBlas.ger(0.5d, Y, X, a);
+    DoubleMatrix2D outer = ALGEBRA.getOuterProduct(new DoubleMatrix1D(Y), new DoubleMatrix1D(X));
+    for (int i = 0; i < 2; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(a.get(i, j), A[i][j] + 0.5d * outer.getEntry(i, j), TOLERANCE);
+      }
+    }
+  }
+
+}
@@ -0,0 +1,80 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.matrix;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import org.testng.annotations.Test;
+
+/**
+ * Test {@link FlatDoubleMatrix}.
+ */
+@Test
+public class FlatDoubleMatrixTest {
+
+  private static final double[][] DATA = {{1d, 2d, 3d}, {4d, 5d, 6d}};
+
+  public void test_copyOf() {
+    FlatDoubleMatrix test = FlatDoubleMatrix.copyOf(DATA);
+    assertEquals(test.rowCount(), 2);
+    assertEquals(test.columnCount(), 3);
+    assertFalse(test.isSquare());
+    assertEquals(test.getData(), new double[] {1d, 2d, 3d, 4d, 5d, 6d});
+    assertEquals(test.get(1, 0), 4d);
+    assertEquals(test.toArray(), DATA);
+    assertEquals(FlatDoubleMatrix.copyOf(new DoubleMatrix2D(DATA)), test);
+    assertThrowsIllegalArg(() -> FlatDoubleMatrix.copyOf(new double[][] {{1d, 2d}, {3d}}));
+  }
+
+  public void test_wrap() {
+    double[] data = {1d, 2d, 3d, 4d};
+    FlatDoubleMatrix test = FlatDoubleMatrix.wrap(2, 2, data);
+    assertSame(test.getData(), data);
+    test.set(0, 1, 7d);
+    assertEquals(data[1], 7d);
+    assertTrue(test.isSquare());
+    assertThrowsIllegalArg(() -> FlatDoubleMatrix.wrap(2, 3, data));
+  }
+
+  public void test_identity() {
+    FlatDoubleMatrix test = FlatDoubleMatrix.identity(3);
+    for (int i = 0; i < 3; i++) {
+      for (int j = 0; j < 3; j++) {
+        assertEquals(test.get(i, j), i == j ? 1d : 0d);
+      }
+    }
+  }
+
+  public void test_copy_transpose() {
+    FlatDoubleMatrix test = FlatDoubleMatrix.copyOf(DATA);
+    FlatDoubleMatrix copy = test.copy();
+    copy.set(0, 0, 10d);
+    assertEquals(test.get(0, 0), 1d);
+    FlatDoubleMatrix transpose = test.transpose();
+    assertEquals(transpose.toArray(), new double[][] {{1d, 4d}, {2d, 5d}, {3d, 6d}});
+  }
+
+  public void test_toDoubleMatrix2D() {
+    DoubleMatrix2D test = FlatDoubleMatrix.copyOf(DATA).toDoubleMatrix2D();
+    assertEquals(test, new DoubleMatrix2D(DATA));
+    assertSame(FlatDoubleMatrix.of(0, 0).toDoubleMatrix2D(), DoubleMatrix2D.EMPTY_MATRIX);
+  }
+
+  public void test_equalsHashCode() {
+    FlatDoubleMatrix test = FlatDoubleMatrix.copyOf(DATA);
+    assertEquals(test, FlatDoubleMatrix.copyOf(DATA));
+    assertEquals(test.hashCode(), FlatDoubleMatrix.copyOf(DATA).hashCode());
+    assertFalse(test.equals(test.transpose()));
+    assertFalse(test.equals(FlatDoubleMatrix.wrap(3, 2, test.getData())));
+    assertFalse(test.equals(""));
+    assertTrue(test.toString().contains("FlatDoubleMatrix"));
+  }
+
+}
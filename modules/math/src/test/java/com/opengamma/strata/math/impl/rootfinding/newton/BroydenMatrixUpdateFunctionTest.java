@@ -5,11 +5,15 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static org.testng.Assert.assertEquals;
+
 import org.testng.annotations.Test;
 
 import com.opengamma.strata.math.impl.function.Function1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
+import com.opengamma.strata.math.impl.matrix.OGMatrixAlgebra;
 
 /**
  * Test.
@@ -40,4 +44,23 @@ public class BroydenMatrixUpdateFunctionTest {
   public void testNullMatrix() {
     UPDATE.getUpdatedMatrix(J, V, V, V, null);
   }
+
+  @Test
+  public void testUpdate() {
+    MatrixAlgebra algebra = new OGMatrixAlgebra();
+    DoubleMatrix1D deltaX = new DoubleMatrix1D(new double[] {0.5, -1.5 });
+    DoubleMatrix1D deltaY = new DoubleMatrix1D(new double[] {2.5, 0.25 });
+    DoubleMatrix2D updated = UPDATE.getUpdatedMatrix(J, V, deltaX, deltaY, M);
+    // J + (deltaY - J deltaX) deltaX^T / |deltaX|^2
+    DoubleMatrix1D residual = (DoubleMatrix1D) algebra.subtract(deltaY, algebra.multiply(M, deltaX));
+    DoubleMatrix2D expected = (DoubleMatrix2D) algebra.add(
+        M, algebra.scale(algebra.getOuterProduct(residual, deltaX), 1d / algebra.getInnerProduct(deltaX, deltaX)));
+    for (int i = 0; i < 2; i++) {
+      for (int j = 0; j < 2; j++) {
+        assertEquals(updated.getData()[i][j], expected.getData()[i][j], 1e-14);
+      }
+    }
+    assertEquals(M.getData()[0][0], 3d, 0d);
+  }
+
 }
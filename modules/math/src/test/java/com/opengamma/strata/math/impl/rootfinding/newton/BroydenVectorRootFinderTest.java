@@ -5,9 +5,18 @@
  */
 package com.opengamma.strata.math.impl.rootfinding.newton;
 
+import static org.testng.AssertJUnit.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.testng.annotations.Test;
 
+import com.opengamma.strata.math.impl.function.Function1D;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionFlat;
 import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
 
 /**
  * Test.
@@ -20,6 +29,8 @@ public class BroydenVectorRootFinderTest extends VectorRootFinderTest {
   private static final NewtonVectorRootFinder SV_JACOBIAN_2D = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
   private static final NewtonVectorRootFinder DEFAULT_JACOBIAN_3D = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS);
   private static final NewtonVectorRootFinder SV_JACOBIAN_3D = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
+  private static final NewtonVectorRootFinder LU_FLAT = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new LUDecompositionFlat());
+  private static final NewtonVectorRootFinder SV_FLAT = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionFlat());
 
   @Test(expectedExceptions = IllegalArgumentException.class)
   public void testSingular1() {
@@ -43,4 +54,33 @@ public class BroydenVectorRootFinderTest extends VectorRootFinderTest {
     assertFunction3D(SV_JACOBIAN_3D, EPS);
     assertYieldCurveBootstrap(DEFAULT, EPS);
   }
+
+  @Test
+  public void testFlatDecompositions() {
+    assertLinear(LU_FLAT, EPS);
+    assertLinear(SV_FLAT, EPS);
+    assertFunction2D(SV_FLAT, EPS);
+    assertFunction3D(LU_FLAT, EPS);
+    assertFunction3D(SV_FLAT, EPS);
+    assertYieldCurveBootstrap(LU_FLAT, EPS);
+    assertYieldCurveBootstrap(SV_FLAT, EPS);
+  }
+
+  @Test
+  public void testInitialJacobian() {
+    AtomicInteger count = new AtomicInteger();
+    Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobian = new Function1D<DoubleMatrix1D, DoubleMatrix2D>() {
+      @Override
+      public DoubleMatrix2D evaluate(DoubleMatrix1D x) {
+        count.incrementAndGet();
+        return JACOBIAN3D.evaluate(x);
+      }
+    };
+    DoubleMatrix1D x0 = new DoubleMatrix1D(0.8, 0.2, -0.7);
+    DoubleMatrix1D x1 = SV.getRoot(FUNCTION3D, jacobian, x0, JACOBIAN3D.evaluate(x0));
+    assertEquals(1.0, x1.getData()[0], EPS);
+    assertEquals(0.0, x1.getData()[1], EPS);
+    assertEquals(-1.0, x1.getData()[2], EPS);
+    assertEquals(0, count.get());
+  }
 }
@@ -0,0 +1,107 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+import static org.testng.Assert.assertEquals;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.function.Function1D;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+
+/**
+ * Test {@link BroydenWorkspaceVectorRootFinder}.
+ */
+@Test
+public class BroydenWorkspaceVectorRootFinderTest extends VectorRootFinderTest {
+
+  private static final BroydenWorkspaceVectorRootFinder DEFAULT =
+      new BroydenWorkspaceVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS);
+  private static final BroydenWorkspaceVectorRootFinder SV =
+      new BroydenWorkspaceVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionFlat());
+  private static final BroydenWorkspaceVectorRootFinder SV_COMMONS =
+      new BroydenWorkspaceVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
+  private static final DoubleMatrix1D X0_2D = new DoubleMatrix1D(-0.0, 0.0);
+  private static final DoubleMatrix1D X0_3D = new DoubleMatrix1D(0.8, 0.2, -0.7);
+  private static final double TOL = 1.0E-12;
+
+  public void test() {
+    assertLinear(DEFAULT, EPS);
+    assertLinear(SV, EPS);
+    assertLinear(SV_COMMONS, EPS);
+    assertYieldCurveBootstrap(DEFAULT, EPS);
+    assertYieldCurveBootstrap(SV, EPS);
+    assertFunction2D(SV, EPS);
+    assertFunction2D(SV_COMMONS, EPS);
+    assertFunction3D(DEFAULT, EPS);
+    assertFunction3D(SV, EPS);
+    assertFunction3D(SV_COMMONS, EPS);
+  }
+
+  public void test_singular() {
+    assertThrowsIllegalArg(() -> DEFAULT.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D));
+  }
+
+  // the iterations are the same as those of the root finder without a workspace
+  public void test_compare() {
+    NewtonVectorRootFinder expectedDefault = new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS);
+    NewtonVectorRootFinder expectedSv =
+        new BroydenVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
+    assertEqualsVectors(
+        DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D), expectedDefault.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D), TOL);
+    assertEqualsVectors(
+        SV_COMMONS.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), expectedSv.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), TOL);
+    assertEqualsVectors(
+        SV.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), expectedSv.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), EPS);
+  }
+
+  public void test_workspaceReuse() {
+    NewtonWorkspace workspace = NewtonWorkspace.of(3);
+    DoubleMatrix1D expected = DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D);
+    for (int i = 0; i < 3; i++) {
+      DoubleMatrix1D test = DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D, null, workspace);
+      assertEqualsVectors(test, expected, 0d);
+    }
+    assertThrowsIllegalArg(() -> DEFAULT.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D, null, workspace));
+  }
+
+  public void test_initialJacobian() {
+    AtomicInteger count = new AtomicInteger();
+    Function1D<DoubleMatrix1D, DoubleMatrix2D> jacobian = new Function1D<DoubleMatrix1D, DoubleMatrix2D>() {
+      @Override
+      public DoubleMatrix2D evaluate(DoubleMatrix1D x) {
+        count.incrementAndGet();
+        return JACOBIAN3D.evaluate(x);
+      }
+    };
+    DoubleMatrix1D x1 = SV.getRoot(FUNCTION3D, jacobian, X0_3D, JACOBIAN3D.evaluate(X0_3D), NewtonWorkspace.of(3));
+    assertEquals(x1.getEntry(0), 1.0, EPS);
+    assertEquals(x1.getEntry(1), 0.0, EPS);
+    assertEquals(x1.getEntry(2), -1.0, EPS);
+    assertEquals(count.get(), 0);
+  }
+
+  private void assertFunction2D(BroydenWorkspaceVectorRootFinder rootFinder, double eps) {
+    DoubleMatrix1D x1 = rootFinder.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D);
+    assertEquals(x1.getEntry(0), 1.0, eps);
+    assertEquals(x1.getEntry(1), 1.0, eps);
+  }
+
+  private void assertFunction3D(BroydenWorkspaceVectorRootFinder rootFinder, double eps) {
+    DoubleMatrix1D x1 = rootFinder.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D);
+    assertEquals(x1.getEntry(0), 1.0, eps);
+    assertEquals(x1.getEntry(1), 0.0, eps);
+    assertEquals(x1.getEntry(2), -1.0, eps);
+  }
+
+}
@@ -0,0 +1,75 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.math.impl.rootfinding.newton;
+
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static com.opengamma.strata.math.impl.util.AssertMatrix.assertEqualsVectors;
+import static org.testng.Assert.assertEquals;
+
+import org.testng.annotations.Test;
+
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
+
+/**
+ * Test {@link ShermanMorrisonWorkspaceVectorRootFinder}.
+ */
+@Test
+public class ShermanMorrisonWorkspaceVectorRootFinderTest extends VectorRootFinderTest {
+
+  private static final ShermanMorrisonWorkspaceVectorRootFinder DEFAULT =
+      new ShermanMorrisonWorkspaceVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS);
+  private static final ShermanMorrisonWorkspaceVectorRootFinder SV =
+      new ShermanMorrisonWorkspaceVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionFlat());
+  private static final DoubleMatrix1D X0_2D = new DoubleMatrix1D(-0.0, 0.0);
+  private static final DoubleMatrix1D X0_3D = new DoubleMatrix1D(0.8, 0.2, -0.7);
+  private static final double TOL = 1.0E-12;
+
+  public void test() {
+    assertLinear(DEFAULT, EPS);
+    assertLinear(SV, EPS);
+    assertYieldCurveBootstrap(DEFAULT, EPS);
+    DoubleMatrix1D x2 = SV.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D);
+    assertEquals(x2.getEntry(0), 1.0, EPS);
+    assertEquals(x2.getEntry(1), 1.0, EPS);
+    for (NewtonWorkspaceVectorRootFinder rootFinder : new NewtonWorkspaceVectorRootFinder[] {DEFAULT, SV}) {
+      DoubleMatrix1D x3 = rootFinder.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D);
+      assertEquals(x3.getEntry(0), 1.0, EPS);
+      assertEquals(x3.getEntry(1), 0.0, EPS);
+      assertEquals(x3.getEntry(2), -1.0, EPS);
+    }
+  }
+
+  public void test_singular() {
+    assertThrowsIllegalArg(() -> DEFAULT.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D));
+  }
+
+  // the iterations are the same as those of the root finder without a workspace
+  public void test_compare() {
+    NewtonVectorRootFinder expectedDefault =
+        new ShermanMorrisonVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new LUDecompositionCommons());
+    NewtonVectorRootFinder expectedSv =
+        new ShermanMorrisonVectorRootFinder(TOLERANCE, TOLERANCE, MAXSTEPS, new SVDecompositionCommons());
+    assertEqualsVectors(
+        DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D), expectedDefault.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D), TOL);
+    assertEqualsVectors(
+        SV.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), expectedSv.getRoot(FUNCTION2D, JACOBIAN2D, X0_2D), EPS);
+  }
+
+  public void test_workspaceReuse() {
+    NewtonWorkspace workspace = NewtonWorkspace.of(3);
+    DoubleMatrix1D expected = DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D);
+    for (int i = 0; i < 3; i++) {
+      DoubleMatrix1D test = DEFAULT.getRoot(FUNCTION3D, JACOBIAN3D, X0_3D, JACOBIAN3D.evaluate(X0_3D), workspace);
+      assertEqualsVectors(test, expected, 0d);
+    }
+    assertEquals(workspace.getSize(), 3);
+    assertThrowsIllegalArg(() -> NewtonWorkspace.of(0));
+  }
+
+}
@@ -5,32 +5,48 @@
  */
 package com.opengamma.strata.pricer.calibration;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.primitives.Doubles;
+import com.google.common.primitives.Ints;
 import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.market.ObservableValues;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.finance.Trade;
 import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.curve.definition.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.definition.CurveGroupEntry;
 import com.opengamma.strata.market.curve.definition.CurveNode;
 import com.opengamma.strata.market.curve.definition.NodalCurveDefinition;
 import com.opengamma.strata.math.impl.function.Function1D;
 import com.opengamma.strata.math.impl.linearalgebra.DecompositionFactory;
+import com.opengamma.strata.math.impl.linearalgebra.SVDecompositionFlat;
 import com.opengamma.strata.math.impl.matrix.CommonsMatrixAlgebra;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.FlatBlas;
+import com.opengamma.strata.math.impl.matrix.FlatDoubleMatrix;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
-import com.opengamma.strata.math.impl.rootfinding.newton.BroydenVectorRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.newton.BroydenWorkspaceVectorRootFinder;
+import com.opengamma.strata.math.impl.rootfinding.newton.NewtonWorkspace;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
 /**
@@ -48,6 +64,20 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * <p>
  * Once calibrated, the curves are then available for use.
  * Each node in the curve definition becomes a parameter in the matching output curve.
+ * <p>
+ * By default, all the curves in a group are solved together using the full Jacobian.
+ * A calibrator may instead be created in <i>block-triangular</i> mode.
+ * In that mode, the curves of a group are split into the smallest consecutive blocks such that
+ * the trades of each block only depend on the curves of the same block or of earlier blocks.
+ * The blocks are then solved one after the other, like a bootstrap, and the Jacobian of the group
+ * is inverted block by block. This is typically much faster for large groups, where for example
+ * the forward curves depend on the discounting curve but the discounting curve does not depend on them.
+ * The structure is detected from the Jacobian at the initial guess, and the results are the same
+ * as the default mode within the tolerance of the root finder.
+ * <p>
+ * When the same curves are calibrated repeatedly, for example intraday, the {@code recalibrate} methods
+ * start the root finder from the result of the previous calibration, which typically converges in
+ * one or two iterations.
  */
 public class CurveCalibrator {
 
@@ -63,15 +93,34 @@ public class CurveCalibrator {
    * The matrix algebra used for matrix inversion.
    */
   private static final MatrixAlgebra MATRIX_ALGEBRA = new CommonsMatrixAlgebra();
+  /**
+   * The decomposition used for matrix inversion when the flat decompositions are selected.
+   * The decomposition is performed in place on a flat copy of the matrix.
+   */
+  private static final SVDecompositionFlat FLAT_DECOMPOSITION = new SVDecompositionFlat();
   /**
    * The root finder used for curve calibration.
+   * The buffers of the root finder are held in a workspace, created for each calibration of a group or block.
    */
-  private final BroydenVectorRootFinder rootFinder;
+  private final BroydenWorkspaceVectorRootFinder rootFinder;
   /**
    * The calibration measures.
    * This is used to compute the function for which the root is found.
    */
   private final CalibrationMeasures measures;
+  /**
+   * Whether the curves of a group are solved in block-triangular mode.
+   */
+  private final boolean blockTriangular;
+  /**
+   * The absolute tolerance.
+   * This is used to check the residual of a group calibrated in block-triangular mode.
+   */
+  private final double toleranceAbs;
+  /**
+   * Whether the flat decompositions are used, rather than the Commons decompositions.
+   */
+  private final boolean flatDecomposition;
 
   //-------------------------------------------------------------------------
   /**
@@ -89,7 +138,57 @@ public class CurveCalibrator {
       int stepMaximum,
       CalibrationMeasures measures) {
 
-    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures);
+    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures, false, false);
+  }
+
+  /**
+   * Obtains an instance, specifying tolerances, measures and whether to use block-triangular mode.
+   * <p>
+   * In block-triangular mode, the curves of each group are solved one block at a time,
+   * where each block only depends on itself and the earlier blocks.
+   * 
+   * @param toleranceAbs  the absolute tolerance
+   * @param toleranceRel  the relative tolerance
+   * @param stepMaximum  the maximum steps
+   * @param measures  the calibration measures, used to compute the function for which the root is found
+   * @param blockTriangular  whether to solve the curves of a group in block-triangular mode
+   * @return the curve calibrator
+   */
+  public static CurveCalibrator of(
+      double toleranceAbs,
+      double toleranceRel,
+      int stepMaximum,
+      CalibrationMeasures measures,
+      boolean blockTriangular) {
+
+    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures, blockTriangular, false);
+  }
+
+  /**
+   * Obtains an instance, specifying tolerances, measures, whether to use block-triangular mode
+   * and whether to use the flat decompositions.
+   * <p>
+   * By default, the root finder and the inversion of the Jacobians use the Commons SVD decomposition.
+   * The flat SVD decomposition performs the same calculation in place on a single row-major array,
+   * avoiding the conversion to and from Commons matrices. The results agree to within rounding.
+   * 
+   * @param toleranceAbs  the absolute tolerance
+   * @param toleranceRel  the relative tolerance
+   * @param stepMaximum  the maximum steps
+   * @param measures  the calibration measures, used to compute the function for which the root is found
+   * @param blockTriangular  whether to solve the curves of a group in block-triangular mode
+   * @param flatDecomposition  whether to use the flat decompositions rather than the Commons decompositions
+   * @return the curve calibrator
+   */
+  public static CurveCalibrator of(
+      double toleranceAbs,
+      double toleranceRel,
+      int stepMaximum,
+      CalibrationMeasures measures,
+      boolean blockTriangular,
+      boolean flatDecomposition) {
+
+    return new CurveCalibrator(toleranceAbs, toleranceRel, stepMaximum, measures, blockTriangular, flatDecomposition);
   }
 
   //-------------------------------------------------------------------------
@@ -98,14 +197,20 @@ public class CurveCalibrator {
       double toleranceAbs,
       double toleranceRel,
       int stepMaximum,
-      CalibrationMeasures measures) {
+      CalibrationMeasures measures,
+      boolean blockTriangular,
+      boolean flatDecomposition) {
 
-    this.rootFinder = new BroydenVectorRootFinder(
+    this.rootFinder = new BroydenWorkspaceVectorRootFinder(
         toleranceAbs,
         toleranceRel,
         stepMaximum,
-        DecompositionFactory.getDecomposition(DecompositionFactory.SV_COMMONS_NAME));
+        DecompositionFactory.getDecomposition(
+            flatDecomposition ? DecompositionFactory.SV_FLAT_NAME : DecompositionFactory.SV_COMMONS_NAME));
     this.measures = measures;
+    this.blockTriangular = blockTriangular;
+    this.toleranceAbs = toleranceAbs;
+    this.flatDecomposition = flatDecomposition;
   }
 
   //-------------------------------------------------------------------------
@@ -154,25 +259,336 @@ public class CurveCalibrator {
       ImmutableRatesProvider knownData,
       ObservableValues marketData) {
 
+    return calibrate(allGroupsDefn, knownData, marketData, null, null, null);
+  }
+
+  /**
+   * Calibrates a list of curve groups, calibrating independent groups concurrently.
+   * <p>
+   * The calibration is defined using a list of {@link CurveGroupDefinition}.
+   * Observable market data and existing known data are also needed to complete the calibration.
+   * <p>
+   * A group depends on an earlier group in the list if the trades of its nodes are sensitive to the
+   * curves of the earlier group. This is determined by calculating the sensitivities of the trades
+   * with all curves at their initial guesses. Each group is calibrated using the executor as soon as
+   * the groups it depends on have been calibrated, so independent groups, such as the groups of
+   * different currencies, are calibrated concurrently.
+   * <p>
+   * The result is the same as {@link #calibrate(List, ImmutableRatesProvider, ObservableValues)},
+   * where the groups are calibrated one after the other.
+   * 
+   * @param allGroupsDefn  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param executor  the executor used to calibrate the groups
+   * @return the rates provider resulting from the calibration
+   */
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      ObservableValues marketData,
+      Executor executor) {
+
+    ArgChecker.notNull(executor, "executor");
+    return calibrate(allGroupsDefn, knownData, marketData, null, null, executor);
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Recalibrates a single curve group, starting from the result of a previous calibration.
+   * <p>
+   * This is intended for frequent recalibration of the same curves, where the market data
+   * has changed only a little since the previous calibration.
+   * The root finder starts from the parameters of the previous curves rather than from the
+   * initial guesses of the definition, and its first estimate of the Jacobian is derived from
+   * the inverse Jacobian stored in the previous building block bundle, so it does not need to be calculated.
+   * Curves that are not found in the previous result, or whose parameter count has changed,
+   * start from the initial guesses of the definition.
+   * 
+   * @param curveGroupDefn  the curve group definition
+   * @param valuationDate  the validation date
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param timeSeries  the time-series
+   * @param fxMatrix  the FX matrix
+   * @param previousProvider  the rates provider resulting from the previous calibration
+   * @param previousBundle  the building block bundle resulting from the previous calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> recalibrate(
+      CurveGroupDefinition curveGroupDefn,
+      LocalDate valuationDate,
+      ObservableValues marketData,
+      Map<Index, LocalDateDoubleTimeSeries> timeSeries,
+      FxMatrix fxMatrix,
+      ImmutableRatesProvider previousProvider,
+      CurveBuildingBlockBundle previousBundle) {
+
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder()
+        .valuationDate(valuationDate)
+        .fxMatrix(fxMatrix)
+        .timeSeries(timeSeries)
+        .build();
+    return recalibrate(ImmutableList.of(curveGroupDefn), knownData, marketData, previousProvider, previousBundle);
+  }
+
+  /**
+   * Recalibrates a list of curve groups, starting from the result of a previous calibration.
+   * <p>
+   * This is intended for frequent recalibration of the same curves, where the market data
+   * has changed only a little since the previous calibration.
+   * See {@link #recalibrate(CurveGroupDefinition, LocalDate, ObservableValues, Map, FxMatrix,
+   * ImmutableRatesProvider, CurveBuildingBlockBundle)} for details.
+   * 
+   * @param allGroupsDefn  the curve group definitions
+   * @param knownData  the starting data for the calibration
+   * @param marketData  the market data required to build a trade for the instrument
+   * @param previousProvider  the rates provider resulting from the previous calibration
+   * @param previousBundle  the building block bundle resulting from the previous calibration
+   * @return the rates provider resulting from the calibration
+   */
+  public Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> recalibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      ObservableValues marketData,
+      ImmutableRatesProvider previousProvider,
+      CurveBuildingBlockBundle previousBundle) {
+
+    ArgChecker.notNull(previousProvider, "previousProvider");
+    ArgChecker.notNull(previousBundle, "previousBundle");
+    return calibrate(allGroupsDefn, knownData, marketData, previousProvider, previousBundle, null);
+  }
+
+  // calibrates the groups, starting from the previous result if it is not null
+  // the groups are calibrated concurrently if the executor is not null
+  private Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> calibrate(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      ObservableValues marketData,
+      ImmutableRatesProvider previousProvider,
+      CurveBuildingBlockBundle previousBundle,
+      Executor executor) {
+
+    // combine all data in each group into flat lists
+    int nbGroups = allGroupsDefn.size();
+    List<List<Trade>> allTrades = new ArrayList<>(nbGroups);
+    List<List<Double>> allInitialGuesses = new ArrayList<>(nbGroups);
+    List<DoubleMatrix2D> allInitialJacobians = new ArrayList<>(nbGroups);
+    List<CurveBuildingBlock> allOrders = new ArrayList<>(nbGroups);
+    for (CurveGroupDefinition groupDefn : allGroupsDefn) {
+      List<Double> initialGuesses = groupDefn.initialGuesses(knownData.getValuationDate(), marketData);
+      CurveBuildingBlock order = toBlock(groupDefn);
+      DoubleMatrix2D initialJacobian = null;
+      if (previousProvider != null) {
+        initialGuesses = previousParameters(groupDefn, previousProvider, initialGuesses);
+        initialJacobian = previousJacobian(order, previousBundle);
+      }
+      allTrades.add(groupDefn.trades(knownData.getValuationDate(), marketData));
+      allInitialGuesses.add(initialGuesses);
+      allInitialJacobians.add(initialJacobian);
+      allOrders.add(order);
+    }
+    List<double[]> allParams = executor != null ?
+        calibrateConcurrently(allGroupsDefn, knownData, allTrades, allInitialGuesses, allInitialJacobians, allOrders,
+            executor) :
+        null;
+
     // perform calibration one group at a time, building up the result by mutating these variables
     ImmutableRatesProvider combinedProvider = knownData;
     CurveBuildingBlock combinedOrder = CurveBuildingBlock.empty();
     CurveBuildingBlockBundleBuilder blockBundleBuilder = CurveBuildingBlockBundle.builder();
-    for (CurveGroupDefinition groupDefn : allGroupsDefn) {
-      // combine all data in the group into flat lists
-      List<Trade> trades = groupDefn.trades(knownData.getValuationDate(), marketData);
-      List<Double> initialGuesses = groupDefn.initialGuesses(knownData.getValuationDate(), marketData);
-      CurveBuildingBlock order = toBlock(groupDefn);
+    for (int i = 0; i < nbGroups; i++) {
+      List<Trade> trades = allTrades.get(i);
+      CurveBuildingBlock order = allOrders.get(i);
 
-      // calibrate
-      RatesProviderGenerator providerGenerator = ImmutableRatesProviderGenerator.of(combinedProvider, groupDefn);
-      combinedProvider = calibrateGroup(trades, initialGuesses, providerGenerator, order);
+      // calibrate, unless already calibrated concurrently
+      RatesProviderGenerator providerGenerator =
+          ImmutableRatesProviderGenerator.of(combinedProvider, allGroupsDefn.get(i));
+      double[] params = allParams != null ?
+          allParams.get(i) :
+          calibrateGroup(trades, allInitialGuesses.get(i), allInitialJacobians.get(i), providerGenerator, order);
+      combinedProvider = providerGenerator.generate(params);
       combinedOrder = updateBlockBundleForGroup(trades, combinedProvider, order, combinedOrder, blockBundleBuilder);
     }
     // create the final block bundle and return
     return Pair.of(combinedProvider, blockBundleBuilder.build());
   }
 
+  // calibrates each group as soon as the groups it depends on are calibrated, returning the parameters of each group
+  private List<double[]> calibrateConcurrently(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      List<List<Trade>> allTrades,
+      List<List<Double>> allInitialGuesses,
+      List<DoubleMatrix2D> allInitialJacobians,
+      List<CurveBuildingBlock> allOrders,
+      Executor executor) {
+
+    List<Set<Integer>> allAncestors =
+        ancestors(groupDependencies(allGroupsDefn, knownData, allTrades, allInitialGuesses, allOrders, executor));
+    List<CompletableFuture<double[]>> futures = new ArrayList<>();
+    for (int i = 0; i < allGroupsDefn.size(); i++) {
+      int index = i;
+      List<Integer> ancestors = ImmutableList.copyOf(allAncestors.get(i));
+      List<CompletableFuture<double[]>> ancestorFutures = ancestors.stream()
+          .map(futures::get)
+          .collect(toImmutableList());
+      CompletableFuture<double[]> future = CompletableFuture
+          .allOf(ancestorFutures.toArray(new CompletableFuture<?>[ancestorFutures.size()]))
+          .thenApplyAsync(ignored -> {
+            // the curves of the groups this group depends on, in the same order as a sequential calibration
+            ImmutableRatesProvider provider = knownData;
+            for (int j = 0; j < ancestors.size(); j++) {
+              provider = ImmutableRatesProviderGenerator.of(provider, allGroupsDefn.get(ancestors.get(j)))
+                  .generate(ancestorFutures.get(j).join());
+            }
+            return calibrateGroup(
+                allTrades.get(index),
+                allInitialGuesses.get(index),
+                allInitialJacobians.get(index),
+                ImmutableRatesProviderGenerator.of(provider, allGroupsDefn.get(index)),
+                allOrders.get(index));
+          }, executor);
+      futures.add(future);
+    }
+    return joinAll(futures);
+  }
+
+  // the earlier groups on which each group directly depends
+  // a group depends on an earlier group if its trades are sensitive to the curves of the earlier group
+  // the sensitivities are calculated with all the curves at their initial guesses
+  private List<Set<Integer>> groupDependencies(
+      List<CurveGroupDefinition> allGroupsDefn,
+      ImmutableRatesProvider knownData,
+      List<List<Trade>> allTrades,
+      List<List<Double>> allInitialGuesses,
+      List<CurveBuildingBlock> allOrders,
+      Executor executor) {
+
+    List<CompletableFuture<Set<Integer>>> futures = new ArrayList<>();
+    ImmutableRatesProvider provider = knownData;
+    List<CurveParameterSize> orderPrevious = new ArrayList<>();
+    List<Integer> groupStarts = new ArrayList<>();
+    for (int i = 0; i < allGroupsDefn.size(); i++) {
+      provider = ImmutableRatesProviderGenerator.of(provider, allGroupsDefn.get(i))
+          .generate(Doubles.toArray(allInitialGuesses.get(i)));
+      ImmutableRatesProvider probeProvider = provider;
+      List<Trade> trades = allTrades.get(i);
+      List<CurveParameterSize> probeOrder = ImmutableList.copyOf(orderPrevious);
+      int[] probeStarts = Ints.toArray(groupStarts);
+      futures.add(CompletableFuture.supplyAsync(() -> {
+        Set<Integer> dependencies = new TreeSet<>();
+        for (Trade trade : trades) {
+          double[] derivative = measures.derivative(trade, probeProvider, probeOrder);
+          for (int group = 0; group < probeStarts.length; group++) {
+            int end = group + 1 < probeStarts.length ? probeStarts[group + 1] : derivative.length;
+            for (int p = probeStarts[group]; p < end; p++) {
+              if (derivative[p] != 0d) {
+                dependencies.add(group);
+                break;
+              }
+            }
+          }
+        }
+        return dependencies;
+      }, executor));
+      groupStarts.add(orderPrevious.stream().mapToInt(CurveParameterSize::getParameterCount).sum());
+      orderPrevious.addAll(allOrders.get(i).getData());
+    }
+    return joinAll(futures);
+  }
+
+  // waits for the futures to complete, rethrowing any exception thrown by the tasks
+  private static <T> List<T> joinAll(List<CompletableFuture<T>> futures) {
+    try {
+      return futures.stream()
+          .map(CompletableFuture::join)
+          .collect(toImmutableList());
+    } catch (CompletionException ex) {
+      if (ex.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) ex.getCause();
+      }
+      throw ex;
+    }
+  }
+
+  // the earlier groups on which each group depends, directly or indirectly, in the order of the groups
+  private static List<Set<Integer>> ancestors(List<Set<Integer>> dependencies) {
+    List<Set<Integer>> allAncestors = new ArrayList<>(dependencies.size());
+    for (Set<Integer> groupDependencies : dependencies) {
+      Set<Integer> ancestors = new TreeSet<>();
+      for (int dependency : groupDependencies) {
+        ancestors.add(dependency);
+        ancestors.addAll(allAncestors.get(dependency));
+      }
+      allAncestors.add(ancestors);
+    }
+    return allAncestors;
+  }
+
+  // the parameters of the previous curves, or the initial guesses if the curve was not previously calibrated
+  private static List<Double> previousParameters(
+      CurveGroupDefinition groupDefn,
+      ImmutableRatesProvider previousProvider,
+      List<Double> initialGuesses) {
+
+    Map<CurveName, NodalCurve> previousCurves = new HashMap<>();
+    Stream.concat(
+        previousProvider.getDiscountCurves().values().stream(),
+        previousProvider.getIndexCurves().values().stream())
+        .filter(NodalCurve.class::isInstance)
+        .forEach(curve -> previousCurves.put(curve.getName(), (NodalCurve) curve));
+    List<Double> result = new ArrayList<>(initialGuesses.size());
+    for (CurveGroupEntry entry : groupDefn.getEntries()) {
+      NodalCurveDefinition defn = entry.getCurveDefinition();
+      int paramCount = defn.getParameterCount();
+      NodalCurve previousCurve = previousCurves.get(defn.getName());
+      if (previousCurve != null && previousCurve.getParameterCount() == paramCount) {
+        result.addAll(Doubles.asList(previousCurve.getYValues()));
+      } else {
+        result.addAll(initialGuesses.subList(result.size(), result.size() + paramCount));
+      }
+    }
+    return result;
+  }
+
+  // the Jacobian of the group derived from the previous inverse Jacobian, null if not available
+  private DoubleMatrix2D previousJacobian(CurveBuildingBlock orderGroup, CurveBuildingBlockBundle previousBundle) {
+    List<CurveParameterSize> curveOrder = orderGroup.getData();
+    int[] paramStarts = parameterStarts(curveOrder);
+    int totalParamsGroup = orderGroup.getTotalParameterCount();
+    double[][] inverse = new double[totalParamsGroup][totalParamsGroup];
+    for (int i = 0; i < curveOrder.size(); i++) {
+      Pair<CurveBuildingBlock, DoubleMatrix2D> previous = previousBundle.getBlocks().get(curveOrder.get(i).getName());
+      if (previous == null) {
+        return null;
+      }
+      CurveBuildingBlock previousBlock = previous.getFirst();
+      double[][] previousMatrix = previous.getSecond().getData();
+      if (previousMatrix.length != curveOrder.get(i).getParameterCount()) {
+        return null;
+      }
+      for (int j = 0; j < curveOrder.size(); j++) {
+        CurveParameterSize order = curveOrder.get(j);
+        if (!previousBlock.getAllNames().contains(order.getName()) ||
+            previousBlock.getParameterCount(order.getName()) != order.getParameterCount()) {
+          return null;
+        }
+        int previousStart = previousBlock.getStart(order.getName());
+        for (int p = 0; p < previousMatrix.length; p++) {
+          System.arraycopy(
+              previousMatrix[p], previousStart, inverse[paramStarts[i] + p], paramStarts[j], order.getParameterCount());
+        }
+      }
+    }
+    if (blockTriangular) {
+      int[] blockStarts = blockStarts(inverse, 0, curveOrder);
+      if (blockStarts.length > 2) {
+        return inverseBlockTriangular(inverse, paramStarts, blockStarts);
+      }
+    }
+    return inverse(inverse);
+  }
+
   // converts a definition to a block
   private static CurveBuildingBlock toBlock(CurveGroupDefinition groupDefn) {
     ImmutableList.Builder<CurveParameterSize> builder = ImmutableList.builder();
@@ -184,10 +600,11 @@ public class CurveCalibrator {
   }
 
   //-------------------------------------------------------------------------
-  // calibrates a single group
-  private ImmutableRatesProvider calibrateGroup(
+  // calibrates a single group, returning the parameters of the curves, the initial Jacobian is calculated if null
+  private double[] calibrateGroup(
       List<Trade> trades,
       List<Double> initialGuesses,
+      DoubleMatrix2D initialJacobian,
       RatesProviderGenerator providerGenerator,
       CurveBuildingBlock curveOrder) {
 
@@ -199,8 +616,147 @@ public class CurveCalibrator {
 
     // calibrate
     DoubleMatrix1D initGuessMatrix = new DoubleMatrix1D(Doubles.toArray(initialGuesses));
-    double[] calibratedParams = rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix).getData();
-    return providerGenerator.generate(calibratedParams);
+    DoubleMatrix2D startJacobian = initialJacobian;
+    if (blockTriangular) {
+      int[] blockStarts = blockStarts(initGuessMatrix, initialJacobian, derivativeCalculator, curveOrder);
+      if (blockStarts.length > 2) {
+        double[] params = calibrateBlocks(
+            trades, initGuessMatrix.getData(), initialJacobian, providerGenerator, curveOrder.getData(), blockStarts);
+        // the blocks are found from the Jacobian at the initial guess, where a dependency can be missed
+        // if the derivative happens to be zero, so the whole group is solved if the residual is too large
+        // each block is solved to the tolerance, so the tolerance of the group grows with the number of blocks
+        DoubleMatrix1D residual = valueCalculator.evaluate(new DoubleMatrix1D(params));
+        double residualNorm = Math.sqrt(FlatBlas.dot(residual.getData(), residual.getData()));
+        if (residualNorm < toleranceAbs * Math.sqrt(blockStarts.length - 1)) {
+          return params;
+        }
+        initGuessMatrix = new DoubleMatrix1D(params);
+        startJacobian = null;
+      }
+    }
+    NewtonWorkspace workspace = NewtonWorkspace.of(initGuessMatrix.getNumberOfElements());
+    return rootFinder.getRoot(valueCalculator, derivativeCalculator, initGuessMatrix, startJacobian, workspace)
+        .getData();
+  }
+
+  // the blocks of a group in block-triangular mode, found from the Jacobian at the initial guess
+  private static int[] blockStarts(
+      DoubleMatrix1D initGuessMatrix,
+      DoubleMatrix2D initialJacobian,
+      Function1D<DoubleMatrix1D, DoubleMatrix2D> derivativeCalculator,
+      CurveBuildingBlock curveOrder) {
+
+    DoubleMatrix2D structure = initialJacobian != null ?
+        initialJacobian :
+        derivativeCalculator.evaluate(initGuessMatrix);
+    return blockStarts(structure.getData(), 0, curveOrder.getData());
+  }
+
+  // the names of the curves in each block of a group in block-triangular mode, visible for testing
+  List<List<CurveName>> blocks(
+      CurveGroupDefinition groupDefn,
+      ImmutableRatesProvider knownData,
+      ObservableValues marketData) {
+
+    LocalDate valuationDate = knownData.getValuationDate();
+    List<Trade> trades = groupDefn.trades(valuationDate, marketData);
+    CurveBuildingBlock curveOrder = toBlock(groupDefn);
+    Function1D<DoubleMatrix1D, DoubleMatrix2D> derivativeCalculator = new CalibrationDerivative(
+        trades, measures, ImmutableRatesProviderGenerator.of(knownData, groupDefn), curveOrder.getData());
+    DoubleMatrix1D initGuessMatrix =
+        new DoubleMatrix1D(Doubles.toArray(groupDefn.initialGuesses(valuationDate, marketData)));
+    int[] blockStarts = blockStarts(initGuessMatrix, null, derivativeCalculator, curveOrder);
+    List<List<CurveName>> blocks = new ArrayList<>();
+    for (int b = 0; b < blockStarts.length - 1; b++) {
+      blocks.add(curveOrder.getData().subList(blockStarts[b], blockStarts[b + 1]).stream()
+          .map(CurveParameterSize::getName)
+          .collect(toImmutableList()));
+    }
+    return blocks;
+  }
+
+  // calibrates a single group one block at a time, each block only depends on itself and the earlier blocks
+  // the initial Jacobian of each block is calculated if the initial Jacobian of the group is null
+  private double[] calibrateBlocks(
+      List<Trade> trades,
+      double[] initialGuesses,
+      DoubleMatrix2D initialJacobian,
+      RatesProviderGenerator providerGenerator,
+      List<CurveParameterSize> curveOrder,
+      int[] blockStarts) {
+
+    int[] paramStarts = parameterStarts(curveOrder);
+    double[] params = initialGuesses.clone();
+    NewtonWorkspace workspace = null;
+    for (int b = 0; b < blockStarts.length - 1; b++) {
+      int paramStart = paramStarts[blockStarts[b]];
+      int paramEnd = paramStarts[blockStarts[b + 1]];
+      // later blocks still have the initial guesses, but the trades of this block do not depend on them
+      double[] knownParams = params.clone();
+      RatesProviderGenerator blockGenerator = blockParams -> {
+        double[] allParams = knownParams.clone();
+        System.arraycopy(blockParams, 0, allParams, paramStart, blockParams.length);
+        return providerGenerator.generate(allParams);
+      };
+      List<Trade> blockTrades = trades.subList(paramStart, paramEnd);
+      List<CurveParameterSize> blockOrder = curveOrder.subList(blockStarts[b], blockStarts[b + 1]);
+      Function1D<DoubleMatrix1D, DoubleMatrix1D> valueCalculator =
+          new CalibrationValue(blockTrades, measures, blockGenerator);
+      Function1D<DoubleMatrix1D, DoubleMatrix2D> derivativeCalculator =
+          new CalibrationDerivative(blockTrades, measures, blockGenerator, blockOrder);
+      DoubleMatrix1D blockGuess = new DoubleMatrix1D(Arrays.copyOfRange(params, paramStart, paramEnd));
+      DoubleMatrix2D blockJacobian = null;
+      if (initialJacobian != null) {
+        double[][] blockJacobianArray = new double[paramEnd - paramStart][];
+        for (int i = paramStart; i < paramEnd; i++) {
+          blockJacobianArray[i - paramStart] = Arrays.copyOfRange(initialJacobian.getData()[i], paramStart, paramEnd);
+        }
+        blockJacobian = new DoubleMatrix2D(blockJacobianArray);
+      }
+      // consecutive blocks of the same size share the buffers of the root finder
+      if (workspace == null || workspace.getSize() != paramEnd - paramStart) {
+        workspace = NewtonWorkspace.of(paramEnd - paramStart);
+      }
+      double[] blockParams =
+          rootFinder.getRoot(valueCalculator, derivativeCalculator, blockGuess, blockJacobian, workspace).getData();
+      System.arraycopy(blockParams, 0, params, paramStart, blockParams.length);
+    }
+    return params;
+  }
+
+  // finds the blocks of consecutive curves such that no curve depends on a curve in a later block
+  // the result contains the index of the first curve of each block, followed by the number of curves
+  private static int[] blockStarts(double[][] jacobian, int columnOffset, List<CurveParameterSize> curveOrder) {
+    int[] paramStarts = parameterStarts(curveOrder);
+    int nbParams = paramStarts[curveOrder.size()];
+    // the highest column, relative to the group, on which each trade depends
+    int lastDependency = -1;
+    List<Integer> starts = new ArrayList<>();
+    starts.add(0);
+    for (int i = 0; i < curveOrder.size(); i++) {
+      for (int row = paramStarts[i]; row < paramStarts[i + 1]; row++) {
+        for (int col = nbParams - 1; col > lastDependency; col--) {
+          if (jacobian[row][columnOffset + col] != 0d) {
+            lastDependency = col;
+            break;
+          }
+        }
+      }
+      if (i + 1 < curveOrder.size() && lastDependency < paramStarts[i + 1]) {
+        starts.add(i + 1);
+      }
+    }
+    starts.add(curveOrder.size());
+    return Ints.toArray(starts);
+  }
+
+  // the index of the first parameter of each curve, followed by the total number of parameters
+  private static int[] parameterStarts(List<CurveParameterSize> curveOrder) {
+    int[] paramStarts = new int[curveOrder.size() + 1];
+    for (int i = 0; i < curveOrder.size(); i++) {
+      paramStarts[i + 1] = paramStarts[i] + curveOrder.get(i).getParameterCount();
+    }
+    return paramStarts;
   }
 
   //-------------------------------------------------------------------------
@@ -226,7 +782,8 @@ public class CurveCalibrator {
 
     // jacobian direct
     int totalParamsPrevious = totalParamsAll - totalParamsGroup;
-    DoubleMatrix2D pDmCurrentMatrix = jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious);
+    DoubleMatrix2D pDmCurrentMatrix =
+        jacobianDirect(res, nbTrades, totalParamsGroup, totalParamsPrevious, orderGroup.getData());
 
     // jacobian indirect: when totalParamsPrevious > 0
     double[][] pDmPreviousArray = jacobianIndirect(
@@ -272,12 +829,76 @@ public class CurveCalibrator {
   }
 
   // jacobian direct, for the current group
-  private DoubleMatrix2D jacobianDirect(double[][] res, int nbTrades, int totalParamsGroup, int totalParamsPrevious) {
+  private DoubleMatrix2D jacobianDirect(
+      double[][] res,
+      int nbTrades,
+      int totalParamsGroup,
+      int totalParamsPrevious,
+      List<CurveParameterSize> orderGroup) {
+
     double[][] direct = new double[totalParamsGroup][totalParamsGroup];
     for (int i = 0; i < nbTrades; i++) {
       System.arraycopy(res[i], totalParamsPrevious, direct[i], 0, totalParamsGroup);
     }
-    return MATRIX_ALGEBRA.getInverse(new DoubleMatrix2D(direct));
+    if (blockTriangular) {
+      int[] blockStarts = blockStarts(res, totalParamsPrevious, orderGroup);
+      if (blockStarts.length > 2) {
+        return inverseBlockTriangular(direct, parameterStarts(orderGroup), blockStarts);
+      }
+    }
+    return inverse(direct);
+  }
+
+  // inverts a matrix, using the pseudo-inverse if it is singular
+  private DoubleMatrix2D inverse(double[][] matrix) {
+    if (flatDecomposition) {
+      return FLAT_DECOMPOSITION.evaluate(FlatDoubleMatrix.copyOf(matrix)).inverse().toDoubleMatrix2D();
+    }
+    return MATRIX_ALGEBRA.getInverse(new DoubleMatrix2D(matrix));
+  }
+
+  // inverts a lower block-triangular matrix by forward substitution, only inverting the diagonal blocks
+  private DoubleMatrix2D inverseBlockTriangular(double[][] matrix, int[] paramStarts, int[] blockStarts) {
+    int size = matrix.length;
+    int nbBlocks = blockStarts.length - 1;
+    double[][] inverse = new double[size][size];
+    for (int k = 0; k < nbBlocks; k++) {
+      int startK = paramStarts[blockStarts[k]];
+      int endK = paramStarts[blockStarts[k + 1]];
+      double[][] diagonal = new double[endK - startK][];
+      for (int i = startK; i < endK; i++) {
+        diagonal[i - startK] = Arrays.copyOfRange(matrix[i], startK, endK);
+      }
+      double[][] diagonalInverse = inverse(diagonal).getData();
+      // diagonal block of the inverse
+      for (int i = startK; i < endK; i++) {
+        System.arraycopy(diagonalInverse[i - startK], 0, inverse[i], startK, endK - startK);
+      }
+      // blocks below the diagonal, X_kj = -inv(L_kk) * sum_{j <= m < k} L_km X_mj
+      if (startK > 0) {
+        double[][] sum = new double[endK - startK][startK];
+        for (int i = startK; i < endK; i++) {
+          for (int m = 0; m < startK; m++) {
+            double value = matrix[i][m];
+            if (value != 0d) {
+              for (int j = 0; j < startK; j++) {
+                sum[i - startK][j] += value * inverse[m][j];
+              }
+            }
+          }
+        }
+        for (int i = 0; i < endK - startK; i++) {
+          for (int j = 0; j < startK; j++) {
+            double value = 0d;
+            for (int m = 0; m < endK - startK; m++) {
+              value -= diagonalInverse[i][m] * sum[m][j];
+            }
+            inverse[startK + i][j] = value;
+          }
+        }
+      }
+    }
+    return new DoubleMatrix2D(inverse);
   }
 
   // jacobian indirect, merging groups
@@ -292,14 +913,14 @@ public class CurveCalibrator {
 
     double[][] pDmPreviousArray = new double[0][0];
     if (totalParamsPrevious > 0) {
-      double[][] nonDirect = new double[totalParamsGroup][totalParamsPrevious];
+      FlatDoubleMatrix nonDirect = FlatDoubleMatrix.of(totalParamsGroup, totalParamsPrevious);
       for (int i = 0; i < nbTrades; i++) {
-        System.arraycopy(res[i], 0, nonDirect[i], 0, totalParamsPrevious);
+        System.arraycopy(res[i], 0, nonDirect.getData(), i * totalParamsPrevious, totalParamsPrevious);
       }
-      DoubleMatrix2D pDpPreviousMatrix = (DoubleMatrix2D) MATRIX_ALGEBRA.scale(
-          MATRIX_ALGEBRA.multiply(pDmCurrentMatrix, new DoubleMatrix2D(nonDirect)), -1d);
+      FlatDoubleMatrix pDpPrevious = FlatDoubleMatrix.of(totalParamsGroup, totalParamsPrevious);
+      FlatBlas.gemm(-1d, FlatDoubleMatrix.copyOf(pDmCurrentMatrix), nonDirect, 0d, pDpPrevious);
       // transition Matrix: all curves from previous groups
-      double[][] transition = new double[totalParamsPrevious][totalParamsPrevious];
+      FlatDoubleMatrix transition = FlatDoubleMatrix.of(totalParamsPrevious, totalParamsPrevious);
       int startIndexOuter = 0;
       for (CurveParameterSize order : orderPrevious.getData()) {  // l
         int paramCountOuter = order.getParameterCount();
@@ -313,16 +934,20 @@ public class CurveCalibrator {
           if (thisBlockCurves.contains(order2.getName())) { // If not, the matrix stay with 0
             for (int p = 0; p < paramCountOuter; p++) {
               System.arraycopy(
-                  thisMatrix[p], startIndexOuter, transition[startIndexOuter + p], startIndexInner, paramCountInner);
+                  thisMatrix[p],
+                  startIndexOuter,
+                  transition.getData(),
+                  (startIndexOuter + p) * totalParamsPrevious + startIndexInner,
+                  paramCountInner);
             }
           }
           startIndexInner += paramCountInner;
         }
         startIndexOuter += paramCountOuter;
       }
-      DoubleMatrix2D transitionMatrix = new DoubleMatrix2D(transition);
-      DoubleMatrix2D pDmPreviousMatrix = (DoubleMatrix2D) MATRIX_ALGEBRA.multiply(pDpPreviousMatrix, transitionMatrix);
-      pDmPreviousArray = pDmPreviousMatrix.getData();
+      FlatDoubleMatrix pDmPrevious = FlatDoubleMatrix.of(totalParamsGroup, totalParamsPrevious);
+      FlatBlas.gemm(1d, pDpPrevious, transition, 0d, pDmPrevious);
+      pDmPreviousArray = pDmPrevious.toArray();
     }
     return pDmPreviousArray;
   }
@@ -7,23 +7,35 @@ package com.opengamma.strata.pricer.credit;
 
 import java.time.LocalDate;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.stream.Stream;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.date.BusinessDayConvention;
 import com.opengamma.strata.basics.date.DayCount;
 import com.opengamma.strata.basics.date.DayCounts;
 import com.opengamma.strata.basics.date.HolidayCalendar;
+import com.opengamma.strata.basics.date.Tenor;
 import com.opengamma.strata.basics.schedule.StubConvention;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.finance.credit.type.CdsConvention;
 import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConvention;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
 import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
 import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionCommons;
+import com.opengamma.strata.math.impl.linearalgebra.LUDecompositionResult;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrixUtils;
 import com.opengamma.strata.pricer.PricingException;
 import com.opengamma.strata.pricer.impl.credit.isda.AccrualOnDefaultFormulae;
 import com.opengamma.strata.pricer.impl.credit.isda.AnalyticCdsPricer;
@@ -36,6 +48,8 @@ import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantCreditCurveBuil
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurve;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurveBuild;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaInstrumentTypes;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiAnalyticCdsPricer;
+import com.opengamma.strata.pricer.impl.credit.isda.MultiCdsAnalytic;
 
 /**
  * Helper for interacting with the underlying Analytics layer for CDS pricing.
@@ -69,6 +83,14 @@ public class IsdaCdsHelper {
    * ISDA Standard model implementation in analytics.
    */
   private final static AnalyticCdsPricer CALCULATOR = new AnalyticCdsPricer();
+  /**
+   * ISDA Standard model implementation in analytics for strips of CDSs sharing their premium schedule.
+   */
+  private final static MultiAnalyticCdsPricer MULTI_CALCULATOR = new MultiAnalyticCdsPricer();
+  /**
+   * Decomposition of the sensitivities of the par spreads of the credit curve instruments to the curve nodes.
+   */
+  private final static LUDecompositionCommons DECOMPOSITION = new LUDecompositionCommons();
 
   //-------------------------------------------------------------------------
   /**
@@ -102,6 +124,73 @@ public class IsdaCdsHelper {
     double pv = CALCULATOR.pv(cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, coupon, CdsPriceType.DIRTY, 0d);
 
     // create result
+    return toCurrencyAmount(valuationDate, product, pv, yieldCurveAnalytics, scalingFactor);
+  }
+
+  /**
+   * Calculate the present values of several products on the specified valuation date.
+   * <p>
+   * All the products are priced with the same curves and recovery rate.
+   * The products with the standard short initial stub that only differ by their maturity and coupon
+   * are priced as a strip, sharing the premium schedule and the integration of the legs.
+   * The other products are priced one by one.
+   * The results are the same as those of pricing each product with
+   * {@link #price(LocalDate, ExpandedCds, NodalCurve, NodalCurve, double, double)}.
+   *
+   * @param valuationDate date that present value is calculated on, also date that curves will be calibrated to
+   * @param products  the expanded CDS products
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the present values of the expanded CDS products, in the order of the products
+   */
+  public static List<CurrencyAmount> price(
+      LocalDate valuationDate,
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // calculate
+    CurrencyAmount[] results = new CurrencyAmount[products.size()];
+    for (CdsStrip strip : toStrips(valuationDate, products, recoveryRate)) {
+      if (strip.analytic == null) {
+        int index = strip.productIndices[0];
+        results[index] =
+            price(valuationDate, products.get(index), yieldCurve, creditCurve, recoveryRate, scalingFactor);
+        continue;
+      }
+      double[] protectionLeg =
+          MULTI_CALCULATOR.protectionLeg(strip.analytic, yieldCurveAnalytics, creditCurveAnalytics);
+      double[] annuity = MULTI_CALCULATOR.pvPremiumLegPerUnitSpread(
+          strip.analytic, yieldCurveAnalytics, creditCurveAnalytics, CdsPriceType.DIRTY);
+      for (int i = 0; i < strip.productIndices.length; i++) {
+        int index = strip.productIndices[i];
+        int maturityIndex = strip.maturityIndices[i];
+        ExpandedCds product = products.get(index);
+        double pv = protectionLeg[maturityIndex] - product.getCoupon() * annuity[maturityIndex];
+        results[index] = toCurrencyAmount(valuationDate, product, pv, yieldCurveAnalytics, scalingFactor);
+      }
+    }
+    return ImmutableList.copyOf(results);
+  }
+
+  // converts the present value on a unit notional to the present value of the product, including the upfront fee
+  private static CurrencyAmount toCurrencyAmount(
+      LocalDate valuationDate,
+      ExpandedCds product,
+      double pv,
+      IsdaCompliantYieldCurve yieldCurveAnalytics,
+      double scalingFactor) {
+
     int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
     double notional = product.getNotional();
     double factor = scalingFactor;
@@ -158,6 +247,254 @@ public class IsdaCdsHelper {
 
   }
 
+  /**
+   * Calculate the par spreads of several products on the specified valuation date.
+   * <p>
+   * All the products are priced with the same curves and recovery rate.
+   * The products are grouped in strips as in {@link #price(LocalDate, List, NodalCurve, NodalCurve, double, double)}.
+   * The results are the same as those of pricing each product with
+   * {@link #parSpread(LocalDate, ExpandedCds, NodalCurve, NodalCurve, double)}.
+   *
+   * @param valuationDate date that par spread is calculated on, also date that curves will be calibrated to
+   * @param products  the expanded CDS products
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @return the par spreads of the expanded CDS products, in the order of the products
+   */
+  public static double[] parSpread(
+      LocalDate valuationDate,
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+
+    // calculate
+    double[] results = new double[products.size()];
+    for (CdsStrip strip : toStrips(valuationDate, products, recoveryRate)) {
+      if (strip.analytic == null) {
+        int index = strip.productIndices[0];
+        results[index] = parSpread(valuationDate, products.get(index), yieldCurve, creditCurve, recoveryRate);
+        continue;
+      }
+      double[] parSpreads = MULTI_CALCULATOR.parSpread(strip.analytic, yieldCurveAnalytics, creditCurveAnalytics);
+      for (int i = 0; i < strip.productIndices.length; i++) {
+        results[strip.productIndices[i]] = parSpreads[strip.maturityIndices[i]];
+      }
+    }
+    return results;
+  }
+
+  /**
+   * Calculate the Jacobian of the credit curve.
+   * <p>
+   * The Jacobian is obtained from the analytic sensitivities of the par spreads of the calibration instruments
+   * to the credit and yield curve nodes. The credit curve moves so that the par spreads are unchanged when
+   * the yield curve moves. The sensitivities to the credit curve nodes are decomposed once for both Jacobians.
+   *
+   * @param valuationDate date that the curves were calibrated to
+   * @param creditCurveParRates  the par rates that the credit curve is calibrated to
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @return the Jacobian of the credit curve
+   */
+  public static IsdaCreditCurveJacobian creditCurveJacobian(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate) {
+
+    // setup
+    CdsAnalytic[] pillarAnalytics = toPillarAnalytics(valuationDate, creditCurveParRates, recoveryRate);
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+    int pillarCount = pillarAnalytics.length;
+    int creditNodeCount = creditCurveAnalytics.getNumberOfKnots();
+    int yieldNodeCount = yieldCurveAnalytics.getNumberOfKnots();
+
+    // sensitivity of the par spreads of the calibration instruments to the credit and yield curve nodes,
+    // the sign of the sensitivity to the yield curve nodes is changed to solve for the offsetting credit curve move
+    double[][] creditSensitivities = new double[pillarCount][creditNodeCount];
+    double[][] yieldSensitivities = new double[pillarCount][yieldNodeCount];
+    for (int i = 0; i < pillarCount; i++) {
+      CdsAnalytic pillar = pillarAnalytics[i];
+      for (int j = 0; j < creditNodeCount; j++) {
+        creditSensitivities[i][j] =
+            CALCULATOR.parSpreadCreditSensitivity(pillar, yieldCurveAnalytics, creditCurveAnalytics, j);
+      }
+      double protectionLeg = CALCULATOR.protectionLeg(pillar, yieldCurveAnalytics, creditCurveAnalytics);
+      double annuity = CALCULATOR.annuity(pillar, yieldCurveAnalytics, creditCurveAnalytics, CdsPriceType.CLEAN);
+      double parSpread = protectionLeg / annuity;
+      for (int k = 0; k < yieldNodeCount; k++) {
+        double protectionLegSensitivity =
+            CALCULATOR.protectionLegYieldSensitivity(pillar, yieldCurveAnalytics, creditCurveAnalytics, k);
+        double annuitySensitivity =
+            CALCULATOR.pvPremiumLegYieldSensitivity(pillar, yieldCurveAnalytics, creditCurveAnalytics, k);
+        yieldSensitivities[i][k] = (parSpread * annuitySensitivity - protectionLegSensitivity) / annuity;
+      }
+    }
+
+    // the moves of the credit curve nodes keeping the par spreads unchanged
+    LUDecompositionResult decomposition = DECOMPOSITION.evaluate(new DoubleMatrix2D(creditSensitivities));
+    DoubleMatrix2D parSpreadJacobian = decomposition.solve(DoubleMatrixUtils.getIdentityMatrix2D(pillarCount));
+    DoubleMatrix2D zeroRateJacobian = decomposition.solve(new DoubleMatrix2D(yieldSensitivities));
+    return IsdaCreditCurveJacobian.of(parSpreadJacobian, zeroRateJacobian);
+  }
+
+  /**
+   * Calculate the sensitivities of the present values of several products to the par spreads of the credit curve.
+   * <p>
+   * The credit curve is calibrated to the par spreads, so the sensitivities to the credit curve nodes
+   * are multiplied by the Jacobian of the credit curve, see {@link #creditCurveJacobian}.
+   *
+   * @param valuationDate date that the sensitivities are calculated on, also date that curves were calibrated to
+   * @param products  the expanded CDS products
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param creditCurveJacobian  the Jacobian of the credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the sensitivities to a unit change of each par spread, one row for each product
+   */
+  public static double[][] parSpreadSensitivity(
+      LocalDate valuationDate,
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+    double[][] parSpreadJacobian = creditCurveJacobian.getParSpreadJacobian().getData();
+    int pillarCount = creditCurveJacobian.getParSpreadJacobian().getNumberOfColumns();
+
+    // calculate
+    double[][] sensitivities = new double[products.size()][pillarCount];
+    for (int p = 0; p < products.size(); p++) {
+      ExpandedCds product = products.get(p);
+      double factor = notionalFactor(product, scalingFactor);
+      CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
+      double[] creditSensitivities =
+          creditSensitivities(cdsAnalytic, product.getCoupon(), yieldCurveAnalytics, creditCurveAnalytics);
+      for (int i = 0; i < pillarCount; i++) {
+        double sensitivity = 0d;
+        for (int j = 0; j < creditSensitivities.length; j++) {
+          sensitivity += creditSensitivities[j] * parSpreadJacobian[j][i];
+        }
+        sensitivities[p][i] = sensitivity * factor;
+      }
+    }
+    return sensitivities;
+  }
+
+  /**
+   * Calculate the sensitivities of the present values of several products to the zero rates of the yield curve.
+   * <p>
+   * The credit curve is recalibrated to its par spreads when the yield curve moves.
+   * This is taken into account with the Jacobian of the credit curve, see {@link #creditCurveJacobian}.
+   * The sensitivity of the upfront fee is included.
+   *
+   * @param valuationDate date that the sensitivities are calculated on, also date that curves were calibrated to
+   * @param products  the expanded CDS products
+   * @param yieldCurve  the par rates representation of the ISDA yield curve
+   * @param creditCurve  the par rates representation of the ISDA credit curve
+   * @param creditCurveJacobian  the Jacobian of the credit curve
+   * @param recoveryRate  the recovery rate for the reference entity/issue
+   * @param scalingFactor  the scaling factor
+   * @return the sensitivities to a unit change of the zero rate at each yield curve node, one row for each product
+   */
+  public static double[][] zeroRateSensitivity(
+      LocalDate valuationDate,
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      double recoveryRate,
+      double scalingFactor) {
+
+    // setup
+    IsdaCompliantYieldCurve yieldCurveAnalytics =
+        IsdaCompliantYieldCurve.makeFromRT(yieldCurve.getXValues(), yieldCurve.getYValues());
+    IsdaCompliantCreditCurve creditCurveAnalytics =
+        IsdaCompliantCreditCurve.makeFromRT(creditCurve.getXValues(), creditCurve.getYValues());
+    double[][] zeroRateJacobian = creditCurveJacobian.getZeroRateJacobian().getData();
+    int nodeCount = yieldCurveAnalytics.getNumberOfKnots();
+
+    // calculate
+    double[][] sensitivities = new double[products.size()][nodeCount];
+    for (int p = 0; p < products.size(); p++) {
+      ExpandedCds product = products.get(p);
+      double factor = notionalFactor(product, scalingFactor);
+      CdsAnalytic cdsAnalytic = toAnalytic(valuationDate, product, recoveryRate);
+      double[] creditSensitivities =
+          creditSensitivities(cdsAnalytic, product.getCoupon(), yieldCurveAnalytics, creditCurveAnalytics);
+      for (int k = 0; k < nodeCount; k++) {
+        double sensitivity = CALCULATOR.pvYieldSensitivity(
+            cdsAnalytic, yieldCurveAnalytics, creditCurveAnalytics, product.getCoupon(), k);
+        for (int j = 0; j < creditSensitivities.length; j++) {
+          sensitivity += creditSensitivities[j] * zeroRateJacobian[j][k];
+        }
+        sensitivities[p][k] = sensitivity * factor + priceUpfrontFeeSensitivity(
+            valuationDate, product, yieldCurveAnalytics, k);
+      }
+    }
+    return sensitivities;
+  }
+
+  // the sensitivities of the present value on a unit notional to the credit curve nodes
+  private static double[] creditSensitivities(
+      CdsAnalytic cdsAnalytic,
+      double coupon,
+      IsdaCompliantYieldCurve yieldCurve,
+      IsdaCompliantCreditCurve creditCurve) {
+
+    double[] sensitivities = new double[creditCurve.getNumberOfKnots()];
+    for (int j = 0; j < sensitivities.length; j++) {
+      sensitivities[j] = CALCULATOR.pvCreditSensitivity(cdsAnalytic, yieldCurve, creditCurve, coupon, j);
+    }
+    return sensitivities;
+  }
+
+  // the factor converting a value on a unit notional to a value on the product
+  private static double notionalFactor(ExpandedCds product, double scalingFactor) {
+    int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
+    return product.getNotional() * sign * scalingFactor;
+  }
+
+  // the sensitivity of the upfront fee to the zero rate of a yield curve node, see priceUpfrontFee
+  private static double priceUpfrontFeeSensitivity(
+      LocalDate valuationDate,
+      ExpandedCds product,
+      IsdaCompliantYieldCurve yieldCurve,
+      int yieldCurveNode) {
+
+    OptionalDouble amount = product.getUpfrontFeeAmount();
+    Optional<LocalDate> paymentDate = product.getUpfrontFeePaymentDate();
+    if (!amount.isPresent() || !paymentDate.get().isAfter(valuationDate)) {
+      return 0d;
+    }
+    int sign = product.getBuySellProtection().isBuy() ? 1 : -1;
+    double feeSettleYearFraction = CURVE_DAY_COUNT.yearFraction(valuationDate, paymentDate.get());
+    double discountFactorSensitivity =
+        yieldCurve.getSingleNodeDiscountFactorSensitivity(feeSettleYearFraction, yieldCurveNode);
+    return discountFactorSensitivity * amount.getAsDouble() * sign;
+  }
+
   // Converts the interest rate curve par rates to the corresponding analytics form.
   // Calibration is performed here.
   public static IsdaCompliantYieldCurve createIsdaDiscountCurve(
@@ -263,6 +600,37 @@ public class IsdaCdsHelper {
     }
   }
 
+  // Converts the credit curve par rates to the analytics form of the instruments the curve is calibrated to.
+  // These must match the instruments created by the curve builder in createIsdaCreditCurve.
+  private static CdsAnalytic[] toPillarAnalytics(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates curveCurve,
+      double recoveryRate) {
+
+    try {
+      CdsConvention cdsConvention = curveCurve.getCdsConvention();
+      LocalDate[] endDates = curveCurve.getEndDatePoints();
+      CdsAnalytic[] pillars = new CdsAnalytic[endDates.length];
+      for (int i = 0; i < endDates.length; i++) {
+        pillars[i] = new CdsAnalytic(
+            valuationDate,
+            cdsConvention.getUnadjustedStepInDate(valuationDate),
+            cdsConvention.getAdjustedSettleDate(valuationDate),
+            cdsConvention.getAdjustedStartDate(valuationDate),
+            endDates[i],
+            cdsConvention.getPayAccruedOnDefault(),
+            cdsConvention.getPaymentFrequency().getPeriod(),
+            translateStubType(cdsConvention.getStubConvention()),
+            PROTECT_START,
+            recoveryRate);
+      }
+      return pillars;
+
+    } catch (Exception ex) {
+      throw new PricingException("Error converting the ISDA Credit Curve: " + ex.getMessage(), ex);
+    }
+  }
+
   // Converts the expanded CDS product to the corresponding analytics form.
   private static CdsAnalytic toAnalytic(LocalDate valuationDate, ExpandedCds product, double recoveryRate) {
     try {
@@ -287,6 +655,91 @@ public class IsdaCdsHelper {
     }
   }
 
+  // Groups the products that can be priced as a strip with a common premium schedule.
+  // The products that cannot are returned as strips of one product without analytic form.
+  private static List<CdsStrip> toStrips(LocalDate valuationDate, List<ExpandedCds> products, double recoveryRate) {
+    List<CdsStrip> strips = new ArrayList<>();
+    Map<List<Object>, List<Integer>> groups = new LinkedHashMap<>();
+    for (int i = 0; i < products.size(); i++) {
+      ExpandedCds product = products.get(i);
+      if (product.getStubConvention() == StubConvention.SHORT_INITIAL && product.getEndDate().isAfter(valuationDate)) {
+        // the products in a strip must share everything that defines the premium schedule, except the maturity
+        List<Object> key = ImmutableList.of(
+            product.getStartDate(),
+            product.getPaymentInterval(),
+            product.isPayAccruedOnDefault(),
+            product.getBusinessDayAdjustment(),
+            product.getAccrualDayCount());
+        groups.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+      } else {
+        strips.add(new CdsStrip(null, new int[] {i}, new int[] {0}));
+      }
+    }
+    for (List<Integer> group : groups.values()) {
+      toStrip(valuationDate, products, group, recoveryRate, strips);
+    }
+    return strips;
+  }
+
+  // Creates a strip from products sharing their premium schedule.
+  // The maturities must be whole numbers of payment intervals after the earliest maturity.
+  private static void toStrip(
+      LocalDate valuationDate,
+      List<ExpandedCds> products,
+      List<Integer> group,
+      double recoveryRate,
+      List<CdsStrip> strips) {
+
+    ExpandedCds first = products.get(group.get(0));
+    LocalDate referenceDate = group.stream().map(i -> products.get(i).getEndDate()).min(LocalDate::compareTo).get();
+    Period interval = first.getPaymentInterval();
+    List<Integer> stripIndices = new ArrayList<>();
+    List<Integer> intervalCounts = new ArrayList<>();
+    for (int index : group) {
+      LocalDate endDate = products.get(index).getEndDate();
+      int count = 0;
+      LocalDate date = referenceDate;
+      while (date.isBefore(endDate)) {
+        count++;
+        date = referenceDate.plus(interval.multipliedBy(count));
+      }
+      if (date.equals(endDate)) {
+        stripIndices.add(index);
+        intervalCounts.add(count);
+      } else {
+        strips.add(new CdsStrip(null, new int[] {index}, new int[] {0}));
+      }
+    }
+    if (stripIndices.size() < 2) {
+      stripIndices.forEach(index -> strips.add(new CdsStrip(null, new int[] {index}, new int[] {0})));
+      return;
+    }
+    int[] maturities = intervalCounts.stream().mapToInt(Integer::intValue).distinct().sorted().toArray();
+    int[] maturityIndices = intervalCounts.stream().mapToInt(count -> Arrays.binarySearch(maturities, count)).toArray();
+    try {
+      MultiCdsAnalytic analytic = new MultiCdsAnalytic(
+          valuationDate,
+          valuationDate.plusDays(1),
+          valuationDate,
+          first.getStartDate(),
+          referenceDate,
+          maturities,
+          first.isPayAccruedOnDefault(),
+          Tenor.of(interval),
+          translateStubType(first.getStubConvention()),
+          PROTECT_START,
+          recoveryRate,
+          first.getBusinessDayAdjustment().getConvention(),
+          first.getBusinessDayAdjustment().getCalendar(),
+          first.getAccrualDayCount(),
+          CURVE_DAY_COUNT);
+      strips.add(new CdsStrip(analytic, stripIndices.stream().mapToInt(Integer::intValue).toArray(), maturityIndices));
+
+    } catch (Exception ex) {
+      throw new PricingException("Error converting the trades to an analytic: " + ex.getMessage(), ex);
+    }
+  }
+
   //-------------------------------------------------------------------------
   // Converts type of interest curve underlying to the corresponding analytics value.
   private static IsdaInstrumentTypes mapInstrumentType(IsdaYieldCurveUnderlyingType input) {
@@ -316,4 +769,26 @@ public class IsdaCdsHelper {
     }
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * A strip of products priced together.
+   * <p>
+   * If the analytic form is null, the strip holds a single product that is priced on its own.
+   */
+  private static final class CdsStrip {
+
+    /** The analytic form of the strip, null if the product is priced on its own. */
+    private final MultiCdsAnalytic analytic;
+    /** The indices of the products in the list of products. */
+    private final int[] productIndices;
+    /** The index of the maturity of each product in the strip. */
+    private final int[] maturityIndices;
+
+    private CdsStrip(MultiCdsAnalytic analytic, int[] productIndices, int[] maturityIndices) {
+      this.analytic = analytic;
+      this.productIndices = productIndices;
+      this.maturityIndices = maturityIndices;
+    }
+  }
+
 }
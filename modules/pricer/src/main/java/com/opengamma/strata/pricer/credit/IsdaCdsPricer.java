@@ -5,17 +5,25 @@
  */
 package com.opengamma.strata.pricer.credit;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
 import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.finance.credit.ExpandedCds;
 import com.opengamma.strata.market.curve.CurveMetadata;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
 import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.CurveUnitParameterSensitivity;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantCreditCurve;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantCurve;
 import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurve;
@@ -25,19 +33,42 @@ import com.opengamma.strata.pricer.impl.credit.isda.IsdaCompliantYieldCurve;
  * <p>
  * This function provides the ability to price a {@link ExpandedCds}.
  * Both single name and index swaps can be priced.
+ * <p>
+ * The bucketed par sensitivities are calculated by default from the analytic Jacobians of the curves.
+ * The {@link #BUMP_AND_REVALUE} instance instead bumps each par rate, recalibrates the curves and reprices,
+ * which is slower and is intended to validate the analytic results.
  */
 public class IsdaCdsPricer {
 
   /**
-   * Default implementation
+   * Default implementation, using the analytic curve Jacobians for bucketed sensitivities.
+   */
+  public static final IsdaCdsPricer DEFAULT = new IsdaCdsPricer(true);
+  /**
+   * Implementation using bump and revalue for bucketed sensitivities.
    */
-  public static final IsdaCdsPricer DEFAULT = new IsdaCdsPricer();
+  public static final IsdaCdsPricer BUMP_AND_REVALUE = new IsdaCdsPricer(false);
 
   /**
    * Standard one basis point for applying shifts
    */
   private static final double ONE_BPS = 0.0001d;
 
+  /**
+   * Whether the bucketed sensitivities are calculated analytically, rather than by bump and revalue.
+   */
+  private final boolean analyticSensitivities;
+
+  /**
+   * Creates an instance.
+   * 
+   * @param analyticSensitivities  true to calculate bucketed sensitivities analytically,
+   *  false to bump and revalue
+   */
+  private IsdaCdsPricer(boolean analyticSensitivities) {
+    this.analyticSensitivities = analyticSensitivities;
+  }
+
   //-------------------------------------------------------------------------
 
   /**
@@ -64,6 +95,32 @@ public class IsdaCdsPricer {
     return IsdaCdsHelper.price(valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
   }
 
+  /**
+   * Calculates the present values of several expanded CDS products priced with the same curves.
+   * <p>
+   * The products that only differ by their maturity and coupon are priced together as a strip,
+   * sharing the premium schedule and the integration of the legs.
+   * The results are the same as those of pricing each product on its own.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @param scalingFactor linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present values of fee leg and any up front fee, in the order of the products
+   */
+  public List<CurrencyAmount> presentValue(
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    return IsdaCdsHelper.price(valuationDate, products, yieldCurve, creditCurve, recoveryRate, scalingFactor);
+  }
+
   /**
    * Calculates the present value of the expanded CDS product.
    * <p>
@@ -85,12 +142,59 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
 
     return IsdaCdsHelper.price(valuationDate, product, yieldCurve, creditCurve, recoveryRate, scalingFactor);
   }
 
+  /**
+   * Calculates the par rate of the expanded CDS product.
+   * <p>
+   * The par rate of the CDS is the coupon rate that will make present value of all cashflows
+   * equal zero as of the valuation date.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @return par rate for the credit default swap
+   */
+  public double parRate(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate) {
+
+    return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
+  }
+
+  /**
+   * Calculates the par rates of several expanded CDS products priced with the same curves.
+   * <p>
+   * The products that only differ by their maturity and coupon are priced together as a strip,
+   * sharing the premium schedule and the integration of the legs.
+   * The results are the same as those of pricing each product on its own.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @return par rates for the credit default swaps, in the order of the products
+   */
+  public double[] parRate(
+      List<ExpandedCds> products,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate) {
+
+    return IsdaCdsHelper.parSpread(valuationDate, products, yieldCurve, creditCurve, recoveryRate);
+  }
+
   /**
    * Calculates the par rate of the expanded CDS product.
    * <p>
@@ -111,12 +215,109 @@ public class IsdaCdsPricer {
       LocalDate valuationDate,
       double recoveryRate) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
 
     return IsdaCdsHelper.parSpread(valuationDate, product, yieldCurve, creditCurve, recoveryRate);
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calibrates the ISDA discount curve from par rates.
+   * <p>
+   * The x values of the curve are the times of the nodes and the y values are the zero rates
+   * multiplied by the times. The curve depends only on the valuation date and the par rates,
+   * so it can be calibrated once and shared by all the CDS products that use it.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve
+   * @return the calibrated ISDA discount curve
+   */
+  public NodalCurve calibrateYieldCurve(LocalDate valuationDate, IsdaYieldCurveParRates yieldCurveParRates) {
+    return ISDANodalCurve.of(valuationDate, yieldCurveParRates);
+  }
+
+  /**
+   * Calibrates the ISDA spread curve from par spread rates.
+   * <p>
+   * The x values of the curve are the times of the nodes and the y values are the hazard rates
+   * multiplied by the times. The curve depends only on the valuation date, the par spread rates,
+   * the discount curve and the recovery rate, so it can be calibrated once and shared by all the
+   * CDS products that use it.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve
+   * @param yieldCurve  the calibrated ISDA discount curve, see {@link #calibrateYieldCurve}
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @return the calibrated ISDA spread curve
+   */
+  public NodalCurve calibrateCreditCurve(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      double recoveryRate) {
+
+    return ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+  }
+
+  /**
+   * Calculates the Jacobian of the ISDA discount curve with respect to its par rates.
+   * <p>
+   * The Jacobian is calculated by recalibrating the curve with each par rate shifted by one basis point.
+   * It depends only on the valuation date, the par rates and the curve, so it can be calculated once
+   * and shared by all the CDS products that use the curve.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @return the Jacobian of the ISDA discount curve
+   */
+  public IsdaYieldCurveJacobian yieldCurveJacobian(
+      LocalDate valuationDate,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      NodalCurve yieldCurve) {
+
+    // only the yield curve is recalibrated, the y values of the curve are the zero rates multiplied by the times
+    double[] times = yieldCurve.getXValues();
+    double[] baseValues = yieldCurve.getYValues();
+    int points = yieldCurveParRates.getNumberOfPoints();
+    double[][] jacobian = new double[times.length][points];
+    for (int i = 0; i < points; i++) {
+      NodalCurve bumpedYieldCurve =
+          calibrateYieldCurve(valuationDate, yieldCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS));
+      double[] bumpedValues = bumpedYieldCurve.getYValues();
+      for (int k = 0; k < times.length; k++) {
+        jacobian[k][i] = (bumpedValues[k] - baseValues[k]) / times[k] / ONE_BPS;
+      }
+    }
+    return IsdaYieldCurveJacobian.of(new DoubleMatrix2D(jacobian));
+  }
+
+  /**
+   * Calculates the Jacobian of the ISDA spread curve with respect to its par spread rates
+   * and to the zero rates of the ISDA discount curve.
+   * <p>
+   * The Jacobian is calculated analytically. It depends only on the valuation date, the par spread rates,
+   * the curves and the recovery rate, so it can be calculated once and shared by all the CDS products
+   * that use the curves.
+   *
+   * @param valuationDate  date to use when calibrating the curve
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve
+   * @param yieldCurve  the calibrated ISDA discount curve
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @return the Jacobian of the ISDA spread curve
+   */
+  public IsdaCreditCurveJacobian creditCurveJacobian(
+      LocalDate valuationDate,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      double recoveryRate) {
+
+    return IsdaCdsHelper.creditCurveJacobian(valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+  }
+
   /**
    * Local class that implements ISDANodalCurve
    * This is a further step towards supporting regular Strata ParRates and zero curves for CDS
@@ -226,13 +427,44 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01ParallelPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in par interest rates.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount ir01ParallelPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
-    NodalCurve bumpedYieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates.parallelShiftParRatesinBps(ONE_BPS));
-    NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
+    NodalCurve bumpedYieldCurve =
+        calibrateYieldCurve(valuationDate, yieldCurveParRates.parallelShiftParRatesinBps(ONE_BPS));
+    NodalCurve bumpedCreditCurve =
+        calibrateCreditCurve(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     CurrencyAmount bumpedPrice =
         presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
@@ -257,13 +489,43 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01ParallelZero(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in zero rates.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount ir01ParallelZero(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve.shiftedBy((x, y) -> y + ONE_BPS);
-    NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
+    NodalCurve bumpedCreditCurve =
+        calibrateCreditCurve(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     CurrencyAmount bumpedPrice =
         presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
@@ -288,26 +550,156 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01BucketedPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node.
+   * <p>
+   * The base curves are supplied already calibrated. The sensitivities are calculated analytically,
+   * unless this is the {@link #BUMP_AND_REVALUE} pricer, in which case only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
+    if (analyticSensitivities) {
+      return ir01BucketedPar(ImmutableList.of(product), yieldCurveParRates, creditCurveParRates, yieldCurve,
+          creditCurve, valuationDate, recoveryRate, scalingFactor).get(0);
+    }
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     int points = yieldCurveParRates.getNumberOfPoints();
     double[] paramSensitivities = new double[points];
     for (int i = 0; i < points; i++) {
-      NodalCurve bumpedYieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS));
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+      NodalCurve bumpedYieldCurve =
+          calibrateYieldCurve(valuationDate, yieldCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS));
+      NodalCurve bumpedCreditCurve =
+          calibrateCreditCurve(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
       CurrencyAmount bumpedPrice =
           presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
       paramSensitivities[i] = sensitivity.getAmount();
     }
     return CurveCurrencyParameterSensitivities.of(
-        CurveCurrencyParameterSensitivity.of(yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+        CurveCurrencyParameterSensitivity.of(
+            yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
 
   /**
-   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node.
+   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node
+   * for several products priced with the same curves.
+   * <p>
+   * When calculated analytically, the Jacobians of the curves are calculated once and shared by all the products.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> ir01BucketedPar(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return products.stream()
+          .map(product -> ir01BucketedPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve,
+              creditCurve, valuationDate, recoveryRate, scalingFactor))
+          .collect(toImmutableList());
+    }
+    IsdaYieldCurveJacobian yieldCurveJacobian = yieldCurveJacobian(valuationDate, yieldCurveParRates, yieldCurve);
+    IsdaCreditCurveJacobian creditCurveJacobian =
+        creditCurveJacobian(valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+    return ir01BucketedPar(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        yieldCurveJacobian, creditCurveJacobian, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par interest rates at each curve node
+   * for several products priced with the same curves, using the Jacobians of the curves.
+   * <p>
+   * The Jacobians are only used when the sensitivities are calculated analytically,
+   * see {@link #yieldCurveJacobian} and {@link #creditCurveJacobian}.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param yieldCurveJacobian  the Jacobian of the ISDA discount curve
+   * @param creditCurveJacobian  the Jacobian of the ISDA spread curve
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> ir01BucketedPar(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaYieldCurveJacobian yieldCurveJacobian,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return ir01BucketedPar(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+          valuationDate, recoveryRate, scalingFactor);
+    }
+    double[][] parRateJacobian = yieldCurveJacobian.getParRateJacobian().getData();
+    int points = yieldCurveParRates.getNumberOfPoints();
+    double[][] zeroRateSensitivities = IsdaCdsHelper.zeroRateSensitivity(
+        valuationDate, products, yieldCurve, creditCurve, creditCurveJacobian, recoveryRate, scalingFactor);
+    return IntStream.range(0, products.size())
+        .mapToObj(p -> {
+          double[] paramSensitivities = new double[points];
+          for (int i = 0; i < points; i++) {
+            for (int k = 0; k < parRateJacobian.length; k++) {
+              paramSensitivities[i] += zeroRateSensitivities[p][k] * parRateJacobian[k][i] * ONE_BPS;
+            }
+          }
+          return CurveCurrencyParameterSensitivities.of(
+              CurveCurrencyParameterSensitivity.of(
+                  yieldCurveParRates.getCurveMetaData(), products.get(p).getCurrency(), paramSensitivities));
+        })
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in zero rates at each curve node.
    *
    * @param product  expanded CDS product
    * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
@@ -325,28 +717,151 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return ir01BucketedZero(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
 
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in zero rates at each curve node.
+   * <p>
+   * The base curves are supplied already calibrated. The sensitivities are calculated analytically,
+   * unless this is the {@link #BUMP_AND_REVALUE} pricer, in which case only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities ir01BucketedZero(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (analyticSensitivities) {
+      return ir01BucketedZero(ImmutableList.of(product), yieldCurveParRates, creditCurveParRates, yieldCurve,
+          creditCurve, valuationDate, recoveryRate, scalingFactor).get(0);
+    }
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     int points = yieldCurveParRates.getNumberOfPoints();
     double[] paramSensitivities = new double[points];
     for (int i = 0; i < points; i++) {
       double[] shiftVector = yieldCurve.getYValues().clone();
       shiftVector[i] = shiftVector[i] + ONE_BPS;
       NodalCurve bumpedYieldCurve = ISDANodalCurve.of(yieldCurveParRates, yieldCurve.getXValues(), shiftVector);
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
+      NodalCurve bumpedCreditCurve =
+          calibrateCreditCurve(valuationDate, creditCurveParRates, bumpedYieldCurve, recoveryRate);
+      CurrencyAmount bumpedPrice =
+          presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
       paramSensitivities[i] = sensitivity.getAmount();
     }
     return CurveCurrencyParameterSensitivities.of(
-        CurveCurrencyParameterSensitivity.of(yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+        CurveCurrencyParameterSensitivity.of(
+            yieldCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
 
-  //-------------------------------------------------------------------------
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in zero rates at each curve node
+   * for several products priced with the same curves.
+   * <p>
+   * When calculated analytically, the Jacobian of the credit curve is calculated once and shared by all the products.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> ir01BucketedZero(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return products.stream()
+          .map(product -> ir01BucketedZero(product, yieldCurveParRates, creditCurveParRates, yieldCurve,
+              creditCurve, valuationDate, recoveryRate, scalingFactor))
+          .collect(toImmutableList());
+    }
+    IsdaCreditCurveJacobian creditCurveJacobian =
+        creditCurveJacobian(valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+    return ir01BucketedZero(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        creditCurveJacobian, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in zero rates at each curve node
+   * for several products priced with the same curves, using the Jacobian of the credit curve.
+   * <p>
+   * The Jacobian is only used when the sensitivities are calculated analytically, see {@link #creditCurveJacobian}.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param creditCurveJacobian  the Jacobian of the ISDA spread curve
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> ir01BucketedZero(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return ir01BucketedZero(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+          valuationDate, recoveryRate, scalingFactor);
+    }
+    // the y values of the curve are the zero rates multiplied by the times
+    double[] times = yieldCurve.getXValues();
+    int points = yieldCurveParRates.getNumberOfPoints();
+    double[][] zeroRateSensitivities = IsdaCdsHelper.zeroRateSensitivity(
+        valuationDate, products, yieldCurve, creditCurve, creditCurveJacobian, recoveryRate, scalingFactor);
+    return IntStream.range(0, products.size())
+        .mapToObj(p -> {
+          double[] paramSensitivities = new double[points];
+          for (int i = 0; i < points; i++) {
+            paramSensitivities[i] = zeroRateSensitivities[p][i] * ONE_BPS / times[i];
+          }
+          return CurveCurrencyParameterSensitivities.of(
+              CurveCurrencyParameterSensitivity.of(
+                  yieldCurveParRates.getCurveMetaData(), products.get(p).getCurrency(), paramSensitivities));
+        })
+        .collect(toImmutableList());
+  }
 
+  //-------------------------------------------------------------------------
   /**
    * Calculates the scalar PV change to a 1 basis point shift in par credit spread rates.
    *
@@ -354,7 +869,7 @@ public class IsdaCdsPricer {
    * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
    * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
    * @param valuationDate  date to use when calibrating curves and calculating the result
-   * @param recoveryRate  recovery rate associate with underlying issue or index
+   * @param recoveryRate  recovery rate associated with underlying issue or index
    * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
    * @return present value of fee leg and any up front fee
    */
@@ -366,16 +881,45 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01ParallelPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in par credit spread rates.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount cs01ParallelPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve;
-    NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates.parallelShiftParRatesinBps(ONE_BPS),
-        bumpedYieldCurve, recoveryRate);
+    NodalCurve bumpedCreditCurve = calibrateCreditCurve(
+        valuationDate, creditCurveParRates.parallelShiftParRatesinBps(ONE_BPS), bumpedYieldCurve, recoveryRate);
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-    CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-        scalingFactor);
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount bumpedPrice =
+        presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
   }
 
@@ -398,15 +942,44 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01ParallelHazard(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in hazard rates.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount cs01ParallelHazard(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
 
     NodalCurve bumpedYieldCurve = yieldCurve;
     NodalCurve bumpedCreditCurve = creditCurve.shiftedBy((x, y) -> y + ONE_BPS);
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-    CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-        scalingFactor);
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount bumpedPrice =
+        presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
   }
 
@@ -429,27 +1002,148 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
 
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+   * <p>
+   * The base curves are supplied already calibrated. The sensitivities are calculated analytically,
+   * unless this is the {@link #BUMP_AND_REVALUE} pricer, in which case only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedPar(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (analyticSensitivities) {
+      return cs01BucketedPar(ImmutableList.of(product), yieldCurveParRates, creditCurveParRates, yieldCurve,
+          creditCurve, valuationDate, recoveryRate, scalingFactor).get(0);
+    }
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     int points = creditCurveParRates.getNumberOfPoints();
     double[] paramSensitivities = new double[points];
     for (int i = 0; i < points; i++) {
       NodalCurve bumpedYieldCurve = yieldCurve;
-      NodalCurve bumpedCreditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS),
-          yieldCurve, recoveryRate);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
+      NodalCurve bumpedCreditCurve = calibrateCreditCurve(
+          valuationDate, creditCurveParRates.bucketedShiftParRatesinBps(i, ONE_BPS), yieldCurve, recoveryRate);
+      CurrencyAmount bumpedPrice =
+          presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
       paramSensitivities[i] = sensitivity.getAmount();
     }
     return CurveCurrencyParameterSensitivities.of(
-        CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+        CurveCurrencyParameterSensitivity.of(
+            creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
 
   /**
-   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node.
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node
+   * for several products priced with the same curves.
+   * <p>
+   * When calculated analytically, the Jacobian of the credit curve is calculated once and shared by all the products.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> cs01BucketedPar(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return products.stream()
+          .map(product -> cs01BucketedPar(product, yieldCurveParRates, creditCurveParRates, yieldCurve,
+              creditCurve, valuationDate, recoveryRate, scalingFactor))
+          .collect(toImmutableList());
+    }
+    IsdaCreditCurveJacobian creditCurveJacobian =
+        creditCurveJacobian(valuationDate, creditCurveParRates, yieldCurve, creditCurve, recoveryRate);
+    return cs01BucketedPar(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        creditCurveJacobian, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in par credit spread rates at each curve node
+   * for several products priced with the same curves, using the Jacobian of the credit curve.
+   * <p>
+   * The Jacobian is only used when the sensitivities are calculated analytically, see {@link #creditCurveJacobian}.
+   *
+   * @param products  expanded CDS products
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param creditCurveJacobian  the Jacobian of the ISDA spread curve
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return the sensitivities, in the order of the products
+   */
+  public List<CurveCurrencyParameterSensitivities> cs01BucketedPar(
+      List<ExpandedCds> products,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      IsdaCreditCurveJacobian creditCurveJacobian,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    if (!analyticSensitivities) {
+      return cs01BucketedPar(products, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+          valuationDate, recoveryRate, scalingFactor);
+    }
+    int points = creditCurveParRates.getNumberOfPoints();
+    double[][] parSpreadSensitivities = IsdaCdsHelper.parSpreadSensitivity(
+        valuationDate, products, yieldCurve, creditCurve, creditCurveJacobian, recoveryRate, scalingFactor);
+    return IntStream.range(0, products.size())
+        .mapToObj(p -> {
+          double[] paramSensitivities = new double[points];
+          for (int i = 0; i < points; i++) {
+            paramSensitivities[i] = parSpreadSensitivities[p][i] * ONE_BPS;
+          }
+          return CurveCurrencyParameterSensitivities.of(
+              CurveCurrencyParameterSensitivity.of(
+                  creditCurveParRates.getCurveMetaData(), products.get(p).getCurrency(), paramSensitivities));
+        })
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in hazard rates at each curve node.
    *
    * @param product  expanded CDS product
    * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
@@ -467,9 +1161,39 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    NodalCurve yieldCurve = ISDANodalCurve.of(valuationDate, yieldCurveParRates);
-    NodalCurve creditCurve = ISDANodalCurve.of(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return cs01BucketedHazard(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
 
+  /**
+   * Calculates the vector PV change to a series of 1 basis point shifts in hazard rates at each curve node.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurveCurrencyParameterSensitivities cs01BucketedHazard(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     int points = creditCurveParRates.getNumberOfPoints();
     double[] paramSensitivities = new double[points];
     for (int i = 0; i < points; i++) {
@@ -477,14 +1201,14 @@ public class IsdaCdsPricer {
       shiftVector[i] = shiftVector[i] + ONE_BPS;
       NodalCurve bumpedYieldCurve = yieldCurve;
       NodalCurve bumpedCreditCurve = ISDANodalCurve.of(creditCurveParRates, creditCurve.getXValues(), shiftVector);
-      CurrencyAmount basePrice = presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
-      CurrencyAmount bumpedPrice = presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate,
-          scalingFactor);
+      CurrencyAmount bumpedPrice =
+          presentValue(product, bumpedYieldCurve, bumpedCreditCurve, valuationDate, recoveryRate, scalingFactor);
       CurrencyAmount sensitivity = bumpedPrice.minus(basePrice);
       paramSensitivities[i] = sensitivity.getAmount();
     }
     return CurveCurrencyParameterSensitivities.of(
-        CurveCurrencyParameterSensitivity.of(creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
+        CurveCurrencyParameterSensitivity.of(
+            creditCurveParRates.getCurveMetaData(), product.getCurrency(), paramSensitivities));
   }
 
   //-------------------------------------------------------------------------
@@ -507,10 +1231,45 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate,
-        scalingFactor);
-    CurrencyAmount bumpedPrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate +
-        ONE_BPS, scalingFactor);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return recovery01(product, yieldCurveParRates, creditCurveParRates, yieldCurve, creditCurve,
+        valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the scalar PV change to a 1 basis point shift in recovery rate.
+   * <p>
+   * The base curves are supplied already calibrated, so only the bumped curves are calibrated.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurveParRates  par rate curve points of the ISDA discount curve to use
+   * @param creditCurveParRates  par spread rate curve points of the ISDA spread curve to use
+   * @param yieldCurve  the ISDA discount curve calibrated from the par rates
+   * @param creditCurve  the ISDA spread curve calibrated from the par spread rates
+   * @param valuationDate  date to use when calibrating curves and calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount recovery01(
+      ExpandedCds product,
+      IsdaYieldCurveParRates yieldCurveParRates,
+      IsdaCreditCurveParRates creditCurveParRates,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    double bumpedRecoveryRate = recoveryRate + ONE_BPS;
+    NodalCurve bumpedCreditCurve =
+        calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, bumpedRecoveryRate);
+
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+    CurrencyAmount bumpedPrice =
+        presentValue(product, yieldCurve, bumpedCreditCurve, valuationDate, bumpedRecoveryRate, scalingFactor);
     return bumpedPrice.minus(basePrice);
   }
 
@@ -534,8 +1293,32 @@ public class IsdaCdsPricer {
       double recoveryRate,
       double scalingFactor) {
 
-    CurrencyAmount basePrice = presentValue(product, yieldCurveParRates, creditCurveParRates, valuationDate, recoveryRate,
-        scalingFactor);
+    NodalCurve yieldCurve = calibrateYieldCurve(valuationDate, yieldCurveParRates);
+    NodalCurve creditCurve = calibrateCreditCurve(valuationDate, creditCurveParRates, yieldCurve, recoveryRate);
+    return jumpToDefault(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
+  }
+
+  /**
+   * Calculates the risk of default by subtracting from current MTM the Notional amount times Recovery Rate - 1.
+   *
+   * @param product  expanded CDS product
+   * @param yieldCurve  calibrated curve points of the ISDA discount curve to use
+   * @param creditCurve  calibrated curve points of the ISDA spread curve to use
+   * @param valuationDate  date to use when calculating the result
+   * @param recoveryRate  recovery rate associated with underlying issue or index
+   * @param scalingFactor  linear scaling factor associated with underlying index, or 1 in case of CDS
+   * @return present value of fee leg and any up front fee
+   */
+  public CurrencyAmount jumpToDefault(
+      ExpandedCds product,
+      NodalCurve yieldCurve,
+      NodalCurve creditCurve,
+      LocalDate valuationDate,
+      double recoveryRate,
+      double scalingFactor) {
+
+    CurrencyAmount basePrice =
+        presentValue(product, yieldCurve, creditCurve, valuationDate, recoveryRate, scalingFactor);
     CurrencyAmount expectedLoss = CurrencyAmount.of(product.getCurrency(), product.getNotional() * (recoveryRate - 1));
     return expectedLoss.minus(basePrice);
   }
@@ -251,11 +251,19 @@ public class AnalyticCdsPricer {
       return 0.0;
     }
 
+    // the coupons are in time order, so each curve is evaluated in a single sweep
+    CdsCoupon[] coupons = cds.getCoupons();
+    double[] effEnds = new double[coupons.length];
+    double[] paymentTimes = new double[coupons.length];
+    for (int i = 0; i < coupons.length; i++) {
+      effEnds[i] = coupons[i].getEffEnd();
+      paymentTimes[i] = coupons[i].getPaymentTime();
+    }
+    double[] q = creditCurve.getDiscountFactors(effEnds);
+    double[] p = yieldCurve.getDiscountFactors(paymentTimes);
     double pv = 0.0;
-    for (CdsCoupon coupon : cds.getCoupons()) {
-      double q = creditCurve.getDiscountFactor(coupon.getEffEnd());
-      double p = yieldCurve.getDiscountFactor(coupon.getPaymentTime());
-      pv += coupon.getYearFrac() * p * q;
+    for (int i = 0; i < coupons.length; i++) {
+      pv += coupons[i].getYearFrac() * p[i] * q[i];
     }
 
     if (cds.isPayAccOnDefault()) {
@@ -736,9 +744,6 @@ public class AnalyticCdsPricer {
     if (start >= coupon.getEffEnd()) {
       return 0.0;
     }
-    if (_formula != AccrualOnDefaultFormulae.MARKIT_FIX) {
-      throw new UnsupportedOperationException();
-    }
 
     double[] knots = DoublesScheduleGenerator.truncateSetInclusive(start, coupon.getEffEnd(), integrationPoints);
 
@@ -750,6 +755,7 @@ public class AnalyticCdsPricer {
     double b0 = p0 * q0; // this is the risky discount factor
     double dpdr0 = yieldCurve.getSingleNodeDiscountFactorSensitivity(t, yieldCurveNode);
 
+    double t0 = t - coupon.getEffStart() + _omega;
     double pvSense = 0.0;
     int nItems = knots.length;
     for (int j = 1; j < nItems; ++j) {
@@ -771,11 +777,34 @@ public class AnalyticCdsPricer {
       // TODO once the maths is written up in a white paper, check these formula again, since tests again finite difference
       // could miss some subtle error
 
-      double eP = epsilonP(-dhrt);
-      double ePP = epsilonPP(-dhrt);
-      double dPVdp0 = q0 * dt * dht * (eP - ePP);
-      double dPVdp1 = b0 * dt * dht / p1 * ePP;
-      tPvSense = dPVdp0 * dpdr0 + dPVdp1 * dpdr1;
+      if (_formula == AccrualOnDefaultFormulae.MARKIT_FIX) {
+        double eP = epsilonP(-dhrt);
+        double ePP = epsilonPP(-dhrt);
+        double dPVdp0 = q0 * dt * dht * (eP - ePP);
+        double dPVdp1 = b0 * dt * dht / p1 * ePP;
+        tPvSense = dPVdp0 * dpdr0 + dPVdp1 * dpdr1;
+      } else {
+        double t1 = t - coupon.getEffStart() + _omega;
+        if (Math.abs(dhrt) < 1e-5) {
+          double e = epsilon(-dhrt);
+          double eP = epsilonP(-dhrt);
+          double ePP = epsilonPP(-dhrt);
+          double w1 = t0 * e + dt * eP;
+          double w2 = t0 * eP + dt * ePP;
+          double dPVdp0 = q0 * dht * (w1 - w2);
+          double dPVdp1 = b0 * dht / p1 * w2;
+          tPvSense = dPVdp0 * dpdr0 + dPVdp1 * dpdr1;
+        } else {
+          double w1 = dt / dhrt;
+          double w2 = dht / dhrt;
+          double w3 = (t0 + w1) * b0 - (t1 + w1) * b1;
+          double w4 = w2 / dhrt * (w3 + w1 * (b0 - b1));
+          double dPVdp0 = w2 * (t0 + w1) * q0 - w4 / p0;
+          double dPVdp1 = w4 / p1 - w2 * (t1 + w1) * q1;
+          tPvSense = dPVdp0 * dpdr0 + dPVdp1 * dpdr1;
+        }
+        t0 = t1;
+      }
 
       pvSense += tPvSense;
       ht0 = ht1;
@@ -899,7 +928,7 @@ public class AnalyticCdsPricer {
     ArgChecker.notNull(creditCurve, "null creditCurve");
     ArgChecker.isTrue(yieldCurveNode >= 0 && yieldCurveNode < yieldCurve.getNumberOfKnots(), "yieldCurveNode out of range");
     if ((yieldCurveNode != 0 && cds.getProtectionEnd() <= yieldCurve.getTimeAtIndex(yieldCurveNode - 1)) ||
-        (yieldCurveNode != creditCurve.getNumberOfKnots() - 1 &&
+        (yieldCurveNode != yieldCurve.getNumberOfKnots() - 1 &&
         cds.getEffectiveProtectionStart() >= yieldCurve.getTimeAtIndex(yieldCurveNode + 1))) {
       return 0.0; // can't have any sensitivity in this case
     }
@@ -12,15 +12,15 @@ import java.util.Arrays;
 import java.util.List;
 
 import com.opengamma.strata.collect.ArgChecker;
-import com.opengamma.strata.math.impl.function.Function1D;
-import com.opengamma.strata.math.impl.rootfinding.NewtonRaphsonSingleRootFinder;
+import com.opengamma.strata.math.impl.MathException;
 
 /**
  * 
  */
 public class CreditCurveCalibrator {
 
-  private static final NewtonRaphsonSingleRootFinder ROOTFINDER = new NewtonRaphsonSingleRootFinder();
+  private static final double ACCURACY = 1e-12;
+  private static final int MAX_ITER = 10000;
 
   private final int _nCDS;
   private final int _nCoupons;
@@ -270,7 +270,7 @@ public class CreditCurveCalibrator {
     ArgChecker.isTrue(_nCDS == premiums.length, "premiums wrong length");
     double[] puf = new double[_nCDS];
     CalibrationImpl imp = new CalibrationImpl();
-    return imp.calibrate(premiums, puf);
+    return imp.calibrate(premiums, puf, _lgd);
   }
 
   public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf) {
@@ -280,7 +280,32 @@ public class CreditCurveCalibrator {
     ArgChecker.isTrue(_nCDS == puf.length, "puf wrong length");
 
     CalibrationImpl imp = new CalibrationImpl();
-    return imp.calibrate(premiums, puf);
+    return imp.calibrate(premiums, puf, _lgd);
+  }
+
+  /**
+   * Calibrates a credit curve using a recovery rate that overrides that of the calibration CDSs.
+   * <p>
+   * The leg elements only depend on the yield curve and the CDS schedules, so a single calibrator
+   * can be shared between reference entities with different recovery rates. Each call is independent,
+   * hence this may be called concurrently from several threads.
+   * 
+   * @param premiums  the premiums (par spreads or coupons) of the calibration CDSs
+   * @param puf  the points up-front of the calibration CDSs
+   * @param recoveryRate  the recovery rate of the reference entity
+   * @return the calibrated credit curve
+   */
+  public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf, double recoveryRate) {
+    ArgChecker.notEmpty(premiums, "premiums");
+    ArgChecker.notEmpty(puf, "puf");
+    ArgChecker.isTrue(_nCDS == premiums.length, "premiums wrong length");
+    ArgChecker.isTrue(_nCDS == puf.length, "puf wrong length");
+    ArgChecker.isTrue(recoveryRate >= 0 && recoveryRate < 1, "recovery rate must be in [0, 1)");
+
+    double[] lgd = new double[_nCDS];
+    Arrays.fill(lgd, 1 - recoveryRate);
+    CalibrationImpl imp = new CalibrationImpl();
+    return imp.calibrate(premiums, puf, lgd);
   }
 
   private class CalibrationImpl {
@@ -289,29 +314,27 @@ public class CreditCurveCalibrator {
     private double[][] _premLegElmtPV;
     private IsdaCompliantCreditCurve _creditCurve;
 
-    public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf) {
+    public IsdaCompliantCreditCurve calibrate(double[] premiums, double[] puf, double[] lgd) {
       _protLegElmtPV = new double[_nCDS][2];
       _premLegElmtPV = new double[_nCoupons][2];
 
       // use continuous premiums as initial guess
       double[] guess = new double[_nCDS];
       for (int i = 0; i < _nCDS; i++) {
-        guess[i] = (premiums[i] + puf[i] / _t[i]) / _lgd[i];
+        guess[i] = (premiums[i] + puf[i] / _t[i]) / lgd[i];
       }
 
       _creditCurve = new IsdaCompliantCreditCurve(_t, guess);
       for (int i = 0; i < _nCDS; i++) {
-        Function1D<Double, Double> func = getPointFunction(i, premiums[i], puf[i]);
-        Function1D<Double, Double> grad = getPointDerivative(i, premiums[i]);
         switch (_arbHandle) {
           case Ignore: {
-            double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+            double zeroRate = solve(i, premiums[i], puf[i], lgd[i], guess[i]);
             updateAll(zeroRate, i);
             break;
           }
           case Fail: {
             double minValue = i == 0 ? 0.0 : _creditCurve.getRTAtIndex(i - 1) / _creditCurve.getTimeAtIndex(i);
-            if (i > 0 && func.evaluate(minValue) > 0.0) { //can never fail on the first spread
+            if (i > 0 && pointValue(i, premiums[i], puf[i], lgd[i], minValue) > 0.0) { //can never fail on the first spread
               StringBuilder msg = new StringBuilder();
               if (puf[i] == 0.0) {
                 msg.append("The par spread of " + premiums[i] + " at index " + i);
@@ -322,18 +345,18 @@ public class CreditCurveCalibrator {
               throw new IllegalArgumentException(msg.toString());
             }
             guess[i] = Math.max(minValue, guess[i]);
-            double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+            double zeroRate = solve(i, premiums[i], puf[i], lgd[i], guess[i]);
             updateAll(zeroRate, i);
             break;
           }
           case ZeroHazardRate: {
             double minValue = i == 0 ? 0.0 : _creditCurve.getRTAtIndex(i - 1) / _creditCurve.getTimeAtIndex(i);
-            if (i > 0 && func.evaluate(minValue) > 0.0) { //can never fail on the first spread
+            if (i > 0 && pointValue(i, premiums[i], puf[i], lgd[i], minValue) > 0.0) { //can never fail on the first spread
               // this is setting the forward hazard rate for this period to zero, rather than letting it go negative
               updateAll(minValue, i);
             } else {
               guess[i] = Math.max(minValue, guess[i]);
-              double zeroRate = ROOTFINDER.getRoot(func, grad, guess[i]);
+              double zeroRate = solve(i, premiums[i], puf[i], lgd[i], guess[i]);
               updateAll(zeroRate, i);
             }
             break;
@@ -344,50 +367,49 @@ public class CreditCurveCalibrator {
       return _creditCurve;
     }
 
-    private Function1D<Double, Double> getPointFunction(int index, double premium, double puf) {
+    // Newton-Raphson on primitive doubles, with the same convergence criterion as NewtonRaphsonSingleRootFinder
+    private double solve(int index, double premium, double puf, double lgd, double guess) {
+      double root = guess;
+      for (int i = 0; i < MAX_ITER; i++) {
+        double y = pointValue(index, premium, puf, lgd, root);
+        double dy = pointDerivative(index, premium, lgd);
+        double dx = y / dy;
+        if (Math.abs(dx) <= ACCURACY) {
+          return root - dx;
+        }
+        root -= dx;
+      }
+      throw new MathException("Could not find root in " + MAX_ITER + " attempts");
+    }
+
+    private double pointValue(int index, double premium, double puf, double lgd, double h) {
+      update(h, index);
+      double protLegPV = 0.0;
+      for (int i = 0; i <= index; i++) {
+        protLegPV += _protLegElmtPV[i][0];
+      }
       int[] iCoupons = _cds2CouponsMap[index];
       int nCoupons = iCoupons.length;
+      double premLegPV = 0.0;
+      for (int i = 0; i < nCoupons; i++) {
+        int jj = iCoupons[i];
+        premLegPV += _premLegElmtPV[jj][0];
+      }
       double dirtyPV = puf - premium * _unitAccured[index];
-      double lgd = _lgd[index];
-      return new Function1D<Double, Double>() {
-        @Override
-        public Double evaluate(Double h) {
-          update(h, index);
-          double protLegPV = 0.0;
-          for (int i = 0; i <= index; i++) {
-            protLegPV += _protLegElmtPV[i][0];
-          }
-          double premLegPV = 0.0;
-          for (int i = 0; i < nCoupons; i++) {
-            int jj = iCoupons[i];
-            premLegPV += _premLegElmtPV[jj][0];
-          }
-          double pv = (lgd * protLegPV - premium * premLegPV) / _valuationDF - dirtyPV;
-          return pv;
-        }
-      };
+      return (lgd * protLegPV - premium * premLegPV) / _valuationDF - dirtyPV;
     }
 
-    private Function1D<Double, Double> getPointDerivative(int index, double premium) {
+    // relies on the leg element values set by the preceding call to pointValue
+    private double pointDerivative(int index, double premium, double lgd) {
+      double protLegPVSense = _protLegElmtPV[index][1];
       int[] iCoupons = _cdsCouponsUpdateMap[index];
       int nCoupons = iCoupons.length;
-      double lgd = _lgd[index];
-      return new Function1D<Double, Double>() {
-        @Override
-        public Double evaluate(Double x) {
-          //do not call update - all ready called for getting the value 
-
-          double protLegPVSense = _protLegElmtPV[index][1];
-
-          double premLegPVSense = 0.0;
-          for (int i = 0; i < nCoupons; i++) {
-            int jj = iCoupons[i];
-            premLegPVSense += _premLegElmtPV[jj][1];
-          }
-          double pvSense = (lgd * protLegPVSense - premium * premLegPVSense) / _valuationDF;
-          return pvSense;
-        }
-      };
+      double premLegPVSense = 0.0;
+      for (int i = 0; i < nCoupons; i++) {
+        int jj = iCoupons[i];
+        premLegPVSense += _premLegElmtPV[jj][1];
+      }
+      return (lgd * protLegPVSense - premium * premLegPVSense) / _valuationDF;
     }
 
     private void update(double h, int index) {
@@ -236,6 +236,23 @@ public class IsdaCompliantCurve
     return Math.exp(-getRT(t));
   }
 
+  /**
+   * The discount factors or survival probabilities at the specified times.
+   * <p>
+   * This is equivalent to calling {@link #getDiscountFactor(double)} for each time.
+   * See {@link #getRT(double[])} for the efficiency of the calculation.
+   * 
+   * @param times  the times
+   * @return the discount factor values
+   */
+  public double[] getDiscountFactors(double[] times) {
+    double[] result = getRT(times);
+    for (int i = 0; i < result.length; i++) {
+      result[i] = Math.exp(-result[i]);
+    }
+    return result;
+  }
+
   /**
    * Gets the time at the specified index.
    * 
@@ -319,6 +336,37 @@ public class IsdaCompliantCurve
     return getRT(t, insertionPoint);
   }
 
+  /**
+   * Gets the RT values at the specified times.
+   * <p>
+   * This is equivalent to calling {@link #getRT(double)} for each time.
+   * The knots are traversed in a single sweep, rather than by a binary search for each time,
+   * which is most efficient when the times are sorted in ascending order.
+   * 
+   * @param times  the times
+   * @return the RT values
+   */
+  public double[] getRT(double[] times) {
+    int n = this.t.length;
+    double[] result = new double[times.length];
+    int insertionPoint = 0;
+    for (int i = 0; i < times.length; i++) {
+      double time = times[i];
+      if (i > 0 && time < times[i - 1]) {
+        insertionPoint = 0; // times out of order, restart the sweep
+      }
+      while (insertionPoint < n && this.t[insertionPoint] < time) {
+        insertionPoint++;
+      }
+      if (insertionPoint > 0 && insertionPoint < n && this.t[insertionPoint] == time) {
+        result[i] = rt[insertionPoint];
+      } else {
+        result[i] = getRT(time, insertionPoint);
+      }
+    }
+    return result;
+  }
+
   public double[] getRTandSensitivity(double t, int nodeIndex) {
     ArgChecker.isTrue(t >= 0, "require t >= 0.0, was, {}", t);
     int n = this.t.length;
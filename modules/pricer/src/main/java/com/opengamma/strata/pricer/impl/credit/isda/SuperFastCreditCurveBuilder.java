@@ -5,6 +5,10 @@
  */
 package com.opengamma.strata.pricer.impl.credit.isda;
 
+import java.util.stream.IntStream;
+
+import com.opengamma.strata.collect.ArgChecker;
+
 /**
  * 
  */
@@ -36,4 +40,41 @@ public class SuperFastCreditCurveBuilder extends IsdaCompliantCreditCurveBuilder
     return calibrator.calibrate(premiums, pointsUpfront);
   }
 
+  /**
+   * Calibrates the credit curves of a portfolio of reference entities against a single yield curve.
+   * <p>
+   * All the reference entities are calibrated to the same set of pillar CDSs, so the yield curve
+   * discount factors at the premium and protection leg dates are computed once and shared.
+   * The recovery rate of each entity overrides that of the pillar CDSs.
+   * The entities are calibrated in parallel on the common fork-join pool.
+   * 
+   * @param calibrationCDSs  the pillar CDSs, common to all the reference entities
+   * @param premiums  the premiums of the pillar CDSs, indexed by reference entity then pillar
+   * @param pointsUpfront  the points up-front of the pillar CDSs, indexed by reference entity then pillar
+   * @param recoveryRates  the recovery rate of each reference entity
+   * @param yieldCurve  the yield curve
+   * @return the credit curves, in the order of the reference entities
+   */
+  public IsdaCompliantCreditCurve[] calibrateCreditCurves(
+      CdsAnalytic[] calibrationCDSs,
+      double[][] premiums,
+      double[][] pointsUpfront,
+      double[] recoveryRates,
+      IsdaCompliantYieldCurve yieldCurve) {
+
+    ArgChecker.noNulls(premiums, "premiums");
+    ArgChecker.noNulls(pointsUpfront, "pointsUpfront");
+    ArgChecker.notNull(recoveryRates, "recoveryRates");
+    int nNames = premiums.length;
+    ArgChecker.isTrue(pointsUpfront.length == nNames, "pointsUpfront wrong length");
+    ArgChecker.isTrue(recoveryRates.length == nNames, "recoveryRates wrong length");
+
+    CreditCurveCalibrator calibrator = new CreditCurveCalibrator(
+        calibrationCDSs, yieldCurve, getAccOnDefaultFormula(), getArbHanding());
+    IsdaCompliantCreditCurve[] curves = new IsdaCompliantCreditCurve[nNames];
+    IntStream.range(0, nNames).parallel().forEach(
+        i -> curves[i] = calibrator.calibrate(premiums[i], pointsUpfront[i], recoveryRates[i]));
+    return curves;
+  }
+
 }
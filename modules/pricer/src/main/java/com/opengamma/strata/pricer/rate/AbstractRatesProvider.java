@@ -5,12 +5,21 @@
  */
 package com.opengamma.strata.pricer.rate;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.FxForwardSensitivity;
 import com.opengamma.strata.market.sensitivity.FxIndexSensitivity;
 import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
 import com.opengamma.strata.market.sensitivity.InflationRateSensitivity;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.OvernightRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivity;
@@ -33,40 +42,53 @@ public abstract class AbstractRatesProvider
   //-------------------------------------------------------------------------
   @Override
   public CurveCurrencyParameterSensitivities curveParameterSensitivity(PointSensitivities sensitivities) {
-    CurveCurrencyParameterSensitivities sens = CurveCurrencyParameterSensitivities.empty();
+    // group the points by curve, so that each curve is queried once for all its points
+    Map<Currency, List<ZeroRateSensitivity>> zeroRatePoints = new LinkedHashMap<>();
+    Map<IborIndex, List<IborRateSensitivity>> iborRatePoints = new LinkedHashMap<>();
+    Map<OvernightIndex, List<OvernightRateSensitivity>> overnightRatePoints = new LinkedHashMap<>();
+    MutableCurveCurrencyParameterSensitivities sens = new MutableCurveCurrencyParameterSensitivities();
     for (PointSensitivity point : sensitivities.getSensitivities()) {
       if (point instanceof ZeroRateSensitivity) {
         ZeroRateSensitivity pt = (ZeroRateSensitivity) point;
-        DiscountFactors factors = discountFactors(pt.getCurveCurrency());
-        sens = sens.combinedWith(factors.curveParameterSensitivity(pt));
+        zeroRatePoints.computeIfAbsent(pt.getCurveCurrency(), ccy -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof IborRateSensitivity) {
         IborRateSensitivity pt = (IborRateSensitivity) point;
-        IborIndexRates rates = iborIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        iborRatePoints.computeIfAbsent(pt.getIndex(), index -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof OvernightRateSensitivity) {
         OvernightRateSensitivity pt = (OvernightRateSensitivity) point;
-        OvernightIndexRates rates = overnightIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        overnightRatePoints.computeIfAbsent(pt.getIndex(), index -> new ArrayList<>()).add(pt);
 
       } else if (point instanceof FxIndexSensitivity) {
         FxIndexSensitivity pt = (FxIndexSensitivity) point;
         FxIndexRates rates = fxIndexRates(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof InflationRateSensitivity) {
         InflationRateSensitivity pt = (InflationRateSensitivity) point;
         PriceIndexValues rates = priceIndexValues(pt.getIndex());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        sens.add(rates.curveParameterSensitivity(pt));
 
       } else if (point instanceof FxForwardSensitivity) {
         FxForwardSensitivity pt = (FxForwardSensitivity) point;
         FxForwardRates rates = fxForwardRates(pt.getCurrencyPair());
-        sens = sens.combinedWith(rates.curveParameterSensitivity(pt));
+        sens.add(rates.curveParameterSensitivity(pt));
       }
     }
-    return sens;
+    for (Map.Entry<Currency, List<ZeroRateSensitivity>> entry : zeroRatePoints.entrySet()) {
+      DiscountFactors factors = discountFactors(entry.getKey());
+      factors.curveParameterSensitivity(entry.getValue(), sens);
+    }
+    for (Map.Entry<IborIndex, List<IborRateSensitivity>> entry : iborRatePoints.entrySet()) {
+      IborIndexRates rates = iborIndexRates(entry.getKey());
+      rates.curveParameterSensitivity(entry.getValue(), sens);
+    }
+    for (Map.Entry<OvernightIndex, List<OvernightRateSensitivity>> entry : overnightRatePoints.entrySet()) {
+      OvernightIndexRates rates = overnightIndexRates(entry.getKey());
+      rates.curveParameterSensitivity(entry.getValue(), sens);
+    }
+    return sens.build();
   }
 
   @Override
@@ -34,6 +34,7 @@ import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.index.OvernightIndex;
 import com.opengamma.strata.basics.index.PriceIndex;
 import com.opengamma.strata.basics.market.MarketDataKey;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.timeseries.LocalDateDoubleTimeSeries;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.value.DiscountFactors;
@@ -191,6 +192,55 @@ public final class ImmutableRatesProvider
     return values;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Returns a copy of this provider with the discount curve of the specified currency replaced.
+   * <p>
+   * If there is no discount curve for the currency, the curve is added.
+   * All other data is shared with this provider rather than rebuilt,
+   * which makes this suitable for creating many slightly different providers, such as when bumping curves.
+   *
+   * @param currency  the currency of the discount curve
+   * @param curve  the new discount curve
+   * @return the provider with the discount curve replaced
+   */
+  public ImmutableRatesProvider withDiscountCurve(Currency currency, Curve curve) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(curve, "curve");
+    return new ImmutableRatesProvider(
+        valuationDate, fxMatrix, withCurve(discountCurves, currency, curve), indexCurves, priceIndexValues, timeSeries);
+  }
+
+  /**
+   * Returns a copy of this provider with the forward curve of the specified index replaced.
+   * <p>
+   * If there is no forward curve for the index, the curve is added.
+   * All other data is shared with this provider rather than rebuilt,
+   * which makes this suitable for creating many slightly different providers, such as when bumping curves.
+   *
+   * @param index  the index of the forward curve
+   * @param curve  the new forward curve
+   * @return the provider with the forward curve replaced
+   */
+  public ImmutableRatesProvider withIndexCurve(Index index, Curve curve) {
+    ArgChecker.notNull(index, "index");
+    ArgChecker.notNull(curve, "curve");
+    return new ImmutableRatesProvider(
+        valuationDate, fxMatrix, discountCurves, withCurve(indexCurves, index, curve), priceIndexValues, timeSeries);
+  }
+
+  // replaces a single curve in the map, retaining the order of the keys
+  private static <K> ImmutableMap<K, Curve> withCurve(ImmutableMap<K, Curve> curves, K key, Curve curve) {
+    ImmutableMap.Builder<K, Curve> builder = ImmutableMap.builder();
+    for (Map.Entry<K, Curve> entry : curves.entrySet()) {
+      builder.put(entry.getKey(), entry.getKey().equals(key) ? curve : entry.getValue());
+    }
+    if (!curves.containsKey(key)) {
+      builder.put(key, curve);
+    }
+    return builder.build();
+  }
+
   //------------------------- AUTOGENERATED START -------------------------
   ///CLOVER:OFF
   /**
@@ -6,17 +6,22 @@
 package com.opengamma.strata.pricer.rate.swap;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.BiFunction;
+import java.util.function.ToDoubleBiFunction;
 
 import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.finance.rate.FixedRateObservation;
 import com.opengamma.strata.finance.rate.swap.ExpandedSwapLeg;
+import com.opengamma.strata.finance.rate.swap.KnownAmountPaymentPeriod;
+import com.opengamma.strata.finance.rate.swap.NotionalExchange;
 import com.opengamma.strata.finance.rate.swap.PaymentEvent;
 import com.opengamma.strata.finance.rate.swap.PaymentPeriod;
-import com.opengamma.strata.finance.rate.swap.RateAccrualPeriod;
 import com.opengamma.strata.finance.rate.swap.RatePaymentPeriod;
 import com.opengamma.strata.finance.rate.swap.SwapLeg;
 import com.opengamma.strata.market.amount.CashFlow;
@@ -24,7 +29,7 @@ import com.opengamma.strata.market.amount.CashFlows;
 import com.opengamma.strata.market.explain.ExplainKey;
 import com.opengamma.strata.market.explain.ExplainMapBuilder;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
-import com.opengamma.strata.market.value.DiscountFactors;
+import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
 import com.opengamma.strata.pricer.rate.RatesProvider;
 
 /**
@@ -161,24 +166,31 @@ public class DiscountingSwapLegPricer {
    * @return the Present Value of a Basis Point
    */
   public double pvbp(SwapLeg leg, RatesProvider provider) {
-    double pvbpLeg = 0.0;
-    for (PaymentPeriod period : leg.expand().getPaymentPeriods()) {
+    ExpandedSwapLeg expanded = leg.expand();
+    List<PaymentPeriod> periods = expanded.getPaymentPeriods();
+    int nbPeriods = periods.size();
+    LocalDate[] paymentDates = new LocalDate[nbPeriods];
+    double[] yearFractions = new double[nbPeriods];
+    double[] notionals = new double[nbPeriods];
+    for (int i = 0; i < nbPeriods; i++) {
+      PaymentPeriod period = periods.get(i);
       ArgChecker.isTrue(period instanceof RatePaymentPeriod, "PaymentPeriod must be instance of RatePaymentPeriod");
-      pvbpLeg += pvbpPayment((RatePaymentPeriod) period, provider);
+      RatePaymentPeriod paymentPeriod = (RatePaymentPeriod) period;
+      ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
+      ArgChecker.isTrue(paymentPeriod.getAccrualPeriods().size() == 1, "Compounding is not supported");
+      paymentDates[i] = paymentPeriod.getPaymentDate();
+      yearFractions[i] = paymentPeriod.getAccrualPeriods().get(0).getYearFraction();
+      notionals[i] = paymentPeriod.getNotional();
+    }
+    // payment dates are in order, so the discount factors are obtained in a single sweep of the curve
+    double[] discountFactors = provider.discountFactors(expanded.getCurrency()).discountFactors(paymentDates);
+    double pvbpLeg = 0.0;
+    for (int i = 0; i < nbPeriods; i++) {
+      pvbpLeg += discountFactors[i] * yearFractions[i] * notionals[i];
     }
     return pvbpLeg;
   }
 
-  // computes Present Value of a Basis Point for payment with a unique accrual period (no compounding) 
-  // and no FX reset.
-  private double pvbpPayment(RatePaymentPeriod paymentPeriod, RatesProvider provider) {
-    ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
-    ArgChecker.isTrue(paymentPeriod.getAccrualPeriods().size() == 1, "Compounding is not supported");
-    RateAccrualPeriod accrualPeriod = paymentPeriod.getAccrualPeriods().get(0);
-    double df = provider.discountFactor(paymentPeriod.getCurrency(), paymentPeriod.getPaymentDate());
-    return df * accrualPeriod.getYearFraction() * paymentPeriod.getNotional();
-  }
-
   //-------------------------------------------------------------------------
   /**
    * Calculates the coupon equivalent of a swap leg.
@@ -274,25 +286,30 @@ public class DiscountingSwapLegPricer {
    * @return the Present Value of a Basis Point sensitivity to the curves
    */
   public PointSensitivityBuilder pvbpSensitivity(SwapLeg fixedLeg, RatesProvider provider) {
-    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
-    for (PaymentPeriod period : fixedLeg.expand().getPaymentPeriods()) {
+    ExpandedSwapLeg expanded = fixedLeg.expand();
+    List<PaymentPeriod> periods = expanded.getPaymentPeriods();
+    int nbPeriods = periods.size();
+    LocalDate[] paymentDates = new LocalDate[nbPeriods];
+    double[] factors = new double[nbPeriods];
+    for (int i = 0; i < nbPeriods; i++) {
+      PaymentPeriod period = periods.get(i);
       ArgChecker.isTrue(period instanceof RatePaymentPeriod, "PaymentPeriod must be instance of RatePaymentPeriod");
-      builder = builder.combinedWith(pvbpSensitivityPayment((RatePaymentPeriod) period, provider));
+      RatePaymentPeriod paymentPeriod = (RatePaymentPeriod) period;
+      ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
+      ArgChecker.isTrue(paymentPeriod.getAccrualPeriods().size() == 1, "Compounding is not supported");
+      paymentDates[i] = paymentPeriod.getPaymentDate();
+      factors[i] = paymentPeriod.getAccrualPeriods().get(0).getYearFraction() * paymentPeriod.getNotional();
+    }
+    // payment dates are in order, so the sensitivities are obtained in a single sweep of the curve
+    List<ZeroRateSensitivity> sensitivities =
+        provider.discountFactors(expanded.getCurrency()).zeroRatePointSensitivities(paymentDates);
+    PointSensitivityBuilder builder = PointSensitivityBuilder.none();
+    for (int i = 0; i < nbPeriods; i++) {
+      builder = builder.combinedWith(sensitivities.get(i).multipliedBy(factors[i]));
     }
     return builder;
   }
 
-  // computes Present Value of a Basis Point curve sensitivity for fixed payment with a unique accrual period 
-  // (no compounding) and no FX reset.
-  private PointSensitivityBuilder pvbpSensitivityPayment(RatePaymentPeriod paymentPeriod, RatesProvider provider) {
-    ArgChecker.isTrue(!paymentPeriod.getFxReset().isPresent(), "FX reset is not supported");
-    ArgChecker.isTrue(paymentPeriod.getAccrualPeriods().size() == 1, "Compounding is not supported");
-    RateAccrualPeriod accrualPeriod = paymentPeriod.getAccrualPeriods().get(0);
-    DiscountFactors discountFactors = provider.discountFactors(paymentPeriod.getCurrency());
-    return discountFactors.zeroRatePointSensitivity(paymentPeriod.getPaymentDate())
-        .multipliedBy(accrualPeriod.getYearFraction() * paymentPeriod.getNotional());
-  }
-
   //-------------------------------------------------------------------------
   /**
    * Calculates the future cash flows of the swap leg.
@@ -312,6 +329,82 @@ public class DiscountingSwapLegPricer {
   }
 
   //-------------------------------------------------------------------------
+  // calculates the present value of the leg in the currency of the leg for each of a set of providers
+  // the future value of periods and events that don't depend on market data is only calculated once
+  // this relies on the present value being the discounted future value, which is only known to be true
+  // for the standard pricers, so other pricers are invoked for each provider
+  double[] presentValueInternal(ExpandedSwapLeg leg, List<? extends RatesProvider> providers) {
+    double[] total = new double[providers.size()];
+    boolean standardPeriodPricer = paymentPeriodPricer == PaymentPeriodPricer.instance();
+    boolean standardEventPricer = paymentEventPricer == PaymentEventPricer.instance();
+
+    for (PaymentPeriod period : leg.getPaymentPeriods()) {
+      if (standardPeriodPricer && isMarketDataIndependent(period)) {
+        addDiscountedValues(
+            total, providers, period.getCurrency(), period.getPaymentDate(), paymentPeriodPricer::futureValue, period);
+      } else {
+        for (int i = 0; i < total.length; i++) {
+          RatesProvider provider = providers.get(i);
+          if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
+            total[i] += paymentPeriodPricer.presentValue(period, provider);
+          }
+        }
+      }
+    }
+    for (PaymentEvent event : leg.getPaymentEvents()) {
+      if (standardEventPricer && event instanceof NotionalExchange) {
+        addDiscountedValues(
+            total, providers, event.getCurrency(), event.getPaymentDate(), paymentEventPricer::futureValue, event);
+      } else {
+        for (int i = 0; i < total.length; i++) {
+          RatesProvider provider = providers.get(i);
+          if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
+            total[i] += paymentEventPricer.presentValue(event, provider);
+          }
+        }
+      }
+    }
+    return total;
+  }
+
+  // adds the discounted value of a cash flow whose future value doesn't depend on market data
+  // the future value is calculated using the first provider for which the cash flow has not been paid
+  private static <T> void addDiscountedValues(
+      double[] total,
+      List<? extends RatesProvider> providers,
+      Currency currency,
+      LocalDate paymentDate,
+      ToDoubleBiFunction<T, RatesProvider> futureValueFn,
+      T cashFlow) {
+
+    double futureValue = Double.NaN;
+
+    for (int i = 0; i < total.length; i++) {
+      RatesProvider provider = providers.get(i);
+      if (!paymentDate.isBefore(provider.getValuationDate())) {
+        if (Double.isNaN(futureValue)) {
+          futureValue = futureValueFn.applyAsDouble(cashFlow, provider);
+        }
+        total[i] += futureValue * provider.discountFactor(currency, paymentDate);
+      }
+    }
+  }
+
+  // checks if the future value of a period is independent of market data
+  // this is true for known amounts and fixed rate periods without an FX reset
+  private static boolean isMarketDataIndependent(PaymentPeriod period) {
+    if (period instanceof KnownAmountPaymentPeriod) {
+      return true;
+    }
+    if (!(period instanceof RatePaymentPeriod)) {
+      return false;
+    }
+    RatePaymentPeriod ratePeriod = (RatePaymentPeriod) period;
+    return !ratePeriod.getFxReset().isPresent() &&
+        ratePeriod.getAccrualPeriods().stream()
+            .allMatch(accrual -> accrual.getRateObservation() instanceof FixedRateObservation);
+  }
+
   // calculates the future value of the events composing the leg in the currency of the swap leg
   double futureValueEventsInternal(ExpandedSwapLeg leg, RatesProvider provider) {
     double total = 0d;
@@ -381,37 +474,52 @@ public class DiscountingSwapLegPricer {
   //-------------------------------------------------------------------------
   // calculates the cash flow of the periods composing the leg in the currency of the swap leg
   CashFlows cashFlowPeriodsInternal(ExpandedSwapLeg leg, RatesProvider provider) {
-    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    List<LocalDate> paymentDates = new ArrayList<>();
+    List<Double> futureValues = new ArrayList<>();
     for (PaymentPeriod period : leg.getPaymentPeriods()) {
       if (!period.getPaymentDate().isBefore(provider.getValuationDate())) {
         double futureValue = paymentPeriodPricer.futureValue(period, provider);
         if (futureValue != 0d) {
-          Currency currency = period.getCurrency();
-          LocalDate paymentDate = period.getPaymentDate();
-          double discountFactor = provider.discountFactor(currency, paymentDate);
-          CashFlow singleCashFlow = CashFlow.ofFutureValue(paymentDate, currency, futureValue, discountFactor);
-          builder.add(singleCashFlow);
+          paymentDates.add(period.getPaymentDate());
+          futureValues.add(futureValue);
         }
       }
     }
-    return CashFlows.of(builder.build());
+    return cashFlows(leg.getCurrency(), paymentDates, futureValues, provider);
   }
 
   // calculates the cash flow of the events composing the leg in the currency of the swap leg
   CashFlows cashFlowEventsInternal(ExpandedSwapLeg leg, RatesProvider provider) {
-    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    List<LocalDate> paymentDates = new ArrayList<>();
+    List<Double> futureValues = new ArrayList<>();
     for (PaymentEvent event : leg.getPaymentEvents()) {
       if (!event.getPaymentDate().isBefore(provider.getValuationDate())) {
         double futureValue = paymentEventPricer.futureValue(event, provider);
         if (futureValue != 0d) {
-          Currency currency = event.getCurrency();
-          LocalDate paymentDate = event.getPaymentDate();
-          double discountFactor = provider.discountFactor(currency, paymentDate);
-          CashFlow singleCashFlow = CashFlow.ofFutureValue(paymentDate, currency, futureValue, discountFactor);
-          builder.add(singleCashFlow);
+          paymentDates.add(event.getPaymentDate());
+          futureValues.add(futureValue);
         }
       }
     }
+    return cashFlows(leg.getCurrency(), paymentDates, futureValues, provider);
+  }
+
+  // creates the cash flows, obtaining the discount factors in a single sweep of the curve
+  private CashFlows cashFlows(
+      Currency currency,
+      List<LocalDate> paymentDates,
+      List<Double> futureValues,
+      RatesProvider provider) {
+
+    if (paymentDates.isEmpty()) {
+      return CashFlows.NONE;
+    }
+    double[] discountFactors = provider.discountFactors(currency)
+        .discountFactors(paymentDates.toArray(new LocalDate[paymentDates.size()]));
+    ImmutableList.Builder<CashFlow> builder = ImmutableList.builder();
+    for (int i = 0; i < discountFactors.length; i++) {
+      builder.add(CashFlow.ofFutureValue(paymentDates.get(i), currency, futureValues.get(i), discountFactors[i]));
+    }
     return CashFlows.of(builder.build());
   }
 
@@ -92,6 +92,33 @@ public class DiscountingSwapProductPricer {
     return CurrencyAmount.of(currency, totalPv);
   }
 
+  /**
+   * Calculates the present value of the swap product for each of a set of rates providers,
+   * converted to the specified currency.
+   * <p>
+   * This is equivalent to calling {@link #presentValue(SwapProduct, Currency, RatesProvider)} for
+   * each provider, but is more efficient when there are many providers, for example one for each scenario.
+   * The product is only expanded once and the future values of fixed cash flows, which don't depend
+   * on the market data, are only calculated once. Only the discount factors and the floating
+   * rates are calculated for each provider.
+   * 
+   * @param product  the product to price
+   * @param currency  the currency to convert to
+   * @param providers  the rates providers
+   * @return the present value of the swap product in the specified currency for each provider,
+   *  in the same order as the providers
+   */
+  public double[] presentValue(SwapProduct product, Currency currency, List<? extends RatesProvider> providers) {
+    double[] totalPv = new double[providers.size()];
+    for (ExpandedSwapLeg leg : product.expand().getLegs()) {
+      double[] pv = legPricer.presentValueInternal(leg, providers);
+      for (int i = 0; i < totalPv.length; i++) {
+        totalPv[i] += (pv[i] * providers.get(i).fxRate(leg.getCurrency(), currency));
+      }
+    }
+    return totalPv;
+  }
+
   /**
    * Calculates the present value of the swap product.
    * <p>
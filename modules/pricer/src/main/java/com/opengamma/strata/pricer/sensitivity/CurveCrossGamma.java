@@ -0,0 +1,178 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.Arrays;
+import java.util.List;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.pricer.calibration.CurveParameterSize;
+
+/**
+ * The cross-gamma matrix with respect to the parameters of a set of curves.
+ * <p>
+ * The rows and columns of the matrix are the parameters of the curves, in the order of the curves.
+ * The element at row {@code i} and column {@code j} is the second order derivative of the value
+ * with respect to parameters {@code i} and {@code j}, expressed in the currency of the sensitivity.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CurveCrossGamma {
+
+  /**
+   * The currency of the sensitivity.
+   */
+  private final Currency currency;
+  /**
+   * The curves, in the order their parameters appear in the matrix.
+   */
+  private final ImmutableList<CurveParameterSize> order;
+  /**
+   * The cross-gamma matrix, not exposed.
+   */
+  private final double[][] matrix;
+
+  //-------------------------------------------------------------------------
+  /**
+   * Obtains an instance from the currency, curve order and matrix.
+   * <p>
+   * The matrix is copied.
+   *
+   * @param currency  the currency of the sensitivity
+   * @param order  the curves, in the order their parameters appear in the matrix
+   * @param matrix  the cross-gamma matrix
+   * @return the cross-gamma
+   * @throws IllegalArgumentException if the matrix does not match the number of parameters
+   */
+  public static CurveCrossGamma of(Currency currency, List<CurveParameterSize> order, DoubleMatrix2D matrix) {
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.notNull(order, "order");
+    ArgChecker.notNull(matrix, "matrix");
+    int size = order.stream().mapToInt(CurveParameterSize::getParameterCount).sum();
+    ArgChecker.isTrue(
+        matrix.getNumberOfRows() == size && matrix.getNumberOfColumns() == size,
+        "Cross-gamma matrix must be {} by {}", size, size);
+    return new CurveCrossGamma(currency, ImmutableList.copyOf(order), matrix.toArray());
+  }
+
+  // creates an instance, without copying the matrix
+  CurveCrossGamma(Currency currency, ImmutableList<CurveParameterSize> order, double[][] matrix) {
+    this.currency = currency;
+    this.order = order;
+    this.matrix = matrix;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the currency of the sensitivity.
+   *
+   * @return the currency
+   */
+  public Currency getCurrency() {
+    return currency;
+  }
+
+  /**
+   * Gets the curves, in the order their parameters appear in the matrix.
+   *
+   * @return the curve names and parameter counts
+   */
+  public ImmutableList<CurveParameterSize> getOrder() {
+    return order;
+  }
+
+  /**
+   * Gets the total number of parameters, which is the size of the matrix.
+   *
+   * @return the number of parameters
+   */
+  public int getParameterCount() {
+    return matrix.length;
+  }
+
+  /**
+   * Gets the cross-gamma matrix.
+   *
+   * @return a copy of the matrix
+   */
+  public DoubleMatrix2D getMatrix() {
+    return new DoubleMatrix2D(matrix);
+  }
+
+  /**
+   * Gets the block of the cross-gamma matrix for a pair of curves.
+   * <p>
+   * The rows are the parameters of the first curve and the columns the parameters of the second.
+   *
+   * @param rowCurve  the name of the curve of the rows
+   * @param columnCurve  the name of the curve of the columns
+   * @return the block of the matrix
+   * @throws IllegalArgumentException if either curve is not found
+   */
+  public DoubleMatrix2D getBlock(CurveName rowCurve, CurveName columnCurve) {
+    int rowStart = start(rowCurve);
+    int columnStart = start(columnCurve);
+    int rows = size(rowCurve);
+    int columns = size(columnCurve);
+    double[][] block = new double[rows][];
+    for (int i = 0; i < rows; i++) {
+      block[i] = Arrays.copyOfRange(matrix[rowStart + i], columnStart, columnStart + columns);
+    }
+    return new DoubleMatrix2D(block);
+  }
+
+  // finds the first parameter of the curve
+  private int start(CurveName name) {
+    int start = 0;
+    for (CurveParameterSize size : order) {
+      if (size.getName().equals(name)) {
+        return start;
+      }
+      start += size.getParameterCount();
+    }
+    throw new IllegalArgumentException("Unable to find cross-gamma for curve: " + name);
+  }
+
+  // finds the number of parameters of the curve
+  private int size(CurveName name) {
+    return order.stream()
+        .filter(size -> size.getName().equals(name))
+        .findFirst()
+        .map(CurveParameterSize::getParameterCount)
+        .orElseThrow(() -> new IllegalArgumentException("Unable to find cross-gamma for curve: " + name));
+  }
+
+  //-------------------------------------------------------------------------
+  @Override
+  public boolean equals(Object obj) {
+    if (obj == this) {
+      return true;
+    }
+    if (obj instanceof CurveCrossGamma) {
+      CurveCrossGamma other = (CurveCrossGamma) obj;
+      return currency.equals(other.currency) &&
+          order.equals(other.order) &&
+          Arrays.deepEquals(matrix, other.matrix);
+    }
+    return false;
+  }
+
+  @Override
+  public int hashCode() {
+    return (currency.hashCode() * 31 + order.hashCode()) * 31 + Arrays.deepHashCode(matrix);
+  }
+
+  @Override
+  public String toString() {
+    return "CurveCrossGamma{currency=" + currency + ", order=" + order +
+        ", matrix=" + Arrays.deepToString(matrix) + "}";
+  }
+
+}
@@ -0,0 +1,245 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.Function;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.currency.Currency;
+import com.opengamma.strata.basics.index.IborIndex;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.basics.index.OvernightIndex;
+import com.opengamma.strata.collect.ArgChecker;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
+import com.opengamma.strata.pricer.calibration.CurveParameterSize;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Computes the cross-gamma matrix to the parameters of the curves of a currency.
+ * <p>
+ * The curves of a currency are the discount curve of the currency and the forward curves
+ * of the Ibor and Overnight indices in the currency. A curve used for several of these
+ * is only included once. The curves must be convertible to a {@link NodalCurve}.
+ * <p>
+ * The cross-gamma is computed by finite difference of the first order parameter sensitivities,
+ * which are typically computed analytically. Each curve parameter is bumped once and the bumped
+ * rates provider is used for every sensitivity function, so the number of providers created
+ * depends only on the number of parameters, not on the number of trades.
+ * The parameters may optionally be bumped in parallel, using the common fork-join pool.
+ * <p>
+ * By default the cross-gamma is computed using a one basis-point shift and a forward finite difference.
+ * The results themselves are not scaled (they represent the second order derivative).
+ * <p>
+ * Reference: Interest Rate Cross-gamma for Single and Multiple Curves. OpenGamma quantitative research 15, July 14
+ */
+public class CurveCrossGammaCalculator {
+
+  /**
+   * Default implementation. Finite difference is forward, the shift is one basis point (0.0001)
+   * and the parameters are bumped in parallel.
+   */
+  public static final CurveCrossGammaCalculator DEFAULT =
+      new CurveCrossGammaCalculator(FiniteDifferenceType.FORWARD, 1.0E-4, true);
+
+  /**
+   * The finite difference type.
+   */
+  private final FiniteDifferenceType fdType;
+  /**
+   * The shift to be applied to the curves.
+   */
+  private final double shift;
+  /**
+   * Whether the parameters are bumped in parallel.
+   */
+  private final boolean parallel;
+
+  /**
+   * Create an instance of the finite difference calculator.
+   * <p>
+   * If the calculation is parallel, the sensitivity functions must be thread-safe.
+   *
+   * @param fdType  the finite difference type
+   * @param shift  the shift to be applied to the curves
+   * @param parallel  whether the parameters should be bumped in parallel
+   */
+  public CurveCrossGammaCalculator(FiniteDifferenceType fdType, double shift, boolean parallel) {
+    this.fdType = ArgChecker.notNull(fdType, "fdType");
+    this.shift = shift;
+    this.parallel = parallel;
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Computes the cross-gamma matrix for a sensitivity function.
+   * <p>
+   * The function returns the parameter sensitivities for a rates provider.
+   * The sensitivities to the curves of the currency, expressed in the same currency, are differentiated.
+   *
+   * @param provider  the rates provider
+   * @param currency  the currency of the curves and of the sensitivities
+   * @param sensitivitiesFn  the function from a rates provider to the parameter sensitivities
+   * @return the cross-gamma matrix
+   */
+  public CurveCrossGamma calculateCrossGamma(
+      ImmutableRatesProvider provider,
+      Currency currency,
+      Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities> sensitivitiesFn) {
+
+    return calculateCrossGamma(provider, currency, ImmutableList.of(sensitivitiesFn)).get(0);
+  }
+
+  /**
+   * Computes the cross-gamma matrix for each of a list of sensitivity functions, such as the trades of a portfolio.
+   * <p>
+   * Each function returns the parameter sensitivities for a rates provider.
+   * The sensitivities to the curves of the currency, expressed in the same currency, are differentiated.
+   * Each bumped rates provider is created once and shared by all the functions.
+   *
+   * @param provider  the rates provider
+   * @param currency  the currency of the curves and of the sensitivities
+   * @param sensitivitiesFns  the functions from a rates provider to the parameter sensitivities
+   * @return the cross-gamma matrices, one for each function
+   */
+  public List<CurveCrossGamma> calculateCrossGamma(
+      ImmutableRatesProvider provider,
+      Currency currency,
+      List<Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities>> sensitivitiesFns) {
+
+    ArgChecker.notNull(provider, "provider");
+    ArgChecker.notNull(currency, "currency");
+    ArgChecker.noNulls(sensitivitiesFns, "sensitivitiesFns");
+    List<NodalCurve> curves = curves(provider, currency);
+    ImmutableList<CurveParameterSize> order = curves.stream()
+        .map(curve -> CurveParameterSize.of(curve.getName(), curve.getParameterCount()))
+        .collect(toImmutableList());
+    CurveParameterBumps bumps = new CurveParameterBumps(curves);
+    int nbParams = bumps.getParameterCount();
+    // the base sensitivities are not needed for central differences
+    int nbFns = sensitivitiesFns.size();
+    double[][] base = new double[nbFns][];
+    if (fdType != FiniteDifferenceType.CENTRAL) {
+      for (int f = 0; f < nbFns; f++) {
+        base[f] = sensitivity(sensitivitiesFns.get(f).apply(provider), currency, order, nbParams);
+      }
+    }
+    // each task fills one column of the matrix for every function
+    double[][][] gamma = new double[nbFns][nbParams][nbParams];
+    bumps.parameters(parallel).forEach(k -> {
+      NodalCurve curve = curves.get(bumps.curveIndex(k));
+      ImmutableRatesProvider up = null;
+      ImmutableRatesProvider down = null;
+      if (fdType != FiniteDifferenceType.BACKWARD) {
+        up = bumpedProvider(provider, curve, bumps.bumpedCurve(k, shift));
+      }
+      if (fdType != FiniteDifferenceType.FORWARD) {
+        down = bumpedProvider(provider, curve, bumps.bumpedCurve(k, -shift));
+      }
+      for (int f = 0; f < nbFns; f++) {
+        Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities> fn = sensitivitiesFns.get(f);
+        double[] sensiUp = (up != null ? sensitivity(fn.apply(up), currency, order, nbParams) : base[f]);
+        double[] sensiDown = (down != null ? sensitivity(fn.apply(down), currency, order, nbParams) : base[f]);
+        double denominator = (fdType == FiniteDifferenceType.CENTRAL ? 2 * shift : shift);
+        for (int i = 0; i < nbParams; i++) {
+          gamma[f][i][k] = (sensiUp[i] - sensiDown[i]) / denominator;
+        }
+      }
+    });
+    List<CurveCrossGamma> result = new ArrayList<>(nbFns);
+    for (int f = 0; f < nbFns; f++) {
+      result.add(new CurveCrossGamma(currency, order, gamma[f]));
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // finds the distinct curves of the currency, discount curve first
+  private static List<NodalCurve> curves(ImmutableRatesProvider provider, Currency currency) {
+    Map<CurveName, NodalCurve> curves = new LinkedHashMap<>();
+    Curve discountCurve = provider.getDiscountCurves().get(currency);
+    if (discountCurve != null) {
+      curves.put(discountCurve.getName(), discountCurve.toNodalCurve());
+    }
+    for (Entry<Index, Curve> entry : provider.getIndexCurves().entrySet()) {
+      if (currency.equals(indexCurrency(entry.getKey()))) {
+        curves.putIfAbsent(entry.getValue().getName(), entry.getValue().toNodalCurve());
+      }
+    }
+    ArgChecker.isFalse(curves.isEmpty(), "Unable to find curves for currency: {}", currency);
+    return new ArrayList<>(curves.values());
+  }
+
+  // finds the currency of an index with a forward curve
+  private static Currency indexCurrency(Index index) {
+    if (index instanceof IborIndex) {
+      return ((IborIndex) index).getCurrency();
+    }
+    if (index instanceof OvernightIndex) {
+      return ((OvernightIndex) index).getCurrency();
+    }
+    return null;
+  }
+
+  // creates the provider with the curve replaced by the bumped curve, wherever the curve is used
+  private static ImmutableRatesProvider bumpedProvider(
+      ImmutableRatesProvider provider,
+      NodalCurve curve,
+      NodalCurve curveBumped) {
+
+    ImmutableRatesProvider bumped = provider;
+    for (Entry<Currency, Curve> entry : provider.getDiscountCurves().entrySet()) {
+      if (entry.getValue().getName().equals(curve.getName())) {
+        bumped = bumped.withDiscountCurve(entry.getKey(), curveBumped);
+      }
+    }
+    for (Entry<Index, Curve> entry : provider.getIndexCurves().entrySet()) {
+      if (entry.getValue().getName().equals(curve.getName())) {
+        bumped = bumped.withIndexCurve(entry.getKey(), curveBumped);
+      }
+    }
+    return bumped;
+  }
+
+  // flattens the sensitivities to the curves into a single array, missing curves having no sensitivity
+  private static double[] sensitivity(
+      CurveCurrencyParameterSensitivities sensitivities,
+      Currency currency,
+      List<CurveParameterSize> order,
+      int nbParams) {
+
+    double[] result = new double[nbParams];
+    int start = 0;
+    for (CurveParameterSize size : order) {
+      CurveCurrencyParameterSensitivity sensitivity =
+          sensitivities.findSensitivity(size.getName(), currency).orElse(null);
+      if (sensitivity != null) {
+        double[] values = sensitivity.getSensitivity();
+        ArgChecker.isTrue(
+            values.length == size.getParameterCount(),
+            "Sensitivity for curve '{}' must have {} parameters, but was {}",
+            size.getName(),
+            size.getParameterCount(),
+            values.length);
+        System.arraycopy(values, 0, result, start, values.length);
+      }
+      start += size.getParameterCount();
+    }
+    return result;
+  }
+
+}
@@ -0,0 +1,110 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.market.curve.NodalCurve;
+
+/**
+ * The parameters of a list of curves, bumped one at a time for finite difference calculations.
+ * <p>
+ * The parameters are numbered consecutively, starting with the parameters of the first curve.
+ * Each bump is independent of the others, so the parameters can be bumped in parallel.
+ */
+final class CurveParameterBumps {
+
+  /**
+   * The curves.
+   */
+  private final List<NodalCurve> curves;
+  /**
+   * The index of the curve of each parameter.
+   */
+  private final int[] paramCurves;
+  /**
+   * The index of the node within its curve of each parameter.
+   */
+  private final int[] paramNodes;
+
+  /**
+   * Creates an instance for a list of curves.
+   *
+   * @param curves  the curves whose parameters are bumped
+   */
+  CurveParameterBumps(List<NodalCurve> curves) {
+    this.curves = ImmutableList.copyOf(curves);
+    int nbParams = curves.stream().mapToInt(NodalCurve::getParameterCount).sum();
+    this.paramCurves = new int[nbParams];
+    this.paramNodes = new int[nbParams];
+    int param = 0;
+    for (int i = 0; i < curves.size(); i++) {
+      for (int j = 0; j < curves.get(i).getParameterCount(); j++) {
+        paramCurves[param] = i;
+        paramNodes[param] = j;
+        param++;
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  /**
+   * Gets the total number of parameters of the curves.
+   *
+   * @return the number of parameters
+   */
+  int getParameterCount() {
+    return paramCurves.length;
+  }
+
+  /**
+   * Returns a stream of the parameter indices, optionally parallel.
+   *
+   * @param parallel  whether the stream should be parallel
+   * @return the stream of parameter indices
+   */
+  IntStream parameters(boolean parallel) {
+    IntStream params = IntStream.range(0, paramCurves.length);
+    return parallel ? params.parallel() : params;
+  }
+
+  /**
+   * Gets the index of the curve of a parameter.
+   *
+   * @param param  the parameter index
+   * @return the index of the curve in the list
+   */
+  int curveIndex(int param) {
+    return paramCurves[param];
+  }
+
+  /**
+   * Gets the index of the node within its curve of a parameter.
+   *
+   * @param param  the parameter index
+   * @return the index of the node in the curve
+   */
+  int nodeIndex(int param) {
+    return paramNodes[param];
+  }
+
+  /**
+   * Returns the curve of a parameter with the parameter bumped.
+   *
+   * @param param  the parameter index
+   * @param bump  the amount added to the parameter
+   * @return the bumped curve
+   */
+  NodalCurve bumpedCurve(int param, double bump) {
+    NodalCurve curve = curves.get(paramCurves[param]);
+    double[] yieldBumped = curve.getYValues();
+    yieldBumped[paramNodes[param]] += bump;
+    return curve.withYValues(yieldBumped);
+  }
+
+}
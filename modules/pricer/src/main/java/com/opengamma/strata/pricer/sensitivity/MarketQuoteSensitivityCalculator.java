@@ -5,15 +5,23 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.market.curve.CurveName;
 import com.opengamma.strata.market.curve.DefaultCurveMetadata;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix1D;
 import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
 import com.opengamma.strata.math.impl.matrix.MatrixAlgebra;
@@ -77,4 +85,135 @@ public class MarketQuoteSensitivityCalculator {
     return result;
   }
 
+  //-------------------------------------------------------------------------
+  /**
+   * Calculates the market quote sensitivities from the parameter sensitivities of many trades.
+   * <p>
+   * The result is the same as calling
+   * {@link #sensitivity(CurveCurrencyParameterSensitivities, CurveBuildingBlockBundle)}
+   * for each element of the list. Rather than multiplying each sensitivity separately, the sensitivities
+   * to each curve are stacked into a single matrix which is multiplied by the Jacobian of the curve once.
+   * The multiplication accumulates whole rows of the Jacobian, so that it accesses memory sequentially
+   * without needing to transpose the Jacobian.
+   *
+   * @param paramSensitivities  the curve parameter sensitivities, such as one for each trade
+   * @param blocks  the curve building blocks
+   * @return the market quote sensitivities, in the same order as the parameter sensitivities
+   */
+  public List<CurveCurrencyParameterSensitivities> sensitivity(
+      List<CurveCurrencyParameterSensitivities> paramSensitivities,
+      CurveBuildingBlockBundle blocks) {
+
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(blocks, "blocks");
+
+    // stack the sensitivities to each curve, remembering the element each row came from
+    Map<CurveName, List<Row>> rowsByCurve = new LinkedHashMap<>();
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      for (CurveCurrencyParameterSensitivity paramSens : paramSensitivities.get(i).getSensitivities()) {
+        rowsByCurve.computeIfAbsent(paramSens.getCurveName(), name -> new ArrayList<>()).add(new Row(i, paramSens));
+      }
+    }
+    List<MutableCurveCurrencyParameterSensitivities> results = new ArrayList<>(paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      results.add(new MutableCurveCurrencyParameterSensitivities());
+    }
+    for (Entry<CurveName, List<Row>> entry : rowsByCurve.entrySet()) {
+      // find the matching block
+      Pair<CurveBuildingBlock, DoubleMatrix2D> block = blocks.getBlock(entry.getKey());
+      CurveBuildingBlock buildingBlock = block.getFirst();
+      double[][] jacobian = block.getSecond().getData();
+      // calculate the market quote sensitivity of all rows with one multiplication
+      List<Row> rows = entry.getValue();
+      double[][] paramSensMatrix = new double[rows.size()][];
+      for (int i = 0; i < rows.size(); i++) {
+        paramSensMatrix[i] = rows.get(i).sensitivity.getSensitivity();
+      }
+      double[][] marketQuoteSensMatrix = multiply(paramSensMatrix, jacobian);
+      // split between different curves
+      for (int i = 0; i < rows.size(); i++) {
+        Row row = rows.get(i);
+        Map<CurveName, double[]> split = buildingBlock.splitValues(marketQuoteSensMatrix[i]);
+        for (Entry<CurveName, double[]> splitEntry : split.entrySet()) {
+          // build result without curve metadata
+          results.get(row.index).add(
+              DefaultCurveMetadata.of(splitEntry.getKey()), row.sensitivity.getCurrency(), splitEntry.getValue(), 1d);
+        }
+      }
+    }
+    return results.stream()
+        .map(MutableCurveCurrencyParameterSensitivities::build)
+        .collect(toImmutableList());
+  }
+
+  /**
+   * Calculates the market quote sensitivities of groups of trades, such as books.
+   * <p>
+   * As the conversion to market quote sensitivity is linear, the parameter sensitivities
+   * of each group are summed before being converted.
+   * The groups are then converted together using {@link #sensitivity(List, CurveBuildingBlockBundle)}.
+   *
+   * @param <K>  the type of the group key
+   * @param paramSensitivities  the curve parameter sensitivities, such as one for each trade, keyed by group
+   * @param blocks  the curve building blocks
+   * @return the market quote sensitivities of each group, keyed by group
+   */
+  public <K> ImmutableMap<K, CurveCurrencyParameterSensitivities> sensitivityByGroup(
+      Map<K, ? extends Collection<CurveCurrencyParameterSensitivities>> paramSensitivities,
+      CurveBuildingBlockBundle blocks) {
+
+    ArgChecker.noNulls(paramSensitivities, "paramSensitivities");
+    ArgChecker.notNull(blocks, "blocks");
+
+    List<K> keys = new ArrayList<>(paramSensitivities.size());
+    List<CurveCurrencyParameterSensitivities> aggregated = new ArrayList<>(paramSensitivities.size());
+    for (Entry<K, ? extends Collection<CurveCurrencyParameterSensitivities>> entry : paramSensitivities.entrySet()) {
+      MutableCurveCurrencyParameterSensitivities sum = new MutableCurveCurrencyParameterSensitivities();
+      for (CurveCurrencyParameterSensitivities sensitivities : entry.getValue()) {
+        sum.add(sensitivities);
+      }
+      keys.add(entry.getKey());
+      aggregated.add(sum.build());
+    }
+    List<CurveCurrencyParameterSensitivities> converted = sensitivity(aggregated, blocks);
+    ImmutableMap.Builder<K, CurveCurrencyParameterSensitivities> result = ImmutableMap.builder();
+    for (int i = 0; i < keys.size(); i++) {
+      result.put(keys.get(i), converted.get(i));
+    }
+    return result.build();
+  }
+
+  // multiplies two matrices, adding multiples of the rows of the second matrix so that both are accessed by row
+  private static double[][] multiply(double[][] matrix, double[][] other) {
+    int nbCols = (other.length == 0 ? 0 : other[0].length);
+    double[][] result = new double[matrix.length][nbCols];
+    for (int i = 0; i < matrix.length; i++) {
+      double[] row = matrix[i];
+      ArgChecker.isTrue(
+          row.length == other.length,
+          "Sensitivity must have {} parameters, but was {}", other.length, row.length);
+      double[] resultRow = result[i];
+      for (int k = 0; k < row.length; k++) {
+        double value = row[k];
+        double[] otherRow = other[k];
+        for (int j = 0; j < nbCols; j++) {
+          resultRow[j] += value * otherRow[j];
+        }
+      }
+    }
+    return result;
+  }
+
+  //-------------------------------------------------------------------------
+  // a sensitivity to a single curve and the index of the element it came from
+  private static final class Row {
+    private final int index;
+    private final CurveCurrencyParameterSensitivity sensitivity;
+
+    private Row(int index, CurveCurrencyParameterSensitivity sensitivity) {
+      this.index = index;
+      this.sensitivity = sensitivity;
+    }
+  }
+
 }
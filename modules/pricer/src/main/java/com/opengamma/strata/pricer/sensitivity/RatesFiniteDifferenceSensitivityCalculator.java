@@ -5,19 +5,23 @@
  */
 package com.opengamma.strata.pricer.sensitivity;
 
-import java.util.HashMap;
-import java.util.Map;
+import static com.opengamma.strata.collect.Guavate.toImmutableList;
+
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map.Entry;
 import java.util.function.Function;
 
-import org.joda.beans.MetaProperty;
-
+import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.index.Index;
+import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.CurveMetadata;
 import com.opengamma.strata.market.curve.NodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
-import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.market.sensitivity.MutableCurveCurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
 /**
@@ -25,6 +29,9 @@ import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
  * <p>
  * This is based on an {@link ImmutableRatesProvider}, and calculates the sensitivity by finite difference.
  * The curves underlying the rates provider must be of type {@link NodalCurve}.
+ * <p>
+ * Each bumped provider shares all data other than the bumped curve with the base provider.
+ * The bumps may optionally be priced in parallel, using the common fork-join pool.
  */
 public class RatesFiniteDifferenceSensitivityCalculator {
 
@@ -38,14 +45,45 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * The shift used for finite difference.
    */
   private final double shift;
+  /**
+   * The type of finite difference.
+   */
+  private final FiniteDifferenceType differenceType;
+  /**
+   * Whether the bumps are priced in parallel.
+   */
+  private final boolean parallel;
 
   /**
    * Create an instance of the finite difference calculator.
-   * 
+   * <p>
+   * The finite difference is computed by forward type, pricing each bump in turn.
+   *
    * @param shift  the shift used in the finite difference computation
    */
   public RatesFiniteDifferenceSensitivityCalculator(double shift) {
+    this(shift, FiniteDifferenceType.FORWARD, false);
+  }
+
+  /**
+   * Create an instance of the finite difference calculator, specifying the type of finite difference.
+   * <p>
+   * If the calculation is parallel, the bumps are priced using the common fork-join pool
+   * and the function passed to {@link #sensitivity(ImmutableRatesProvider, Function)} must be thread-safe.
+   * Central differences take twice as many function evaluations as forward or backward differences.
+   *
+   * @param shift  the shift used in the finite difference computation
+   * @param differenceType  the type of finite difference
+   * @param parallel  whether the bumps should be priced in parallel
+   */
+  public RatesFiniteDifferenceSensitivityCalculator(
+      double shift,
+      FiniteDifferenceType differenceType,
+      boolean parallel) {
+
     this.shift = shift;
+    this.differenceType = ArgChecker.notNull(differenceType, "differenceType");
+    this.parallel = parallel;
   }
 
   //-------------------------------------------------------------------------
@@ -53,9 +91,9 @@ public class RatesFiniteDifferenceSensitivityCalculator {
    * Computes the first order sensitivities of a function of a RatesProvider to a double by finite difference.
    * <p>
    * The curves underlying the rates provider must be convertible to a {@link NodalCurve}.
-   * The finite difference is computed by forward type. 
+   * The finite difference is computed by the type specified when creating the calculator.
    * The function should return a value in the same currency for any rate provider.
-   * 
+   *
    * @param provider  the rates provider
    * @param valueFn  the function from a rate provider to a currency amount for which the sensitivity should be computed
    * @return the curve sensitivity
@@ -65,44 +103,75 @@ public class RatesFiniteDifferenceSensitivityCalculator {
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
 
     CurrencyAmount valueInit = valueFn.apply(provider);
-    CurveCurrencyParameterSensitivities discounting = sensitivity(
-        provider, valueFn, ImmutableRatesProvider.meta().discountCurves(), valueInit);
-    CurveCurrencyParameterSensitivities forward = sensitivity(
-        provider, valueFn, ImmutableRatesProvider.meta().indexCurves(), valueInit);
-    return discounting.combinedWith(forward);
+    List<BumpedCurve> curves = new ArrayList<>();
+    for (Entry<Currency, Curve> entry : provider.getDiscountCurves().entrySet()) {
+      Currency currency = entry.getKey();
+      curves.add(new BumpedCurve(entry.getValue(), curve -> provider.withDiscountCurve(currency, curve)));
+    }
+    for (Entry<Index, Curve> entry : provider.getIndexCurves().entrySet()) {
+      Index index = entry.getKey();
+      curves.add(new BumpedCurve(entry.getValue(), curve -> provider.withIndexCurve(index, curve)));
+    }
+    // one task for each node of each curve, each writing to its own element of the sensitivity arrays
+    CurveParameterBumps bumps = new CurveParameterBumps(
+        curves.stream().map(curve -> curve.nodalCurve).collect(toImmutableList()));
+    bumps.parameters(parallel).forEach(t -> {
+      BumpedCurve curve = curves.get(bumps.curveIndex(t));
+      curve.sensitivity[bumps.nodeIndex(t)] = derivative(curve, bumps, t, valueFn, valueInit.getAmount());
+    });
+    MutableCurveCurrencyParameterSensitivities result = new MutableCurveCurrencyParameterSensitivities();
+    for (BumpedCurve curve : curves) {
+      result.add(curve.metadata, valueInit.getCurrency(), curve.sensitivity, 1d);
+    }
+    return result.build();
   }
 
-  // computes the sensitivity with respect to the curves
-  private <T> CurveCurrencyParameterSensitivities sensitivity(
-      ImmutableRatesProvider provider,
+  // computes the derivative with respect to a single node of a curve
+  private double derivative(
+      BumpedCurve curve,
+      CurveParameterBumps bumps,
+      int param,
       Function<ImmutableRatesProvider, CurrencyAmount> valueFn,
-      MetaProperty<? extends Map<T, Curve>> metaProperty,
-      CurrencyAmount valueInit) {
-
-    Map<T, Curve> baseCurves = metaProperty.get(provider);
-    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
-    for (Entry<T, Curve> entry : baseCurves.entrySet()) {
-      NodalCurve curveInt = entry.getValue().toNodalCurve();
-      int nbNodePoint = curveInt.getXValues().length;
-      double[] sensitivity = new double[nbNodePoint];
-      for (int i = 0; i < nbNodePoint; i++) {
-        Curve dscBumped = bumpedCurve(curveInt, i);
-        Map<T, Curve> mapBumped = new HashMap<>(baseCurves);
-        mapBumped.put(entry.getKey(), dscBumped);
-        ImmutableRatesProvider providerDscBumped = provider.toBuilder().set(metaProperty, mapBumped).build();
-        sensitivity[i] = (valueFn.apply(providerDscBumped).getAmount() - valueInit.getAmount()) / shift;
-      }
-      CurveMetadata metadata = entry.getValue().getMetadata();
-      result = result.combinedWith(CurveCurrencyParameterSensitivity.of(metadata, valueInit.getCurrency(), sensitivity));
+      double valueInit) {
+
+    switch (differenceType) {
+      case FORWARD:
+        return (bumpedValue(curve, bumps, param, shift, valueFn) - valueInit) / shift;
+      case BACKWARD:
+        return (valueInit - bumpedValue(curve, bumps, param, -shift, valueFn)) / shift;
+      case CENTRAL:
+        return (bumpedValue(curve, bumps, param, shift, valueFn) -
+            bumpedValue(curve, bumps, param, -shift, valueFn)) / (2 * shift);
+      default:
+        throw new IllegalArgumentException("Unsupported finite difference type: " + differenceType);
     }
-    return result;
   }
 
-  // create new curve by bumping the existing curve at a given parameter
-  private NodalCurve bumpedCurve(NodalCurve curveInt, int loopnode) {
-    double[] yieldBumped = curveInt.getYValues();
-    yieldBumped[loopnode] += shift;
-    return curveInt.withYValues(yieldBumped);
+  // computes the value with the curve bumped at a given parameter
+  private double bumpedValue(
+      BumpedCurve curve,
+      CurveParameterBumps bumps,
+      int param,
+      double bump,
+      Function<ImmutableRatesProvider, CurrencyAmount> valueFn) {
+
+    return valueFn.apply(curve.providerFn.apply(bumps.bumpedCurve(param, bump))).getAmount();
+  }
+
+  //-------------------------------------------------------------------------
+  // a curve to be bumped, the function creating the provider containing the bumped curve and the result
+  private static final class BumpedCurve {
+    private final CurveMetadata metadata;
+    private final NodalCurve nodalCurve;
+    private final Function<Curve, ImmutableRatesProvider> providerFn;
+    private final double[] sensitivity;
+
+    private BumpedCurve(Curve curve, Function<Curve, ImmutableRatesProvider> providerFn) {
+      this.metadata = curve.getMetadata();
+      this.nodalCurve = curve.toNodalCurve();
+      this.providerFn = providerFn;
+      this.sensitivity = new double[nodalCurve.getXValues().length];
+    }
   }
 
 }
@@ -17,20 +17,26 @@ import java.util.List;
 import org.testng.annotations.Test;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.basics.currency.FxMatrix;
 import com.opengamma.strata.basics.currency.MultiCurrencyAmount;
+import com.opengamma.strata.basics.index.Index;
 import com.opengamma.strata.basics.market.ObservableValues;
 import com.opengamma.strata.collect.tuple.Pair;
 import com.opengamma.strata.finance.Trade;
 import com.opengamma.strata.finance.rate.deposit.IborFixingDepositTrade;
 import com.opengamma.strata.finance.rate.fra.FraTrade;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.curve.definition.CurveGroupDefinition;
 import com.opengamma.strata.market.curve.definition.CurveGroupEntry;
 import com.opengamma.strata.market.curve.definition.CurveNode;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 import com.opengamma.strata.pricer.rate.deposit.DiscountingIborFixingDepositProductPricer;
 import com.opengamma.strata.pricer.rate.fra.DiscountingFraProductPricer;
@@ -82,6 +88,8 @@ public class CalibrationDiscountingSimpleEur3Test {
   // Constants
   private static final double TOLERANCE_PV = 1.0E-6;
   private static final double TOLERANCE_DELTA = 1.0E-10;
+  // the two calibrations stop at different points within the root finder tolerance
+  private static final double TOLERANCE_RECALIBRATION = 1.0E-8;
 
   @Test
   public void calibration_present_value() {
@@ -292,4 +300,169 @@ public class CalibrationDiscountingSimpleEur3Test {
 
   }
 
+  @Test
+  public void calibration_block_triangular() {
+    CurveCalibrator blockCalibrator = CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT, true);
+    // the discounting curve is solved first, then each forward curve on its own
+    String[] dscIdValues = CalibrationEurStandard.dscIdValues(DSC_OIS_TENORS);
+    double[] fwd3MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES);
+    String[] fwd3IdValue =
+        CalibrationEurStandard.fwdIdValue(3, FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS,
+            FWD3_IRS_TENORS);
+    double[] fwd6MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES);
+    String[] fwd6IdValue =
+        CalibrationEurStandard.fwdIdValue(6, FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS,
+            FWD6_IRS_TENORS);
+    CurveGroupDefinition config = CalibrationEurStandard.config(DSC_OIS_TENORS, dscIdValues,
+        FWD3_FRA_TENORS, FWD3_IRS_TENORS, fwd3IdValue, FWD6_FRA_TENORS, FWD6_IRS_TENORS, fwd6IdValue);
+    ObservableValues allQuotes = CalibrationEurStandard.allQuotes(
+        DSC_MARKET_QUOTES, dscIdValues, fwd3MarketQuotes, fwd3IdValue, fwd6MarketQuotes, fwd6IdValue);
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder().valuationDate(VALUATION_DATE).build();
+    assertEquals(
+        blockCalibrator.blocks(config, knownData, allQuotes),
+        ImmutableList.of(
+            ImmutableList.of(CalibrationEurStandard.DSCON_CURVE_NAME),
+            ImmutableList.of(CalibrationEurStandard.FWD3_CURVE_NAME),
+            ImmutableList.of(CalibrationEurStandard.FWD6_CURVE_NAME)));
+
+    Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> expected =
+        CalibrationEurStandard.calibrateEurStandard(VALUATION_DATE,
+            DSC_MARKET_QUOTES, DSC_OIS_TENORS,
+            FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS, FWD3_IRS_TENORS,
+            FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS, FWD6_IRS_TENORS);
+    Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> result =
+        CalibrationEurStandard.calibrateEurStandard(VALUATION_DATE,
+            DSC_MARKET_QUOTES, DSC_OIS_TENORS,
+            FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS, FWD3_IRS_TENORS,
+            FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS, FWD6_IRS_TENORS,
+            blockCalibrator);
+
+    for (Index index : expected.getFirst().getIndexCurves().keySet()) {
+      // same curves
+      InterpolatedNodalCurve expectedCurve = (InterpolatedNodalCurve) expected.getFirst().getIndexCurves().get(index);
+      InterpolatedNodalCurve curve = (InterpolatedNodalCurve) result.getFirst().getIndexCurves().get(index);
+      CurveName name = curve.getName();
+      double[] expectedValues = expectedCurve.getYValues();
+      double[] values = curve.getYValues();
+      assertEquals(values.length, expectedValues.length);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], expectedValues[i], TOLERANCE_DELTA);
+      }
+      // same Jacobian
+      Pair<CurveBuildingBlock, DoubleMatrix2D> expectedBlock = expected.getSecond().getBlock(name);
+      Pair<CurveBuildingBlock, DoubleMatrix2D> block = result.getSecond().getBlock(name);
+      assertEquals(block.getFirst(), expectedBlock.getFirst());
+      double[][] expectedMatrix = expectedBlock.getSecond().getData();
+      double[][] matrix = block.getSecond().getData();
+      for (int i = 0; i < matrix.length; i++) {
+        for (int j = 0; j < matrix[i].length; j++) {
+          assertEquals(matrix[i][j], expectedMatrix[i][j], 1.0E-8);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void calibration_flat_decomposition() {
+    CurveCalibrator flatCalibrator = CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT, false, true);
+    Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> expected =
+        CalibrationEurStandard.calibrateEurStandard(VALUATION_DATE,
+            DSC_MARKET_QUOTES, DSC_OIS_TENORS,
+            FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS, FWD3_IRS_TENORS,
+            FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS, FWD6_IRS_TENORS);
+    Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> result =
+        CalibrationEurStandard.calibrateEurStandard(VALUATION_DATE,
+            DSC_MARKET_QUOTES, DSC_OIS_TENORS,
+            FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS, FWD3_IRS_TENORS,
+            FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS, FWD6_IRS_TENORS,
+            flatCalibrator);
+
+    List<InterpolatedNodalCurve> expectedCurves = new ArrayList<>();
+    List<InterpolatedNodalCurve> curves = new ArrayList<>();
+    expectedCurves.add((InterpolatedNodalCurve) expected.getFirst().getDiscountCurves().get(EUR));
+    curves.add((InterpolatedNodalCurve) result.getFirst().getDiscountCurves().get(EUR));
+    for (Index index : expected.getFirst().getIndexCurves().keySet()) {
+      expectedCurves.add((InterpolatedNodalCurve) expected.getFirst().getIndexCurves().get(index));
+      curves.add((InterpolatedNodalCurve) result.getFirst().getIndexCurves().get(index));
+    }
+    for (int loopcurve = 0; loopcurve < curves.size(); loopcurve++) {
+      // same curves
+      CurveName name = curves.get(loopcurve).getName();
+      double[] expectedValues = expectedCurves.get(loopcurve).getYValues();
+      double[] values = curves.get(loopcurve).getYValues();
+      assertEquals(values.length, expectedValues.length);
+      for (int i = 0; i < values.length; i++) {
+        assertEquals(values[i], expectedValues[i], TOLERANCE_DELTA);
+      }
+      // same Jacobian
+      Pair<CurveBuildingBlock, DoubleMatrix2D> expectedBlock = expected.getSecond().getBlock(name);
+      Pair<CurveBuildingBlock, DoubleMatrix2D> block = result.getSecond().getBlock(name);
+      assertEquals(block.getFirst(), expectedBlock.getFirst());
+      double[][] expectedMatrix = expectedBlock.getSecond().getData();
+      double[][] matrix = block.getSecond().getData();
+      for (int i = 0; i < matrix.length; i++) {
+        for (int j = 0; j < matrix[i].length; j++) {
+          assertEquals(matrix[i][j], expectedMatrix[i][j], 1.0E-8);
+        }
+      }
+    }
+  }
+
+  @Test
+  public void recalibration_previous_result() {
+    String[] dscIdValues = CalibrationEurStandard.dscIdValues(DSC_OIS_TENORS);
+    double[] fwd3MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES);
+    String[] fwd3IdValue =
+        CalibrationEurStandard.fwdIdValue(3, FWD3_FIXING_QUOTE, FWD3_FRA_QUOTES, FWD3_IRS_QUOTES, FWD3_FRA_TENORS,
+            FWD3_IRS_TENORS);
+    double[] fwd6MarketQuotes = CalibrationEurStandard.fwdMarketQuotes(FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES);
+    String[] fwd6IdValue =
+        CalibrationEurStandard.fwdIdValue(6, FWD6_FIXING_QUOTE, FWD6_FRA_QUOTES, FWD6_IRS_QUOTES, FWD6_FRA_TENORS,
+            FWD6_IRS_TENORS);
+    CurveGroupDefinition config = CalibrationEurStandard.config(DSC_OIS_TENORS, dscIdValues,
+        FWD3_FRA_TENORS, FWD3_IRS_TENORS, fwd3IdValue, FWD6_FRA_TENORS, FWD6_IRS_TENORS, fwd6IdValue);
+    ObservableValues allQuotes = CalibrationEurStandard.allQuotes(
+        DSC_MARKET_QUOTES, dscIdValues, fwd3MarketQuotes, fwd3IdValue, fwd6MarketQuotes, fwd6IdValue);
+    // the quotes move by one basis point
+    double[] dscMarketQuotesBumped = DSC_MARKET_QUOTES.clone();
+    for (int i = 0; i < dscMarketQuotesBumped.length; i++) {
+      dscMarketQuotesBumped[i] += 1.0E-4;
+    }
+    ObservableValues allQuotesBumped = CalibrationEurStandard.allQuotes(
+        dscMarketQuotesBumped, dscIdValues, fwd3MarketQuotes, fwd3IdValue, fwd6MarketQuotes, fwd6IdValue);
+
+    CurveCalibrator[] calibrators = {
+        CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT),
+        CurveCalibrator.of(1e-9, 1e-9, 100, CalibrationMeasures.DEFAULT, true)};
+    for (CurveCalibrator calibrator : calibrators) {
+      Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> previous =
+          calibrator.calibrate(config, VALUATION_DATE, allQuotes, ImmutableMap.of(), FxMatrix.empty());
+      Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> expected =
+          calibrator.calibrate(config, VALUATION_DATE, allQuotesBumped, ImmutableMap.of(), FxMatrix.empty());
+      Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> result = calibrator.recalibrate(
+          config, VALUATION_DATE, allQuotesBumped, ImmutableMap.of(), FxMatrix.empty(),
+          previous.getFirst(), previous.getSecond());
+
+      for (Index index : expected.getFirst().getIndexCurves().keySet()) {
+        InterpolatedNodalCurve expectedCurve = (InterpolatedNodalCurve) expected.getFirst().getIndexCurves().get(index);
+        InterpolatedNodalCurve curve = (InterpolatedNodalCurve) result.getFirst().getIndexCurves().get(index);
+        double[] expectedValues = expectedCurve.getYValues();
+        double[] values = curve.getYValues();
+        for (int i = 0; i < values.length; i++) {
+          assertEquals(values[i], expectedValues[i], TOLERANCE_RECALIBRATION);
+        }
+        Pair<CurveBuildingBlock, DoubleMatrix2D> expectedBlock = expected.getSecond().getBlock(curve.getName());
+        Pair<CurveBuildingBlock, DoubleMatrix2D> block = result.getSecond().getBlock(curve.getName());
+        assertEquals(block.getFirst(), expectedBlock.getFirst());
+        double[][] expectedMatrix = expectedBlock.getSecond().getData();
+        double[][] matrix = block.getSecond().getData();
+        for (int i = 0; i < matrix.length; i++) {
+          for (int j = 0; j < matrix[i].length; j++) {
+            assertEquals(matrix[i][j], expectedMatrix[i][j], TOLERANCE_RECALIBRATION);
+          }
+        }
+      }
+    }
+  }
+
 }
@@ -21,9 +21,12 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import org.testng.annotations.Test;
 
+import com.google.common.collect.ImmutableList;
 import com.opengamma.strata.basics.currency.Currency;
 import com.opengamma.strata.basics.currency.CurrencyAmount;
 import com.opengamma.strata.basics.currency.FxMatrix;
@@ -289,6 +292,38 @@ public class CalibrationDiscountingSimpleUsd2Test {
     }
   }
 
+  @Test
+  public void calibration_concurrent_groups() {
+    // the forward curve depends on the first discounting curve, the second discounting curve is independent
+    CurveGroupDefinition dscGroup = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("USD-DSCON"))
+        .addCurve(DSC_CURVE_DEFN, USD, USD_FED_FUND).build();
+    CurveGroupDefinition fwd3Group = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("USD-LIBOR3M"))
+        .addForwardCurve(FWD3_CURVE_DEFN, USD_LIBOR_3M).build();
+    CurveGroupDefinition dscGroup2 = CurveGroupDefinition.builder()
+        .name(CurveGroupName.of("USD-DSCON-2"))
+        .addCurve(DSC_CURVE_DEFN.toBuilder().name(CurveName.of("USD-DSCON-OIS-2")).build(), USD, USD_FED_FUND).build();
+    List<CurveGroupDefinition> groups = ImmutableList.of(dscGroup, fwd3Group, dscGroup2);
+    ImmutableRatesProvider knownData = ImmutableRatesProvider.builder()
+        .valuationDate(VALUATION_DATE)
+        .fxMatrix(FxMatrix.empty())
+        .timeSeries(TS)
+        .build();
+
+    Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> expected =
+        CALIBRATOR.calibrate(groups, knownData, ALL_QUOTES);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> result =
+          CALIBRATOR.calibrate(groups, knownData, ALL_QUOTES, executor);
+      assertEquals(result.getFirst(), expected.getFirst());
+      assertEquals(result.getSecond(), expected.getSecond());
+    } finally {
+      executor.shutdown();
+    }
+  }
+
   @SuppressWarnings("unused")
   @Test(enabled = false)
   void performance() {
@@ -107,6 +107,27 @@ public class CalibrationEurStandard {
       double[] fwd6IrsQuotes,
       Period[] fwd6FraTenors,
       Period[] fwd6IrsTenors) {
+
+    return calibrateEurStandard(valuationDate, dscOisQuotes, dscOisTenors,
+        fwd3FixingQuote, fwd3FraQuotes, fwd3IrsQuotes, fwd3FraTenors, fwd3IrsTenors,
+        fwd6FixingQuote, fwd6FraQuotes, fwd6IrsQuotes, fwd6FraTenors, fwd6IrsTenors, CALIBRATOR);
+  }
+
+  public static Pair<ImmutableRatesProvider, CurveBuildingBlockBundle> calibrateEurStandard(
+      LocalDate valuationDate,
+      double[] dscOisQuotes,
+      Period[] dscOisTenors,
+      double fwd3FixingQuote,
+      double[] fwd3FraQuotes,
+      double[] fwd3IrsQuotes,
+      Period[] fwd3FraTenors,
+      Period[] fwd3IrsTenors,
+      double fwd6FixingQuote,
+      double[] fwd6FraQuotes,
+      double[] fwd6IrsQuotes,
+      Period[] fwd6FraTenors,
+      Period[] fwd6IrsTenors,
+      CurveCalibrator calibrator) {
     /* Curve Discounting/EUR-EONIA */
     String[] dscIdValues = dscIdValues(dscOisTenors);
     /* Curve EUR-EURIBOR-3M */
@@ -122,7 +143,7 @@ public class CalibrationEurStandard {
     CurveGroupDefinition config = config(dscOisTenors, dscIdValues, fwd3FraTenors, fwd3IrsTenors, fwd3IdValues,
         fwd6FraTenors, fwd6IrsTenors, fwd6IdValues);
     /* Results */
-    return CALIBRATOR.calibrate(config, valuationDate, allQuotes, TS, FxMatrix.empty());
+    return calibrator.calibrate(config, valuationDate, allQuotes, TS, FxMatrix.empty());
   }
 
   public static String[] dscIdValues(Period[] dscOisTenors) {
@@ -0,0 +1,280 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.credit;
+
+import static com.opengamma.strata.collect.TestHelper.date;
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_MONEY_MARKET;
+import static com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType.ISDA_SWAP;
+import static org.testng.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.basics.BuySell;
+import com.opengamma.strata.basics.currency.CurrencyAmount;
+import com.opengamma.strata.collect.id.StandardId;
+import com.opengamma.strata.finance.credit.ExpandedCds;
+import com.opengamma.strata.finance.credit.RestructuringClause;
+import com.opengamma.strata.finance.credit.SeniorityLevel;
+import com.opengamma.strata.finance.credit.type.CdsConvention;
+import com.opengamma.strata.finance.credit.type.CdsConventions;
+import com.opengamma.strata.finance.credit.type.IsdaYieldCurveConventions;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.IsdaCreditCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaCreditCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveJacobian;
+import com.opengamma.strata.market.curve.IsdaYieldCurveParRates;
+import com.opengamma.strata.market.curve.IsdaYieldCurveUnderlyingType;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+
+/**
+ * Test {@link IsdaCdsPricer}.
+ */
+@Test
+public class IsdaCdsPricerTest {
+
+  private static final IsdaCdsPricer PRICER = IsdaCdsPricer.DEFAULT;
+  private static final LocalDate VAL_DATE = date(2014, 10, 16);
+  private static final CdsConvention CONVENTION = CdsConventions.NORTH_AMERICAN_USD;
+  private static final double RECOVERY_RATE = 0.4;
+  private static final double NOTIONAL = 10_000_000d;
+  private static final double TOLERANCE_PV = 1e-6;
+  private static final double TOLERANCE_RATE = 1e-12;
+  private static final double TOLERANCE_SENSI = 1e-8;
+  // analytic sensitivities differ from bump and revalue by the second order terms
+  private static final double TOLERANCE_SENSI_RELATIVE = 1e-3;
+  private static final double TOLERANCE_SENSI_ABSOLUTE = 1e-2;
+  private static final double TOLERANCE_JACOBIAN = 1e-4;
+  private static final double BUMP = 1e-7;
+
+  private static final Period[] YIELD_PERIODS = {
+      Period.ofMonths(1), Period.ofMonths(3), Period.ofMonths(6), Period.ofYears(1),
+      Period.ofYears(2), Period.ofYears(5), Period.ofYears(10)};
+  private static final IsdaYieldCurveUnderlyingType[] YIELD_TYPES = {
+      ISDA_MONEY_MARKET, ISDA_MONEY_MARKET, ISDA_MONEY_MARKET, ISDA_MONEY_MARKET,
+      ISDA_SWAP, ISDA_SWAP, ISDA_SWAP};
+  private static final double[] YIELD_RATES = {0.00445, 0.012337, 0.017762, 0.01935, 0.020838, 0.023033, 0.03017};
+  private static final Period[] CREDIT_PERIODS = {
+      Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(10)};
+  private static final double[] CREDIT_RATES = {0.0028, 0.0028, 0.0030, 0.0032, 0.0035};
+
+  private static final NodalCurve YIELD_CURVE = PRICER.calibrateYieldCurve(VAL_DATE, yieldCurveParRates());
+  private static final NodalCurve CREDIT_CURVE =
+      PRICER.calibrateCreditCurve(VAL_DATE, creditCurveParRates(), YIELD_CURVE, RECOVERY_RATE);
+
+  // products on the same name with different maturities, coupons and directions
+  private static final List<ExpandedCds> PRODUCTS = ImmutableList.of(
+      product(date(2019, 12, 20), BuySell.BUY, 0.0100),
+      product(date(2015, 12, 20), BuySell.SELL, 0.0100),
+      product(date(2024, 12, 20), BuySell.BUY, 0.0500),
+      product(date(2019, 12, 20), BuySell.SELL, 0.0500),
+      product(date(2017, 6, 20), BuySell.BUY, 0.0025),
+      // maturity not on the payment schedule of the others, priced on its own
+      product(date(2018, 11, 15), BuySell.BUY, 0.0100));
+
+  //-------------------------------------------------------------------------
+  public void test_presentValue_list() {
+    List<CurrencyAmount> test =
+        PRICER.presentValue(PRODUCTS, YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test.size(), PRODUCTS.size());
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      CurrencyAmount expected =
+          PRICER.presentValue(PRODUCTS.get(i), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      assertEquals(test.get(i).getCurrency(), expected.getCurrency());
+      assertEquals(test.get(i).getAmount(), expected.getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  public void test_presentValue_list_scalingFactor() {
+    List<CurrencyAmount> test =
+        PRICER.presentValue(PRODUCTS, YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 0.8);
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      CurrencyAmount expected =
+          PRICER.presentValue(PRODUCTS.get(i), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 0.8);
+      assertEquals(test.get(i).getAmount(), expected.getAmount(), TOLERANCE_PV);
+    }
+  }
+
+  public void test_presentValue_list_single() {
+    List<CurrencyAmount> test =
+        PRICER.presentValue(PRODUCTS.subList(0, 1), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+    CurrencyAmount expected =
+        PRICER.presentValue(PRODUCTS.get(0), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test, ImmutableList.of(expected));
+  }
+
+  public void test_parRate_list() {
+    double[] test = PRICER.parRate(PRODUCTS, YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE);
+    assertEquals(test.length, PRODUCTS.size());
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      double expected = PRICER.parRate(PRODUCTS.get(i), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE);
+      assertEquals(test[i], expected, TOLERANCE_RATE);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  public void test_cs01BucketedPar_analytic() {
+    for (ExpandedCds product : PRODUCTS) {
+      CurveCurrencyParameterSensitivities test = PRICER.cs01BucketedPar(product, yieldCurveParRates(),
+          creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      CurveCurrencyParameterSensitivities expected = IsdaCdsPricer.BUMP_AND_REVALUE.cs01BucketedPar(product,
+          yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      assertBumpedEquals(test, expected);
+    }
+  }
+
+  public void test_ir01BucketedPar_analytic() {
+    for (ExpandedCds product : PRODUCTS) {
+      CurveCurrencyParameterSensitivities test = PRICER.ir01BucketedPar(product, yieldCurveParRates(),
+          creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      CurveCurrencyParameterSensitivities expected = IsdaCdsPricer.BUMP_AND_REVALUE.ir01BucketedPar(product,
+          yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      assertBumpedEquals(test, expected);
+    }
+  }
+
+  public void test_ir01BucketedZero_analytic() {
+    for (ExpandedCds product : PRODUCTS) {
+      CurveCurrencyParameterSensitivities test = PRICER.ir01BucketedZero(product, yieldCurveParRates(),
+          creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 0.8);
+      CurveCurrencyParameterSensitivities expected = IsdaCdsPricer.BUMP_AND_REVALUE.ir01BucketedZero(product,
+          yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 0.8);
+      assertBumpedEquals(test, expected);
+    }
+  }
+
+  public void test_cs01BucketedPar_list() {
+    List<CurveCurrencyParameterSensitivities> test = PRICER.cs01BucketedPar(PRODUCTS, yieldCurveParRates(),
+        creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test.size(), PRODUCTS.size());
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      CurveCurrencyParameterSensitivities expected = PRICER.cs01BucketedPar(PRODUCTS.get(i), yieldCurveParRates(),
+          creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      assertEquals(test.get(i).getSensitivities().size(), 1);
+      double[] testValues = test.get(i).getSensitivities().get(0).getSensitivity();
+      double[] expectedValues = expected.getSensitivities().get(0).getSensitivity();
+      for (int j = 0; j < expectedValues.length; j++) {
+        assertEquals(testValues[j], expectedValues[j], TOLERANCE_SENSI);
+      }
+    }
+  }
+
+  public void test_ir01BucketedPar_list() {
+    List<CurveCurrencyParameterSensitivities> test = PRICER.ir01BucketedPar(PRODUCTS, yieldCurveParRates(),
+        creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+    assertEquals(test.size(), PRODUCTS.size());
+    for (int i = 0; i < PRODUCTS.size(); i++) {
+      CurveCurrencyParameterSensitivities expected = PRICER.ir01BucketedPar(PRODUCTS.get(i), yieldCurveParRates(),
+          creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, VAL_DATE, RECOVERY_RATE, 1d);
+      double[] testValues = test.get(i).getSensitivities().get(0).getSensitivity();
+      double[] expectedValues = expected.getSensitivities().get(0).getSensitivity();
+      for (int j = 0; j < expectedValues.length; j++) {
+        assertEquals(testValues[j], expectedValues[j], TOLERANCE_SENSI);
+      }
+    }
+  }
+
+  public void test_bucketed_list_jacobians() {
+    IsdaYieldCurveJacobian yieldCurveJacobian = PRICER.yieldCurveJacobian(VAL_DATE, yieldCurveParRates(), YIELD_CURVE);
+    IsdaCreditCurveJacobian creditCurveJacobian =
+        PRICER.creditCurveJacobian(VAL_DATE, creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, RECOVERY_RATE);
+    assertEquals(
+        PRICER.cs01BucketedPar(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            creditCurveJacobian, VAL_DATE, RECOVERY_RATE, 1d),
+        PRICER.cs01BucketedPar(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        PRICER.ir01BucketedPar(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            yieldCurveJacobian, creditCurveJacobian, VAL_DATE, RECOVERY_RATE, 1d),
+        PRICER.ir01BucketedPar(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            VAL_DATE, RECOVERY_RATE, 1d));
+    assertEquals(
+        PRICER.ir01BucketedZero(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            creditCurveJacobian, VAL_DATE, RECOVERY_RATE, 1d),
+        PRICER.ir01BucketedZero(PRODUCTS, yieldCurveParRates(), creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE,
+            VAL_DATE, RECOVERY_RATE, 1d));
+  }
+
+  public void test_creditCurveJacobian() {
+    IsdaCreditCurveJacobian test =
+        PRICER.creditCurveJacobian(VAL_DATE, creditCurveParRates(), YIELD_CURVE, CREDIT_CURVE, RECOVERY_RATE);
+    double[] times = CREDIT_CURVE.getXValues();
+    double[] baseValues = CREDIT_CURVE.getYValues();
+    for (int i = 0; i < CREDIT_RATES.length; i++) {
+      NodalCurve bumpedCreditCurve = PRICER.calibrateCreditCurve(
+          VAL_DATE, creditCurveParRates().bucketedShiftParRatesinBps(i, BUMP), YIELD_CURVE, RECOVERY_RATE);
+      double[] bumpedValues = bumpedCreditCurve.getYValues();
+      for (int j = 0; j < times.length; j++) {
+        double expected = (bumpedValues[j] - baseValues[j]) / times[j] / BUMP;
+        assertEquals(test.getParSpreadJacobian().getEntry(j, i), expected, TOLERANCE_JACOBIAN);
+      }
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static void assertBumpedEquals(
+      CurveCurrencyParameterSensitivities test,
+      CurveCurrencyParameterSensitivities expected) {
+
+    assertEquals(test.getSensitivities().size(), 1);
+    assertEquals(test.getSensitivities().get(0).getMetadata(), expected.getSensitivities().get(0).getMetadata());
+    assertEquals(test.getSensitivities().get(0).getCurrency(), expected.getSensitivities().get(0).getCurrency());
+    double[] testValues = test.getSensitivities().get(0).getSensitivity();
+    double[] expectedValues = expected.getSensitivities().get(0).getSensitivity();
+    assertEquals(testValues.length, expectedValues.length);
+    for (int i = 0; i < expectedValues.length; i++) {
+      double tolerance = Math.max(Math.abs(expectedValues[i]) * TOLERANCE_SENSI_RELATIVE, TOLERANCE_SENSI_ABSOLUTE);
+      assertEquals(testValues[i], expectedValues[i], tolerance);
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  private static ExpandedCds product(LocalDate endDate, BuySell buySell, double coupon) {
+    return CONVENTION
+        .toSingleNameTrade(
+            date(2014, 9, 22),
+            endDate,
+            buySell,
+            NOTIONAL,
+            coupon,
+            StandardId.of("OG-Ticker", "COMP01"),
+            SeniorityLevel.SENIOR_UNSECURED_FOREIGN,
+            RestructuringClause.NO_RESTRUCTURING_2014,
+            100_000d,
+            date(2014, 10, 21))
+        .getProduct()
+        .expand();
+  }
+
+  private static IsdaYieldCurveParRates yieldCurveParRates() {
+    LocalDate[] endDates = new LocalDate[YIELD_PERIODS.length];
+    for (int i = 0; i < YIELD_PERIODS.length; i++) {
+      endDates[i] = VAL_DATE.plus(YIELD_PERIODS[i]);
+    }
+    return IsdaYieldCurveParRates.of(
+        CurveName.of("USD-ISDA"),
+        YIELD_PERIODS,
+        endDates,
+        YIELD_TYPES,
+        YIELD_RATES,
+        IsdaYieldCurveConventions.ISDA_USD);
+  }
+
+  private static IsdaCreditCurveParRates creditCurveParRates() {
+    LocalDate[] endDates = new LocalDate[CREDIT_PERIODS.length];
+    for (int i = 0; i < CREDIT_PERIODS.length; i++) {
+      endDates[i] = CONVENTION.getUnadjustedMaturityDateFromValuationDate(VAL_DATE, CREDIT_PERIODS[i]);
+    }
+    return IsdaCreditCurveParRates.of(
+        CurveName.of("COMP01"), CREDIT_PERIODS, endDates, CREDIT_RATES, CONVENTION, 1d);
+  }
+
+}
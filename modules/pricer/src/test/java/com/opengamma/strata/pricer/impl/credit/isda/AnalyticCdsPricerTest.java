@@ -68,21 +68,24 @@ public class AnalyticCdsPricerTest extends IsdaBaseTest {
     final CdsAnalytic cds = factory.makeImmCds(LocalDate.of(2013, Month.SEPTEMBER, 10), Period.ofYears(5));
 
     final int n = ycTimes.length;
-    for (int i = 0; i < n; i++) {
-      double fd = fdProtectionLegYieldSense(PRICER_MARKIT_FIX, cds, yieldCurveNorm, creditCurveNorm, i);
-      double anal = PRICER_MARKIT_FIX.protectionLegYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, i);
+    for (int count = 0; count < 2; count++) {
+      final AnalyticCdsPricer pricer = count == 0 ? PRICER : PRICER_MARKIT_FIX;
+      for (int i = 0; i < n; i++) {
+        double fd = fdProtectionLegYieldSense(pricer, cds, yieldCurveNorm, creditCurveNorm, i);
+        double anal = pricer.protectionLegYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, i);
 
-      assertEquals(fd, anal, 1e-10);
+        assertEquals(fd, anal, 1e-10);
 
-      fd = fdPremiumLegYieldSense(PRICER_MARKIT_FIX, cds, yieldCurveNorm, creditCurveNorm, i);
-      anal = PRICER_MARKIT_FIX.pvPremiumLegYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, i);
+        fd = fdPremiumLegYieldSense(pricer, cds, yieldCurveNorm, creditCurveNorm, i);
+        anal = pricer.pvPremiumLegYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, i);
 
-      assertEquals(fd, anal, 1e-9);
+        assertEquals(fd, anal, 1e-9);
 
-      fd = fdPVYieldSense(PRICER_MARKIT_FIX, cds, yieldCurveNorm, creditCurveNorm, coupon, i);
-      anal = PRICER_MARKIT_FIX.pvYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, coupon, i);
+        fd = fdPVYieldSense(pricer, cds, yieldCurveNorm, creditCurveNorm, coupon, i);
+        anal = pricer.pvYieldSensitivity(cds, yieldCurveNorm, creditCurveNorm, coupon, i);
 
-      assertEquals(fd, anal, 1e-10);
+        assertEquals(fd, anal, 1e-10);
+      }
     }
 
   }
@@ -229,6 +229,25 @@ public class IsdaCompliantCurveTest {
     }
   }
 
+  public void getRTArrayTest() {
+    double[] t = new double[] {0.1, 0.2, 0.5, 0.7, 1.0, 2.0, 3.0, 3.4, 10.0};
+    double[] r = new double[] {1.0, 0.8, 0.7, 1.2, 1.2, 1.3, 1.2, 1.0, 0.9};
+    IsdaCompliantCurve curve = new IsdaCompliantCurve(t, r);
+    // ascending times including the knots, then times out of order
+    double[] times = new double[] {0.0, 0.05, 0.1, 0.15, 0.2, 0.2, 0.6, 1.0, 2.5, 3.4, 5.0, 10.0, 12.0, 0.3, 0.1, 11.0};
+    double[] rt = curve.getRT(times);
+    double[] df = curve.getDiscountFactors(times);
+    for (int i = 0; i < times.length; i++) {
+      assertEquals("Time: " + times[i], curve.getRT(times[i]), rt[i], 0d);
+      assertEquals("Time: " + times[i], curve.getDiscountFactor(times[i]), df[i], 0d);
+    }
+    IsdaCompliantCurve singleKnot = new IsdaCompliantCurve(new double[] {1.0}, new double[] {0.5});
+    double[] rtSingle = singleKnot.getRT(times);
+    for (int i = 0; i < times.length; i++) {
+      assertEquals("Time: " + times[i], singleKnot.getRT(times[i]), rtSingle[i], 0d);
+    }
+  }
+
   public void rtandSenseTest() {
     double[] t = new double[] {0.1, 0.2, 0.5, 0.7, 1.0, 2.0, 3.0, 3.4, 10.0};
     double[] r = new double[] {1.0, 0.8, 0.7, 1.2, 1.2, 1.3, 1.2, 1.0, 0.9};
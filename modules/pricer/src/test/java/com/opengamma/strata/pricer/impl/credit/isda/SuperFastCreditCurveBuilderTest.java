@@ -163,4 +163,46 @@ public class SuperFastCreditCurveBuilderTest extends CreditCurveCalibrationTest
     }
 
   }
+
+  /**
+   * Portfolio calibration against per-name calibration
+   */
+  public void portfolioCalibrationTest() {
+    final LocalDate tradeDate = LocalDate.of(2013, Month.APRIL, 25);
+
+    final CdsAnalyticFactory baseFactory = new CdsAnalyticFactory();
+    final Period[] tenors = new Period[] {Period.ofMonths(6), Period.ofYears(1), Period.ofYears(3), Period.ofYears(5), Period.ofYears(7), Period.ofYears(10) };
+    final CdsAnalytic[] pillar = baseFactory.makeImmCds(tradeDate, tenors);
+    final LocalDate spotDate = DEFAULT_CALENDAR.shift(tradeDate.minusDays(1), 3);
+    final String[] yieldCurvePoints = new String[] {"1M", "2M", "3M", "6M", "9M", "1Y", "2Y", "3Y", "4Y", "5Y", "6Y", "7Y", "8Y", "9Y", "10Y", "11Y", "12Y", "15Y", "20Y", "25Y", "30Y" };
+    final String[] yieldCurveInstruments = new String[] {"M", "M", "M", "M", "M", "M", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S", "S" };
+    final double[] rates = new double[] {0.00445, 0.009488, 0.012337, 0.017762, 0.01935, 0.020838, 0.01652, 0.02018, 0.023033, 0.02525, 0.02696, 0.02825, 0.02931, 0.03017, 0.03092, 0.0316, 0.03231,
+      0.03367, 0.03419, 0.03411, 0.03412 };
+    final IsdaCompliantYieldCurve yc = makeYieldCurve(tradeDate, spotDate, yieldCurvePoints, yieldCurveInstruments, rates, ACT360, D30360, Period.ofYears(1));
+
+    final int nNames = 50;
+    final int nPillars = pillar.length;
+    final double[][] premiums = new double[nNames][nPillars];
+    final double[][] pufs = new double[nNames][nPillars];
+    final double[] recoveryRates = new double[nNames];
+    for (int i = 0; i < nNames; ++i) {
+      recoveryRates[i] = i % 2 == 0 ? 0.4 : 0.25;
+      for (int j = 0; j < nPillars; ++j) {
+        premiums[i][j] = 0.01;
+        pufs[i][j] = 0.002 * (i + 1) * (j + 1) / nNames;
+      }
+    }
+    final IsdaCompliantCreditCurve[] curves = BUILDER_ISDA.calibrateCreditCurves(pillar, premiums, pufs, recoveryRates, yc);
+    assertEquals(nNames, curves.length);
+
+    final double[] sampleTime = new double[] {30 / 365., 90 / 365., 180. / 365., 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12 };
+    for (int i = 0; i < nNames; ++i) {
+      final CdsAnalytic[] namePillar = baseFactory.withRecoveryRate(recoveryRates[i]).makeImmCds(tradeDate, tenors);
+      final IsdaCompliantCreditCurve expected = BUILDER_ISDA.calibrateCreditCurve(namePillar, premiums[i], yc, pufs[i]);
+      for (int j = 0; j < sampleTime.length; ++j) {
+        assertEquals(expected.getHazardRate(sampleTime[j]), curves[i].getHazardRate(sampleTime[j]), 1.e-14);
+      }
+    }
+  }
+
 }
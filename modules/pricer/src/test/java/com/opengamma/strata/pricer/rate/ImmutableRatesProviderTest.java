@@ -17,6 +17,7 @@ import static com.opengamma.strata.collect.TestHelper.coverBeanEquals;
 import static com.opengamma.strata.collect.TestHelper.coverImmutableBean;
 import static com.opengamma.strata.collect.TestHelper.date;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
 
 import java.time.LocalDate;
 import java.time.YearMonth;
@@ -181,6 +182,41 @@ public class ImmutableRatesProviderTest {
     assertThrowsIllegalArg(() -> test.priceIndexValues(GB_RPI));
   }
 
+  //-------------------------------------------------------------------------
+  public void test_withDiscountCurve() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .fxMatrix(FX_MATRIX)
+        .discountCurves(ImmutableMap.of(GBP, DISCOUNT_CURVE_GBP))
+        .indexCurves(ImmutableMap.of(USD_LIBOR_3M, USD_LIBOR_CURVE))
+        .build();
+    ImmutableRatesProvider test = base
+        .withDiscountCurve(GBP, DISCOUNT_CURVE_USD)
+        .withDiscountCurve(USD, DISCOUNT_CURVE_USD);
+    ImmutableRatesProvider expected = base.toBuilder()
+        .discountCurves(ImmutableMap.of(GBP, DISCOUNT_CURVE_USD, USD, DISCOUNT_CURVE_USD))
+        .build();
+    assertEquals(test, expected);
+    assertSame(test.getIndexCurves(), base.getIndexCurves());
+    assertEquals(base.getDiscountCurves(), ImmutableMap.of(GBP, DISCOUNT_CURVE_GBP));
+  }
+
+  public void test_withIndexCurve() {
+    ImmutableRatesProvider base = ImmutableRatesProvider.builder()
+        .valuationDate(VAL_DATE)
+        .discountCurves(ImmutableMap.of(GBP, DISCOUNT_CURVE_GBP))
+        .indexCurves(ImmutableMap.of(USD_LIBOR_3M, USD_LIBOR_CURVE))
+        .build();
+    ImmutableRatesProvider test = base
+        .withIndexCurve(USD_LIBOR_3M, FED_FUND_CURVE)
+        .withIndexCurve(USD_FED_FUND, FED_FUND_CURVE);
+    ImmutableRatesProvider expected = base.toBuilder()
+        .indexCurves(ImmutableMap.of(USD_LIBOR_3M, FED_FUND_CURVE, USD_FED_FUND, FED_FUND_CURVE))
+        .build();
+    assertEquals(test, expected);
+    assertSame(test.getDiscountCurves(), base.getDiscountCurves());
+  }
+
   //-------------------------------------------------------------------------
   public void coverage() {
     ImmutableRatesProvider test = ImmutableRatesProvider.builder()
@@ -80,6 +80,7 @@ import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
+import com.opengamma.strata.market.value.DiscountFactors;
 import com.opengamma.strata.market.value.ForwardPriceIndexValues;
 import com.opengamma.strata.market.value.PriceIndexValues;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
@@ -125,6 +126,11 @@ public class DiscountingSwapLegPricerTest {
     double df2 = 0.98d;
     when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate()))
         .thenReturn(df2);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {
+        FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate(), FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate()}))
+        .thenReturn(new double[] {df1, df2});
     when(mockProv.getValuationDate()).thenReturn(RatesProviderDataSets.VAL_DATE_2014_01_22);
     double pvbp = PRICER_LEG.pvbp(leg, mockProv);
     double ceExpected = PRICER_LEG.presentValuePeriodsInternal(leg, mockProv) / pvbp;
@@ -136,8 +142,10 @@ public class DiscountingSwapLegPricerTest {
   public void test_pvbp_onePeriod() {
     RatesProvider mockProv = mock(RatesProvider.class);
     double df = 0.99d;
-    when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()))
-        .thenReturn(df);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()}))
+        .thenReturn(new double[] {df});
     double expected = df * FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getNotional() *
         FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getAccrualPeriods().get(0).getYearFraction();
     DiscountingSwapLegPricer test = DiscountingSwapLegPricer.DEFAULT;
@@ -152,11 +160,12 @@ public class DiscountingSwapLegPricerTest {
         .build();
     RatesProvider mockProv = mock(RatesProvider.class);
     double df1 = 0.99d;
-    when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()))
-        .thenReturn(df1);
     double df2 = 0.98d;
-    when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate()))
-        .thenReturn(df2);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {
+        FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate(), FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getPaymentDate()}))
+        .thenReturn(new double[] {df1, df2});
     double expected = df1 * FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getNotional() *
         FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getAccrualPeriods().get(0).getYearFraction();
     expected += df2 * FIXED_RATE_PAYMENT_PERIOD_PAY_USD_2.getNotional() *
@@ -615,9 +624,11 @@ public class DiscountingSwapLegPricerTest {
     when(mockPeriod.futureValue(period1, mockProv)).thenReturn(fv1);
     when(mockPeriod.futureValue(period2, mockProv)).thenReturn(fv2);
     when(mockProv.getValuationDate()).thenReturn(LocalDate.of(2014, 7, 1));
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), period1.getPaymentDate())).thenReturn(df1);
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), period2.getPaymentDate())).thenReturn(df2);
-    when(mockProv.discountFactor(expSwapLeg.getCurrency(), event.getPaymentDate())).thenReturn(df);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(expSwapLeg.getCurrency())).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {period1.getPaymentDate(), period2.getPaymentDate()}))
+        .thenReturn(new double[] {df1, df2});
+    when(mockDf.discountFactors(new LocalDate[] {event.getPaymentDate()})).thenReturn(new double[] {df});
     DiscountingSwapLegPricer pricer = new DiscountingSwapLegPricer(mockPeriod, eventPricer);
 
     CashFlows computed = pricer.cashFlows(expSwapLeg, mockProv);
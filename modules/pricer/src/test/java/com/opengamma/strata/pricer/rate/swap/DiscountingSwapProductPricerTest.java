@@ -46,6 +46,7 @@ import static org.testng.Assert.assertTrue;
 import java.time.LocalDate;
 import java.time.Period;
 import java.time.YearMonth;
+import java.util.List;
 
 import org.testng.annotations.Test;
 
@@ -74,6 +75,7 @@ import com.opengamma.strata.finance.rate.swap.PaymentSchedule;
 import com.opengamma.strata.finance.rate.swap.RateCalculationSwapLeg;
 import com.opengamma.strata.finance.rate.swap.Swap;
 import com.opengamma.strata.finance.rate.swap.SwapLeg;
+import com.opengamma.strata.finance.rate.swap.SwapProduct;
 import com.opengamma.strata.finance.rate.swap.SwapTrade;
 import com.opengamma.strata.finance.rate.swap.type.FixedIborSwapTemplate;
 import com.opengamma.strata.finance.rate.swap.type.IborIborSwapConvention;
@@ -90,6 +92,7 @@ import com.opengamma.strata.market.sensitivity.IborRateSensitivity;
 import com.opengamma.strata.market.sensitivity.PointSensitivities;
 import com.opengamma.strata.market.sensitivity.PointSensitivityBuilder;
 import com.opengamma.strata.market.sensitivity.ZeroRateSensitivity;
+import com.opengamma.strata.market.value.DiscountFactors;
 import com.opengamma.strata.market.value.ForwardPriceIndexValues;
 import com.opengamma.strata.market.value.PriceIndexValues;
 import com.opengamma.strata.math.impl.interpolation.Interpolator1DFactory;
@@ -161,8 +164,10 @@ public class DiscountingSwapProductPricerTest {
   //-------------------------------------------------------------------------
   public void test_parRate_singleCurrency() {
     RatesProvider mockProv = mock(RatesProvider.class);
-    when(mockProv.discountFactor(GBP, FIXED_RATE_PAYMENT_PERIOD_PAY_GBP.getPaymentDate()))
-        .thenReturn(0.99d);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(GBP)).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {FIXED_RATE_PAYMENT_PERIOD_PAY_GBP.getPaymentDate()}))
+        .thenReturn(new double[] {0.99d});
     when(mockProv.getValuationDate()).thenReturn(RatesProviderDataSets.VAL_DATE_2014_01_22);
     when(mockProv.fxRate(GBP, GBP)).thenReturn(1.0);
     PaymentPeriodPricer<PaymentPeriod> mockPeriod = mock(PaymentPeriodPricer.class);
@@ -192,8 +197,10 @@ public class DiscountingSwapProductPricerTest {
 
   public void test_parRate_crossCurrency() {
     RatesProvider mockProv = mock(RatesProvider.class);
-    when(mockProv.discountFactor(USD, FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()))
-        .thenReturn(0.99d);
+    DiscountFactors mockDf = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDf);
+    when(mockDf.discountFactors(new LocalDate[] {FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()}))
+        .thenReturn(new double[] {0.99d});
     when(mockProv.getValuationDate()).thenReturn(RatesProviderDataSets.VAL_DATE_2014_01_22);
     when(mockProv.fxRate(GBP, GBP)).thenReturn(1.0);
     when(mockProv.fxRate(USD, USD)).thenReturn(1.0);
@@ -381,6 +388,46 @@ public class DiscountingSwapProductPricerTest {
         pricerSwap.presentValue(expanded, USD, MOCK_PROV));
   }
 
+  public void test_presentValue_multipleProviders() {
+    List<RatesProvider> providersUsd = ImmutableList.of(MULTI_USD, RatesProviderDataSets.SINGLE_USD);
+    assertPresentValues(SWAP_USD_FIXED_6M_LIBOR_3M_5Y.getProduct(), USD, providersUsd);
+    assertPresentValues(SWAP_USD_LIBOR_3M_LIBOR_6M_5Y.getProduct(), USD, providersUsd);
+    List<RatesProvider> providersGbp = ImmutableList.of(RATES_GBP, RATES_GBP_USD);
+    assertPresentValues(SWAP, GBP, providersGbp);
+    assertPresentValues(SWAP_CROSS_CURRENCY, USD, ImmutableList.of(RATES_GBP_USD, RATES_GBP_USD));
+    assertEquals(PRICER_SWAP.presentValue(SWAP, GBP, ImmutableList.of()).length, 0);
+  }
+
+  public void test_presentValue_multipleProviders_nonStandardPricers() {
+    // the future values are not stubbed, so the present values only match if the pricers are used for each provider
+    PaymentPeriodPricer<PaymentPeriod> mockPeriod = mock(PaymentPeriodPricer.class);
+    when(mockPeriod.presentValue(IBOR_RATE_PAYMENT_PERIOD_REC_GBP, RATES_GBP)).thenReturn(1000d);
+    when(mockPeriod.presentValue(IBOR_RATE_PAYMENT_PERIOD_REC_GBP, RATES_GBP_USD)).thenReturn(2000d);
+    when(mockPeriod.presentValue(FIXED_RATE_PAYMENT_PERIOD_PAY_GBP, RATES_GBP)).thenReturn(-300d);
+    when(mockPeriod.presentValue(FIXED_RATE_PAYMENT_PERIOD_PAY_GBP, RATES_GBP_USD)).thenReturn(-400d);
+    PaymentEventPricer<PaymentEvent> mockEvent = mock(PaymentEventPricer.class);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_REC_GBP, RATES_GBP)).thenReturn(50d);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_REC_GBP, RATES_GBP_USD)).thenReturn(60d);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_PAY_GBP, RATES_GBP)).thenReturn(-5d);
+    when(mockEvent.presentValue(NOTIONAL_EXCHANGE_PAY_GBP, RATES_GBP_USD)).thenReturn(-6d);
+    DiscountingSwapProductPricer pricerSwap =
+        new DiscountingSwapProductPricer(new DiscountingSwapLegPricer(mockPeriod, mockEvent));
+    double[] pvs = pricerSwap.presentValue(SWAP, GBP, ImmutableList.of(RATES_GBP, RATES_GBP_USD));
+    assertEquals(pvs[0], pricerSwap.presentValue(SWAP, GBP, RATES_GBP).getAmount(), TOLERANCE_PV);
+    assertEquals(pvs[1], pricerSwap.presentValue(SWAP, GBP, RATES_GBP_USD).getAmount(), TOLERANCE_PV);
+    assertEquals(pvs[0], 1000d - 300d + 50d - 5d, TOLERANCE_PV);
+    assertEquals(pvs[1], 2000d - 400d + 60d - 6d, TOLERANCE_PV);
+  }
+
+  // checks the present values for multiple providers equal the present values calculated separately
+  private static void assertPresentValues(SwapProduct product, Currency currency, List<RatesProvider> providers) {
+    double[] pvs = PRICER_SWAP.presentValue(product, currency, providers);
+    assertEquals(pvs.length, providers.size());
+    for (int i = 0; i < providers.size(); i++) {
+      assertEquals(pvs[i], PRICER_SWAP.presentValue(product, currency, providers.get(i)).getAmount(), TOLERANCE_PV);
+    }
+  }
+
   public void test_presentValue_inflation() {
     DiscountingSwapLegPricer pricerLeg = DiscountingSwapLegPricer.DEFAULT;
     DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(pricerLeg);
@@ -632,10 +679,14 @@ public class DiscountingSwapProductPricerTest {
     when(mockPeriod.futureValue(IBOR_RATE_PAYMENT_PERIOD_REC_GBP, mockProv)).thenReturn(fvGBP);
     when(mockPeriod.futureValue(FIXED_RATE_PAYMENT_PERIOD_PAY_USD, mockProv)).thenReturn(fvUSD);
     when(mockProv.getValuationDate()).thenReturn(LocalDate.of(2014, 7, 1));
-    when(mockProv.discountFactor(IBOR_RATE_PAYMENT_PERIOD_REC_GBP.getCurrency(),
-        IBOR_RATE_PAYMENT_PERIOD_REC_GBP.getPaymentDate())).thenReturn(df1);
-    when(mockProv.discountFactor(FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getCurrency(),
-        FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate())).thenReturn(df2);
+    DiscountFactors mockDfGbp = mock(DiscountFactors.class);
+    DiscountFactors mockDfUsd = mock(DiscountFactors.class);
+    when(mockProv.discountFactors(GBP)).thenReturn(mockDfGbp);
+    when(mockProv.discountFactors(USD)).thenReturn(mockDfUsd);
+    when(mockDfGbp.discountFactors(new LocalDate[] {IBOR_RATE_PAYMENT_PERIOD_REC_GBP.getPaymentDate()}))
+        .thenReturn(new double[] {df1});
+    when(mockDfUsd.discountFactors(new LocalDate[] {FIXED_RATE_PAYMENT_PERIOD_PAY_USD.getPaymentDate()}))
+        .thenReturn(new double[] {df2});
     PaymentEventPricer<PaymentEvent> mockEvent = mock(PaymentEventPricer.class);
     DiscountingSwapLegPricer pricerLeg = new DiscountingSwapLegPricer(mockPeriod, mockEvent);
     DiscountingSwapProductPricer pricerSwap = new DiscountingSwapProductPricer(pricerLeg);
@@ -0,0 +1,156 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.GBP;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.opengamma.strata.market.curve.Curve;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.NodalCurve;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.pricer.calibration.CurveParameterSize;
+import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
+import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
+
+/**
+ * Test {@link CurveCrossGammaCalculator}.
+ */
+@Test
+public class CurveCrossGammaCalculatorTest {
+
+  private static final ImmutableRatesProvider MULTI = RatesProviderDataSets.MULTI_USD;
+  private static final ImmutableRatesProvider SINGLE = RatesProviderDataSets.SINGLE_USD;
+  private static final CurveCrossGammaCalculator CENTRAL_CAL =
+      new CurveCrossGammaCalculator(FiniteDifferenceType.CENTRAL, 1.0E-4, false);
+  private static final double TOLERANCE_GAMMA = 1.0E-6;
+
+  //-------------------------------------------------------------------------
+  public void crossGamma_multiCurve() {
+    CurveCrossGamma computed = CENTRAL_CAL.calculateCrossGamma(MULTI, USD, p -> sensitivities(p, 1d));
+    assertEquals(computed.getCurrency(), USD);
+    assertEquals(computed.getOrder(), ImmutableList.of(
+        CurveParameterSize.of(RatesProviderDataSets.USD_DSC_NAME, RatesProviderDataSets.TIMES_1.length),
+        CurveParameterSize.of(RatesProviderDataSets.USD_L3_NAME, RatesProviderDataSets.TIMES_2.length),
+        CurveParameterSize.of(RatesProviderDataSets.USD_L6_NAME, RatesProviderDataSets.TIMES_3.length)));
+    // the discounting curve is also used for the overnight index
+    double[] multiplicity = {2d, 1d, 1d};
+    double[][] times = {RatesProviderDataSets.TIMES_1, RatesProviderDataSets.TIMES_2, RatesProviderDataSets.TIMES_3};
+    for (int c = 0; c < 3; c++) {
+      for (int d = 0; d < 3; d++) {
+        double[][] block = computed.getBlock(
+            computed.getOrder().get(c).getName(), computed.getOrder().get(d).getName()).getData();
+        assertEquals(block.length, times[c].length);
+        for (int i = 0; i < times[c].length; i++) {
+          assertEquals(block[i].length, times[d].length);
+          for (int j = 0; j < times[d].length; j++) {
+            double expected = multiplicity[c] * multiplicity[d] * times[c][i] * times[d][j];
+            assertEquals(block[i][j], expected, TOLERANCE_GAMMA);
+          }
+        }
+      }
+    }
+  }
+
+  public void crossGamma_singleCurve() {
+    CurveCrossGamma computed = CENTRAL_CAL.calculateCrossGamma(SINGLE, USD, p -> sensitivities(p, 1d));
+    assertEquals(computed.getOrder(), ImmutableList.of(
+        CurveParameterSize.of(RatesProviderDataSets.USD_SINGLE_NAME, RatesProviderDataSets.TIMES_1.length)));
+    // the single curve is used for discounting and three indices
+    double[] times = RatesProviderDataSets.TIMES_1;
+    double[][] matrix = computed.getMatrix().getData();
+    for (int i = 0; i < times.length; i++) {
+      for (int j = 0; j < times.length; j++) {
+        assertEquals(matrix[i][j], 16d * times[i] * times[j], TOLERANCE_GAMMA);
+      }
+    }
+  }
+
+  public void crossGamma_typesAndParallel() {
+    CurveCrossGamma expected = CENTRAL_CAL.calculateCrossGamma(MULTI, USD, p -> sensitivities(p, 1d));
+    for (FiniteDifferenceType type : FiniteDifferenceType.values()) {
+      CurveCrossGamma sequential = new CurveCrossGammaCalculator(type, 1.0E-4, false)
+          .calculateCrossGamma(MULTI, USD, p -> sensitivities(p, 1d));
+      CurveCrossGamma parallel = new CurveCrossGammaCalculator(type, 1.0E-4, true)
+          .calculateCrossGamma(MULTI, USD, p -> sensitivities(p, 1d));
+      assertEquals(parallel, sequential);
+      double[][] expectedMatrix = expected.getMatrix().getData();
+      double[][] computedMatrix = parallel.getMatrix().getData();
+      for (int i = 0; i < expectedMatrix.length; i++) {
+        for (int j = 0; j < expectedMatrix.length; j++) {
+          assertEquals(computedMatrix[i][j], expectedMatrix[i][j], TOLERANCE_GAMMA);
+        }
+      }
+    }
+  }
+
+  public void crossGamma_portfolio() {
+    List<Function<ImmutableRatesProvider, CurveCurrencyParameterSensitivities>> fns = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      double factor = i - 2d;
+      fns.add(p -> sensitivities(p, factor));
+    }
+    List<CurveCrossGamma> computed = CurveCrossGammaCalculator.DEFAULT.calculateCrossGamma(MULTI, USD, fns);
+    assertEquals(computed.size(), fns.size());
+    for (int i = 0; i < fns.size(); i++) {
+      assertEquals(computed.get(i), CurveCrossGammaCalculator.DEFAULT.calculateCrossGamma(MULTI, USD, fns.get(i)));
+    }
+  }
+
+  public void crossGamma_noCurves() {
+    assertThrowsIllegalArg(() -> CENTRAL_CAL.calculateCrossGamma(MULTI, GBP, p -> sensitivities(p, 1d)));
+  }
+
+  //-------------------------------------------------------------------------
+  public void crossGamma_of() {
+    CurveCrossGamma test = CENTRAL_CAL.calculateCrossGamma(MULTI, USD, p -> sensitivities(p, 1d));
+    CurveCrossGamma copy = CurveCrossGamma.of(USD, test.getOrder(), test.getMatrix());
+    assertEquals(copy, test);
+    assertEquals(copy.hashCode(), test.hashCode());
+    assertEquals(copy.getParameterCount(), test.getMatrix().getNumberOfRows());
+    assertThrowsIllegalArg(() -> CurveCrossGamma.of(USD, test.getOrder(), new DoubleMatrix2D(2, 2)));
+    assertThrowsIllegalArg(() -> test.getBlock(CurveName.of("Unknown"), RatesProviderDataSets.USD_DSC_NAME));
+  }
+
+  //-------------------------------------------------------------------------
+  // sensitivities of the value 0.5 * factor * S^2 where S is the sum of rates multiplied by time over all curves
+  private static CurveCurrencyParameterSensitivities sensitivities(ImmutableRatesProvider provider, double factor) {
+    List<Curve> curves = new ArrayList<>(provider.getDiscountCurves().values());
+    curves.addAll(provider.getIndexCurves().values());
+    double sum = 0d;
+    for (Curve curve : curves) {
+      NodalCurve nodal = curve.toNodalCurve();
+      double[] x = nodal.getXValues();
+      double[] y = nodal.getYValues();
+      for (int i = 0; i < x.length; i++) {
+        sum += x[i] * y[i];
+      }
+    }
+    CurveCurrencyParameterSensitivities result = CurveCurrencyParameterSensitivities.empty();
+    for (Curve curve : curves) {
+      double[] x = curve.toNodalCurve().getXValues();
+      double[] sensi = new double[x.length];
+      for (int i = 0; i < x.length; i++) {
+        sensi[i] = factor * sum * x[i];
+      }
+      result = result.combinedWith(CurveCurrencyParameterSensitivity.of(curve.getMetadata(), USD, sensi));
+    }
+    return result;
+  }
+
+}
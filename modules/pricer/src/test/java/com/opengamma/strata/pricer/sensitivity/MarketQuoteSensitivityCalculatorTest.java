@@ -0,0 +1,114 @@
+/**
+ * Copyright (C) 2015 - present by OpenGamma Inc. and the OpenGamma group of companies
+ *
+ * Please see distribution for license.
+ */
+package com.opengamma.strata.pricer.sensitivity;
+
+import static com.opengamma.strata.basics.currency.Currency.EUR;
+import static com.opengamma.strata.basics.currency.Currency.USD;
+import static com.opengamma.strata.collect.TestHelper.assertThrowsIllegalArg;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.testng.annotations.Test;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.opengamma.strata.collect.tuple.Pair;
+import com.opengamma.strata.market.curve.CurveName;
+import com.opengamma.strata.market.curve.DefaultCurveMetadata;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivity;
+import com.opengamma.strata.math.impl.matrix.DoubleMatrix2D;
+import com.opengamma.strata.pricer.calibration.CurveBuildingBlock;
+import com.opengamma.strata.pricer.calibration.CurveBuildingBlockBundle;
+import com.opengamma.strata.pricer.calibration.CurveParameterSize;
+
+/**
+ * Test {@link MarketQuoteSensitivityCalculator}.
+ */
+@Test
+public class MarketQuoteSensitivityCalculatorTest {
+
+  private static final CurveName NAME_1 = CurveName.of("Curve-1");
+  private static final CurveName NAME_2 = CurveName.of("Curve-2");
+  private static final CurveParameterSize SIZE_1 = CurveParameterSize.of(NAME_1, 3);
+  private static final CurveParameterSize SIZE_2 = CurveParameterSize.of(NAME_2, 2);
+  // the second curve is calibrated after the first and depends on it
+  private static final CurveBuildingBlockBundle BLOCKS = CurveBuildingBlockBundle.of(ImmutableMap.of(
+      NAME_1, Pair.of(CurveBuildingBlock.of(ImmutableList.of(SIZE_1)), new DoubleMatrix2D(new double[][] {
+          {1.0, 0.2, 0.0}, {0.1, 2.0, 0.3}, {0.0, 0.4, 3.0}})),
+      NAME_2, Pair.of(CurveBuildingBlock.of(ImmutableList.of(SIZE_1, SIZE_2)), new DoubleMatrix2D(new double[][] {
+          {0.5, 0.1, 0.2, 1.5, 0.1}, {0.3, 0.2, 0.4, 0.2, 2.5}}))));
+  private static final MarketQuoteSensitivityCalculator MQC = MarketQuoteSensitivityCalculator.DEFAULT;
+  private static final double TOLERANCE = 1.0E-12;
+
+  //-------------------------------------------------------------------------
+  public void test_sensitivity_list() {
+    List<CurveCurrencyParameterSensitivities> paramSensitivities = paramSensitivities();
+    List<CurveCurrencyParameterSensitivities> computed = MQC.sensitivity(paramSensitivities, BLOCKS);
+    assertEquals(computed.size(), paramSensitivities.size());
+    for (int i = 0; i < paramSensitivities.size(); i++) {
+      CurveCurrencyParameterSensitivities expected = MQC.sensitivity(paramSensitivities.get(i), BLOCKS);
+      assertEquals(computed.get(i).size(), expected.size());
+      assertTrue(computed.get(i).equalWithTolerance(expected, TOLERANCE));
+    }
+  }
+
+  public void test_sensitivity_list_empty() {
+    assertEquals(MQC.sensitivity(ImmutableList.of(), BLOCKS), ImmutableList.of());
+    assertEquals(
+        MQC.sensitivity(ImmutableList.of(CurveCurrencyParameterSensitivities.empty()), BLOCKS),
+        ImmutableList.of(CurveCurrencyParameterSensitivities.empty()));
+  }
+
+  public void test_sensitivity_list_badSize() {
+    CurveCurrencyParameterSensitivities bad = CurveCurrencyParameterSensitivities.of(
+        CurveCurrencyParameterSensitivity.of(DefaultCurveMetadata.of(NAME_1), USD, new double[] {1d, 2d}));
+    assertThrowsIllegalArg(() -> MQC.sensitivity(ImmutableList.of(bad), BLOCKS));
+  }
+
+  public void test_sensitivityByGroup() {
+    List<CurveCurrencyParameterSensitivities> paramSensitivities = paramSensitivities();
+    Map<String, List<CurveCurrencyParameterSensitivities>> books = ImmutableMap.of(
+        "A", paramSensitivities.subList(0, 3),
+        "B", paramSensitivities.subList(3, paramSensitivities.size()),
+        "C", ImmutableList.of());
+    Map<String, CurveCurrencyParameterSensitivities> computed = MQC.sensitivityByGroup(books, BLOCKS);
+    assertEquals(computed.keySet(), books.keySet());
+    for (Map.Entry<String, List<CurveCurrencyParameterSensitivities>> entry : books.entrySet()) {
+      CurveCurrencyParameterSensitivities expected = CurveCurrencyParameterSensitivities.empty();
+      for (CurveCurrencyParameterSensitivities sensitivities : entry.getValue()) {
+        expected = expected.combinedWith(MQC.sensitivity(sensitivities, BLOCKS));
+      }
+      assertTrue(computed.get(entry.getKey()).equalWithTolerance(expected, TOLERANCE));
+    }
+  }
+
+  //-------------------------------------------------------------------------
+  // sensitivities to one or both curves, in one or two currencies
+  private static List<CurveCurrencyParameterSensitivities> paramSensitivities() {
+    List<CurveCurrencyParameterSensitivities> result = new ArrayList<>();
+    for (int i = 0; i < 7; i++) {
+      CurveCurrencyParameterSensitivities sensitivities = CurveCurrencyParameterSensitivities.of(
+          CurveCurrencyParameterSensitivity.of(
+              DefaultCurveMetadata.of(NAME_1), USD, new double[] {i, 2d * i - 3d, 1d}));
+      if (i % 2 == 0) {
+        sensitivities = sensitivities.combinedWith(CurveCurrencyParameterSensitivity.of(
+            DefaultCurveMetadata.of(NAME_2), USD, new double[] {-i, 0.5d * i}));
+      }
+      if (i % 3 == 0) {
+        sensitivities = sensitivities.combinedWith(CurveCurrencyParameterSensitivity.of(
+            DefaultCurveMetadata.of(NAME_2), EUR, new double[] {1d, i}));
+      }
+      result.add(sensitivities);
+    }
+    return result;
+  }
+
+}
@@ -7,8 +7,10 @@ package com.opengamma.strata.pricer.sensitivity;
 
 import static com.opengamma.strata.basics.currency.Currency.USD;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
 
 import java.util.Map.Entry;
+import java.util.function.Function;
 
 import org.testng.annotations.Test;
 
@@ -20,6 +22,7 @@ import com.opengamma.strata.collect.ArgChecker;
 import com.opengamma.strata.market.curve.Curve;
 import com.opengamma.strata.market.curve.InterpolatedNodalCurve;
 import com.opengamma.strata.market.sensitivity.CurveCurrencyParameterSensitivities;
+import com.opengamma.strata.math.impl.differentiation.FiniteDifferenceType;
 import com.opengamma.strata.pricer.datasets.RatesProviderDataSets;
 import com.opengamma.strata.pricer.rate.ImmutableRatesProvider;
 
@@ -69,6 +72,36 @@ public class RatesFiniteDifferenceSensitivityCalculatorTest {
     }
   }
 
+  @Test
+  public void sensitivity_central_parallel() {
+    CurveCurrencyParameterSensitivities expected = FD_CALCULATOR.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+    for (FiniteDifferenceType type : FiniteDifferenceType.values()) {
+      for (boolean parallel : new boolean[] {false, true}) {
+        RatesFiniteDifferenceSensitivityCalculator calculator =
+            new RatesFiniteDifferenceSensitivityCalculator(1.0E-4, type, parallel);
+        CurveCurrencyParameterSensitivities sensiComputed =
+            calculator.sensitivity(RatesProviderDataSets.MULTI_USD, this::fn);
+        assertTrue(sensiComputed.equalWithTolerance(expected, TOLERANCE_DELTA));
+      }
+    }
+  }
+
+  @Test
+  public void sensitivity_central_quadratic() {
+    RatesFiniteDifferenceSensitivityCalculator calculator =
+        new RatesFiniteDifferenceSensitivityCalculator(1.0E-4, FiniteDifferenceType.CENTRAL, true);
+    Function<ImmutableRatesProvider, CurrencyAmount> fnSquared = p -> fn(p).multipliedBy(fn(p).getAmount());
+    CurveCurrencyParameterSensitivities sensiComputed =
+        calculator.sensitivity(RatesProviderDataSets.SINGLE_USD, fnSquared);
+    double value = fn(RatesProviderDataSets.SINGLE_USD).getAmount();
+    double[] times = RatesProviderDataSets.TIMES_1;
+    double[] s = sensiComputed.getSensitivities().get(0).getSensitivity();
+    assertEquals(s.length, times.length);
+    for (int i = 0; i < times.length; i++) {
+      assertEquals(s[i], 2d * value * times[i] * 4.0d, TOLERANCE_DELTA);
+    }
+  }
+
   // private function for testing. Returns the sum of rates multiplied by time
   private CurrencyAmount fn(ImmutableRatesProvider provider) {
     double result = 0.0;